@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.benchmark;
+
+import com.dtstack.dtcenter.loader.ClassLoaderCallBackMethod;
+import com.dtstack.dtcenter.loader.DtClassLoader;
+import com.dtstack.dtcenter.loader.metrics.LoaderMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 代理类调用链路：切换类加载器及调用统计的开销
+ *
+ * @author ：wangchuan
+ * date：Created in 下午4:10 2021/9/13
+ * company: www.dtstack.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallBackMethodBenchmark {
+
+    @Param({"true", "false"})
+    private boolean metricsEnabled;
+
+    private DtClassLoader classLoader;
+
+    private long counter;
+
+    @Setup
+    public void setup() {
+        classLoader = new DtClassLoader(new URL[0], Thread.currentThread().getContextClassLoader());
+        classLoader.setPluginName("benchmark");
+        LoaderMetrics.setEnabled(metricsEnabled);
+    }
+
+    @Benchmark
+    public long direct() {
+        return ++counter;
+    }
+
+    @Benchmark
+    public long callbackAndReset() {
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> ++counter, classLoader);
+    }
+
+    @Benchmark
+    public long callbackAndResetWithMetrics() {
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> ++counter, classLoader, "callbackAndResetWithMetrics");
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.benchmark;
+
+import com.dtstack.dtcenter.common.loader.common.utils.DBUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DBUtil 查询结果转换为 List&lt;Map&gt; 的开销，使用 H2 内存数据库代替真实数据库
+ *
+ * @author ：wangchuan
+ * date：Created in 下午4:10 2021/9/13
+ * company: www.dtstack.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DBUtilBenchmark {
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private Connection connection;
+
+    private String sql;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists LOADER_BENCHMARK");
+            statement.execute("create table LOADER_BENCHMARK (id int, name varchar(50), score decimal(10, 2), create_time timestamp)");
+        }
+        try (PreparedStatement statement = connection.prepareStatement("insert into LOADER_BENCHMARK values (?, ?, ?, current_timestamp)")) {
+            for (int i = 0; i < rows; i++) {
+                statement.setInt(1, i);
+                statement.setString(2, "name_" + i);
+                statement.setDouble(3, i * 1.5);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        sql = "select id, name, score, create_time from LOADER_BENCHMARK";
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> executeQuery() {
+        return DBUtil.executeQuery(connection, sql, rows, null, null);
+    }
+
+    @Benchmark
+    public Integer executeQueryWithConsumer(Blackhole blackhole) {
+        return DBUtil.executeQuery(connection, sql, rows, null, null, null, null, row -> {
+            blackhole.consume(row.getValue(0));
+            return true;
+        });
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.benchmark;
+
+import com.dtstack.dtcenter.common.loader.hbase.HbaseClientSpecial;
+import com.dtstack.dtcenter.common.loader.kafka.util.KafkaUtil;
+import com.dtstack.dtcenter.loader.dto.HbaseQueryDTO;
+import com.dtstack.dtcenter.loader.dto.KafkaPartitionDTO;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * kafka 分区信息及 hbase 查询结果转换为 common-loader 中定义的对象
+ *
+ * @author ：wangchuan
+ * date：Created in 下午4:10 2021/9/13
+ * company: www.dtstack.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoConvertBenchmark {
+
+    /**
+     * hbase 每行的 cell 数
+     */
+    @Param({"10", "50"})
+    private int cells;
+
+    private PartitionInfo partitionInfo;
+
+    private List<Cell> rowCells;
+
+    private Map<String, HbaseQueryDTO.ColumnType> columnTypes;
+
+    @Setup
+    public void setup() {
+        Node[] nodes = new Node[3];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new Node(i, "kafka-" + i, 9092, "rack-" + i);
+        }
+        partitionInfo = new PartitionInfo("benchmark", 0, nodes[0], nodes, nodes);
+
+        rowCells = new ArrayList<>();
+        columnTypes = new HashMap<>();
+        byte[] row = Bytes.toBytes("row_0001");
+        byte[] family = Bytes.toBytes("cf");
+        for (int i = 0; i < cells; i++) {
+            String qualifier = "q" + i;
+            byte[] value = i % 2 == 0 ? Bytes.toBytes(i * 100L) : Bytes.toBytes("value_" + i);
+            if (i % 2 == 0) {
+                columnTypes.put("cf:" + qualifier, HbaseQueryDTO.ColumnType.LONG);
+            }
+            rowCells.add(new KeyValue(row, family, Bytes.toBytes(qualifier), 1631520600000L + i, value));
+        }
+    }
+
+    @Benchmark
+    public KafkaPartitionDTO kafkaPartition() {
+        return KafkaUtil.buildKafkaPartitionDTO(partitionInfo);
+    }
+
+    @Benchmark
+    public Map<String, Object> hbaseResult() {
+        return HbaseClientSpecial.convertResult(rowCells, columnTypes);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.benchmark;
+
+import com.dtstack.dtcenter.common.loader.hive2.downloader.HiveTextDownload;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.Text;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * hive text 格式下载时单行数据的切分及字段筛选，不依赖 hdfs，直接设置当前行内容
+ *
+ * @author ：wangchuan
+ * date：Created in 下午4:10 2021/9/13
+ * company: www.dtstack.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HiveTextDownloadBenchmark {
+
+    private static final String FIELD_DELIMITER = "\u0001";
+
+    @Param({"10", "100"})
+    private int columns;
+
+    /**
+     * 是否只查询部分字段
+     */
+    @Param({"false", "true"})
+    private boolean selectColumns;
+
+    private HiveTextDownload download;
+
+    private Text value;
+
+    private byte[] line;
+
+    @Setup
+    public void setup() throws Exception {
+        List<String> columnNames = new ArrayList<>();
+        StringBuilder lineBuilder = new StringBuilder();
+        for (int i = 0; i < columns; i++) {
+            columnNames.add("col_" + i);
+            if (i > 0) {
+                lineBuilder.append(FIELD_DELIMITER);
+            }
+            lineBuilder.append("value_").append(i);
+        }
+        line = lineBuilder.toString().getBytes("UTF-8");
+        List<Integer> needIndex = selectColumns ? Arrays.asList(0, columns / 2, columns - 1, columns) : null;
+        download = new HiveTextDownload(new Configuration(false), "/benchmark", columnNames, FIELD_DELIMITER,
+                Arrays.asList("pt"), null, needIndex, null, null);
+        value = new Text();
+        setField("value", value);
+        setField("currentPartData", Arrays.asList("20210913"));
+    }
+
+    private void setField(String name, Object fieldValue) throws Exception {
+        Field field = HiveTextDownload.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(download, fieldValue);
+    }
+
+    @Benchmark
+    public List<String> readNextWithKerberos() {
+        value.set(line);
+        return download.readNextWithKerberos();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.benchmark;
+
+import com.dtstack.dtcenter.common.loader.common.utils.DateUtil;
+import com.dtstack.dtcenter.common.loader.common.utils.SqlFormatUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 格式化及时间解析工具类
+ *
+ * @author ：wangchuan
+ * date：Created in 下午4:10 2021/9/13
+ * company: www.dtstack.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilBenchmark {
+
+    private final String sql = "-- 统计每天的订单数\n" +
+            "select  dt,\n" +
+            "        count(1) as cnt   -- 订单数\n" +
+            "from    dev.orders\n" +
+            "where   dt >= '2021-09-01'\n" +
+            "group by dt\n" +
+            "order by dt;  ";
+
+    private final String date = "2021-09-13";
+
+    private final String datetime = "2021-09-13 16:10:00";
+
+    private final long timestamp = 1631520600000L;
+
+    @Benchmark
+    public String formatSql() {
+        return SqlFormatUtil.formatSql(sql);
+    }
+
+    @Benchmark
+    public long parseDate() {
+        return DateUtil.getTimestamp(date);
+    }
+
+    @Benchmark
+    public long parseDatetime() {
+        return DateUtil.getTimestamp(datetime, "yyyy-MM-dd HH:mm:ss");
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return DateUtil.getFormattedDate(timestamp);
+    }
+}
@@ -188,7 +188,7 @@ public class ClickhouseClient extends AbsRdbmsClient {
     @Override
     public IDownloader getDownloader(ISourceDTO source, SqlQueryDTO queryDTO) throws Exception {
         ClickHouseSourceDTO clickHouseSourceDTO = (ClickHouseSourceDTO) source;
-        ClickHouseDownloader clickHouseDownloader = new ClickHouseDownloader(getCon(clickHouseSourceDTO), queryDTO.getSql(), clickHouseSourceDTO.getSchema());
+        ClickHouseDownloader clickHouseDownloader = new ClickHouseDownloader(getCon(clickHouseSourceDTO), queryDTO.getSql(), clickHouseSourceDTO.getSchema(), queryDTO);
         clickHouseDownloader.configure();
         return clickHouseDownloader;
     }
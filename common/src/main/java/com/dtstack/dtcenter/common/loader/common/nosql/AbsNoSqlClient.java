@@ -22,12 +22,15 @@ import com.dtstack.dtcenter.common.loader.common.exception.ErrorCode;
 import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.client.IClient;
 import com.dtstack.dtcenter.loader.dto.ColumnMetaDTO;
+import com.dtstack.dtcenter.loader.dto.ConnectionPoolMetricsDTO;
 import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 import com.dtstack.dtcenter.loader.dto.Table;
 import com.dtstack.dtcenter.loader.dto.source.ISourceDTO;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
+import com.dtstack.dtcenter.loader.functions.RowConsumer;
 
 import java.sql.Connection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +58,11 @@ public abstract class AbsNoSqlClient<T> implements IClient<T> {
         throw new DtLoaderException(ErrorCode.NOT_SUPPORT.getDesc());
     }
 
+    @Override
+    public Integer executeQuery(ISourceDTO source, SqlQueryDTO queryDTO, RowConsumer consumer) {
+        throw new DtLoaderException(ErrorCode.NOT_SUPPORT.getDesc());
+    }
+
     @Override
     public Boolean executeSqlWithoutResultSet(ISourceDTO source, SqlQueryDTO queryDTO) {
         throw new DtLoaderException(ErrorCode.NOT_SUPPORT.getDesc());
@@ -169,4 +177,14 @@ public abstract class AbsNoSqlClient<T> implements IClient<T> {
     public List<String> listFileNames(ISourceDTO sourceDTO, String path, Boolean includeDir, Boolean recursive,  Integer maxNum, String regexStr) {
         throw new DtLoaderException(ErrorCode.NOT_SUPPORT.getDesc());
     }
+
+    @Override
+    public List<ConnectionPoolMetricsDTO> getPoolMetrics() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Boolean invalidatePool(ISourceDTO source) {
+        return false;
+    }
 }
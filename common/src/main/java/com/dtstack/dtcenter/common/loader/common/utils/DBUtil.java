@@ -19,10 +19,12 @@
 package com.dtstack.dtcenter.common.loader.common.utils;
 
 import com.dtstack.dtcenter.common.loader.common.base.CallBack;
+import com.dtstack.dtcenter.loader.dto.QueryRow;
 import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 import com.dtstack.dtcenter.loader.dto.source.RdbmsSourceDTO;
 import com.dtstack.dtcenter.loader.enums.ConnectionClearStatus;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
+import com.dtstack.dtcenter.loader.functions.RowConsumer;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
@@ -35,8 +37,10 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -79,49 +83,7 @@ public class DBUtil {
      */
     public static List<Map<String, Object>> executeQuery(Connection conn, String sql, Integer limit, Integer queryTimeout, CallBack<Object, Object> fieldProcess) {
         List<Map<String, Object>> result = Lists.newArrayList();
-        ResultSet res = null;
-        Statement statement = null;
-        try {
-            statement = conn.createStatement();
-            if (queryTimeout != null) {
-                try {
-                    statement.setQueryTimeout(queryTimeout);
-                } catch (Exception e) {
-                    log.debug(String.format("statement set QueryTimeout exception,%s", e.getMessage()), e);
-                }
-            }
-            // 设置返回最大条数
-            statement.setMaxRows(Objects.isNull(limit) ? MAX_QUERY_ROW : limit);
-
-            if (statement.execute(sql)) {
-                res = statement.getResultSet();
-                int columns = res.getMetaData().getColumnCount();
-                List<String> columnName = Lists.newArrayList();
-                for (int i = 0; i < columns; i++) {
-                    columnName.add(res.getMetaData().getColumnLabel(i + 1));
-                }
-
-                while (res.next()) {
-                    Map<String, Object> row = Maps.newLinkedHashMap();
-                    Map<String, Integer> columnRepeatSign = Maps.newHashMap();
-                    for (int i = 0; i < columns; i++) {
-                        String column = dealRepeatColumn(row, columnName.get(i), columnRepeatSign);
-                        Object value = res.getObject(i + 1);
-                        // 增加字段处理
-                        if (Objects.nonNull(fieldProcess)) {
-                            value = fieldProcess.execute(value);
-                        }
-                        row.put(column, value);
-                    }
-                    result.add(row);
-                }
-            }
-
-        } catch (Exception e) {
-            throw new DtLoaderException(String.format("SQL execute exception：%s", e.getMessage()), e);
-        } finally {
-            DBUtil.closeDBResources(res, statement, null);
-        }
+        executeQuery(conn, sql, Objects.isNull(limit) ? MAX_QUERY_ROW : limit, null, queryTimeout, null, fieldProcess, row -> result.add(row.toMap()));
         return result;
     }
 
@@ -137,11 +99,44 @@ public class DBUtil {
      */
     public static List<Map<String, Object>> executeQuery(Connection conn, String sql, Integer limit, List<Object> preFields, Integer queryTimeout, CallBack<Object, Object> fieldProcess) {
         List<Map<String, Object>> result = Lists.newArrayList();
+        executeQuery(conn, sql, Objects.isNull(limit) ? MAX_QUERY_ROW : limit, Objects.isNull(preFields) ? Collections.emptyList() : preFields,
+                queryTimeout, null, fieldProcess, row -> result.add(row.toMap()));
+        return result;
+    }
+
+    /**
+     * 根据 SQL 流式查询，逐行回调，不在内存中保存结果集
+     *
+     * @param conn         数据库连接
+     * @param queryDTO     查询信息，preFields 不为 null 时使用预编译查询，limit 不为空时限制最大条数
+     * @param fieldProcess 字段处理
+     * @param consumer     行处理
+     * @return 处理的条数
+     */
+    public static Integer executeQuery(Connection conn, SqlQueryDTO queryDTO, CallBack<Object, Object> fieldProcess, RowConsumer consumer) {
+        Integer fetchSize = ReflectUtil.fieldExists(SqlQueryDTO.class, "fetchSize") ? queryDTO.getFetchSize() : null;
+        return executeQuery(conn, queryDTO.getSql(), queryDTO.getLimit(), queryDTO.getPreFields(), queryDTO.getQueryTimeout(), fetchSize, fieldProcess, consumer);
+    }
+
+    /**
+     * 根据 SQL 流式查询，字段名及重复字段只在结果集开始时处理一次，每一行复用同一个 {@link QueryRow}
+     *
+     * @param conn         数据库连接
+     * @param sql          查询 sql
+     * @param limit        最大条数，为 null 时不限制
+     * @param preFields    预编译字段，为 null 时不使用预编译
+     * @param queryTimeout 查询超时时间
+     * @param fetchSize    每次从服务端读取的条数
+     * @param fieldProcess 字段处理
+     * @param consumer     行处理
+     * @return 处理的条数
+     */
+    public static Integer executeQuery(Connection conn, String sql, Integer limit, List<Object> preFields, Integer queryTimeout,
+                                       Integer fetchSize, CallBack<Object, Object> fieldProcess, RowConsumer consumer) {
         ResultSet res = null;
-        PreparedStatement statement = null;
+        Statement statement = null;
         try {
-            statement = conn.prepareStatement(sql);
-            //设置查询超时时间
+            statement = Objects.isNull(preFields) ? conn.createStatement() : conn.prepareStatement(sql);
             if (queryTimeout != null) {
                 try {
                     statement.setQueryTimeout(queryTimeout);
@@ -150,41 +145,68 @@ public class DBUtil {
                 }
             }
             // 设置返回最大条数
-            statement.setMaxRows(Objects.isNull(limit) ? MAX_QUERY_ROW : limit);
+            if (Objects.nonNull(limit)) {
+                statement.setMaxRows(limit);
+            }
+            setFetchSize(statement, fetchSize);
 
-            //todo 支持预编译sql
-            if (preFields != null && !preFields.isEmpty()) {
+            if (statement instanceof PreparedStatement) {
+                PreparedStatement preparedStatement = (PreparedStatement) statement;
                 for (int i = 0; i < preFields.size(); i++) {
-                    statement.setObject(i + 1, preFields.get(i));
+                    preparedStatement.setObject(i + 1, preFields.get(i));
                 }
-            }
-            res = statement.executeQuery();
-            int columns = res.getMetaData().getColumnCount();
-            List<String> columnName = Lists.newArrayList();
-            for (int i = 0; i < columns; i++) {
-                columnName.add(res.getMetaData().getColumnLabel(i + 1));
+                res = preparedStatement.executeQuery();
+            } else if (statement.execute(sql)) {
+                res = statement.getResultSet();
+            } else {
+                return 0;
             }
 
+            QueryRow row = new QueryRow(getColumnNames(res.getMetaData()));
+            int columns = row.getColumnCount();
+            int count = 0;
             while (res.next()) {
-                Map<String, Object> row = Maps.newLinkedHashMap();
-                Map<String, Integer> columnRepeatSign = Maps.newHashMap();
                 for (int i = 0; i < columns; i++) {
-                    String column = dealRepeatColumn(row, columnName.get(i), columnRepeatSign);
                     Object value = res.getObject(i + 1);
                     // 增加字段处理
                     if (Objects.nonNull(fieldProcess)) {
                         value = fieldProcess.execute(value);
                     }
-                    row.put(column, value);
+                    row.setValue(i, value);
+                }
+                row.setRowNum(++count);
+                if (!consumer.accept(row)) {
+                    break;
                 }
-                result.add(row);
             }
+            return count;
+        } catch (DtLoaderException e) {
+            throw e;
         } catch (Exception e) {
-            throw new DtLoaderException(String.format("SQL executed exception, %s", e.getMessage()), e);
+            throw new DtLoaderException(String.format("SQL execute exception：%s", e.getMessage()), e);
         } finally {
             DBUtil.closeDBResources(res, statement, null);
         }
-        return result;
+    }
+
+    /**
+     * 获取结果集字段名，重复字段按 {@link #dealRepeatColumn(Map, String, Map)} 规则重命名
+     *
+     * @param metaData 结果集元数据
+     * @return 字段名
+     * @throws SQLException 异常
+     */
+    public static List<String> getColumnNames(ResultSetMetaData metaData) throws SQLException {
+        int columns = metaData.getColumnCount();
+        List<String> columnNames = Lists.newArrayListWithCapacity(columns);
+        Map<String, Object> existColumns = Maps.newHashMap();
+        Map<String, Integer> columnRepeatSign = Maps.newHashMap();
+        for (int i = 0; i < columns; i++) {
+            String column = dealRepeatColumn(existColumns, metaData.getColumnLabel(i + 1), columnRepeatSign);
+            existColumns.put(column, null);
+            columnNames.add(column);
+        }
+        return columnNames;
     }
 
     /**
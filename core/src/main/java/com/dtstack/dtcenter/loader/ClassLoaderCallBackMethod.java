@@ -19,6 +19,11 @@
 package com.dtstack.dtcenter.loader;
 
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
+import com.dtstack.dtcenter.loader.metrics.LoaderMetrics;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * @company: www.dtstack.com
@@ -38,4 +43,102 @@ public class ClassLoaderCallBackMethod {
             Thread.currentThread().setContextClassLoader(oldClassLoader);
         }
     }
+
+    /**
+     * 切换类加载器执行并记录调用统计，插件名称取自 {@link DtClassLoader#getPluginName()}
+     *
+     * @param classLoaderCallBack 执行方法
+     * @param toSetClassLoader    插件类加载器
+     * @param methodName          方法名称
+     * @param <M>                 返回类型
+     * @return 执行结果
+     */
+    public static <M> M callbackAndReset(ClassLoaderCallBack<M> classLoaderCallBack, ClassLoader toSetClassLoader, String methodName) {
+        return callbackAndReset(classLoaderCallBack, toSetClassLoader, methodName, true);
+    }
+
+    /**
+     * 切换类加载器执行并记录调用统计，sampled 为 false 时只记录调用次数和异常次数、不记录耗时，
+     * 用于逐行调用等高频方法按比例采样耗时
+     *
+     * @param classLoaderCallBack 执行方法
+     * @param toSetClassLoader    插件类加载器
+     * @param methodName          方法名称
+     * @param sampled             本次调用是否记录耗时
+     * @param <M>                 返回类型
+     * @return 执行结果
+     */
+    public static <M> M callbackAndReset(ClassLoaderCallBack<M> classLoaderCallBack, ClassLoader toSetClassLoader, String methodName, boolean sampled) {
+        if (!LoaderMetrics.isEnabled()) {
+            return callbackAndReset(classLoaderCallBack, toSetClassLoader);
+        }
+        String pluginName = getPluginName(toSetClassLoader);
+        if (!sampled) {
+            Throwable throwable = null;
+            try {
+                return callbackAndReset(classLoaderCallBack, toSetClassLoader);
+            } catch (Throwable e) {
+                throwable = e;
+                throw e;
+            } finally {
+                LoaderMetrics.onUnsampledFinish(pluginName, methodName, throwable);
+            }
+        }
+        LoaderMetrics.onStart(pluginName, methodName);
+        long start = System.nanoTime();
+        Throwable throwable = null;
+        try {
+            return callbackAndReset(classLoaderCallBack, toSetClassLoader);
+        } catch (Throwable e) {
+            throwable = e;
+            throw e;
+        } finally {
+            LoaderMetrics.onFinish(pluginName, methodName, System.nanoTime() - start, throwable);
+        }
+    }
+
+    /**
+     * 切换类加载器执行返回 CompletableFuture 的异步方法，调用统计从提交前开始，到 future 完成时结束，
+     * future 异常完成或 errorResolver 返回异常时计为失败
+     *
+     * @param classLoaderCallBack 执行方法
+     * @param toSetClassLoader    插件类加载器
+     * @param methodName          方法名称
+     * @param errorResolver       从正常完成的结果中解析失败原因，成功时返回 null
+     * @param <M>                 返回类型
+     * @return 原 future
+     */
+    public static <M> CompletableFuture<M> callbackAsyncAndReset(ClassLoaderCallBack<CompletableFuture<M>> classLoaderCallBack, ClassLoader toSetClassLoader,
+                                                                 String methodName, Function<? super M, ? extends Throwable> errorResolver) {
+        if (!LoaderMetrics.isEnabled()) {
+            return callbackAndReset(classLoaderCallBack, toSetClassLoader);
+        }
+        String pluginName = getPluginName(toSetClassLoader);
+        LoaderMetrics.onStart(pluginName, methodName);
+        long start = System.nanoTime();
+        CompletableFuture<M> future;
+        try {
+            future = callbackAndReset(classLoaderCallBack, toSetClassLoader);
+        } catch (Throwable e) {
+            LoaderMetrics.onFinish(pluginName, methodName, System.nanoTime() - start, e);
+            throw e;
+        }
+        if (Objects.isNull(future)) {
+            LoaderMetrics.onFinish(pluginName, methodName, System.nanoTime() - start, null);
+            return null;
+        }
+        future.whenComplete((result, throwable) -> {
+            Throwable error = throwable;
+            if (Objects.isNull(error) && Objects.nonNull(errorResolver)) {
+                error = errorResolver.apply(result);
+            }
+            LoaderMetrics.onFinish(pluginName, methodName, System.nanoTime() - start, error);
+        });
+        return future;
+    }
+
+    private static String getPluginName(ClassLoader classLoader) {
+        return classLoader instanceof DtClassLoader ?
+                ((DtClassLoader) classLoader).getPluginName() : LoaderMetrics.UNKNOWN_PLUGIN;
+    }
 }
@@ -20,24 +20,75 @@ package com.dtstack.dtcenter.loader;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLStreamHandlerFactory;
+import java.security.CodeSource;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 
 /**
  * @company: www.dtstack.com
  * @Author ：Nanqi
  * @Date ：Created in 15:38 2020/1/6
  * @Description：loader 加载器
+ * <p>
+ * 创建时为插件 jar 包建立 包名 -> jar 包 的索引，类只在所在包对应的 jar 包中查找，包不在插件中时直接委托父加载器，
+ * 不再逐个 jar 包查找并抛出异常；资源按目录（包含所有上级目录）判断是否可能在插件中。
+ * 在插件目录中但未找到的类、资源会被缓存，下次直接委托父加载器。注册为支持并行加载，不同类使用不同的锁
  */
 @Slf4j
 public class DtClassLoader extends URLClassLoader {
     private static final String CLASS_FILE_SUFFIX = ".class";
 
+    /**
+     * 未找到缓存的最大条数
+     */
+    private static final int MAX_MISS_CACHE_SIZE = 10000;
+
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    /**
+     * 插件名称，用于调用统计
+     */
+    private volatile String pluginName;
+
+    /**
+     * 插件 jar 包索引，为 null 时表示无法建立索引，按原逻辑查找
+     */
+    private volatile JarIndex localIndex;
+
+    /**
+     * 按索引查找类时打开的 jar 包，关闭加载器时关闭
+     */
+    private final Map<URL, JarFile> openedJars = new ConcurrentHashMap<>();
+
+    /**
+     * 目录在插件中但插件中不存在的类
+     */
+    private final Set<String> localMissClasses = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 目录在插件中但插件中不存在的资源
+     */
+    private final Set<String> localMissResources = ConcurrentHashMap.newKeySet();
+
     /**
      * The parent class loader.
      */
@@ -48,10 +99,12 @@ public class DtClassLoader extends URLClassLoader {
     public DtClassLoader(URL[] urls, ClassLoader parent) {
         super(urls, parent);
         this.parent = parent;
+        buildIndex(urls);
     }
 
     public DtClassLoader(URL[] urls) {
         super(urls);
+        buildIndex(urls);
     }
 
     /**
@@ -73,6 +126,229 @@ public class DtClassLoader extends URLClassLoader {
      */
     public DtClassLoader(URL[] urls, ClassLoader parent, URLStreamHandlerFactory factory) {
         super(urls, parent, factory);
+        buildIndex(urls);
+    }
+
+    public String getPluginName() {
+        return pluginName;
+    }
+
+    public void setPluginName(String pluginName) {
+        this.pluginName = pluginName;
+    }
+
+    /**
+     * 建立插件 jar 包的索引，存在非 jar 包或 jar 包通过 Class-Path 引用其他文件时不建立索引
+     *
+     * @param urls 插件 jar 包
+     */
+    private void buildIndex(URL[] urls) {
+        long start = System.currentTimeMillis();
+        JarIndex index = new JarIndex();
+        for (URL url : urls) {
+            if (!indexJar(url, index)) {
+                localIndex = null;
+                return;
+            }
+        }
+        localIndex = index;
+        if (log.isDebugEnabled()) {
+            log.debug("build classloader index, jar num: {}, package num: {}, dir num: {}, cost: {} ms",
+                    urls.length, index.packageJars.size(), index.dirs.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 将 jar 包中的文件所在包、所有目录（包含上级目录）加入索引
+     *
+     * @param url   jar 包地址
+     * @param index 索引
+     * @return 是否成功建立索引
+     */
+    private static boolean indexJar(URL url, JarIndex index) {
+        if (!"file".equals(url.getProtocol()) || !url.getPath().endsWith(".jar")) {
+            return false;
+        }
+        try (JarFile jarFile = new JarFile(new File(url.toURI()))) {
+            Manifest manifest = jarFile.getManifest();
+            if (manifest != null && manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH) != null) {
+                return false;
+            }
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                String dir = getDir(entry.getName());
+                if (!entry.isDirectory()) {
+                    List<URL> jars = index.packageJars.computeIfAbsent(dir, k -> new CopyOnWriteArrayList<>());
+                    if (!jars.contains(url)) {
+                        jars.add(url);
+                    }
+                }
+                // 目录资源按目录名查找，如 getResources("com/dtstack")，需要索引所有上级目录
+                while (index.dirs.add(dir) && !dir.isEmpty()) {
+                    dir = getDir(dir.substring(0, dir.length() - 1));
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("build classloader index error, url: {}, {}", url, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String getDir(String path) {
+        int index = path.lastIndexOf('/');
+        return index < 0 ? "" : path.substring(0, index + 1);
+    }
+
+    /**
+     * 类是否可能在插件 jar 包中
+     *
+     * @param name 类名
+     * @return 是否需要在插件中查找
+     */
+    private boolean mayBeLocalClass(String name) {
+        if (localMissClasses.contains(name)) {
+            return false;
+        }
+        JarIndex index = localIndex;
+        return index == null || index.packageJars.containsKey(getDir(name.replace('.', '/') + CLASS_FILE_SUFFIX));
+    }
+
+    /**
+     * 资源是否可能在插件 jar 包中
+     *
+     * @param name 资源名
+     * @return 是否需要在插件中查找
+     */
+    private boolean mayBeLocalResource(String name) {
+        if (localMissResources.contains(name)) {
+            return false;
+        }
+        JarIndex index = localIndex;
+        if (index == null) {
+            return true;
+        }
+        // 资源本身可能是目录，如 com/dtstack 或 com/dtstack/
+        String dirName = name.endsWith("/") ? name : name + "/";
+        return index.dirs.contains(getDir(name)) || index.dirs.contains(dirName);
+    }
+
+    private static void addMiss(Set<String> missCache, String name) {
+        if (missCache.size() < MAX_MISS_CACHE_SIZE) {
+            missCache.add(name);
+        }
+    }
+
+    /**
+     * 建立索引后只在类所在包对应的 jar 包中查找，不再遍历所有 jar 包
+     *
+     * @param name 类名
+     * @return 类
+     * @throws ClassNotFoundException 插件中不存在该类
+     */
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        JarIndex index = localIndex;
+        if (index == null) {
+            return super.findClass(name);
+        }
+        String path = name.replace('.', '/') + CLASS_FILE_SUFFIX;
+        List<URL> jars = index.packageJars.get(getDir(path));
+        if (jars != null) {
+            for (URL jarUrl : jars) {
+                try {
+                    Class<?> clazz = defineClassFromJar(name, path, jarUrl);
+                    if (clazz != null) {
+                        return clazz;
+                    }
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+        throw new ClassNotFoundException(name);
+    }
+
+    /**
+     * 从指定 jar 包中读取并定义类
+     *
+     * @param name   类名
+     * @param path   类文件路径
+     * @param jarUrl jar 包地址
+     * @return 类，jar 包中不存在时返回 null
+     * @throws IOException 读取 jar 包异常
+     */
+    private Class<?> defineClassFromJar(String name, String path, URL jarUrl) throws IOException {
+        JarFile jarFile = openedJars.get(jarUrl);
+        if (jarFile == null) {
+            try {
+                jarFile = new JarFile(new File(jarUrl.toURI()));
+            } catch (Exception e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            JarFile exists = openedJars.putIfAbsent(jarUrl, jarFile);
+            if (exists != null) {
+                jarFile.close();
+                jarFile = exists;
+            }
+        }
+        JarEntry entry = jarFile.getJarEntry(path);
+        if (entry == null) {
+            return null;
+        }
+        byte[] bytes;
+        try (InputStream in = jarFile.getInputStream(entry)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(entry.getSize() > 0 ? (int) entry.getSize() : 4096);
+            byte[] buffer = new byte[4096];
+            int len;
+            while ((len = in.read(buffer)) != -1) {
+                out.write(buffer, 0, len);
+            }
+            bytes = out.toByteArray();
+        }
+        int lastDot = name.lastIndexOf('.');
+        if (lastDot > 0) {
+            definePackageIfAbsent(name.substring(0, lastDot), jarFile.getManifest(), jarUrl);
+        }
+        // 签名信息在读取完 entry 后才能获取
+        CodeSource codeSource = new CodeSource(jarUrl, entry.getCodeSigners());
+        return defineClass(name, bytes, 0, bytes.length, codeSource);
+    }
+
+    /**
+     * 定义包信息，和 URLClassLoader 一致使用 jar 包的 manifest
+     *
+     * @param packageName 包名
+     * @param manifest    jar 包的 manifest
+     * @param jarUrl      jar 包地址
+     */
+    private void definePackageIfAbsent(String packageName, Manifest manifest, URL jarUrl) {
+        if (getPackage(packageName) != null) {
+            return;
+        }
+        try {
+            if (manifest != null) {
+                definePackage(packageName, manifest, jarUrl);
+            } else {
+                definePackage(packageName, null, null, null, null, null, null, null);
+            }
+        } catch (IllegalArgumentException e) {
+            // 其他线程已经定义了该包
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (JarFile jarFile : openedJars.values()) {
+            try {
+                jarFile.close();
+            } catch (IOException e) {
+                log.warn("close jar file error, {}", e.getMessage());
+            }
+        }
+        openedJars.clear();
+        super.close();
     }
 
     @Override
@@ -104,19 +380,21 @@ public class DtClassLoader extends URLClassLoader {
             if (log.isDebugEnabled()) {
                 log.debug("  Searching local repositories");
             }
-            try {
-                clazz = findClass(name);
-                if (clazz != null) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("  Loading class from local repository");
-                    }
-                    if (resolve) {
-                        resolveClass(clazz);
+            if (mayBeLocalClass(name)) {
+                try {
+                    clazz = findClass(name);
+                    if (clazz != null) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("  Loading class from local repository");
+                        }
+                        if (resolve) {
+                            resolveClass(clazz);
+                        }
+                        return (clazz);
                     }
-                    return (clazz);
+                } catch (ClassNotFoundException e) {
+                    addMiss(localMissClasses, name);
                 }
-            } catch (ClassNotFoundException e) {
-                // Ignore
             }
 
             if (log.isDebugEnabled()) {
@@ -153,12 +431,15 @@ public class DtClassLoader extends URLClassLoader {
         URL url = null;
 
         // (2) Search local repositories
-        url = findResource(name);
-        if (url != null) {
-            if (log.isDebugEnabled()) {
-                log.debug("  --> Returning '" + url.toString() + "'");
+        if (mayBeLocalResource(name)) {
+            url = findResource(name);
+            if (url != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("  --> Returning '" + url.toString() + "'");
+                }
+                return (url);
             }
-            return (url);
+            addMiss(localMissResources, name);
         }
 
         // (3) Delegate to parent unconditionally if not already attempted
@@ -181,6 +462,13 @@ public class DtClassLoader extends URLClassLoader {
     public void addURL(URL url) {
         super.addURL(url);
         hasExternalRepositories = true;
+        // 新增 jar 包后更新索引并清空未找到缓存
+        JarIndex index = localIndex;
+        if (index != null && !indexJar(url, index)) {
+            localIndex = null;
+        }
+        localMissClasses.clear();
+        localMissResources.clear();
     }
 
     /**
@@ -209,6 +497,10 @@ public class DtClassLoader extends URLClassLoader {
             log.debug("findResources(" + name + ")");
         }
 
+        if (!mayBeLocalResource(name)) {
+            return Collections.emptyEnumeration();
+        }
+
         LinkedHashSet<URL> result = new LinkedHashSet<>();
 
         Enumeration<URL> superResource = super.findResources(name);
@@ -227,4 +519,20 @@ public class DtClassLoader extends URLClassLoader {
 
         return Collections.enumeration(result);
     }
+
+    /**
+     * 插件 jar 包索引
+     */
+    private static class JarIndex {
+
+        /**
+         * 包所在目录 -> 包含该包下文件的 jar 包
+         */
+        private final Map<String, List<URL>> packageJars = new ConcurrentHashMap<>();
+
+        /**
+         * jar 包中所有目录，包含上级目录和根目录 ""
+         */
+        private final Set<String> dirs = ConcurrentHashMap.newKeySet();
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.dtcenter.loader;
+
+import com.dtstack.dtcenter.loader.dto.batch.ColumnBatch;
+
+/**
+ * 支持列式批量读取的下载器，数值、时间等类型使用原生数组返回，不再逐个单元格生成 String
+ * <p>
+ * 循环调用 {@link #readNextBatch()} 直到返回空批次即可，不需要再调用 {@link #reachedEnd()}，
+ * 同一个下载器不能同时使用 readNext 和 readNextBatch 读取数据
+ *
+ * @author ：wangchuan
+ * date：Created in 上午10:21 2021/8/18
+ * company: www.dtstack.com
+ */
+public interface IBatchDownloader extends IDownloader {
+
+    @Override
+    default boolean supportBatch() {
+        return true;
+    }
+
+    /**
+     * 读取下一批数据，返回的批次对象会被复用，下一次调用后之前的数据失效
+     *
+     * @return 列式批次，size 为 0 时表示读取完毕
+     */
+    @Override
+    ColumnBatch readNextBatch();
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.dtcenter.loader;
+
+/**
+ * 支持获取总条数的下载器，总条数只在调用时查询，configure 时不再执行 count
+ *
+ * @author ：wangchuan
+ * date：Created in 下午2:05 2021/8/19
+ * company: www.dtstack.com
+ */
+public interface ICountableDownloader extends IDownloader {
+
+    @Override
+    default boolean supportTotalLine() {
+        return true;
+    }
+
+    /**
+     * 获取下载数据的总条数，精确值只查询一次，configure 前后均可调用。流式下载时部分数据源（如 mysql）
+     * 在读取过程中无法在同一连接上执行其他查询，此时使用连接池中的其他连接查询
+     *
+     * @param estimate 是否使用执行计划等统计信息估算，数据源不支持估算时执行 count 查询
+     * @return 总条数
+     */
+    @Override
+    long getTotalLine(boolean estimate);
+}
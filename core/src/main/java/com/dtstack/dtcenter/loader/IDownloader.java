@@ -18,6 +18,9 @@
 
 package com.dtstack.dtcenter.loader;
 
+import com.dtstack.dtcenter.loader.dto.batch.ColumnBatch;
+import com.dtstack.dtcenter.loader.exception.DtLoaderException;
+
 import java.util.List;
 
 /**
@@ -83,4 +86,41 @@ public interface IDownloader {
      * @throws Exception
      */
     List<String> getContainers();
+
+    /**
+     * 是否支持列式批量读取，支持时可以直接调用 {@link #readNextBatch()}，具体见 {@link IBatchDownloader}
+     *
+     * @return 是否支持
+     */
+    default boolean supportBatch() {
+        return false;
+    }
+
+    /**
+     * 读取下一批数据，不支持列式批量读取时抛出异常
+     *
+     * @return 列式批次，size 为 0 时表示读取完毕
+     */
+    default ColumnBatch readNextBatch() {
+        throw new DtLoaderException(String.format("%s does not support batch download", getClass().getSimpleName()));
+    }
+
+    /**
+     * 是否支持获取总条数，支持时可以直接调用 {@link #getTotalLine(boolean)}，具体见 {@link ICountableDownloader}
+     *
+     * @return 是否支持
+     */
+    default boolean supportTotalLine() {
+        return false;
+    }
+
+    /**
+     * 获取下载数据的总条数，不支持时抛出异常
+     *
+     * @param estimate 是否使用执行计划等统计信息估算
+     * @return 总条数
+     */
+    default long getTotalLine(boolean estimate) {
+        throw new DtLoaderException(String.format("%s does not support getting total line", getClass().getSimpleName()));
+    }
 }
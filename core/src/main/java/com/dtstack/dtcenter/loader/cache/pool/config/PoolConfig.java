@@ -53,6 +53,13 @@ public class PoolConfig implements Serializable {
     @Builder.Default
     private Long idleTimeout = MINUTES.toMillis(10);
 
+    /**
+     * 整个连接池没有正在使用的连接且超过该时长（毫秒）没有获取过连接时，由后台线程关闭并移除
+     * 和 idleTimeout 不同，idleTimeout 只控制池中单个空闲连接的回收
+     */
+    @Builder.Default
+    private Long poolEvictTimeout = MINUTES.toMillis(30);
+
     /**
      * 一个连接的生命时长（毫秒），超时而且没被使用则被释放（retired）
      * 建议设置比数据库超时时长少30秒
@@ -22,6 +22,7 @@ import com.dtstack.dtcenter.loader.client.hbase.HbaseClientFactory;
 import com.dtstack.dtcenter.loader.client.hdfs.HdfsFileClientFactory;
 import com.dtstack.dtcenter.loader.client.kerberos.KerberosClientFactory;
 import com.dtstack.dtcenter.loader.client.mq.KafkaClientFactory;
+import com.dtstack.dtcenter.loader.client.redis.RedisClientFactory;
 import com.dtstack.dtcenter.loader.client.restful.RestfulClientFactory;
 import com.dtstack.dtcenter.loader.client.sql.DataSourceClientFactory;
 import com.dtstack.dtcenter.loader.client.table.TableClientFactory;
@@ -31,7 +32,16 @@ import com.dtstack.dtcenter.loader.source.DataSourceType;
 import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * @company: www.dtstack.com
@@ -43,44 +53,49 @@ import java.util.Map;
 @Slf4j
 public class ClientCache {
     /**
-     * Sql Client 客户端缓存
+     * Sql Client 客户端缓存，每个插件单独初始化，不同插件之间互不阻塞
      */
-    private static final Map<String, IClient> SQL_CLIENT = Maps.newConcurrentMap();
+    private static final Map<String, CompletableFuture<IClient>> SQL_CLIENT = Maps.newConcurrentMap();
 
     /**
-     * HDFS 文件客户端缓存
+     * HDFS 文件客户端缓存，以下各类客户端缓存和 Sql Client 相同，每个插件单独初始化
      */
-    private static final Map<String, IHdfsFile> HDFS_FILE_CLIENT = Maps.newConcurrentMap();
+    private static final Map<String, CompletableFuture<IHdfsFile>> HDFS_FILE_CLIENT = Maps.newConcurrentMap();
 
     /**
      * KAFKA 客户端缓存
      */
-    private static final Map<String, IKafka> KAFKA_CLIENT = Maps.newConcurrentMap();
+    private static final Map<String, CompletableFuture<IKafka>> KAFKA_CLIENT = Maps.newConcurrentMap();
 
     /**
      * Kerberos 认证服务客户端缓存
      */
-    private static final Map<String, IKerberos> KERBEROS_CLIENT = Maps.newConcurrentMap();
+    private static final Map<String, CompletableFuture<IKerberos>> KERBEROS_CLIENT = Maps.newConcurrentMap();
 
     /**
      * hbase 服务客户端缓存
      */
-    private static final Map<String, IHbase> HBASE_CLIENT = Maps.newConcurrentMap();
+    private static final Map<String, CompletableFuture<IHbase>> HBASE_CLIENT = Maps.newConcurrentMap();
 
     /**
      * table 客户端缓存
      */
-    private static final Map<String, ITable> TABLE_CLIENT = Maps.newConcurrentMap();
+    private static final Map<String, CompletableFuture<ITable>> TABLE_CLIENT = Maps.newConcurrentMap();
 
     /**
      * tsdb 客户端缓存
      */
-    private static final Map<String, ITsdb> TSDB_CLIENT = Maps.newConcurrentMap();
+    private static final Map<String, CompletableFuture<ITsdb>> TSDB_CLIENT = Maps.newConcurrentMap();
 
     /**
      * restful 客户端缓存
      */
-    private static final Map<String, IRestful> RESTFUL_CLIENT = Maps.newConcurrentMap();
+    private static final Map<String, CompletableFuture<IRestful>> RESTFUL_CLIENT = Maps.newConcurrentMap();
+
+    /**
+     * redis 客户端缓存
+     */
+    private static final Map<String, CompletableFuture<IRedis>> REDIS_CLIENT = Maps.newConcurrentMap();
 
     protected static String userDir = String.format("%s/pluginLibs/", System.getProperty("user.dir"));
 
@@ -124,23 +139,55 @@ public class ClientCache {
     @Deprecated
     public static IClient getClient(String pluginName) throws ClientAccessException {
         try {
-            IClient client = SQL_CLIENT.get(pluginName);
-            if (client == null) {
-                synchronized (SQL_CLIENT) {
-                    client = SQL_CLIENT.get(pluginName);
-                    if (client == null) {
-                        client = DataSourceClientFactory.createPluginClass(pluginName);
-                        SQL_CLIENT.put(pluginName, client);
-                    }
-                }
-            }
-
-            return client;
+            return ClientFactory.getOrCreate(SQL_CLIENT, pluginName, () -> DataSourceClientFactory.createPluginClass(pluginName));
         } catch (Throwable e) {
             throw new ClientAccessException(e);
         }
     }
 
+    /**
+     * 并行预加载插件：创建插件的 ClassLoader 并初始化 Sql Client，避免第一次调用时加载 jar 包和类，
+     * 其他类型的客户端复用已创建的 ClassLoader，第一次获取时只需要初始化客户端
+     *
+     * @param sourceTypes 需要预加载的数据源类型，相同插件只加载一次
+     * @param parallelism 并行加载的线程数，为空或小于 1 时为 CPU 核数
+     * @return 加载失败的插件名称和异常，全部成功时为空
+     */
+    public static Map<String, Throwable> preload(Collection<Integer> sourceTypes, Integer parallelism) {
+        Map<String, Throwable> failed = Maps.newConcurrentMap();
+        if (sourceTypes == null || sourceTypes.isEmpty()) {
+            return failed;
+        }
+        Set<String> pluginNames = sourceTypes.stream()
+                .map(sourceType -> DataSourceType.getSourceType(sourceType).getPluginName())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        int threadNum = parallelism == null || parallelism < 1 ? Runtime.getRuntime().availableProcessors() : parallelism;
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadNum, pluginNames.size()), r -> {
+            Thread thread = new Thread(r, "loader-plugin-preload-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Void>> futures = pluginNames.stream()
+                    .map(pluginName -> CompletableFuture.runAsync(() -> {
+                        long start = System.currentTimeMillis();
+                        try {
+                            getClient(pluginName);
+                            log.info("preload plugin {} success, cost {} ms", pluginName, System.currentTimeMillis() - start);
+                        } catch (Throwable e) {
+                            log.error("preload plugin {} failed", pluginName, e);
+                            failed.put(pluginName, e);
+                        }
+                    }, executor))
+                    .collect(Collectors.toList());
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+        return failed;
+    }
+
     /**
      * 获取 HDFS 文件客户端
      *
@@ -163,18 +210,7 @@ public class ClientCache {
     @Deprecated
     public static IHdfsFile getHdfs(String pluginName) throws ClientAccessException {
         try {
-            IHdfsFile hdfsFile = HDFS_FILE_CLIENT.get(pluginName);
-            if (hdfsFile == null) {
-                synchronized (HDFS_FILE_CLIENT) {
-                    hdfsFile = HDFS_FILE_CLIENT.get(pluginName);
-                    if (hdfsFile == null) {
-                        hdfsFile = HdfsFileClientFactory.createPluginClass(pluginName);
-                        HDFS_FILE_CLIENT.put(pluginName, hdfsFile);
-                    }
-                }
-            }
-
-            return hdfsFile;
+            return ClientFactory.getOrCreate(HDFS_FILE_CLIENT, pluginName, () -> HdfsFileClientFactory.createPluginClass(pluginName));
         } catch (Throwable e) {
             throw new ClientAccessException(e);
         }
@@ -203,18 +239,7 @@ public class ClientCache {
     @Deprecated
     public static IKafka getKafka(String pluginName) throws ClientAccessException {
         try {
-            IKafka kafka = KAFKA_CLIENT.get(pluginName);
-            if (kafka == null) {
-                synchronized (KAFKA_CLIENT) {
-                    kafka = KAFKA_CLIENT.get(pluginName);
-                    if (kafka == null) {
-                        kafka = KafkaClientFactory.createPluginClass(pluginName);
-                        KAFKA_CLIENT.put(pluginName, kafka);
-                    }
-                }
-            }
-
-            return kafka;
+            return ClientFactory.getOrCreate(KAFKA_CLIENT, pluginName, () -> KafkaClientFactory.createPluginClass(pluginName));
         } catch (Throwable e) {
             throw new ClientAccessException(e);
         }
@@ -241,18 +266,7 @@ public class ClientCache {
      */
     private static IKerberos getKerberos(String pluginName) throws ClientAccessException {
         try {
-            IKerberos kerberos = KERBEROS_CLIENT.get(pluginName);
-            if (kerberos == null) {
-                synchronized (KERBEROS_CLIENT) {
-                    kerberos = KERBEROS_CLIENT.get(pluginName);
-                    if (kerberos == null) {
-                        kerberos = KerberosClientFactory.createPluginClass(pluginName);
-                        KERBEROS_CLIENT.put(pluginName, kerberos);
-                    }
-                }
-            }
-
-            return kerberos;
+            return ClientFactory.getOrCreate(KERBEROS_CLIENT, pluginName, () -> KerberosClientFactory.createPluginClass(pluginName));
         } catch (Throwable e) {
             throw new ClientAccessException(e);
         }
@@ -279,17 +293,7 @@ public class ClientCache {
      */
     private static IHbase getHbase(String pluginName) throws ClientAccessException {
         try {
-            IHbase hbase = HBASE_CLIENT.get(pluginName);
-            if (hbase == null) {
-                synchronized (HBASE_CLIENT) {
-                    hbase = HBASE_CLIENT.get(pluginName);
-                    if (hbase == null) {
-                        hbase = HbaseClientFactory.createPluginClass(pluginName);
-                        HBASE_CLIENT.put(pluginName, hbase);
-                    }
-                }
-            }
-            return hbase;
+            return ClientFactory.getOrCreate(HBASE_CLIENT, pluginName, () -> HbaseClientFactory.createPluginClass(pluginName));
         } catch (Throwable e) {
             throw new ClientAccessException(e);
         }
@@ -309,18 +313,7 @@ public class ClientCache {
 
     private static ITable getTable(String pluginName) {
         try {
-            ITable table = TABLE_CLIENT.get(pluginName);
-            if (table == null) {
-                synchronized (TABLE_CLIENT) {
-                    table = TABLE_CLIENT.get(pluginName);
-                    if (table == null) {
-                        table = TableClientFactory.createPluginClass(pluginName);
-                        TABLE_CLIENT.put(pluginName, table);
-                    }
-                }
-            }
-
-            return table;
+            return ClientFactory.getOrCreate(TABLE_CLIENT, pluginName, () -> TableClientFactory.createPluginClass(pluginName));
         } catch (Throwable e) {
             throw new ClientAccessException(e);
         }
@@ -339,18 +332,7 @@ public class ClientCache {
 
     private static ITsdb getTsdb(String pluginName) {
         try {
-            ITsdb tsdb = TSDB_CLIENT.get(pluginName);
-            if (tsdb == null) {
-                synchronized (TSDB_CLIENT) {
-                    tsdb = TSDB_CLIENT.get(pluginName);
-                    if (tsdb == null) {
-                        tsdb = TsdbClientFactory.createPluginClass(pluginName);
-                        TSDB_CLIENT.put(pluginName, tsdb);
-                    }
-                }
-            }
-
-            return tsdb;
+            return ClientFactory.getOrCreate(TSDB_CLIENT, pluginName, () -> TsdbClientFactory.createPluginClass(pluginName));
         } catch (Throwable e) {
             throw new ClientAccessException(e);
         }
@@ -369,17 +351,26 @@ public class ClientCache {
 
     private static IRestful getRestful(String pluginName) {
         try {
-            IRestful restful = RESTFUL_CLIENT.get(pluginName);
-            if (restful == null) {
-                synchronized (RESTFUL_CLIENT) {
-                    restful = RESTFUL_CLIENT.get(pluginName);
-                    if (restful == null) {
-                        restful = RestfulClientFactory.createPluginClass(pluginName);
-                        RESTFUL_CLIENT.put(pluginName, restful);
-                    }
-                }
-            }
-            return restful;
+            return ClientFactory.getOrCreate(RESTFUL_CLIENT, pluginName, () -> RestfulClientFactory.createPluginClass(pluginName));
+        } catch (Throwable e) {
+            throw new ClientAccessException(e);
+        }
+    }
+
+    /**
+     * 获取 redis 客户端
+     *
+     * @param sourceType 数据源类型
+     * @return redis 客户端
+     */
+    public static IRedis getRedis(Integer sourceType) {
+        String pluginName = DataSourceType.getSourceType(sourceType).getPluginName();
+        return getRedis(pluginName);
+    }
+
+    private static IRedis getRedis(String pluginName) {
+        try {
+            return ClientFactory.getOrCreate(REDIS_CLIENT, pluginName, () -> RedisClientFactory.createPluginClass(pluginName));
         } catch (Throwable e) {
             throw new ClientAccessException(e);
         }
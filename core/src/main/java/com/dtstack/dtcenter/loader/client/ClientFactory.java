@@ -34,6 +34,9 @@ import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * @company: www.dtstack.com
@@ -44,9 +47,9 @@ import java.util.Map;
 @Slf4j
 public class ClientFactory {
     /**
-     * 存储 插件名称 - ClassLoader 键值对信息
+     * 存储 插件名称 - ClassLoader 键值对信息，每个插件单独初始化，不同插件之间互不阻塞
      */
-    private static final Map<String, ClassLoader> PLUGIN_CLASSLOADER = Maps.newConcurrentMap();
+    private static final Map<String, CompletableFuture<ClassLoader>> PLUGIN_CLASSLOADER = Maps.newConcurrentMap();
 
     /**
      * 获取类加载器
@@ -56,21 +59,11 @@ public class ClientFactory {
      * @throws Exception
      */
     public static ClassLoader getClassLoader(String pluginName) throws Exception {
-        ClassLoader classLoader = PLUGIN_CLASSLOADER.get(pluginName);
-        if (null != classLoader) {
+        return getOrCreate(PLUGIN_CLASSLOADER, pluginName, () -> {
+            ClassLoader classLoader = getClassLoad(pluginName, getFileByPluginName(pluginName));
+            dealFastJSON(pluginName, classLoader);
             return classLoader;
-        }
-
-        synchronized (ClientFactory.class) {
-            classLoader = PLUGIN_CLASSLOADER.get(pluginName);
-            if (classLoader == null) {
-                classLoader = getClassLoad(pluginName, getFileByPluginName(pluginName));
-                PLUGIN_CLASSLOADER.put(pluginName, classLoader);
-            }
-        }
-
-        dealFastJSON(pluginName, classLoader);
-        return classLoader;
+        });
     }
 
     /**
@@ -80,7 +73,45 @@ public class ClientFactory {
      * @return
      */
     public static boolean checkContainClassLoader(String pluginName) {
-        return PLUGIN_CLASSLOADER.containsKey(pluginName);
+        CompletableFuture<ClassLoader> future = PLUGIN_CLASSLOADER.get(pluginName);
+        return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    /**
+     * 按插件获取或创建对象，同一插件只创建一次，并发获取同一插件时等待第一个调用方创建完成，
+     * 不同插件之间互不阻塞。创建失败时移除，下次调用重新创建
+     *
+     * @param cache      插件名称 - 对象 缓存
+     * @param pluginName 插件名称
+     * @param creator    创建方法
+     * @param <T>        对象类型
+     * @return 缓存的对象
+     * @throws Exception 创建异常
+     */
+    static <T> T getOrCreate(Map<String, CompletableFuture<T>> cache, String pluginName, Callable<T> creator) throws Exception {
+        CompletableFuture<T> future = cache.get(pluginName);
+        if (future == null) {
+            CompletableFuture<T> newFuture = new CompletableFuture<>();
+            future = cache.putIfAbsent(pluginName, newFuture);
+            if (future == null) {
+                future = newFuture;
+                try {
+                    newFuture.complete(creator.call());
+                } catch (Throwable e) {
+                    cache.remove(pluginName, newFuture);
+                    newFuture.completeExceptionally(e);
+                }
+            }
+        }
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new DtLoaderException(cause.getMessage(), cause);
+        }
     }
 
     /**
@@ -105,7 +136,9 @@ public class ClientFactory {
             }
         }
 
-        return new DtClassLoader(urlList.toArray(new URL[urlList.size()]), Thread.currentThread().getContextClassLoader());
+        DtClassLoader classLoader = new DtClassLoader(urlList.toArray(new URL[urlList.size()]), Thread.currentThread().getContextClassLoader());
+        classLoader.setPluginName(pluginName);
+        return classLoader;
     }
 
     /**
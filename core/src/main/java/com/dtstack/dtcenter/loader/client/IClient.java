@@ -20,9 +20,11 @@ package com.dtstack.dtcenter.loader.client;
 
 import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.dto.ColumnMetaDTO;
+import com.dtstack.dtcenter.loader.dto.ConnectionPoolMetricsDTO;
 import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 import com.dtstack.dtcenter.loader.dto.Table;
 import com.dtstack.dtcenter.loader.dto.source.ISourceDTO;
+import com.dtstack.dtcenter.loader.functions.RowConsumer;
 
 import java.sql.Connection;
 import java.util.List;
@@ -74,6 +76,16 @@ public interface IClient<T> {
      */
     List<Map<String, Object>> executeQuery(ISourceDTO source, SqlQueryDTO queryDTO);
 
+    /**
+     * 流式执行查询，逐行回调处理结果，不在内存中保存整个结果集
+     *
+     * @param source
+     * @param queryDTO 必填项 sql，limit 不为空时限制最大条数
+     * @param consumer 行处理，返回 false 时停止读取
+     * @return 处理的条数
+     */
+    Integer executeQuery(ISourceDTO source, SqlQueryDTO queryDTO, RowConsumer consumer);
+
     /**
      * 执行查询，无需结果集
      *
@@ -309,4 +321,19 @@ public interface IClient<T> {
      * @return 文件集合
      */
     List<String> listFileNames(ISourceDTO sourceDTO, String path, Boolean includeDir, Boolean recursive, Integer maxNum, String regexStr);
+
+    /**
+     * 获取当前插件所有连接池的统计信息，只有开启连接池的关系型数据库支持，其他数据源返回空集合
+     *
+     * @return 连接池统计信息
+     */
+    List<ConnectionPoolMetricsDTO> getPoolMetrics();
+
+    /**
+     * 关闭并移除数据源对应的连接池，用于密码变更、数据源下线等场景，下次获取连接时重新创建
+     *
+     * @param source 数据源信息
+     * @return 是否存在并关闭了连接池
+     */
+    Boolean invalidatePool(ISourceDTO source);
 }
@@ -18,6 +18,8 @@
 
 package com.dtstack.dtcenter.loader.client;
 
+import com.dtstack.dtcenter.loader.IDownloader;
+import com.dtstack.dtcenter.loader.dto.HbaseCellDTO;
 import com.dtstack.dtcenter.loader.dto.HbaseQueryDTO;
 import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 import com.dtstack.dtcenter.loader.dto.filter.Filter;
@@ -103,6 +105,17 @@ public interface IHbase {
      */
     Boolean deleteByRowKey (ISourceDTO source, String tableName, String family, String qualifier, List<String> rowKeys);
 
+    /**
+     * hbase 根据rowKey批量删除多列数据，所有 rowKey 的删除操作合并为一次批量请求
+     *
+     * @param source             数据源信息
+     * @param tableName          表名
+     * @param familyQualifierMap 删除的列族、列名，列名为空时删除整个列族，map 为空时删除整行
+     * @param rowKeys            rowkey列表
+     * @return 删除状态
+     */
+    Boolean deleteByRowKey(ISourceDTO source, String tableName, Map<String, List<String>> familyQualifierMap, List<String> rowKeys);
+
     /**
      * hbase向指定的rowKey插入数据
      *
@@ -126,6 +139,40 @@ public interface IHbase {
      */
     String getRow(ISourceDTO source, String tableName, String rowKey, String family, String qualifier);
 
+    /**
+     * hbase 批量写入数据，使用 BufferedMutator 按 region server 批量提交，同一 rowKey 的单元格合并为一个 Put
+     *
+     * @param source          数据源信息
+     * @param tableName       表名
+     * @param cells           写入的单元格
+     * @param writeBufferSize 写缓冲区大小，单位：字节，为空时使用 hbase.client.write.buffer 配置
+     * @return 数据插入状态
+     */
+    Boolean putRows(ISourceDTO source, String tableName, List<HbaseCellDTO> cells, Long writeBufferSize);
+
+    /**
+     * hbase 根据rowKey批量获取数据，使用一次 multi-get 请求，返回格式和 executeQuery 一致，
+     * 包含 rowkey、列族:列名、timestamp，不存在的 rowKey 不返回
+     *
+     * @param source             数据源信息
+     * @param tableName          表名
+     * @param rowKeys            rowkey列表
+     * @param familyQualifierMap 获取的列族、列名，列名为空时获取整个列族，map 为空时获取整行
+     * @return 查询结果
+     */
+    List<Map<String, Object>> getRows(ISourceDTO source, String tableName, List<String> rowKeys, Map<String, List<String>> familyQualifierMap);
+
+    /**
+     * hbase 自定义查询下载器，按 region 边界切分 rowKey 范围，多个 region 并发扫描，边扫描边输出，
+     * readNext 每次返回一行数据，格式和 executeQuery 一致，包含 rowkey、列族:列名、timestamp
+     *
+     * @param source          数据源信息
+     * @param hbaseQueryDTO   hbase 自定义查询条件，limit 为下载总条数
+     * @param timestampFilter 时间戳过滤器
+     * @return 下载器
+     */
+    IDownloader getDownloader(ISourceDTO source, HbaseQueryDTO hbaseQueryDTO, TimestampFilter timestampFilter);
+
     /**
      * hbase 数据预览，如果有数据则第一行为字段信息，如果没有数据返回空 list
      *
@@ -294,6 +294,19 @@ public interface IHdfsFile {
      */
     IDownloader getDownloaderByFormat(ISourceDTO source, String tableLocation, List<String> columnNames, String fieldDelimiter, String fileFormat);
 
+    /**
+     * 根据文件格式获取对应的downloader，queryDTO 中 readAheadFileNum 大于 1 时开启多文件预读
+     *
+     * @param source         数据源信息
+     * @param tableLocation  hdfs 路径
+     * @param columnNames    字段名称
+     * @param fieldDelimiter 分隔符
+     * @param fileFormat     文件格式
+     * @param queryDTO       查询信息
+     * @return downloader
+     */
+    IDownloader getDownloaderByFormat(ISourceDTO source, String tableLocation, List<String> columnNames, String fieldDelimiter, String fileFormat, SqlQueryDTO queryDTO);
+
     /**
      * 获取hdfs上存储文件的字段信息
      *
@@ -180,4 +180,15 @@ public interface IKafka<T> {
      * @return 消费者组详细信息
      */
     List<KafkaConsumerDTO> getGroupInfoByGroupIdAndTopic(ISourceDTO source, String groupId, String topic);
+
+    /**
+     * 批量获取 kafka 多个 topic 下分区的偏移量及指定消费者组的消费详细信息，
+     * 所有 topic 共用一次元数据请求，最早/最大偏移量按分区 leader 批量请求，每个消费者组只请求一次已提交的偏移量
+     *
+     * @param source   数据源信息
+     * @param topics   kafka主题集合
+     * @param groupIds 消费者组集合，为空时只返回每个分区的最早、最大偏移量
+     * @return 每个消费者组在每个分区上的消费详细信息
+     */
+    List<KafkaConsumerDTO> getGroupInfoByTopics(ISourceDTO source, List<String> topics, List<String> groupIds);
 }
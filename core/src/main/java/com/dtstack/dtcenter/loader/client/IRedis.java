@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.client;
+
+import com.dtstack.dtcenter.loader.dto.source.ISourceDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>提供 redis 相关操作方法</p>
+ *
+ * @author ：wangchuan
+ * date：Created in 下午3:20 2021/9/9
+ * company: www.dtstack.com
+ */
+public interface IRedis {
+
+    /**
+     * 批量获取 string 类型 key 的值，单机、哨兵模式使用一次 MGET，集群模式按 slot 分组后每组一次 MGET
+     *
+     * @param source 数据源信息
+     * @param keys   key 集合
+     * @return key 和值，按传入顺序返回，不存在的 key 值为 null
+     */
+    Map<String, String> mget(ISourceDTO source, List<String> keys);
+
+    /**
+     * 批量获取多个 hash 的字段值，单机、哨兵模式使用 pipeline 一次提交所有 HMGET
+     *
+     * @param source     数据源信息
+     * @param hashFields hash key 和需要获取的字段，字段为空时获取全部字段
+     * @return hash key 和对应字段值，按传入顺序返回，不存在的字段值为 null
+     */
+    Map<String, Map<String, String>> hmget(ISourceDTO source, Map<String, List<String>> hashFields);
+}
@@ -18,11 +18,14 @@
 
 package com.dtstack.dtcenter.loader.client;
 
+import com.dtstack.dtcenter.loader.dto.restful.Request;
 import com.dtstack.dtcenter.loader.dto.restful.Response;
 import com.dtstack.dtcenter.loader.dto.source.RestfulSourceDTO;
 
 import java.io.File;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * <p>提供 Restful 相关操作方法</p>
@@ -89,4 +92,72 @@ public interface IRestful {
      */
     Response postMultipart(RestfulSourceDTO sourceDTO, Map<String, String> params, Map<String, String> cookies, Map<String, String> headers, Map<String, File> files);
 
+    /**
+     * 异步 get 请求，不阻塞调用线程，请求失败时返回的 Response 中包含异常信息
+     * <p>
+     * future 在 http IO 线程中完成，后续回调中不要执行阻塞操作
+     *
+     * @param sourceDTO 数据源信息
+     * @param params    请求参数
+     * @param cookies   cookie 信息
+     * @param headers   header 信息
+     * @return 相应
+     */
+    CompletableFuture<Response> getAsync(RestfulSourceDTO sourceDTO, Map<String, String> params, Map<String, String> cookies, Map<String, String> headers);
+
+    /**
+     * 异步 post 请求
+     *
+     * @param sourceDTO 数据源信息
+     * @param bodyData  请求参数
+     * @param cookies   cookie 信息
+     * @param headers   header 信息
+     * @return 相应
+     */
+    CompletableFuture<Response> postAsync(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers);
+
+    /**
+     * 异步 delete 请求
+     *
+     * @param sourceDTO 数据源信息
+     * @param bodyData  请求参数
+     * @param cookies   cookie 信息
+     * @param headers   header 信息
+     * @return 相应
+     */
+    CompletableFuture<Response> deleteAsync(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers);
+
+    /**
+     * 异步 put 请求
+     *
+     * @param sourceDTO 数据源信息
+     * @param bodyData  body 信息
+     * @param cookies   cookie 信息
+     * @param headers   header 信息
+     * @return 相应
+     */
+    CompletableFuture<Response> putAsync(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers);
+
+    /**
+     * 异步 post Multipart
+     *
+     * @param sourceDTO 数据源信息
+     * @param params    请求参数
+     * @param cookies   cookie 信息
+     * @param headers   header 信息
+     * @param files     文件信息
+     * @return 相应
+     */
+    CompletableFuture<Response> postMultipartAsync(RestfulSourceDTO sourceDTO, Map<String, String> params, Map<String, String> cookies, Map<String, String> headers, Map<String, File> files);
+
+    /**
+     * 批量请求，使用同一个 http client 并发执行，同时执行中的请求数不超过 maxInFlight
+     *
+     * @param sourceDTO   数据源信息
+     * @param requests    请求集合，url 为空时使用数据源中的 url
+     * @param maxInFlight 最大并发请求数，为空时默认 32
+     * @return 和请求顺序一一对应的相应集合
+     */
+    CompletableFuture<List<Response>> batch(RestfulSourceDTO sourceDTO, List<Request> requests, Integer maxInFlight);
+
 }
@@ -19,7 +19,10 @@
 package com.dtstack.dtcenter.loader.client.hbase;
 
 import com.dtstack.dtcenter.loader.ClassLoaderCallBackMethod;
+import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.client.IHbase;
+import com.dtstack.dtcenter.loader.downloader.DownloaderProxy;
+import com.dtstack.dtcenter.loader.dto.HbaseCellDTO;
 import com.dtstack.dtcenter.loader.dto.HbaseQueryDTO;
 import com.dtstack.dtcenter.loader.dto.filter.TimestampFilter;
 import com.dtstack.dtcenter.loader.dto.source.ISourceDTO;
@@ -44,78 +47,102 @@ public class HbaseProxy implements IHbase {
     @Override
     public Boolean isDbExists(ISourceDTO source, String namespace) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.isDbExists(source, namespace),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "isDbExists");
     }
 
     @Override
     public Boolean createHbaseTable(ISourceDTO source, String tableName, String[] colFamily) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.createHbaseTable(source, tableName, colFamily),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "createHbaseTable");
     }
 
     @Override
     public Boolean createHbaseTable(ISourceDTO source, String namespace, String tableName, String[] colFamily) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.createHbaseTable(source, namespace, tableName, colFamily),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "createHbaseTable");
     }
 
     @Override
     public Boolean deleteHbaseTable(ISourceDTO source, String tableName) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.deleteHbaseTable(source, tableName),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "deleteHbaseTable");
     }
 
     @Override
     public Boolean deleteHbaseTable(ISourceDTO source, String namespace, String tableName) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.deleteHbaseTable(source, namespace, tableName),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "deleteHbaseTable");
     }
 
     @Override
     public List<String> scanByRegex(ISourceDTO source, String tableName, String regex) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.scanByRegex(source, tableName, regex),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "scanByRegex");
     }
 
     @Override
     public Boolean deleteByRowKey(ISourceDTO source, String tableName, String family, String qualifier, List<String> rowKeys) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.deleteByRowKey(source, tableName, family, qualifier, rowKeys),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "deleteByRowKey");
+    }
+
+    @Override
+    public Boolean deleteByRowKey(ISourceDTO source, String tableName, Map<String, List<String>> familyQualifierMap, List<String> rowKeys) {
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.deleteByRowKey(source, tableName, familyQualifierMap, rowKeys),
+                targetClient.getClass().getClassLoader(), "deleteByRowKey");
     }
 
     @Override
     public Boolean putRow(ISourceDTO source, String tableName, String rowKey, String family, String qualifier, String data) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.putRow(source, tableName, rowKey, family, qualifier, data),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "putRow");
     }
 
     @Override
     public String getRow(ISourceDTO source, String tableName, String rowKey, String family, String qualifier) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getRow(source, tableName, rowKey, family, qualifier),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getRow");
+    }
+
+    @Override
+    public Boolean putRows(ISourceDTO source, String tableName, List<HbaseCellDTO> cells, Long writeBufferSize) {
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.putRows(source, tableName, cells, writeBufferSize),
+                targetClient.getClass().getClassLoader(), "putRows");
+    }
+
+    @Override
+    public List<Map<String, Object>> getRows(ISourceDTO source, String tableName, List<String> rowKeys, Map<String, List<String>> familyQualifierMap) {
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getRows(source, tableName, rowKeys, familyQualifierMap),
+                targetClient.getClass().getClassLoader(), "getRows");
+    }
+
+    @Override
+    public IDownloader getDownloader(ISourceDTO source, HbaseQueryDTO hbaseQueryDTO, TimestampFilter timestampFilter) {
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> new DownloaderProxy(targetClient.getDownloader(source, hbaseQueryDTO, timestampFilter)),
+                targetClient.getClass().getClassLoader(), "getDownloader");
     }
 
     @Override
     public List<List<String>> preview(ISourceDTO source, String tableName, Integer previewNum) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.preview(source, tableName, previewNum),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "preview");
     }
 
     @Override
     public List<List<String>> preview(ISourceDTO source, String tableName, List<String> familyList, Integer previewNum) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.preview(source, tableName, familyList, previewNum),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "preview");
     }
 
     @Override
     public List<List<String>> preview(ISourceDTO source, String tableName, Map<String, List<String>> familyQualifierMap, Integer previewNum) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.preview(source, tableName, familyQualifierMap, previewNum),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "preview");
     }
 
     @Override
     public List<Map<String, Object>> executeQuery(ISourceDTO source, HbaseQueryDTO hbaseQueryDTO, TimestampFilter timestampFilter) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.executeQuery(source, hbaseQueryDTO, timestampFilter),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "executeQuery");
     }
 }
@@ -53,7 +53,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public FileStatus getStatus(ISourceDTO source, String location)  {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getStatus(source, location),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "getStatus");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -64,7 +64,7 @@ public class HdfsFileProxy implements IHdfsFile {
         try {
             //这里返回给上层的是downLoader代理类
             return ClassLoaderCallBackMethod.callbackAndReset(() -> new DownloaderProxy(targetClient.getLogDownloader(source, queryDTO)),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "getLogDownloader");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -75,7 +75,7 @@ public class HdfsFileProxy implements IHdfsFile {
         try {
             //这里返回给上层的是downLoader代理类
             return ClassLoaderCallBackMethod.callbackAndReset(() -> new DownloaderProxy(targetClient.getFileDownloader(source, path)),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "getFileDownloader");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -85,7 +85,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean downloadFileFromHdfs(ISourceDTO source, String remotePath, String localDir) {
         try {
            return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.downloadFileFromHdfs(source, remotePath, localDir),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "downloadFileFromHdfs");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -95,7 +95,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean uploadLocalFileToHdfs(ISourceDTO source, String localFilePath, String remotePath) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.uploadLocalFileToHdfs(source, localFilePath, remotePath),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "uploadLocalFileToHdfs");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -105,7 +105,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean uploadInputStreamToHdfs(ISourceDTO source, byte[] bytes, String remotePath) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.uploadInputStreamToHdfs(source, bytes, remotePath),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "uploadInputStreamToHdfs");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -115,7 +115,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean createDir(ISourceDTO source, String remotePath, Short permission) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.createDir(source, remotePath, permission),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "createDir");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -125,7 +125,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean isFileExist(ISourceDTO source, String remotePath) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.isFileExist(source, remotePath),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "isFileExist");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -135,7 +135,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean checkAndDelete(ISourceDTO source, String remotePath) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.checkAndDelete(source, remotePath),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "checkAndDelete");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -145,7 +145,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean delete(ISourceDTO source, String remotePath, boolean recursive) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.delete(source, remotePath, recursive),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "delete");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -155,7 +155,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public long getDirSize(ISourceDTO source, String remotePath) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getDirSize(source, remotePath),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "getDirSize");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -165,7 +165,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean deleteFiles(ISourceDTO source, List<String> fileNames) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.deleteFiles(source, fileNames),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "deleteFiles");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -175,7 +175,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean isDirExist(ISourceDTO source, String remotePath) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.isDirExist(source, remotePath),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "isDirExist");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -185,7 +185,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean setPermission(ISourceDTO source, String remotePath, String mode) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.setPermission(source, remotePath, mode),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "setPermission");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -195,7 +195,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean rename(ISourceDTO source, String src, String dist) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.rename(source, src, dist),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "rename");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -205,7 +205,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean copyFile(ISourceDTO source, String src, String dist, boolean isOverwrite) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.copyFile(source, src, dist, isOverwrite),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "copyFile");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -215,7 +215,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean copyDirector(ISourceDTO source, String src, String dist) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.copyDirector(source, src, dist),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "copyDirector");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -225,7 +225,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean fileMerge(ISourceDTO source, String src, String mergePath, FileFormat fileFormat, Long maxCombinedFileSize, Long needCombineFileSizeLimit) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.fileMerge(source, src, mergePath, fileFormat, maxCombinedFileSize, needCombineFileSizeLimit),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "fileMerge");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -235,7 +235,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public List<FileStatus> listStatus(ISourceDTO source, String remotePath) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.listStatus(source, remotePath),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "listStatus");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -245,7 +245,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public List<String> listAllFilePath(ISourceDTO source, String remotePath) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.listAllFilePath(source, remotePath),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "listAllFilePath");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -255,7 +255,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public List<FileStatus> listAllFiles(ISourceDTO source, String remotePath, boolean isIterate) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.listAllFiles(source, remotePath, isIterate),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "listAllFiles");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -265,7 +265,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean copyToLocal(ISourceDTO source, String srcPath, String dstPath) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.copyToLocal(source, srcPath, dstPath),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "copyToLocal");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -275,7 +275,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public boolean copyFromLocal(ISourceDTO source, String srcPath, String dstPath, boolean overwrite) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.copyFromLocal(source, srcPath, dstPath, overwrite),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "copyFromLocal");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -285,7 +285,17 @@ public class HdfsFileProxy implements IHdfsFile {
     public IDownloader getDownloaderByFormat(ISourceDTO source, String tableLocation, List<String> columnNames, String fieldDelimiter, String fileFormat) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> new DownloaderProxy(targetClient.getDownloaderByFormat(source, tableLocation, columnNames, fieldDelimiter, fileFormat)),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "getDownloaderByFormat");
+        } catch (Exception e) {
+            throw new DtLoaderException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public IDownloader getDownloaderByFormat(ISourceDTO source, String tableLocation, List<String> columnNames, String fieldDelimiter, String fileFormat, SqlQueryDTO queryDTO) {
+        try {
+            return ClassLoaderCallBackMethod.callbackAndReset(() -> new DownloaderProxy(targetClient.getDownloaderByFormat(source, tableLocation, columnNames, fieldDelimiter, fileFormat, queryDTO)),
+                    targetClient.getClass().getClassLoader(), "getDownloaderByFormat");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -295,7 +305,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public List<ColumnMetaDTO> getColumnList(ISourceDTO source, SqlQueryDTO queryDTO, String fileFormat) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getColumnList(source, queryDTO, fileFormat),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "getColumnList");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -305,7 +315,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public int writeByPos(ISourceDTO source, HdfsWriterDTO hdfsWriterDTO) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.writeByPos(source, hdfsWriterDTO),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "writeByPos");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -315,7 +325,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public int writeByName(ISourceDTO source, HdfsWriterDTO hdfsWriterDTO) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.writeByName(source, hdfsWriterDTO),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "writeByName");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -325,7 +335,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public List<HDFSContentSummary> getContentSummary(ISourceDTO source, List<String> hdfsDirPaths) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getContentSummary(source, hdfsDirPaths),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "getContentSummary");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -335,7 +345,7 @@ public class HdfsFileProxy implements IHdfsFile {
     public HDFSContentSummary getContentSummary(ISourceDTO source, String hdfsDirPath) {
         try {
             return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getContentSummary(source, hdfsDirPath),
-                    targetClient.getClass().getClassLoader());
+                    targetClient.getClass().getClassLoader(), "getContentSummary");
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -40,24 +40,24 @@ public class KerberosProxy implements IKerberos {
     @Override
     public Map<String, Object> parseKerberosFromUpload(String zipLocation, String localKerberosPath) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.parseKerberosFromUpload(zipLocation, localKerberosPath),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "parseKerberosFromUpload");
     }
 
     @Override
     public Boolean prepareKerberosForConnect(Map<String, Object> conf, String localKerberosPath) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.prepareKerberosForConnect(conf, localKerberosPath),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "prepareKerberosForConnect");
     }
 
     @Override
     public String getPrincipals(String url) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getPrincipals(url),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getPrincipals");
     }
 
     @Override
     public List<String> getPrincipals(Map<String, Object> kerberosConfig) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getPrincipals(kerberosConfig),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getPrincipals");
     }
 }
@@ -48,90 +48,96 @@ public class KafkaClientProxy<T> implements IKafka<T> {
     @Override
     public Boolean testCon(ISourceDTO source) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.testCon(source),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "testCon");
     }
 
     @Override
     public String getAllBrokersAddress(ISourceDTO source) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getAllBrokersAddress(source),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getAllBrokersAddress");
     }
 
     @Override
     public List<String> getTopicList(ISourceDTO source) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getTopicList(source),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getTopicList");
     }
 
     @Override
     public Boolean createTopic(ISourceDTO source, KafkaTopicDTO kafkaTopic) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.createTopic(source, kafkaTopic),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "createTopic");
     }
 
     @Override
     public List<T> getAllPartitions(ISourceDTO source, String topic) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getAllPartitions(source, topic),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getAllPartitions");
     }
 
     @Override
     public List<KafkaOffsetDTO> getOffset(ISourceDTO source, String topic) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getOffset(source, topic),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getOffset");
     }
 
     @Override
     public List<List<Object>> getPreview(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getPreview(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getPreview");
     }
 
     @Override
     public List<List<Object>> getPreview(ISourceDTO source, SqlQueryDTO queryDTO, String prevMode) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getPreview(source, queryDTO, prevMode),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getPreview");
     }
 
     @Override
     public List<KafkaPartitionDTO> getTopicPartitions(ISourceDTO source, String topic) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getTopicPartitions(source, topic),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getTopicPartitions");
     }
 
     @Override
     public List<String> consumeData(ISourceDTO source, String topic, Integer collectNum, String offsetReset, Long timestampOffset, Integer maxTimeWait) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.consumeData(source, topic, collectNum, offsetReset, timestampOffset, maxTimeWait),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "consumeData");
     }
 
     @Override
     public List<String> listConsumerGroup(ISourceDTO source) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.listConsumerGroup(source),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "listConsumerGroup");
     }
 
     @Override
     public List<String> listConsumerGroupByTopic(ISourceDTO source, String topic) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.listConsumerGroupByTopic(source, topic),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "listConsumerGroupByTopic");
     }
 
     @Override
     public List<KafkaConsumerDTO> getGroupInfoByGroupId(ISourceDTO source, String groupId) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getGroupInfoByGroupId(source, groupId),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getGroupInfoByGroupId");
     }
 
     @Override
     public List<KafkaConsumerDTO> getGroupInfoByTopic(ISourceDTO source, String topic) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getGroupInfoByTopic(source, topic),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getGroupInfoByTopic");
     }
 
     @Override
     public List<KafkaConsumerDTO> getGroupInfoByGroupIdAndTopic(ISourceDTO source, String groupId, String topic) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getGroupInfoByGroupIdAndTopic(source, groupId, topic),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getGroupInfoByGroupIdAndTopic");
+    }
+
+    @Override
+    public List<KafkaConsumerDTO> getGroupInfoByTopics(ISourceDTO source, List<String> topics, List<String> groupIds) {
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getGroupInfoByTopics(source, topics, groupIds),
+                targetClient.getClass().getClassLoader(), "getGroupInfoByTopics");
     }
 }
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.client.redis;
+
+import com.dtstack.dtcenter.loader.ClassLoaderCallBack;
+import com.dtstack.dtcenter.loader.ClassLoaderCallBackMethod;
+import com.dtstack.dtcenter.loader.client.ClientFactory;
+import com.dtstack.dtcenter.loader.client.IRedis;
+import com.dtstack.dtcenter.loader.exception.DtLoaderException;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * <p> redis 客户端工厂</p>
+ *
+ * @author ：wangchuan
+ * date：Created in 下午3:20 2021/9/9
+ * company: www.dtstack.com
+ */
+public class RedisClientFactory {
+    public static IRedis createPluginClass(String pluginName) throws Exception {
+        ClassLoader classLoader = ClientFactory.getClassLoader(pluginName);
+        return ClassLoaderCallBackMethod.callbackAndReset((ClassLoaderCallBack<IRedis>) () -> {
+            ServiceLoader<IRedis> redisClients = ServiceLoader.load(IRedis.class);
+            Iterator<IRedis> iClientIterator = redisClients.iterator();
+            if (!iClientIterator.hasNext()) {
+                throw new DtLoaderException("This plugin type is not supported: " + pluginName);
+            }
+            IRedis redis = iClientIterator.next();
+            return new RedisClientProxy(redis);
+        }, classLoader);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.client.redis;
+
+import com.dtstack.dtcenter.loader.ClassLoaderCallBackMethod;
+import com.dtstack.dtcenter.loader.client.IRedis;
+import com.dtstack.dtcenter.loader.dto.source.ISourceDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p> redis 代理类</p>
+ *
+ * @author ：wangchuan
+ * date：Created in 下午3:20 2021/9/9
+ * company: www.dtstack.com
+ */
+public class RedisClientProxy implements IRedis {
+
+    IRedis targetClient;
+
+    public RedisClientProxy(IRedis redis) {
+        this.targetClient = redis;
+    }
+
+    @Override
+    public Map<String, String> mget(ISourceDTO source, List<String> keys) {
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.mget(source, keys),
+                targetClient.getClass().getClassLoader(), "mget");
+    }
+
+    @Override
+    public Map<String, Map<String, String>> hmget(ISourceDTO source, Map<String, List<String>> hashFields) {
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.hmget(source, hashFields),
+                targetClient.getClass().getClassLoader(), "hmget");
+    }
+}
@@ -20,11 +20,16 @@ package com.dtstack.dtcenter.loader.client.restful;
 
 import com.dtstack.dtcenter.loader.ClassLoaderCallBackMethod;
 import com.dtstack.dtcenter.loader.client.IRestful;
+import com.dtstack.dtcenter.loader.dto.restful.Request;
 import com.dtstack.dtcenter.loader.dto.restful.Response;
 import com.dtstack.dtcenter.loader.dto.source.RestfulSourceDTO;
+import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 
 import java.io.File;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * <p> restful 代理类</p>
@@ -44,30 +49,79 @@ public class RestfulClientProxy implements IRestful {
     @Override
     public Response get(RestfulSourceDTO sourceDTO, Map<String, String> params, Map<String, String> cookies, Map<String, String> headers) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.get(sourceDTO, params, cookies, headers),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "get");
     }
 
     @Override
     public Response post(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.post(sourceDTO, bodyData, cookies, headers),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "post");
     }
 
     @Override
     public Response delete(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.delete(sourceDTO, bodyData, cookies, headers),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "delete");
     }
 
     @Override
     public Response put(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.put(sourceDTO, bodyData, cookies, headers),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "put");
     }
 
     @Override
     public Response postMultipart(RestfulSourceDTO sourceDTO, Map<String, String> params, Map<String, String> cookies, Map<String, String> headers, Map<String, File> files) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.postMultipart(sourceDTO, params, cookies, headers, files),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "postMultipart");
+    }
+
+    @Override
+    public CompletableFuture<Response> getAsync(RestfulSourceDTO sourceDTO, Map<String, String> params, Map<String, String> cookies, Map<String, String> headers) {
+        return ClassLoaderCallBackMethod.callbackAsyncAndReset(() -> targetClient.getAsync(sourceDTO, params, cookies, headers),
+                targetClient.getClass().getClassLoader(), "getAsync", RestfulClientProxy::resolveError);
+    }
+
+    @Override
+    public CompletableFuture<Response> postAsync(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
+        return ClassLoaderCallBackMethod.callbackAsyncAndReset(() -> targetClient.postAsync(sourceDTO, bodyData, cookies, headers),
+                targetClient.getClass().getClassLoader(), "postAsync", RestfulClientProxy::resolveError);
+    }
+
+    @Override
+    public CompletableFuture<Response> deleteAsync(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
+        return ClassLoaderCallBackMethod.callbackAsyncAndReset(() -> targetClient.deleteAsync(sourceDTO, bodyData, cookies, headers),
+                targetClient.getClass().getClassLoader(), "deleteAsync", RestfulClientProxy::resolveError);
+    }
+
+    @Override
+    public CompletableFuture<Response> putAsync(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
+        return ClassLoaderCallBackMethod.callbackAsyncAndReset(() -> targetClient.putAsync(sourceDTO, bodyData, cookies, headers),
+                targetClient.getClass().getClassLoader(), "putAsync", RestfulClientProxy::resolveError);
+    }
+
+    @Override
+    public CompletableFuture<Response> postMultipartAsync(RestfulSourceDTO sourceDTO, Map<String, String> params, Map<String, String> cookies, Map<String, String> headers, Map<String, File> files) {
+        return ClassLoaderCallBackMethod.callbackAsyncAndReset(() -> targetClient.postMultipartAsync(sourceDTO, params, cookies, headers, files),
+                targetClient.getClass().getClassLoader(), "postMultipartAsync", RestfulClientProxy::resolveError);
+    }
+
+    @Override
+    public CompletableFuture<List<Response>> batch(RestfulSourceDTO sourceDTO, List<Request> requests, Integer maxInFlight) {
+        return ClassLoaderCallBackMethod.callbackAsyncAndReset(() -> targetClient.batch(sourceDTO, requests, maxInFlight),
+                targetClient.getClass().getClassLoader(), "batch", null);
+    }
+
+    /**
+     * 异步请求失败时以 statusCode 为 -1 的 Response 正常完成，统计时计为失败
+     *
+     * @param response 请求结果
+     * @return 失败原因，成功时返回 null
+     */
+    private static Throwable resolveError(Response response) {
+        if (Objects.nonNull(response) && Objects.equals(response.getStatusCode(), -1)) {
+            return new DtLoaderException(response.getErrorMsg());
+        }
+        return null;
     }
 }
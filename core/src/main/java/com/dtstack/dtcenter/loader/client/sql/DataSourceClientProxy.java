@@ -23,9 +23,11 @@ import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.client.IClient;
 import com.dtstack.dtcenter.loader.downloader.DownloaderProxy;
 import com.dtstack.dtcenter.loader.dto.ColumnMetaDTO;
+import com.dtstack.dtcenter.loader.dto.ConnectionPoolMetricsDTO;
 import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 import com.dtstack.dtcenter.loader.dto.Table;
 import com.dtstack.dtcenter.loader.dto.source.ISourceDTO;
+import com.dtstack.dtcenter.loader.functions.RowConsumer;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.Connection;
@@ -49,162 +51,180 @@ public class DataSourceClientProxy<T> implements IClient<T> {
     @Override
     public Connection getCon(ISourceDTO source) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getCon(source),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getCon");
     }
 
     @Override
     public Connection getCon(ISourceDTO source, String taskParams) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getCon(source, taskParams),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getCon");
     }
 
     @Override
     public Boolean testCon(ISourceDTO source) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.testCon(source),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "testCon");
     }
 
     @Override
     public List<Map<String, Object>> executeQuery(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.executeQuery(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "executeQuery");
+    }
+
+    @Override
+    public Integer executeQuery(ISourceDTO source, SqlQueryDTO queryDTO, RowConsumer consumer) {
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.executeQuery(source, queryDTO, consumer),
+                targetClient.getClass().getClassLoader(), "executeQuery");
     }
 
     @Override
     public Boolean executeSqlWithoutResultSet(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.executeSqlWithoutResultSet(source,
-                queryDTO), targetClient.getClass().getClassLoader());
+                queryDTO), targetClient.getClass().getClassLoader(), "executeSqlWithoutResultSet");
     }
 
     @Override
     public List<String> getTableList(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getTableList(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getTableList");
     }
 
     @Override
     public List<String> getTableListBySchema(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getTableListBySchema(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getTableListBySchema");
     }
 
     @Override
     public List<String> getColumnClassInfo(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getColumnClassInfo(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getColumnClassInfo");
     }
 
     @Override
     public List<ColumnMetaDTO> getColumnMetaData(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getColumnMetaData(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getColumnMetaData");
     }
 
     @Override
     public List<ColumnMetaDTO> getColumnMetaDataWithSql(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getColumnMetaDataWithSql(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getColumnMetaDataWithSql");
     }
 
     @Override
     public List<ColumnMetaDTO> getFlinkColumnMetaData(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getFlinkColumnMetaData(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getFlinkColumnMetaData");
     }
 
     @Override
     public String getTableMetaComment(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getTableMetaComment(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getTableMetaComment");
     }
 
     @Override
     public List<List<Object>> getPreview(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getPreview(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getPreview");
     }
 
     @Override
     public IDownloader getDownloader(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> new DownloaderProxy(targetClient.getDownloader(source, queryDTO)),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getDownloader");
     }
 
     @Override
     public IDownloader getDownloader(ISourceDTO source, String sql, Integer pageSize) throws Exception {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> new DownloaderProxy(targetClient.getDownloader(source, sql, pageSize)),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getDownloader");
     }
 
     @Override
     public List<String> getAllDatabases(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getAllDatabases(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getAllDatabases");
     }
 
     @Override
     public List<String> getRootDatabases(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getRootDatabases(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getRootDatabases");
     }
 
     @Override
     public String getCreateTableSql(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getCreateTableSql(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getCreateTableSql");
     }
 
     @Override
     public List<ColumnMetaDTO> getPartitionColumn(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getPartitionColumn(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getPartitionColumn");
     }
 
     @Override
     public Table getTable(ISourceDTO source, SqlQueryDTO queryDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getTable(source, queryDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getTable");
     }
 
     @Override
     public String getCurrentDatabase(ISourceDTO source) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getCurrentDatabase(source),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getCurrentDatabase");
     }
 
     @Override
     public Boolean createDatabase(ISourceDTO source, String dbName, String comment) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.createDatabase(source, dbName, comment),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "createDatabase");
     }
 
     @Override
     public Boolean isDatabaseExists(ISourceDTO source, String dbName) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.isDatabaseExists(source, dbName),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "isDatabaseExists");
     }
 
     @Override
     public Boolean isTableExistsInDatabase(ISourceDTO source, String tableName, String dbName) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.isTableExistsInDatabase(source, tableName, dbName),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "isTableExistsInDatabase");
     }
 
     @Override
     public List<String> getCatalogs(ISourceDTO source) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getCatalogs(source),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getCatalogs");
     }
 
     @Override
     public String getVersion(ISourceDTO source) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getVersion(source),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getVersion");
     }
 
     @Override
     public List<String> listFileNames(ISourceDTO sourceDTO, String path, Boolean includeDir, Boolean recursive, Integer maxNum, String regexStr) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.listFileNames(sourceDTO, path, includeDir, recursive, maxNum, regexStr),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "listFileNames");
+    }
+
+    @Override
+    public List<ConnectionPoolMetricsDTO> getPoolMetrics() {
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getPoolMetrics(),
+                targetClient.getClass().getClassLoader(), "getPoolMetrics");
+    }
+
+    @Override
+    public Boolean invalidatePool(ISourceDTO source) {
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.invalidatePool(source),
+                targetClient.getClass().getClassLoader(), "invalidatePool");
     }
 }
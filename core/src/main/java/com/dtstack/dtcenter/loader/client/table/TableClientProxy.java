@@ -45,60 +45,60 @@ public class TableClientProxy implements ITable {
     @Override
     public Connection getCon(ISourceDTO source) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getCon(source),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getCon");
     }
 
     @Override
     public List<Map<String, Object>> executeQuery(ISourceDTO source, String sql) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.executeQuery(source, sql),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "executeQuery");
     }
 
     @Override
     public Boolean executeSqlWithoutResultSet(ISourceDTO source, String sql) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.executeSqlWithoutResultSet(source, sql),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "executeSqlWithoutResultSet");
     }
 
     @Override
     public List<String> showPartitions(ISourceDTO source, String tableName) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.showPartitions(source, tableName),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "showPartitions");
     }
 
     @Override
     public Boolean dropTable(ISourceDTO source, String tableName) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.dropTable(source, tableName),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "dropTable");
     }
 
     @Override
     public Boolean renameTable(ISourceDTO source, String oldTableName, String newTableName) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.renameTable(source, oldTableName, newTableName),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "renameTable");
     }
 
     @Override
     public Boolean alterTableParams(ISourceDTO source, String tableName, Map<String, String> params) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.alterTableParams(source, tableName, params),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "alterTableParams");
     }
 
     @Override
     public Long getTableSize(ISourceDTO source, String schema, String tableName) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.getTableSize(source, schema, tableName),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "getTableSize");
     }
 
     @Override
     public Boolean isView(ISourceDTO source, String schema, String tableName) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.isView(source, schema, tableName),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "isView");
     }
 
     @Override
     public Boolean upsertTableColumn(ISourceDTO source, UpsertColumnMetaDTO columnMetaDTO) {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetClient.upsertTableColumn(source, columnMetaDTO),
-                targetClient.getClass().getClassLoader());
+                targetClient.getClass().getClassLoader(), "upsertTableColumn");
     }
 }
@@ -20,6 +20,8 @@ package com.dtstack.dtcenter.loader.downloader;
 
 import com.dtstack.dtcenter.loader.ClassLoaderCallBackMethod;
 import com.dtstack.dtcenter.loader.IDownloader;
+import com.dtstack.dtcenter.loader.dto.batch.ColumnBatch;
+import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 
 import java.util.List;
 
@@ -34,8 +36,17 @@ import java.util.List;
  */
 public class DownloaderProxy implements IDownloader {
 
+    /**
+     * readNext、reachedEnd 按行调用，每次调用都统计调用次数和异常次数，每隔固定次数记录一次耗时，避免逐行计时的开销
+     */
+    private static final int ROW_METRICS_SAMPLE_INTERVAL = 128;
+
     private IDownloader targetDownloader;
 
+    private int readNextCount;
+
+    private int reachedEndCount;
+
     public DownloaderProxy(IDownloader targetDownloader) {
         this.targetDownloader = targetDownloader;
     }
@@ -43,42 +54,80 @@ public class DownloaderProxy implements IDownloader {
     @Override
     public boolean configure() throws Exception {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetDownloader.configure(),
-                targetDownloader.getClass().getClassLoader());
+                targetDownloader.getClass().getClassLoader(), "configure");
     }
 
     @Override
     public List<String> getMetaInfo() {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetDownloader.getMetaInfo(),
-                targetDownloader.getClass().getClassLoader());
+                targetDownloader.getClass().getClassLoader(), "getMetaInfo");
     }
 
     @Override
     public Object readNext() {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetDownloader.readNext(),
-                targetDownloader.getClass().getClassLoader());
+                targetDownloader.getClass().getClassLoader(), "readNext", readNextCount++ % ROW_METRICS_SAMPLE_INTERVAL == 0);
+    }
+
+    /**
+     * 被代理的下载器是否支持列式批量读取
+     *
+     * @return 是否支持
+     */
+    @Override
+    public boolean supportBatch() {
+        return targetDownloader.supportBatch();
+    }
+
+    @Override
+    public ColumnBatch readNextBatch() {
+        if (!supportBatch()) {
+            throw new DtLoaderException(String.format("%s does not support batch download", targetDownloader.getClass().getSimpleName()));
+        }
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> targetDownloader.readNextBatch(),
+                targetDownloader.getClass().getClassLoader(), "readNextBatch");
+    }
+
+    /**
+     * 被代理的下载器是否支持获取总条数
+     *
+     * @return 是否支持
+     */
+    @Override
+    public boolean supportTotalLine() {
+        return targetDownloader.supportTotalLine();
+    }
+
+    @Override
+    public long getTotalLine(boolean estimate) {
+        if (!supportTotalLine()) {
+            throw new DtLoaderException(String.format("%s does not support getting total line", targetDownloader.getClass().getSimpleName()));
+        }
+        return ClassLoaderCallBackMethod.callbackAndReset(() -> targetDownloader.getTotalLine(estimate),
+                targetDownloader.getClass().getClassLoader(), "getTotalLine");
     }
 
     @Override
     public boolean reachedEnd() {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetDownloader.reachedEnd(),
-                targetDownloader.getClass().getClassLoader());
+                targetDownloader.getClass().getClassLoader(), "reachedEnd", reachedEndCount++ % ROW_METRICS_SAMPLE_INTERVAL == 0);
     }
 
     @Override
     public boolean close() throws Exception {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetDownloader.close(),
-                targetDownloader.getClass().getClassLoader());
+                targetDownloader.getClass().getClassLoader(), "close");
     }
 
     @Override
     public String getFileName() {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetDownloader.getFileName(),
-                targetDownloader.getClass().getClassLoader());
+                targetDownloader.getClass().getClassLoader(), "getFileName");
     }
 
     @Override
     public List<String> getContainers() {
         return ClassLoaderCallBackMethod.callbackAndReset(() -> targetDownloader.getContainers(),
-                targetDownloader.getClass().getClassLoader());
+                targetDownloader.getClass().getClassLoader(), "getContainers");
     }
 }
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>连接池统计信息</p>
+ *
+ * @author ：wangchuan
+ * date：Created in 下午3:40 2021/9/14
+ * company: www.dtstack.com
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectionPoolMetricsDTO {
+
+    /**
+     * jdbc url
+     */
+    private String url;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 正在使用的连接数
+     */
+    private Integer activeConnections;
+
+    /**
+     * 空闲连接数
+     */
+    private Integer idleConnections;
+
+    /**
+     * 总连接数
+     */
+    private Integer totalConnections;
+
+    /**
+     * 等待获取连接的线程数
+     */
+    private Integer pendingThreads;
+
+    /**
+     * 最大连接数
+     */
+    private Integer maximumPoolSize;
+
+    /**
+     * 获取连接次数
+     */
+    private Long acquiredCount;
+
+    /**
+     * 获取连接的平均等待时间，单位：毫秒
+     */
+    private Double avgWaitMillis;
+
+    /**
+     * 获取连接的最大等待时间，单位：毫秒
+     */
+    private Long maxWaitMillis;
+
+    /**
+     * 获取连接超时次数
+     */
+    private Long timeoutCount;
+
+    /**
+     * 最后一次获取连接的时间戳
+     */
+    private Long lastAccessTime;
+}
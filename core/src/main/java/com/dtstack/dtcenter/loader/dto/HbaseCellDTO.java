@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * hbase 单元格信息，用于批量写入、删除
+ *
+ * @author ：wangchuan
+ * date：Created in 下午2:10 2021/9/7
+ * company: www.dtstack.com
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HbaseCellDTO {
+
+    /**
+     * rowKey
+     */
+    private String rowKey;
+
+    /**
+     * 列族
+     */
+    private String family;
+
+    /**
+     * 列名
+     */
+    private String qualifier;
+
+    /**
+     * 值，删除时不需要
+     */
+    private String value;
+
+    /**
+     * 时间戳，为空时使用服务端时间
+     */
+    private Long timestamp;
+}
@@ -54,6 +54,16 @@ public class HbaseQueryDTO {
 
     private Map<String, ColumnType> columnTypes;
 
+    /**
+     * 每次 RPC 拉取的行数，为空时默认 1000
+     */
+    private Integer caching;
+
+    /**
+     * 下载时并发扫描的 region 数，为空时默认 1，按 rowKey 顺序输出；大于 1 时不保证输出顺序
+     */
+    private Integer parallelism;
+
     public enum ColumnType {
         INT(),
 
@@ -58,4 +58,25 @@ public class HdfsWriterDTO {
      */
     private Boolean setDefault;
 
+    /**
+     * 文本文件是否使用缓冲写入，默认 false 每写入一行 flush 一次。
+     * 开启后达到 flushRowNum 或 flushByteSize 时才 flush，都未设置时按 4MB flush
+     */
+    private Boolean bufferedWrite;
+
+    /**
+     * 缓冲写入时累计写入多少行 flush 一次
+     */
+    private Integer flushRowNum;
+
+    /**
+     * 缓冲写入时累计写入多少字节 flush 一次
+     */
+    private Long flushByteSize;
+
+    /**
+     * 文本文件压缩格式，支持 hadoop 压缩格式名称或类名，如 gzip、bzip2、snappy、lz4、deflate，为空时不压缩
+     */
+    private String compressCodec;
+
 }
@@ -56,4 +56,7 @@ public class KafkaConsumerDTO {
 
     // 当前分区 leader 最后一次提交的offset 也就是当前分区的最大偏移量
     private Long logEndOffset;
+
+    // 当前分区的最小偏移量，目前只有批量获取时返回
+    private Long logStartOffset;
 }
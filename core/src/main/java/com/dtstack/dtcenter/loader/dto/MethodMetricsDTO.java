@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * <p>插件方法调用统计</p>
+ *
+ * @author ：wangchuan
+ * date：Created in 上午10:30 2021/9/13
+ * company: www.dtstack.com
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MethodMetricsDTO {
+
+    /**
+     * 插件名称
+     */
+    private String pluginName;
+
+    /**
+     * 方法名称
+     */
+    private String methodName;
+
+    /**
+     * 调用次数
+     */
+    private Long callCount;
+
+    /**
+     * 异常次数
+     */
+    private Long errorCount;
+
+    /**
+     * 记录了耗时的调用次数，readNext 等逐行调用的方法只对部分调用采样耗时，其余方法和调用次数相同
+     */
+    private Long sampledCount;
+
+    /**
+     * 当前正在执行的调用数，不包含未采样耗时的调用
+     */
+    private Long inFlight;
+
+    /**
+     * 采样调用的总耗时，单位：毫秒
+     */
+    private Long totalCostMillis;
+
+    /**
+     * 采样调用的平均耗时，单位：毫秒
+     */
+    private Double avgCostMillis;
+
+    /**
+     * 最大耗时，单位：毫秒
+     */
+    private Long maxCostMillis;
+
+    /**
+     * 耗时 50 分位，取所在区间的上界，单位：毫秒
+     */
+    private Long p50Millis;
+
+    /**
+     * 耗时 95 分位，取所在区间的上界，单位：毫秒
+     */
+    private Long p95Millis;
+
+    /**
+     * 耗时 99 分位，取所在区间的上界，单位：毫秒
+     */
+    private Long p99Millis;
+
+    /**
+     * 耗时分布，key 为区间上界（单位：毫秒，最后一个区间为 Long.MAX_VALUE），value 为落在该区间的调用次数
+     */
+    private Map<Long, Long> histogram;
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.dtcenter.loader.dto;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 流式查询返回的一行数据，同一个结果集的所有行复用同一个对象，
+ * 字段名（已处理重复字段）只在结果集开始时计算一次
+ *
+ * @author ：wangchuan
+ * date：Created in 上午11:08 2021/8/20
+ * company: www.dtstack.com
+ */
+public class QueryRow {
+
+    /**
+     * 字段名，重复字段按 column(1)、column(2) 重命名
+     */
+    private final List<String> columnNames;
+
+    /**
+     * 字段名对应的下标
+     */
+    private final Map<String, Integer> columnIndexes;
+
+    /**
+     * 当前行的值
+     */
+    private final Object[] values;
+
+    /**
+     * 当前行号，从 1 开始
+     */
+    private int rowNum;
+
+    public QueryRow(List<String> columnNames) {
+        this.columnNames = Collections.unmodifiableList(columnNames);
+        this.values = new Object[columnNames.size()];
+        this.columnIndexes = new HashMap<>(columnNames.size() * 2);
+        for (int i = 0; i < columnNames.size(); i++) {
+            columnIndexes.put(columnNames.get(i), i);
+        }
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public int getColumnCount() {
+        return values.length;
+    }
+
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    public void setRowNum(int rowNum) {
+        this.rowNum = rowNum;
+    }
+
+    /**
+     * 获取指定下标的值
+     *
+     * @param index 字段下标，从 0 开始
+     * @return 值
+     */
+    public Object getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * 获取指定字段的值
+     *
+     * @param columnName 字段名
+     * @return 值，字段不存在时返回 null
+     */
+    public Object getValue(String columnName) {
+        Integer index = columnIndexes.get(columnName);
+        return index == null ? null : values[index];
+    }
+
+    public void setValue(int index, Object value) {
+        values[index] = value;
+    }
+
+    /**
+     * 拷贝当前行数据，格式和 executeQuery 返回的每一行一致
+     *
+     * @return 当前行数据
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> row = new LinkedHashMap<>(values.length * 2);
+        for (int i = 0; i < values.length; i++) {
+            row.put(columnNames.get(i), values[i]);
+        }
+        return row;
+    }
+}
@@ -120,6 +120,28 @@ public class SqlQueryDTO {
      */
     private Integer fetchSize;
 
+    /**
+     * 是否使用游标流式下载，默认 false 使用分页下载，
+     * 开启后 downloader 只执行一次查询，每次 readNext 返回 fetchSize 条数据，未设置 fetchSize 时默认 100
+     */
+    private Boolean streamDownload;
+
+    /**
+     * rdbms 下载时 keyset 分页字段，需要唯一且非空，一般为主键。
+     * 设置后按该字段排序并使用 where key > 上一页最后一行的值 进行分页，优先级高于 streamDownload
+     */
+    private String keysetColumn;
+
+    /**
+     * hive、hdfs 下载时同时预读的文件数，大于 1 时开启预读，多个文件在后台线程中同时打开和解析
+     */
+    private Integer readAheadFileNum;
+
+    /**
+     * 开启预读时是否按文件顺序返回数据，默认 true，
+     * false 时哪个文件先读到数据先返回，吞吐更高
+     */
+    private Boolean readAheadOrdered;
 
     /**
      * solr 自定义查询
@@ -160,5 +182,13 @@ public class SqlQueryDTO {
         return Boolean.TRUE.equals(filterPartitionColumns);
     }
 
+    public Boolean getStreamDownload() {
+        return Boolean.TRUE.equals(streamDownload);
+    }
+
+    public Boolean getReadAheadOrdered() {
+        return !Boolean.FALSE.equals(readAheadOrdered);
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.dtcenter.loader.dto.batch;
+
+import com.dtstack.dtcenter.loader.enums.ColumnVectorType;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 列式批次数据，{@link com.dtstack.dtcenter.loader.IBatchDownloader#readNextBatch()} 的返回值
+ * <p>
+ * 每次读取都会复用同一个批次对象，只有 [0, size) 范围内的数据有效
+ *
+ * @author ：wangchuan
+ * date：Created in 上午10:21 2021/8/18
+ * company: www.dtstack.com
+ */
+public class ColumnBatch {
+
+    /**
+     * 字段名称
+     */
+    private final List<String> columnNames;
+
+    /**
+     * 每一列的数据
+     */
+    private final ColumnVector[] columns;
+
+    /**
+     * 最大行数
+     */
+    private final int capacity;
+
+    /**
+     * 当前批次的有效行数
+     */
+    private int size;
+
+    public ColumnBatch(List<String> columnNames, ColumnVectorType[] types, int capacity) {
+        this.columnNames = Collections.unmodifiableList(columnNames);
+        this.capacity = capacity;
+        this.columns = new ColumnVector[types.length];
+        for (int i = 0; i < types.length; i++) {
+            columns[i] = new ColumnVector(types[i], capacity);
+        }
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * 获取指定列
+     *
+     * @param index 列下标，从 0 开始
+     * @return 列数据
+     */
+    public ColumnVector getColumn(int index) {
+        return columns[index];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isFull() {
+        return size >= capacity;
+    }
+
+    /**
+     * 为空表示已经读取完毕
+     *
+     * @return 是否为空
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 清空批次，复用前调用
+     */
+    public void reset() {
+        size = 0;
+        for (ColumnVector column : columns) {
+            column.reset();
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.dtcenter.loader.dto.batch;
+
+import com.dtstack.dtcenter.loader.enums.ColumnVectorType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 列式批次中的一列数据，按类型使用原生数组存储，空值通过位图标记
+ * <p>
+ * 同一个对象会在多个批次之间复用，字节引用类型的数据只在下一次读取前有效，需要保留时请自行拷贝
+ *
+ * @author ：wangchuan
+ * date：Created in 上午10:21 2021/8/18
+ * company: www.dtstack.com
+ */
+public class ColumnVector {
+
+    /**
+     * 列存储类型
+     */
+    private final ColumnVectorType type;
+
+    /**
+     * 最大行数
+     */
+    private final int capacity;
+
+    /**
+     * 空值位图，第 row 位为 1 表示该行为 null
+     */
+    private final long[] nulls;
+
+    /**
+     * LONG、BOOLEAN、DATE、TIMESTAMP 类型的数据
+     */
+    private long[] longValues;
+
+    /**
+     * TIMESTAMP 类型秒内的纳秒数
+     */
+    private int[] nanoValues;
+
+    /**
+     * DOUBLE 类型的数据
+     */
+    private double[] doubleValues;
+
+    /**
+     * DECIMAL 类型的 BigDecimal 及 STRING 类型无法获取字节时的 String
+     */
+    private Object[] objectValues;
+
+    /**
+     * STRING、BYTES 类型引用的字节数组
+     */
+    private byte[][] bytesValues;
+
+    /**
+     * 字节数组中的起始位置
+     */
+    private int[] bytesStarts;
+
+    /**
+     * 字节数组中的长度
+     */
+    private int[] bytesLengths;
+
+    public ColumnVector(ColumnVectorType type, int capacity) {
+        this.type = type;
+        this.capacity = capacity;
+        this.nulls = new long[(capacity + 63) >>> 6];
+        switch (type) {
+            case LONG:
+            case BOOLEAN:
+            case DATE:
+                longValues = new long[capacity];
+                break;
+            case TIMESTAMP:
+                longValues = new long[capacity];
+                nanoValues = new int[capacity];
+                break;
+            case DOUBLE:
+                doubleValues = new double[capacity];
+                break;
+            case DECIMAL:
+                objectValues = new Object[capacity];
+                break;
+            case STRING:
+                objectValues = new Object[capacity];
+                bytesValues = new byte[capacity][];
+                bytesStarts = new int[capacity];
+                bytesLengths = new int[capacity];
+                break;
+            default:
+                bytesValues = new byte[capacity][];
+                bytesStarts = new int[capacity];
+                bytesLengths = new int[capacity];
+                break;
+        }
+    }
+
+    public ColumnVectorType getType() {
+        return type;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 清空空值标记，批次复用前调用
+     */
+    public void reset() {
+        Arrays.fill(nulls, 0L);
+    }
+
+    public boolean isNull(int row) {
+        return (nulls[row >>> 6] & (1L << row)) != 0;
+    }
+
+    public void setNull(int row) {
+        nulls[row >>> 6] |= 1L << row;
+    }
+
+    public long getLong(int row) {
+        return longValues[row];
+    }
+
+    public void setLong(int row, long value) {
+        longValues[row] = value;
+    }
+
+    public boolean getBoolean(int row) {
+        return longValues[row] != 0;
+    }
+
+    public void setBoolean(int row, boolean value) {
+        longValues[row] = value ? 1 : 0;
+    }
+
+    public double getDouble(int row) {
+        return doubleValues[row];
+    }
+
+    public void setDouble(int row, double value) {
+        doubleValues[row] = value;
+    }
+
+    public BigDecimal getDecimal(int row) {
+        return (BigDecimal) objectValues[row];
+    }
+
+    public void setDecimal(int row, BigDecimal value) {
+        objectValues[row] = value;
+    }
+
+    /**
+     * 获取 DATE 类型距 1970-01-01 的天数
+     *
+     * @param row 行下标
+     * @return 天数
+     */
+    public long getEpochDay(int row) {
+        return longValues[row];
+    }
+
+    public void setEpochDay(int row, long epochDay) {
+        longValues[row] = epochDay;
+    }
+
+    /**
+     * 获取 TIMESTAMP 类型的毫秒时间戳
+     *
+     * @param row 行下标
+     * @return 毫秒时间戳
+     */
+    public long getTimestampMillis(int row) {
+        return longValues[row];
+    }
+
+    /**
+     * 获取 TIMESTAMP 类型秒内的纳秒数
+     *
+     * @param row 行下标
+     * @return 纳秒数
+     */
+    public int getTimestampNanos(int row) {
+        return nanoValues[row];
+    }
+
+    public void setTimestamp(int row, long millis, int nanos) {
+        longValues[row] = millis;
+        nanoValues[row] = nanos;
+    }
+
+    /**
+     * 设置字节引用，不拷贝数据
+     *
+     * @param row    行下标
+     * @param bytes  字节数组
+     * @param start  起始位置
+     * @param length 长度
+     */
+    public void setBytesRef(int row, byte[] bytes, int start, int length) {
+        bytesValues[row] = bytes;
+        bytesStarts[row] = start;
+        bytesLengths[row] = length;
+        if (objectValues != null) {
+            objectValues[row] = null;
+        }
+    }
+
+    public byte[] getBytesRef(int row) {
+        return bytesValues[row];
+    }
+
+    public int getBytesStart(int row) {
+        return bytesStarts[row];
+    }
+
+    public int getBytesLength(int row) {
+        return bytesLengths[row];
+    }
+
+    /**
+     * 拷贝一份当前行的字节数据
+     *
+     * @param row 行下标
+     * @return 字节数据
+     */
+    public byte[] getBytes(int row) {
+        byte[] bytes = bytesValues[row];
+        if (bytes == null && objectValues != null && objectValues[row] != null) {
+            return objectValues[row].toString().getBytes(StandardCharsets.UTF_8);
+        }
+        return Arrays.copyOfRange(bytes, bytesStarts[row], bytesStarts[row] + bytesLengths[row]);
+    }
+
+    /**
+     * STRING 类型无法获取字节时直接存储 String，如 jdbc 驱动返回的字符串
+     *
+     * @param row   行下标
+     * @param value 字符串
+     */
+    public void setString(int row, String value) {
+        objectValues[row] = value;
+        bytesValues[row] = null;
+    }
+
+    /**
+     * 获取 STRING 类型数据，字节引用存储时会按 UTF-8 解码生成新的 String
+     *
+     * @param row 行下标
+     * @return 字符串
+     */
+    public String getString(int row) {
+        if (objectValues != null && objectValues[row] != null) {
+            return objectValues[row].toString();
+        }
+        return new String(bytesValues[row], bytesStarts[row], bytesLengths[row], StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.dto.restful;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * http 批量请求中的单个请求
+ *
+ * @author ：wangchuan
+ * date：Created in 下午2:10 2021/9/8
+ * company: www.dtstack.com
+ */
+@Data
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Request {
+
+    /**
+     * 请求方式，为空时默认 GET
+     */
+    private Method method;
+
+    /**
+     * 请求地址，为空时使用数据源中的 url
+     */
+    private String url;
+
+    /**
+     * 请求参数，GET 请求时拼接到 url 上
+     */
+    private Map<String, String> params;
+
+    /**
+     * body 信息，POST、PUT、DELETE 请求时使用
+     */
+    private String bodyData;
+
+    /**
+     * cookie 信息
+     */
+    private Map<String, String> cookies;
+
+    /**
+     * header 信息，为空时使用数据源中的 header
+     */
+    private Map<String, String> headers;
+
+    public enum Method {
+        GET(),
+
+        POST(),
+
+        PUT(),
+
+        DELETE()
+    }
+}
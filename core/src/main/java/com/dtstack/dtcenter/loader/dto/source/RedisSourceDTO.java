@@ -19,6 +19,7 @@
 package com.dtstack.dtcenter.loader.dto.source;
 
 
+import com.dtstack.dtcenter.loader.cache.pool.config.PoolConfig;
 import com.dtstack.dtcenter.loader.enums.RedisMode;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 import com.dtstack.dtcenter.loader.source.DataSourceType;
@@ -83,6 +84,12 @@ public class RedisSourceDTO implements ISourceDTO {
      */
     private String master;
 
+    /**
+     * 连接池配置信息，相同数据源共享同一个 redis 连接池/集群客户端，
+     * 传入时按该配置设置最大连接数、最小空闲数、获取连接超时时间以及空闲回收时间
+     */
+    private PoolConfig poolConfig;
+
 
     @Override
     public Integer getSourceType() {
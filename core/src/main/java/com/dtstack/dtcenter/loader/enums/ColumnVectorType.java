@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.dtcenter.loader.enums;
+
+/**
+ * 列式批次中每一列的存储类型，决定 {@link com.dtstack.dtcenter.loader.dto.batch.ColumnVector} 使用哪个数组存储数据
+ *
+ * @author ：wangchuan
+ * date：Created in 上午10:21 2021/8/18
+ * company: www.dtstack.com
+ */
+public enum ColumnVectorType {
+
+    /**
+     * 整数类型，存储在 long 数组中
+     */
+    LONG,
+
+    /**
+     * 布尔类型，存储在 long 数组中，0 表示 false，1 表示 true
+     */
+    BOOLEAN,
+
+    /**
+     * 浮点类型，存储在 double 数组中
+     */
+    DOUBLE,
+
+    /**
+     * 精确数值类型，存储为 BigDecimal
+     */
+    DECIMAL,
+
+    /**
+     * 日期类型，long 数组中存储距 1970-01-01 的天数
+     */
+    DATE,
+
+    /**
+     * 时间戳类型，long 数组中存储毫秒时间戳，int 数组中存储秒内的纳秒数
+     */
+    TIMESTAMP,
+
+    /**
+     * 字符串类型，优先以 UTF-8 字节引用存储，无法获取字节时存储为 String
+     */
+    STRING,
+
+    /**
+     * 二进制类型，以字节引用存储
+     */
+    BYTES
+}
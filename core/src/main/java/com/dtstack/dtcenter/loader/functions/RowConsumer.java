@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.dtcenter.loader.functions;
+
+import com.dtstack.dtcenter.loader.dto.QueryRow;
+
+/**
+ * 流式查询时逐行处理结果
+ *
+ * @author ：wangchuan
+ * date：Created in 上午11:08 2021/8/20
+ * company: www.dtstack.com
+ */
+@FunctionalInterface
+public interface RowConsumer {
+
+    /**
+     * 处理一行数据，row 对象在每一行之间复用，需要保留数据时调用 {@link QueryRow#toMap()} 拷贝
+     *
+     * @param row 当前行
+     * @return 是否继续读取，返回 false 时停止读取并关闭结果集
+     * @throws Exception 异常
+     */
+    boolean accept(QueryRow row) throws Exception;
+}
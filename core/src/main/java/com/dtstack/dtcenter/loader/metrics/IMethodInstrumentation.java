@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.metrics;
+
+/**
+ * <p>插件方法调用监听，所有代理类方法调用前后都会回调，可用于对接 Micrometer、JMX 等监控系统</p>
+ * <p>回调在调用线程中同步执行，实现需要线程安全且不能有耗时操作</p>
+ *
+ * @author ：wangchuan
+ * date：Created in 上午10:30 2021/9/13
+ * company: www.dtstack.com
+ */
+public interface IMethodInstrumentation {
+
+    /**
+     * 方法调用开始
+     *
+     * @param pluginName 插件名称
+     * @param methodName 方法名称
+     */
+    void onStart(String pluginName, String methodName);
+
+    /**
+     * 方法调用结束
+     *
+     * @param pluginName 插件名称
+     * @param methodName 方法名称
+     * @param costNanos  耗时，单位：纳秒
+     * @param throwable  调用异常，成功时为 null
+     */
+    void onFinish(String pluginName, String methodName, long costNanos, Throwable throwable);
+
+    /**
+     * 未采样耗时的方法调用结束，readNext 等逐行调用的方法只对部分调用回调 onStart、onFinish，
+     * 其余调用只回调此方法，默认忽略
+     *
+     * @param pluginName 插件名称
+     * @param methodName 方法名称
+     * @param throwable  调用异常，成功时为 null
+     */
+    default void onUnsampledFinish(String pluginName, String methodName, Throwable throwable) {
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.metrics;
+
+import com.dtstack.dtcenter.loader.dto.MethodMetricsDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <p>插件方法调用统计入口，按 插件 - 方法 统计调用次数、异常次数、正在执行数及耗时分布</p>
+ * <p>默认开启，可通过系统参数 dtloader.metrics.enabled=false 或 {@link #setEnabled(boolean)} 关闭，
+ * 可通过 {@link #addInstrumentation(IMethodInstrumentation)} 注册自定义监听对接其他监控系统</p>
+ *
+ * @author ：wangchuan
+ * date：Created in 上午10:30 2021/9/13
+ * company: www.dtstack.com
+ */
+@Slf4j
+public class LoaderMetrics {
+
+    /**
+     * 未知插件名称
+     */
+    public static final String UNKNOWN_PLUGIN = "unknown";
+
+    private static volatile boolean enabled = !"false".equalsIgnoreCase(System.getProperty("dtloader.metrics.enabled"));
+
+    /**
+     * 插件名称 - 方法名称 - 调用统计
+     */
+    private static final Map<String, Map<String, MethodStat>> STATS = new ConcurrentHashMap<>();
+
+    /**
+     * 自定义监听
+     */
+    private static final List<IMethodInstrumentation> INSTRUMENTATIONS = new CopyOnWriteArrayList<>();
+
+    private LoaderMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 开启或关闭调用统计，关闭后不再记录统计及回调自定义监听
+     *
+     * @param enabled 是否开启
+     */
+    public static void setEnabled(boolean enabled) {
+        LoaderMetrics.enabled = enabled;
+    }
+
+    /**
+     * 注册自定义监听
+     *
+     * @param instrumentation 自定义监听
+     */
+    public static void addInstrumentation(IMethodInstrumentation instrumentation) {
+        if (instrumentation != null) {
+            INSTRUMENTATIONS.add(instrumentation);
+        }
+    }
+
+    /**
+     * 移除自定义监听
+     *
+     * @param instrumentation 自定义监听
+     */
+    public static void removeInstrumentation(IMethodInstrumentation instrumentation) {
+        INSTRUMENTATIONS.remove(instrumentation);
+    }
+
+    /**
+     * 获取所有插件方法的调用统计
+     *
+     * @return 调用统计
+     */
+    public static List<MethodMetricsDTO> getMetrics() {
+        List<MethodMetricsDTO> metrics = new ArrayList<>();
+        STATS.values().forEach(methodStats -> methodStats.values().forEach(stat -> metrics.add(stat.snapshot())));
+        return metrics;
+    }
+
+    /**
+     * 获取指定插件的方法调用统计
+     *
+     * @param pluginName 插件名称
+     * @return 调用统计
+     */
+    public static List<MethodMetricsDTO> getMetrics(String pluginName) {
+        List<MethodMetricsDTO> metrics = new ArrayList<>();
+        Map<String, MethodStat> methodStats = STATS.get(pluginName);
+        if (methodStats != null) {
+            methodStats.values().forEach(stat -> metrics.add(stat.snapshot()));
+        }
+        return metrics;
+    }
+
+    /**
+     * 清空调用次数及耗时统计，正在执行数不受影响
+     */
+    public static void reset() {
+        STATS.values().forEach(methodStats -> methodStats.values().forEach(MethodStat::reset));
+    }
+
+    /**
+     * 记录方法调用开始
+     *
+     * @param pluginName 插件名称
+     * @param methodName 方法名称
+     */
+    public static void onStart(String pluginName, String methodName) {
+        getStat(pluginName, methodName).start();
+        for (IMethodInstrumentation instrumentation : INSTRUMENTATIONS) {
+            try {
+                instrumentation.onStart(pluginName, methodName);
+            } catch (Exception e) {
+                log.warn("method instrumentation onStart error, plugin: {}, method: {}", pluginName, methodName, e);
+            }
+        }
+    }
+
+    /**
+     * 记录方法调用结束
+     *
+     * @param pluginName 插件名称
+     * @param methodName 方法名称
+     * @param costNanos  耗时，单位：纳秒
+     * @param throwable  调用异常，成功时为 null
+     */
+    public static void onFinish(String pluginName, String methodName, long costNanos, Throwable throwable) {
+        getStat(pluginName, methodName).finish(costNanos, throwable != null);
+        for (IMethodInstrumentation instrumentation : INSTRUMENTATIONS) {
+            try {
+                instrumentation.onFinish(pluginName, methodName, costNanos, throwable);
+            } catch (Exception e) {
+                log.warn("method instrumentation onFinish error, plugin: {}, method: {}", pluginName, methodName, e);
+            }
+        }
+    }
+
+    /**
+     * 记录未采样耗时的方法调用结束，只统计调用次数和异常次数
+     *
+     * @param pluginName 插件名称
+     * @param methodName 方法名称
+     * @param throwable  调用异常，成功时为 null
+     */
+    public static void onUnsampledFinish(String pluginName, String methodName, Throwable throwable) {
+        getStat(pluginName, methodName).finishUnsampled(throwable != null);
+        for (IMethodInstrumentation instrumentation : INSTRUMENTATIONS) {
+            try {
+                instrumentation.onUnsampledFinish(pluginName, methodName, throwable);
+            } catch (Exception e) {
+                log.warn("method instrumentation onUnsampledFinish error, plugin: {}, method: {}", pluginName, methodName, e);
+            }
+        }
+    }
+
+    private static MethodStat getStat(String pluginName, String methodName) {
+        String plugin = StringUtils.isBlank(pluginName) ? UNKNOWN_PLUGIN : pluginName;
+        Map<String, MethodStat> methodStats = STATS.get(plugin);
+        if (methodStats == null) {
+            methodStats = STATS.computeIfAbsent(plugin, k -> new ConcurrentHashMap<>());
+        }
+        MethodStat stat = methodStats.get(methodName);
+        if (stat == null) {
+            stat = methodStats.computeIfAbsent(methodName, k -> new MethodStat(plugin, methodName));
+        }
+        return stat;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.metrics;
+
+import com.dtstack.dtcenter.loader.dto.MethodMetricsDTO;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>单个插件方法的调用统计，耗时按固定区间统计分布，记录时无锁</p>
+ *
+ * @author ：wangchuan
+ * date：Created in 上午10:30 2021/9/13
+ * company: www.dtstack.com
+ */
+class MethodStat {
+
+    /**
+     * 耗时区间上界，单位：毫秒
+     */
+    private static final long[] BUCKET_BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000, 60000, 300000, Long.MAX_VALUE};
+
+    private final String pluginName;
+
+    private final String methodName;
+
+    private final LongAdder callCount = new LongAdder();
+
+    private final LongAdder errorCount = new LongAdder();
+
+    private final LongAdder sampledCount = new LongAdder();
+
+    private final AtomicLong inFlight = new AtomicLong();
+
+    private final LongAdder totalCostNanos = new LongAdder();
+
+    private final LongAccumulator maxCostNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length];
+
+    MethodStat(String pluginName, String methodName) {
+        this.pluginName = pluginName;
+        this.methodName = methodName;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void start() {
+        inFlight.incrementAndGet();
+    }
+
+    void finish(long costNanos, boolean error) {
+        inFlight.decrementAndGet();
+        finishUnsampled(error);
+        sampledCount.increment();
+        totalCostNanos.add(costNanos);
+        maxCostNanos.accumulate(costNanos);
+        long costMillis = TimeUnit.NANOSECONDS.toMillis(costNanos);
+        int index = 0;
+        while (costMillis > BUCKET_BOUNDS[index]) {
+            index++;
+        }
+        buckets[index].increment();
+    }
+
+    /**
+     * 记录未采样耗时的调用，只累加调用次数和异常次数
+     *
+     * @param error 是否异常
+     */
+    void finishUnsampled(boolean error) {
+        callCount.increment();
+        if (error) {
+            errorCount.increment();
+        }
+    }
+
+    /**
+     * 生成统计快照，并发记录时各项数据之间可能存在轻微偏差
+     *
+     * @return 调用统计
+     */
+    MethodMetricsDTO snapshot() {
+        long sampled = sampledCount.sum();
+        long totalNanos = totalCostNanos.sum();
+        long[] counts = new long[buckets.length];
+        long bucketTotal = 0;
+        Map<Long, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            bucketTotal += counts[i];
+            histogram.put(BUCKET_BOUNDS[i], counts[i]);
+        }
+        return MethodMetricsDTO.builder()
+                .pluginName(pluginName)
+                .methodName(methodName)
+                .callCount(callCount.sum())
+                .errorCount(errorCount.sum())
+                .sampledCount(sampled)
+                .inFlight(inFlight.get())
+                .totalCostMillis(TimeUnit.NANOSECONDS.toMillis(totalNanos))
+                .avgCostMillis(sampled == 0 ? 0D : totalNanos / 1000000D / sampled)
+                .maxCostMillis(TimeUnit.NANOSECONDS.toMillis(maxCostNanos.get()))
+                .p50Millis(percentile(counts, bucketTotal, 0.5))
+                .p95Millis(percentile(counts, bucketTotal, 0.95))
+                .p99Millis(percentile(counts, bucketTotal, 0.99))
+                .histogram(histogram)
+                .build();
+    }
+
+    void reset() {
+        callCount.reset();
+        errorCount.reset();
+        sampledCount.reset();
+        totalCostNanos.reset();
+        maxCostNanos.reset();
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+    }
+
+    private static Long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long accumulated = 0;
+        for (int i = 0; i < counts.length; i++) {
+            accumulated += counts[i];
+            if (accumulated >= rank) {
+                return BUCKET_BOUNDS[i];
+            }
+        }
+        return BUCKET_BOUNDS[BUCKET_BOUNDS.length - 1];
+    }
+}
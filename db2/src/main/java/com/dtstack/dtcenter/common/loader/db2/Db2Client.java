@@ -138,7 +138,7 @@ public class Db2Client extends AbsRdbmsClient {
         Connection connection = getCon(source);
         String sql = queryDTO.getSql();
         String schema = db2SourceDTO.getSchema();
-        Db2Downloader db2Downloader = new Db2Downloader(connection, sql, schema);
+        Db2Downloader db2Downloader = new Db2Downloader(connection, sql, schema, queryDTO);
         db2Downloader.configure();
         return db2Downloader;
     }
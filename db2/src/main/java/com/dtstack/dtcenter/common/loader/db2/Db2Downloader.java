@@ -18,20 +18,10 @@
 
 package com.dtstack.dtcenter.common.loader.db2;
 
-import com.dtstack.dtcenter.common.loader.common.utils.SqlFormatUtil;
-import com.dtstack.dtcenter.loader.IDownloader;
-import com.dtstack.dtcenter.loader.dto.Column;
-import com.dtstack.dtcenter.loader.exception.DtLoaderException;
-import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
+import com.dtstack.dtcenter.common.loader.rdbms.AbsRdbmsDownloader;
+import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 
 import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * @company: www.dts
@@ -40,130 +30,30 @@ import java.util.stream.Collectors;
  * @Date ：Created in 下午4:44 2020/5/29
  * @Description：db2表下载
  */
-
-public class Db2Downloader implements IDownloader {
-
-    private int pageNum;
-
-    private int pageAll;
-
-    private List<Column> columnNames;
-
-    private int totalLine;
-
-    private Connection connection;
-
-    private String sql;
-
-    private String schema;
-
-    private Statement statement;
-
-    private int pageSize;
-
-    private int columnCount;
+public class Db2Downloader extends AbsRdbmsDownloader {
 
     public Db2Downloader(Connection connection, String sql, String schema) {
-        this.connection = connection;
-        this.sql = SqlFormatUtil.formatSql(sql);
-        this.schema = schema;
-    }
-
-    @Override
-    public boolean configure() throws Exception {
-        if (null == connection || StringUtils.isEmpty(sql)) {
-            throw new DtLoaderException("file is not exist");
-        }
-        totalLine = 0;
-        pageSize = 100;
-        pageNum = 1;
-        statement = connection.createStatement();
-
-        String countSQL = String.format("SELECT COUNT(*) FROM (%s) temp", sql);
-        String showColumns = String.format("SELECT * FROM (%s) t fetch first  1 rows only", sql);
-
-        ResultSet totalResultSet = null;
-        ResultSet columnsResultSet = null;
-        try {
-            totalResultSet = statement.executeQuery(countSQL);
-            while (totalResultSet.next()) {
-                //获取总行数
-                totalLine = totalResultSet.getInt(1);
-            }
-            columnsResultSet = statement.executeQuery(showColumns);
-            //获取列信息
-            columnNames = new ArrayList<>();
-            columnCount = columnsResultSet.getMetaData().getColumnCount();
-            for (int i = 1; i <= columnCount; i++) {
-                Column column = new Column();
-                column.setName(columnsResultSet.getMetaData().getColumnName(i));
-                column.setType(columnsResultSet.getMetaData().getColumnTypeName(i));
-                column.setIndex(i);
-                columnNames.add(column);
-            }
-            //获取总页数
-            pageAll = (int) Math.ceil(totalLine / (double) pageSize);
-        } catch (Exception e) {
-            throw new DtLoaderException("build DB2 downloader message exception : " + e.getMessage(), e);
-        } finally {
-            if (totalResultSet != null) {
-                totalResultSet.close();
-            }
-            if (columnsResultSet != null) {
-                columnsResultSet.close();
-            }
-        }
-        return true;
-    }
-
-    @Override
-    public List<String> getMetaInfo() {
-        if (CollectionUtils.isNotEmpty(columnNames)) {
-            return columnNames.stream().map(Column::getName).collect(Collectors.toList());
-        }
-        return Collections.emptyList();
-    }
-
-    @Override
-    public List<List<String>> readNext() {
-        //分页查询，一次一百条
-        String limitSQL = String.format("SELECT * FROM (select t.*, row_number() over() as rownum FROM (%s) t )WHERE rownum BETWEEN %s AND %s", sql, pageSize * (pageNum - 1), pageSize);
-        List<List<String>> pageTemp = new ArrayList<>(100);
-        try (ResultSet resultSet = statement.executeQuery(limitSQL)) {
-            while (resultSet.next()) {
-                List<String> columns = new ArrayList<>(columnCount);
-                for (int i = 1; i <= columnCount; i++) {
-                    columns.add(resultSet.getString(i));
-                }
-                pageTemp.add(columns);
-            }
-        } catch (Exception e) {
-            throw new DtLoaderException("read Db2 message exception : " + e.getMessage(), e);
-        }
-
-        pageNum++;
-        return pageTemp;
+        this(connection, sql, schema, null);
     }
 
-    @Override
-    public boolean reachedEnd() {
-        return pageAll < pageNum;
+    public Db2Downloader(Connection connection, String sql, String schema, SqlQueryDTO queryDTO) {
+        super(connection, sql, schema, queryDTO);
     }
 
     @Override
-    public boolean close() throws Exception {
-        statement.close();
-        connection.close();
-        return true;
+    protected String getFirstPageSql(String sql, int pageSize) {
+        return String.format("SELECT * FROM (%s) t fetch first %s rows only", sql, pageSize);
     }
 
     @Override
-    public String getFileName() {
-        return null;
+    protected String getPageSql(String sql, int pageNum, int pageSize) {
+        return String.format("SELECT * FROM (select t.*, row_number() over() as rownum FROM (%s) t ) WHERE rownum BETWEEN %s AND %s",
+                sql, pageSize * (pageNum - 1) + 1, pageSize * pageNum);
     }
 
     @Override
-    public List<String> getContainers() {
-        return Collections.emptyList();
+    protected String getKeysetSql(String sql, String keysetColumn, boolean firstPage, int pageSize) {
+        return String.format("SELECT * FROM (%s) t%s ORDER BY t.%s fetch first %s rows only",
+                sql, getKeysetCondition(keysetColumn, firstPage), keysetColumn, pageSize);
     }
 }
@@ -93,7 +93,7 @@ public class DmClient extends AbsRdbmsClient {
     @Override
     public IDownloader getDownloader(ISourceDTO source, SqlQueryDTO queryDTO) throws Exception {
         DmSourceDTO dmSourceDTO = (DmSourceDTO) source;
-        DmDownloader dmDownloader = new DmDownloader(getCon(dmSourceDTO), queryDTO.getSql(), dmSourceDTO.getSchema());
+        DmDownloader dmDownloader = new DmDownloader(getCon(dmSourceDTO), queryDTO.getSql(), dmSourceDTO.getSchema(), queryDTO);
         dmDownloader.configure();
         return dmDownloader;
     }
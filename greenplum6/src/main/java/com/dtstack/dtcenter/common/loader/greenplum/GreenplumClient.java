@@ -182,7 +182,7 @@ public class GreenplumClient extends AbsRdbmsClient {
         Greenplum6SourceDTO greenplum6SourceDTO = (Greenplum6SourceDTO) source;
         String schema = StringUtils.isNotBlank(queryDTO.getSchema()) ? queryDTO.getSchema() : greenplum6SourceDTO.getSchema();
         GreenplumDownloader greenplumDownloader = new GreenplumDownloader(getCon(greenplum6SourceDTO),
-                queryDTO.getSql(), schema);
+                queryDTO.getSql(), schema, queryDTO);
         greenplumDownloader.configure();
         return greenplumDownloader;
     }
@@ -31,7 +31,6 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.HColumnDescriptor;
@@ -101,7 +100,7 @@ public class HbaseClient<T> extends AbsNoSqlClient<T> {
             throw new DtLoaderException(String.format("get hbase table list exception,%s", e.getMessage()), e);
         } finally {
             closeAdmin(admin);
-            closeConnection(hConn,hbaseSourceDTO);
+            closeConnection(hConn);
             destroyProperty();
         }
         if (Objects.nonNull(queryDTO) && StringUtils.isNotBlank(queryDTO.getTableNamePattern())) {
@@ -113,14 +112,8 @@ public class HbaseClient<T> extends AbsNoSqlClient<T> {
         return tableList;
     }
 
-    private static void closeConnection(Connection hConn, HbaseSourceDTO hbaseSourceDTO) {
-        if ((hbaseSourceDTO.getPoolConfig() == null || MapUtils.isNotEmpty(hbaseSourceDTO.getKerberosConfig())) && hConn != null) {
-            try {
-                hConn.close();
-            } catch (IOException e) {
-                log.error("hbase Close connection exception", e);
-            }
-        }
+    private static void closeConnection(Connection hConn) {
+        HbaseConnFactory.releaseHbaseConn(hConn);
     }
 
     private static void closeAdmin(Admin admin) {
@@ -154,7 +147,7 @@ public class HbaseClient<T> extends AbsNoSqlClient<T> {
             throw new DtLoaderException(String.format("hbase list column families error,%s", e.getMessage()), e);
         } finally {
             closeTable(tb);
-            closeConnection(hConn,hbaseSourceDTO);
+            closeConnection(hConn);
             destroyProperty();
         }
         return cfList;
@@ -218,11 +211,8 @@ public class HbaseClient<T> extends AbsNoSqlClient<T> {
         } catch (Exception e){
             throw new DtLoaderException(String.format("Failed to execute hbase customization,%s", e.getMessage()), e);
         } finally {
-            if (hbaseSourceDTO.getPoolConfig() == null || MapUtils.isNotEmpty(hbaseSourceDTO.getKerberosConfig())) {
-                close(rs, table, connection);
-            } else {
-                close(rs, table, null);
-            }
+            close(rs, table);
+            closeConnection(connection);
             destroyProperty();
         }
 
@@ -325,11 +315,8 @@ public class HbaseClient<T> extends AbsNoSqlClient<T> {
         } catch (Exception e){
             throw new DtLoaderException(String.format("Data preview failed,%s", e.getMessage()), e);
         } finally {
-            if (hbaseSourceDTO.getPoolConfig() == null || MapUtils.isNotEmpty(hbaseSourceDTO.getKerberosConfig())) {
-                close(rs, table, connection);
-            } else {
-                close(rs, table, null);
-            }
+            close(rs, table);
+            closeConnection(connection);
             destroyProperty();
         }
 
@@ -373,7 +360,7 @@ public class HbaseClient<T> extends AbsNoSqlClient<T> {
             throw new DtLoaderException(String.format("get namespace list exception：%s", e.getMessage()), e);
         } finally {
             close(admin);
-            closeConnection(connection, hbaseSourceDTO);
+            closeConnection(connection);
             destroyProperty();
         }
         return namespaces;
@@ -402,7 +389,7 @@ public class HbaseClient<T> extends AbsNoSqlClient<T> {
             throw new DtLoaderException(String.format("Get the table exception under the specified namespace：%s", e.getMessage()), e);
         } finally {
             close(admin);
-            closeConnection(connection, hbaseSourceDTO);
+            closeConnection(connection);
             destroyProperty();
         }
         return tables;
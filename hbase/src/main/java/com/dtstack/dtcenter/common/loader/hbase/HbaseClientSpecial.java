@@ -18,7 +18,10 @@
 
 package com.dtstack.dtcenter.common.loader.hbase;
 
+import com.dtstack.dtcenter.common.loader.hbase.downloader.HbaseScanDownloader;
+import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.client.IHbase;
+import com.dtstack.dtcenter.loader.dto.HbaseCellDTO;
 import com.dtstack.dtcenter.loader.dto.HbaseQueryDTO;
 import com.dtstack.dtcenter.loader.dto.filter.TimestampFilter;
 import com.dtstack.dtcenter.loader.dto.source.HbaseSourceDTO;
@@ -31,12 +34,15 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.HConstants;
 import org.apache.hadoop.hbase.HColumnDescriptor;
 import org.apache.hadoop.hbase.HTableDescriptor;
 import org.apache.hadoop.hbase.NamespaceDescriptor;
 import org.apache.hadoop.hbase.NamespaceNotFoundException;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
@@ -86,6 +92,9 @@ public class HbaseClientSpecial implements IHbase {
     // 列的时间戳
     private static final String TIMESTAMP = "timestamp";
 
+    // 自定义查询每次 RPC 默认拉取的行数
+    private static final int DEFAULT_SCAN_CACHING = 1000;
+
     @Override
     public Boolean isDbExists(ISourceDTO source, String namespace) {
         HbaseSourceDTO hbaseSourceDTO = (HbaseSourceDTO) source;
@@ -105,7 +114,7 @@ public class HbaseClientSpecial implements IHbase {
             throw new DtLoaderException(String.format("get namespace exception, namespace：'%s', %s", namespace, e.getMessage()), e);
         } finally {
             close(admin);
-            closeConnection(connection, hbaseSourceDTO);
+            closeConnection(connection);
             HbaseClient.destroyProperty();
         }
         return false;
@@ -146,7 +155,7 @@ public class HbaseClientSpecial implements IHbase {
             throw new DtLoaderException(String.format("hbase failed to create table！namespace：'%s'，table name：'%s'，column family：'%s'", namespace, tbName, Arrays.toString(colFamily)), e);
         } finally {
             close(admin);
-            closeConnection(connection, hbaseSourceDTO);
+            closeConnection(connection);
             HbaseClient.destroyProperty();
         }
         return true;
@@ -170,7 +179,7 @@ public class HbaseClientSpecial implements IHbase {
             throw new DtLoaderException(String.format("hbase failed to delete table！table name: %s", tableName), e);
         } finally {
             close(admin);
-            closeConnection(connection, hbaseSourceDTO);
+            closeConnection(connection);
             HbaseClient.destroyProperty();
         }
         return true;
@@ -208,7 +217,7 @@ public class HbaseClientSpecial implements IHbase {
             throw new DtLoaderException(String.format("Hbase scans data abnormally according to regular！,regex：%s", regex), e);
         } finally {
             close(rs, table);
-            closeConnection(connection, hbaseSourceDTO);
+            closeConnection(connection);
             HbaseClient.destroyProperty();
         }
         return results;
@@ -239,7 +248,48 @@ public class HbaseClientSpecial implements IHbase {
             throw new DtLoaderException(String.format("hbase delete data exception! rowKeys： %s,%s", rowKeys, e.getMessage()), e);
         } finally {
             close(table);
-            closeConnection(connection, hbaseSourceDTO);
+            closeConnection(connection);
+            HbaseClient.destroyProperty();
+        }
+    }
+
+    @Override
+    public Boolean deleteByRowKey(ISourceDTO source, String tbName, Map<String, List<String>> familyQualifierMap, List<String> rowKeys) {
+        HbaseSourceDTO hbaseSourceDTO = (HbaseSourceDTO) source;
+        Connection connection = null;
+        Table table = null;
+        if (CollectionUtils.isEmpty(rowKeys)) {
+            throw new DtLoaderException("The rowKey to be deleted cannot be empty！");
+        }
+        try {
+            //获取hbase连接
+            connection = HbaseConnFactory.getHbaseConn(hbaseSourceDTO);
+            table = connection.getTable(TableName.valueOf(tbName));
+            List<byte[][]> familyQualifiers = toFamilyQualifiers(familyQualifierMap);
+            List<Delete> deletes = Lists.newArrayListWithCapacity(rowKeys.size());
+            for (String rowKey : rowKeys) {
+                Delete delete = new Delete(Bytes.toBytes(rowKey));
+                for (byte[][] familyQualifier : familyQualifiers) {
+                    if (familyQualifier.length == 1) {
+                        delete.addFamily(familyQualifier[0]);
+                    } else {
+                        // 删除该列的所有版本
+                        delete.addColumns(familyQualifier[0], familyQualifier[1]);
+                    }
+                }
+                deletes.add(delete);
+            }
+            // 批量提交，客户端会按 region server 合并请求
+            table.delete(deletes);
+            log.info("delete hbase rowKeys success , rowKey size {}", rowKeys.size());
+            return true;
+        } catch (DtLoaderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("hbase delete data exception! rowKeys： %s,%s", rowKeys, e.getMessage()), e);
+        } finally {
+            close(table);
+            closeConnection(connection);
             HbaseClient.destroyProperty();
         }
     }
@@ -263,7 +313,7 @@ public class HbaseClientSpecial implements IHbase {
             throw new DtLoaderException(String.format("hbase insert data exception! rowKey： %s， data： %s, error: %s", rowKey, data, e.getMessage()), e);
         } finally {
             close(table);
-            closeConnection(connection, hbaseSourceDTO);
+            closeConnection(connection);
             HbaseClient.destroyProperty();
         }
     }
@@ -288,12 +338,133 @@ public class HbaseClientSpecial implements IHbase {
             throw new DtLoaderException(String.format("Hbase gets data exception! rowKey： %s , %s", rowKey, e.getMessage()), e);
         } finally {
             close(table);
-            closeConnection(connection, hbaseSourceDTO);
+            closeConnection(connection);
             HbaseClient.destroyProperty();
         }
         return row;
     }
 
+    @Override
+    public Boolean putRows(ISourceDTO source, String tableName, List<HbaseCellDTO> cells, Long writeBufferSize) {
+        if (CollectionUtils.isEmpty(cells)) {
+            return true;
+        }
+        HbaseSourceDTO hbaseSourceDTO = (HbaseSourceDTO) source;
+        Connection connection = null;
+        BufferedMutator mutator = null;
+        try {
+            //获取hbase连接
+            connection = HbaseConnFactory.getHbaseConn(hbaseSourceDTO);
+            BufferedMutatorParams params = new BufferedMutatorParams(TableName.valueOf(tableName));
+            if (Objects.nonNull(writeBufferSize) && writeBufferSize > 0) {
+                params.writeBufferSize(writeBufferSize);
+            }
+            mutator = connection.getBufferedMutator(params);
+            // 相邻的同一 rowKey 的单元格合并为一个 Put，写缓冲区满时自动按 region server 批量提交
+            Put put = null;
+            String currentRowKey = null;
+            for (HbaseCellDTO cell : cells) {
+                if (StringUtils.isBlank(cell.getRowKey())) {
+                    throw new DtLoaderException("The rowKey to be inserted cannot be empty！");
+                }
+                if (put == null || !cell.getRowKey().equals(currentRowKey)) {
+                    if (put != null) {
+                        mutator.mutate(put);
+                    }
+                    currentRowKey = cell.getRowKey();
+                    put = new Put(Bytes.toBytes(currentRowKey));
+                }
+                byte[] value = Objects.isNull(cell.getValue()) ? HConstants.EMPTY_BYTE_ARRAY : Bytes.toBytes(cell.getValue());
+                if (Objects.isNull(cell.getTimestamp())) {
+                    put.addColumn(Bytes.toBytes(cell.getFamily()), Bytes.toBytes(cell.getQualifier()), value);
+                } else {
+                    put.addColumn(Bytes.toBytes(cell.getFamily()), Bytes.toBytes(cell.getQualifier()), cell.getTimestamp(), value);
+                }
+            }
+            mutator.mutate(put);
+            mutator.flush();
+            return true;
+        } catch (DtLoaderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("hbase batch insert data exception! table： %s， size： %s, error: %s", tableName, cells.size(), e.getMessage()), e);
+        } finally {
+            close(mutator);
+            closeConnection(connection);
+            HbaseClient.destroyProperty();
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> getRows(ISourceDTO source, String tableName, List<String> rowKeys, Map<String, List<String>> familyQualifierMap) {
+        List<Map<String, Object>> rows = Lists.newArrayList();
+        if (CollectionUtils.isEmpty(rowKeys)) {
+            return rows;
+        }
+        HbaseSourceDTO hbaseSourceDTO = (HbaseSourceDTO) source;
+        Connection connection = null;
+        Table table = null;
+        try {
+            //获取hbase连接
+            connection = HbaseConnFactory.getHbaseConn(hbaseSourceDTO);
+            table = connection.getTable(TableName.valueOf(tableName));
+            List<byte[][]> familyQualifiers = toFamilyQualifiers(familyQualifierMap);
+            List<Get> gets = Lists.newArrayListWithCapacity(rowKeys.size());
+            for (String rowKey : rowKeys) {
+                Get get = new Get(Bytes.toBytes(rowKey));
+                for (byte[][] familyQualifier : familyQualifiers) {
+                    if (familyQualifier.length == 1) {
+                        get.addFamily(familyQualifier[0]);
+                    } else {
+                        get.addColumn(familyQualifier[0], familyQualifier[1]);
+                    }
+                }
+                gets.add(get);
+            }
+            // multi-get，客户端会按 region server 合并请求
+            Result[] results = table.get(gets);
+            for (Result result : results) {
+                if (Objects.isNull(result) || CollectionUtils.isEmpty(result.listCells())) {
+                    continue;
+                }
+                rows.add(convertResult(result.listCells(), null));
+            }
+            return rows;
+        } catch (DtLoaderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("Hbase batch gets data exception! rowKey size： %s , %s", rowKeys.size(), e.getMessage()), e);
+        } finally {
+            close(table);
+            closeConnection(connection);
+            HbaseClient.destroyProperty();
+        }
+    }
+
+    /**
+     * 将列族、列名转化为字节数组，只有列族时数组长度为 1，否则为 2
+     *
+     * @param familyQualifierMap 列族、列名
+     * @return 列族、列名字节数组
+     */
+    private static List<byte[][]> toFamilyQualifiers(Map<String, List<String>> familyQualifierMap) {
+        List<byte[][]> familyQualifiers = Lists.newArrayList();
+        if (MapUtils.isEmpty(familyQualifierMap)) {
+            return familyQualifiers;
+        }
+        for (Map.Entry<String, List<String>> entry : familyQualifierMap.entrySet()) {
+            byte[] family = Bytes.toBytes(entry.getKey());
+            if (CollectionUtils.isEmpty(entry.getValue())) {
+                familyQualifiers.add(new byte[][]{family});
+                continue;
+            }
+            for (String qualifier : entry.getValue()) {
+                familyQualifiers.add(new byte[][]{family, Bytes.toBytes(qualifier)});
+            }
+        }
+        return familyQualifiers;
+    }
+
     @Override
     public List<List<String>> preview(ISourceDTO source, String tableName, Integer previewNum) {
         return preview(source, tableName, Maps.newHashMap(), previewNum);
@@ -425,7 +596,7 @@ public class HbaseClientSpecial implements IHbase {
             throw new DtLoaderException(String.format("Data preview failed,%s", e.getMessage()), e);
         } finally {
             close(table, rs);
-            closeConnection(connection, hbaseSourceDTO);
+            closeConnection(connection);
             HbaseClient.destroyProperty();
         }
     }
@@ -436,106 +607,151 @@ public class HbaseClientSpecial implements IHbase {
         Connection connection = null;
         Table table = null;
         ResultScanner rs = null;
-        List<Result> results = Lists.newArrayList();
         List<Map<String, Object>> executeResult = Lists.newArrayList();
         try {
             // 获取hbase连接
             connection = HbaseConnFactory.getHbaseConn(hbaseSourceDTO);
-            List<String> columns = hbaseQueryDTO.getColumns();
             // 转化表名为 hbase TableName
             TableName tableName = TableName.valueOf(hbaseQueryDTO.getTableName());
             table = connection.getTable(tableName);
-            Scan scan = new Scan();
-            // 指定 hbase 扫描列，格式 --> 列族:列名
-            if (CollectionUtils.isNotEmpty(columns)) {
-                for (String column : columns) {
-                    String[] familyAndQualifier = column.split(":");
-                    if (familyAndQualifier.length < 2) {
-                        continue;
-                    }
-                    scan.addColumn(Bytes.toBytes(familyAndQualifier[0]), Bytes.toBytes(familyAndQualifier[1]));
-                }
-            }
-            // 获取 common-loader 定义的自定义查询器并转化为 hbase 中的 filter
-            com.dtstack.dtcenter.loader.dto.filter.Filter loaderFilter = hbaseQueryDTO.getFilter();
-            if (Objects.nonNull(loaderFilter)) {
-                if (loaderFilter instanceof com.dtstack.dtcenter.loader.dto.filter.FilterList) {
-                    com.dtstack.dtcenter.loader.dto.filter.FilterList loaderFilterList = (com.dtstack.dtcenter.loader.dto.filter.FilterList) loaderFilter;
-                    FilterList hbaseFilterList = new FilterList(convertOp(loaderFilterList.getOperator()));
-                    convertFilter(loaderFilterList, hbaseFilterList);
-                    scan.setFilter(hbaseFilterList);
-                } else {
-                    scan.setFilter(FilterType.get(loaderFilter));
-                }
-            }
-            // 设置启始 rowKey
-            if (StringUtils.isNotBlank(hbaseQueryDTO.getStartRowKey())) {
-                scan.setStartRow(Bytes.toBytes(hbaseQueryDTO.getStartRowKey()));
-            }
-            // 设置结束 rowKey
-            if (StringUtils.isNotBlank(hbaseQueryDTO.getEndRowKey())) {
-                scan.setStopRow(Bytes.toBytes(hbaseQueryDTO.getEndRowKey()));
-            }
-            // 设置 pageFilter 返回结果在多 region 情况下可能也不准确，通过 limit 限制
+            Scan scan = buildScan(hbaseQueryDTO, timestampFilter);
             long limit = Objects.isNull(hbaseQueryDTO.getLimit()) ? Long.MAX_VALUE : hbaseQueryDTO.getLimit();
-            scan.setMaxResultSize(limit);
-            // 单独设置时间戳过滤
-            if (Objects.nonNull(timestampFilter)) {
-                HbaseClient.fillTimestampFilter(scan, timestampFilter);
-            }
             rs = table.getScanner(scan);
+            // 边扫描边转化，不再缓存全部 Result
             for (Result row : rs) {
-                if (CollectionUtils.isEmpty(row.listCells())) {
+                List<Cell> cells = row.listCells();
+                if (CollectionUtils.isEmpty(cells)) {
                     continue;
                 }
-                results.add(row);
-                if (results.size() >= limit) {
+                executeResult.add(convertResult(cells, hbaseQueryDTO.getColumnTypes()));
+                if (executeResult.size() >= limit) {
                     break;
                 }
             }
-            if (CollectionUtils.isEmpty(results)) {
-                return executeResult;
-            }
         } catch (Exception e){
             throw new DtLoaderException(String.format("Failed to execute hbase customization,%s", e.getMessage()), e);
         } finally {
-            if (hbaseSourceDTO.getPoolConfig() == null || MapUtils.isNotEmpty(hbaseSourceDTO.getKerberosConfig())) {
-                close(rs, table, connection);
-            } else {
-                close(rs, table, null);
-            }
+            close(rs, table);
+            closeConnection(connection);
             HbaseClient.destroyProperty();
         }
-        //理解为一行记录
-        for (Result result : results) {
-            List<Cell> cells = result.listCells();
-            if (CollectionUtils.isEmpty(cells)) {
-                continue;
+        return executeResult;
+    }
+
+    @Override
+    public IDownloader getDownloader(ISourceDTO source, HbaseQueryDTO hbaseQueryDTO, TimestampFilter timestampFilter) {
+        if (Objects.isNull(hbaseQueryDTO) || StringUtils.isBlank(hbaseQueryDTO.getTableName())) {
+            throw new DtLoaderException("hbase table name cannot be empty");
+        }
+        HbaseScanDownloader downloader = new HbaseScanDownloader((HbaseSourceDTO) source, hbaseQueryDTO, timestampFilter);
+        try {
+            downloader.configure();
+        } catch (Exception e) {
+            try {
+                downloader.close();
+            } catch (Exception ignore) {
+                // ignore
             }
-            long timestamp = 0L;
-            HashMap<String, Object> row = Maps.newHashMap();
-            for (Cell cell : cells){
-                row.put(ROWKEY, Bytes.toString(cell.getRowArray(), cell.getRowOffset(),cell.getRowLength()));
-                String family = Bytes.toString(cell.getFamilyArray(), cell.getFamilyOffset(),cell.getFamilyLength());
-                String qualifier = Bytes.toString(cell.getQualifierArray(), cell.getQualifierOffset(),cell.getQualifierLength());
-                Object value;
-                String familyQualifier = String.format(FAMILY_QUALIFIER, family, qualifier);
-                if (MapUtils.isNotEmpty(hbaseQueryDTO.getColumnTypes()) && Objects.nonNull(hbaseQueryDTO.getColumnTypes().get(familyQualifier))) {
-                    HbaseQueryDTO.ColumnType columnType = hbaseQueryDTO.getColumnTypes().get(familyQualifier);
-                    value = convertColumnType(columnType, cell);
-                } else {
-                    value = Bytes.toString(cell.getValueArray(), cell.getValueOffset(),cell.getValueLength());
-                }
-                row.put(familyQualifier, value);
-                //取到最新变动的时间
-                if (cell.getTimestamp() > timestamp) {
-                    timestamp = cell.getTimestamp();
+            throw new DtLoaderException(String.format("hbase downloader configure error,%s", e.getMessage()), e);
+        }
+        return downloader;
+    }
+
+    /**
+     * 根据自定义查询条件构建 hbase Scan：扫描列、过滤器、起止 rowKey、时间戳过滤以及每次 RPC 拉取的行数
+     *
+     * @param hbaseQueryDTO   hbase 自定义查询条件
+     * @param timestampFilter 时间戳过滤器
+     * @return hbase Scan
+     * @throws IOException 时间戳过滤设置异常
+     */
+    public static Scan buildScan(HbaseQueryDTO hbaseQueryDTO, TimestampFilter timestampFilter) throws IOException {
+        Scan scan = new Scan();
+        List<String> columns = hbaseQueryDTO.getColumns();
+        // 指定 hbase 扫描列，格式 --> 列族:列名
+        if (CollectionUtils.isNotEmpty(columns)) {
+            for (String column : columns) {
+                String[] familyAndQualifier = column.split(":");
+                if (familyAndQualifier.length < 2) {
+                    continue;
                 }
+                scan.addColumn(Bytes.toBytes(familyAndQualifier[0]), Bytes.toBytes(familyAndQualifier[1]));
             }
-            row.put(TIMESTAMP, timestamp);
-            executeResult.add(row);
         }
-        return executeResult;
+        // 获取 common-loader 定义的自定义查询器并转化为 hbase 中的 filter
+        org.apache.hadoop.hbase.filter.Filter hbaseFilter = null;
+        com.dtstack.dtcenter.loader.dto.filter.Filter loaderFilter = hbaseQueryDTO.getFilter();
+        if (Objects.nonNull(loaderFilter)) {
+            if (loaderFilter instanceof com.dtstack.dtcenter.loader.dto.filter.FilterList) {
+                com.dtstack.dtcenter.loader.dto.filter.FilterList loaderFilterList = (com.dtstack.dtcenter.loader.dto.filter.FilterList) loaderFilter;
+                FilterList hbaseFilterList = new FilterList(convertOp(loaderFilterList.getOperator()));
+                convertFilter(loaderFilterList, hbaseFilterList);
+                hbaseFilter = hbaseFilterList;
+            } else {
+                hbaseFilter = FilterType.get(loaderFilter);
+            }
+        }
+        // hbase-client 1.x 没有 Scan#setLimit，使用 pageFilter 让 region server 提前结束扫描，
+        // pageFilter 只在单个 region 内生效，最终条数仍由客户端计数限制
+        Long limit = hbaseQueryDTO.getLimit();
+        if (Objects.nonNull(limit) && limit > 0) {
+            PageFilter pageFilter = new PageFilter(limit);
+            hbaseFilter = Objects.isNull(hbaseFilter) ? pageFilter : new FilterList(FilterList.Operator.MUST_PASS_ALL, hbaseFilter, pageFilter);
+        }
+        if (Objects.nonNull(hbaseFilter)) {
+            scan.setFilter(hbaseFilter);
+        }
+        // 设置启始 rowKey
+        if (StringUtils.isNotBlank(hbaseQueryDTO.getStartRowKey())) {
+            scan.setStartRow(Bytes.toBytes(hbaseQueryDTO.getStartRowKey()));
+        }
+        // 设置结束 rowKey
+        if (StringUtils.isNotBlank(hbaseQueryDTO.getEndRowKey())) {
+            scan.setStopRow(Bytes.toBytes(hbaseQueryDTO.getEndRowKey()));
+        }
+        // 每次 RPC 拉取的行数，不超过 limit
+        int caching = Objects.isNull(hbaseQueryDTO.getCaching()) || hbaseQueryDTO.getCaching() <= 0 ? DEFAULT_SCAN_CACHING : hbaseQueryDTO.getCaching();
+        if (Objects.nonNull(limit) && limit > 0) {
+            caching = (int) Math.min(caching, limit);
+        }
+        scan.setCaching(caching);
+        // 单独设置时间戳过滤
+        if (Objects.nonNull(timestampFilter)) {
+            HbaseClient.fillTimestampFilter(scan, timestampFilter);
+        }
+        return scan;
+    }
+
+    /**
+     * 将一行 hbase 数据转化为 rowkey、列族:列名、timestamp 组成的 map
+     *
+     * @param cells       当前行的 cell
+     * @param columnTypes 字段值类型，为空时都转为字符串
+     * @return 一行数据
+     */
+    public static Map<String, Object> convertResult(List<Cell> cells, Map<String, HbaseQueryDTO.ColumnType> columnTypes) {
+        long timestamp = 0L;
+        HashMap<String, Object> row = Maps.newHashMap();
+        for (Cell cell : cells){
+            row.put(ROWKEY, Bytes.toString(cell.getRowArray(), cell.getRowOffset(),cell.getRowLength()));
+            String family = Bytes.toString(cell.getFamilyArray(), cell.getFamilyOffset(),cell.getFamilyLength());
+            String qualifier = Bytes.toString(cell.getQualifierArray(), cell.getQualifierOffset(),cell.getQualifierLength());
+            Object value;
+            String familyQualifier = String.format(FAMILY_QUALIFIER, family, qualifier);
+            if (MapUtils.isNotEmpty(columnTypes) && Objects.nonNull(columnTypes.get(familyQualifier))) {
+                HbaseQueryDTO.ColumnType columnType = columnTypes.get(familyQualifier);
+                value = convertColumnType(columnType, cell);
+            } else {
+                value = Bytes.toString(cell.getValueArray(), cell.getValueOffset(),cell.getValueLength());
+            }
+            row.put(familyQualifier, value);
+            //取到最新变动的时间
+            if (cell.getTimestamp() > timestamp) {
+                timestamp = cell.getTimestamp();
+            }
+        }
+        row.put(TIMESTAMP, timestamp);
+        return row;
     }
 
     /**
@@ -545,7 +761,7 @@ public class HbaseClientSpecial implements IHbase {
      * @param cell       cell
      * @return 转化后的值
      */
-    private Object convertColumnType(HbaseQueryDTO.ColumnType columnType, Cell cell) {
+    private static Object convertColumnType(HbaseQueryDTO.ColumnType columnType, Cell cell) {
         switch (columnType) {
             case INT:
                 return Bytes.toInt(cell.getValueArray(), cell.getValueOffset(),cell.getValueLength());
@@ -606,18 +822,11 @@ public class HbaseClientSpecial implements IHbase {
     }
 
     /**
-     * 关闭hbase连接：当connection不为null且没有开启连接池或者开启kerberos的情况下进行关闭hbase连接
+     * 归还hbase连接：共享连接引用计数减一，开启kerberos的连接直接关闭
      * @param connection hbase连接
-     * @param hbaseSourceDTO hbase数据源信息
      */
-    private static void closeConnection(Connection connection, HbaseSourceDTO hbaseSourceDTO) {
-        if (connection != null && (hbaseSourceDTO.getPoolConfig() == null || MapUtils.isNotEmpty(hbaseSourceDTO.getKerberosConfig()))) {
-            try {
-                connection.close();
-            } catch (IOException e) {
-                log.error("hbase Close connection exception", e);
-            }
-        }
+    private static void closeConnection(Connection connection) {
+        HbaseConnFactory.releaseHbaseConn(connection);
     }
 
     /**
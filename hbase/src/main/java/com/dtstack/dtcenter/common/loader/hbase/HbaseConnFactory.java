@@ -27,11 +27,9 @@ import com.dtstack.dtcenter.loader.dto.source.HbaseSourceDTO;
 import com.dtstack.dtcenter.loader.dto.source.ISourceDTO;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections.MapUtils;
+import org.apache.hadoop.hbase.client.Admin;
 import org.apache.hadoop.hbase.client.Connection;
 
-import java.io.IOException;
-
 /**
  * @company: www.dtstack.com
  * @Author ：Nanqi
@@ -55,30 +53,40 @@ public class HbaseConnFactory {
         Connection hConn = null;
         try {
             hConn = getHbaseConn(hbaseSourceDTO, SqlQueryDTO.builder().build());
-            hConn.getAdmin().getClusterStatus();
+            // 连接共享不随调用关闭，Admin 需要单独关闭
+            try (Admin admin = hConn.getAdmin()) {
+                admin.getClusterStatus();
+            }
             check = true;
         } catch (Exception e) {
             throw new DtLoaderException(ERROR_ADAPTER.connAdapter(e.getMessage(), ERROR_PATTERN), e);
         } finally {
-            if ((hbaseSourceDTO.getPoolConfig() == null || MapUtils.isNotEmpty(hbaseSourceDTO.getKerberosConfig())) && hConn != null) {
-                try {
-                    hConn.close();
-                } catch (IOException e) {
-                    log.error(e.getMessage(), e);
-                }
-            }
+            releaseHbaseConn(hConn);
             HbaseClient.destroyProperty();
         }
         return check;
     }
 
+    /**
+     * 获取 hbase 连接，同一集群共享连接，使用完后需要调用 {@link #releaseHbaseConn(Connection)} 归还
+     *
+     * @param source   数据源信息
+     * @param queryDTO 查询信息
+     * @return hbase 连接
+     */
     public static Connection getHbaseConn(HbaseSourceDTO source, SqlQueryDTO queryDTO) {
-        if (source.getPoolConfig() == null || MapUtils.isNotEmpty(source.getKerberosConfig())) {
-            return HbasePoolManager.initHbaseConn(source, queryDTO);
-        }
         return HbasePoolManager.getConnection(source, queryDTO);
     }
 
+    /**
+     * 归还 hbase 连接
+     *
+     * @param connection hbase 连接
+     */
+    public static void releaseHbaseConn(Connection connection) {
+        HbasePoolManager.releaseConnection(connection);
+    }
+
     public static Connection getHbaseConn(HbaseSourceDTO source, Integer queryTimeout) {
         SqlQueryDTO queryDTO = SqlQueryDTO.builder().queryTimeout(queryTimeout).build();
         return getHbaseConn(source, queryDTO);
@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.common.loader.hbase.downloader;
+
+import com.dtstack.dtcenter.common.loader.hbase.HbaseClient;
+import com.dtstack.dtcenter.common.loader.hbase.HbaseClientSpecial;
+import com.dtstack.dtcenter.common.loader.hbase.HbaseConnFactory;
+import com.dtstack.dtcenter.loader.IDownloader;
+import com.dtstack.dtcenter.loader.dto.HbaseQueryDTO;
+import com.dtstack.dtcenter.loader.dto.filter.TimestampFilter;
+import com.dtstack.dtcenter.loader.dto.source.HbaseSourceDTO;
+import com.dtstack.dtcenter.loader.exception.DtLoaderException;
+import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * hbase 自定义查询下载器：按 region 边界切分 rowKey 范围，多个 region 并发扫描，
+ * 扫描结果放入有界队列边扫描边输出，readNext 每次返回一行数据，格式和 executeQuery 一致
+ *
+ * @author ：wangchuan
+ * date：Created in 上午10:30 2021/9/6
+ * company: www.dtstack.com
+ */
+@Slf4j
+public class HbaseScanDownloader implements IDownloader {
+
+    /**
+     * 缓存行数的队列容量
+     */
+    private static final int QUEUE_CAPACITY = 2048;
+
+    /**
+     * 放入队列的等待时间，单位：毫秒，超时后检查下载器是否已关闭
+     */
+    private static final long OFFER_WAIT_MILLS = 200L;
+
+    /**
+     * 关闭时等待扫描线程退出的时间，单位：秒
+     */
+    private static final long SHUTDOWN_WAIT_SECONDS = 5L;
+
+    /**
+     * 扫描结束标识
+     */
+    private static final Map<String, Object> END_MARKER = Collections.emptyMap();
+
+    private static final AtomicInteger THREAD_NUM = new AtomicInteger();
+
+    private final HbaseSourceDTO hbaseSourceDTO;
+
+    private final HbaseQueryDTO hbaseQueryDTO;
+
+    private final TimestampFilter timestampFilter;
+
+    private final long limit;
+
+    private final BlockingQueue<Map<String, Object>> rowQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    /**
+     * 已放入队列的行数，用于多个 region 共享 limit
+     */
+    private final AtomicLong producedNum = new AtomicLong();
+
+    /**
+     * 未完成扫描的 region 数
+     */
+    private final AtomicInteger runningRegionNum = new AtomicInteger();
+
+    /**
+     * 扫描线程抛出的第一个异常
+     */
+    private final AtomicReference<Throwable> scanError = new AtomicReference<>();
+
+    private Connection connection;
+
+    private ExecutorService scanExecutor;
+
+    private Map<String, Object> nextRow;
+
+    private volatile boolean closed = false;
+
+    private boolean reachedEnd = false;
+
+    public HbaseScanDownloader(HbaseSourceDTO hbaseSourceDTO, HbaseQueryDTO hbaseQueryDTO, TimestampFilter timestampFilter) {
+        this.hbaseSourceDTO = hbaseSourceDTO;
+        this.hbaseQueryDTO = hbaseQueryDTO;
+        this.timestampFilter = timestampFilter;
+        this.limit = Objects.isNull(hbaseQueryDTO.getLimit()) || hbaseQueryDTO.getLimit() <= 0 ? Long.MAX_VALUE : hbaseQueryDTO.getLimit();
+    }
+
+    @Override
+    public boolean configure() throws Exception {
+        connection = HbaseConnFactory.getHbaseConn(hbaseSourceDTO);
+        TableName tableName = TableName.valueOf(hbaseQueryDTO.getTableName());
+        Scan scan = HbaseClientSpecial.buildScan(hbaseQueryDTO, timestampFilter);
+        List<Scan> regionScans = splitByRegion(tableName, scan);
+        if (CollectionUtils.isEmpty(regionScans)) {
+            rowQueue.put(END_MARKER);
+            return true;
+        }
+        int parallelism = Objects.isNull(hbaseQueryDTO.getParallelism()) || hbaseQueryDTO.getParallelism() <= 0 ? 1 : hbaseQueryDTO.getParallelism();
+        parallelism = Math.min(parallelism, regionScans.size());
+        scanExecutor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "hbase-scan-downloader-" + THREAD_NUM.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        runningRegionNum.set(regionScans.size());
+        for (Scan regionScan : regionScans) {
+            scanExecutor.submit(() -> scanRegion(tableName, regionScan));
+        }
+        // 所有 region 扫描任务已提交，线程空闲后自动退出
+        scanExecutor.shutdown();
+        return true;
+    }
+
+    /**
+     * 根据 region 的起止 rowKey 切分扫描范围，只保留和查询范围有交集的 region
+     *
+     * @param tableName 表名
+     * @param scan      整体扫描条件
+     * @return 每个 region 的扫描条件，按 rowKey 顺序排列
+     * @throws Exception 获取 region 信息异常
+     */
+    private List<Scan> splitByRegion(TableName tableName, Scan scan) throws Exception {
+        byte[] scanStart = scan.getStartRow();
+        byte[] scanStop = scan.getStopRow();
+        Pair<byte[][], byte[][]> startEndKeys;
+        try (RegionLocator regionLocator = connection.getRegionLocator(tableName)) {
+            startEndKeys = regionLocator.getStartEndKeys();
+        }
+        List<Scan> regionScans = Lists.newArrayList();
+        for (int i = 0; i < startEndKeys.getFirst().length; i++) {
+            byte[] regionStart = startEndKeys.getFirst()[i];
+            byte[] regionEnd = startEndKeys.getSecond()[i];
+            // 起始取较大值，结束取较小值，空数组表示无边界
+            byte[] start = Bytes.compareTo(scanStart, regionStart) >= 0 ? scanStart : regionStart;
+            byte[] stop;
+            if (scanStop.length == 0) {
+                stop = regionEnd;
+            } else if (regionEnd.length == 0) {
+                stop = scanStop;
+            } else {
+                stop = Bytes.compareTo(scanStop, regionEnd) <= 0 ? scanStop : regionEnd;
+            }
+            if (stop.length > 0 && Bytes.compareTo(start, stop) >= 0) {
+                continue;
+            }
+            Scan regionScan = new Scan(scan);
+            regionScan.setStartRow(start);
+            regionScan.setStopRow(stop);
+            regionScans.add(regionScan);
+        }
+        return regionScans;
+    }
+
+    /**
+     * 扫描单个 region，转化后的行放入队列，达到 limit 或下载器关闭时提前结束
+     *
+     * @param tableName  表名
+     * @param regionScan region 扫描条件
+     */
+    private void scanRegion(TableName tableName, Scan regionScan) {
+        try (Table table = connection.getTable(tableName);
+             ResultScanner scanner = table.getScanner(regionScan)) {
+            for (Result result : scanner) {
+                if (closed || producedNum.get() >= limit) {
+                    break;
+                }
+                List<Cell> cells = result.listCells();
+                if (CollectionUtils.isEmpty(cells)) {
+                    continue;
+                }
+                if (producedNum.incrementAndGet() > limit) {
+                    break;
+                }
+                if (!offer(HbaseClientSpecial.convertResult(cells, hbaseQueryDTO.getColumnTypes()))) {
+                    break;
+                }
+            }
+        } catch (Throwable e) {
+            if (!closed) {
+                scanError.compareAndSet(null, e);
+            }
+        } finally {
+            // 最后一个结束的 region 或扫描异常时放入结束标识
+            if (runningRegionNum.decrementAndGet() == 0 || Objects.nonNull(scanError.get())) {
+                offer(END_MARKER);
+            }
+        }
+    }
+
+    /**
+     * 放入队列，队列满时等待，下载器关闭后放弃
+     *
+     * @param row 行数据
+     * @return 是否放入成功
+     */
+    private boolean offer(Map<String, Object> row) {
+        try {
+            while (!closed) {
+                if (rowQueue.offer(row, OFFER_WAIT_MILLS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * 获取下一行，没有数据时阻塞等待扫描线程
+     */
+    private void fetchNext() {
+        if (Objects.nonNull(nextRow) || reachedEnd) {
+            return;
+        }
+        try {
+            Map<String, Object> row = rowQueue.take();
+            Throwable error = scanError.get();
+            if (Objects.nonNull(error)) {
+                throw new DtLoaderException(String.format("hbase scan error,%s", error.getMessage()), error);
+            }
+            if (row == END_MARKER) {
+                reachedEnd = true;
+            } else {
+                nextRow = row;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DtLoaderException("hbase download interrupted", e);
+        }
+    }
+
+    @Override
+    public List<String> getMetaInfo() {
+        return hbaseQueryDTO.getColumns();
+    }
+
+    @Override
+    public Object readNext() {
+        fetchNext();
+        if (reachedEnd) {
+            return null;
+        }
+        Map<String, Object> row = nextRow;
+        nextRow = null;
+        return row;
+    }
+
+    @Override
+    public boolean reachedEnd() {
+        fetchNext();
+        return reachedEnd;
+    }
+
+    @Override
+    public boolean close() throws Exception {
+        if (closed) {
+            return true;
+        }
+        closed = true;
+        try {
+            if (Objects.nonNull(scanExecutor)) {
+                scanExecutor.shutdownNow();
+                if (!scanExecutor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("hbase scan downloader threads did not terminate in {}s", SHUTDOWN_WAIT_SECONDS);
+                }
+            }
+            rowQueue.clear();
+        } finally {
+            HbaseConnFactory.releaseHbaseConn(connection);
+            HbaseClient.destroyProperty();
+        }
+        return true;
+    }
+
+    @Override
+    public String getFileName() {
+        return null;
+    }
+
+    @Override
+    public List<String> getContainers() {
+        return Collections.emptyList();
+    }
+}
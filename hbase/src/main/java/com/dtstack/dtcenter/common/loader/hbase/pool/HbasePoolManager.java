@@ -44,8 +44,18 @@ import java.io.IOException;
 import java.security.PrivilegedAction;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * hbase 连接管理：每个集群(zk 地址 + 根目录 + 配置信息)共享一个线程安全的 Connection，
+ * 通过引用计数记录正在使用的调用方，调用方使用完后需调用 {@link #releaseConnection(Connection)} 归还，
+ * 引用计数为 0 且空闲超过 idleTimeout 的连接由后台线程关闭。Table、Admin、ResultScanner 仍由每次调用自行创建和关闭
+ * <p>
+ * 开启 kerberos 时 jaas 配置在每次调用结束后会被清理，hbase 重建 zk 连接时无法再次认证，所以 kerberos 数据源不共享连接，
+ * 归还时直接关闭
+ *
  * @company:www.dtstack.com
  * @Author:shiFang
  * @Date:2020-10-31 14:37
@@ -56,9 +66,42 @@ public class HbasePoolManager {
 
     private volatile static HbasePoolManager manager;
 
-    private volatile static Map<String, Connection> sourcePool = Maps.newConcurrentMap();
+    /**
+     * 集群 key -> 共享连接
+     */
+    private static final Map<String, SharedConnection> sourcePool = Maps.newConcurrentMap();
+
+    /**
+     * 连接 -> 共享连接，用于归还时查找引用计数
+     */
+    private static final Map<Connection, SharedConnection> connectionRefs = Maps.newConcurrentMap();
+
+    /**
+     * 创建连接时按 key 加锁，不同集群的连接创建互不阻塞
+     */
+    private static final Map<String, Object> keyLocks = Maps.newConcurrentMap();
+
+    private static final String HBASE_KEY = "zookeeperUrl:%s,zNode:%s,config:%s,others:%s,rpcTimeout:%s";
 
-    private static final String HBASE_KEY = "zookeeperUrl:%s,zNode:%s";
+    /**
+     * 未配置 poolConfig 时连接的默认空闲时间，单位：毫秒
+     */
+    private static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * 空闲连接检查周期，单位：秒
+     */
+    private static final long EVICT_PERIOD = 30;
+
+    private static final ScheduledExecutorService EVICT_SERVICE = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Loader-hbase-connection-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        EVICT_SERVICE.scheduleWithFixedDelay(HbasePoolManager::evictIdleConnection, EVICT_PERIOD, EVICT_PERIOD, TimeUnit.SECONDS);
+    }
 
     private HbasePoolManager() {
     }
@@ -74,24 +117,104 @@ public class HbasePoolManager {
         return manager;
     }
 
+    /**
+     * 获取 hbase 连接，引用计数加一，使用完后需要调用 {@link #releaseConnection(Connection)}
+     *
+     * @param source   数据源信息
+     * @param queryDTO 查询信息
+     * @return hbase 连接
+     */
     public static Connection getConnection(ISourceDTO source, SqlQueryDTO queryDTO) {
         HbaseSourceDTO hbaseSourceDTO = (HbaseSourceDTO) source;
-        String key = getPrimaryKey(hbaseSourceDTO).intern();
-        Connection conn = sourcePool.get(key);
-        if (conn == null) {
-            synchronized (HbasePoolManager.class) {
-                conn = sourcePool.get(key);
-                if (conn == null) {
-                    conn = initHbaseConn(hbaseSourceDTO, queryDTO);
-                    sourcePool.putIfAbsent(key, conn);
+        if (MapUtils.isNotEmpty(hbaseSourceDTO.getKerberosConfig())) {
+            return initHbaseConn(hbaseSourceDTO, queryDTO);
+        }
+        String key = getPrimaryKey(hbaseSourceDTO, queryDTO);
+        while (true) {
+            SharedConnection shared = sourcePool.get(key);
+            if (shared == null) {
+                synchronized (keyLocks.computeIfAbsent(key, k -> new Object())) {
+                    shared = sourcePool.get(key);
+                    if (shared == null) {
+                        Connection conn = initHbaseConn(hbaseSourceDTO, queryDTO);
+                        Long idleTimeout = hbaseSourceDTO.getPoolConfig() == null ? null : hbaseSourceDTO.getPoolConfig().getIdleTimeout();
+                        shared = new SharedConnection(key, conn, idleTimeout == null ? DEFAULT_IDLE_TIMEOUT : idleTimeout);
+                        connectionRefs.put(conn, shared);
+                        sourcePool.put(key, shared);
+                    }
+                }
+            }
+            if (shared.retain()) {
+                return shared.connection;
+            }
+            // 连接已失效，移除后重新创建
+            retire(shared);
+        }
+    }
+
+    /**
+     * 归还 hbase 连接，引用计数减一；非共享的连接直接关闭
+     *
+     * @param connection hbase 连接
+     */
+    public static void releaseConnection(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        SharedConnection shared = connectionRefs.get(connection);
+        if (shared == null) {
+            closeQuietly(connection);
+            return;
+        }
+        if (shared.release()) {
+            // 已经被淘汰并且没有调用方在使用
+            connectionRefs.remove(connection);
+            closeQuietly(connection);
+        }
+    }
+
+    /**
+     * 关闭空闲超时或者已经失效的连接
+     */
+    private static void evictIdleConnection() {
+        try {
+            long now = System.currentTimeMillis();
+            for (SharedConnection shared : sourcePool.values()) {
+                if (shared.isIdle(now) || shared.connection.isClosed() || shared.connection.isAborted()) {
+                    retire(shared);
                 }
             }
+        } catch (Exception e) {
+            log.error("evict idle hbase connection error", e);
+        }
+    }
+
+    /**
+     * 将连接从池中移除，没有调用方在使用时直接关闭，否则等最后一个调用方归还时关闭
+     *
+     * @param shared 共享连接
+     */
+    private static void retire(SharedConnection shared) {
+        sourcePool.remove(shared.key, shared);
+        if (shared.retire()) {
+            connectionRefs.remove(shared.connection);
+            closeQuietly(shared.connection);
+            log.info("close hbase connection, key : {}", shared.key);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (IOException e) {
+            log.error("hbase Close connection exception", e);
         }
-        return conn;
     }
 
-    private static String getPrimaryKey(HbaseSourceDTO hbaseSourceDTO) {
-        return String.format(HBASE_KEY, hbaseSourceDTO.getUrl(), hbaseSourceDTO.getPath());
+    private static String getPrimaryKey(HbaseSourceDTO hbaseSourceDTO, SqlQueryDTO queryDTO) {
+        String rpcTimeout = queryDTO == null || queryDTO.getQueryTimeout() == null ? "60000" : String.valueOf(queryDTO.getQueryTimeout() * 1000);
+        return String.format(HBASE_KEY, hbaseSourceDTO.getUrl(), hbaseSourceDTO.getPath(), hbaseSourceDTO.getConfig(),
+                hbaseSourceDTO.getOthers(), rpcTimeout);
     }
 
     public static Connection initHbaseConn(HbaseSourceDTO source, SqlQueryDTO queryDTO) {
@@ -195,15 +318,87 @@ public class HbasePoolManager {
 
     @PreDestroy
     public void doDestroy() {
-        for (Map.Entry<String, Connection> entry : sourcePool.entrySet()) {
-            Connection connection = entry.getValue();
-            if (connection != null) {
-                try {
-                    connection.close();
-                } catch (IOException e) {
-                    throw new DtLoaderException(String.format("hbase connection closed failed,%s", e.getMessage()), e);
-                }
+        for (SharedConnection shared : sourcePool.values()) {
+            sourcePool.remove(shared.key, shared);
+            connectionRefs.remove(shared.connection);
+            closeQuietly(shared.connection);
+        }
+    }
+
+    /**
+     * 共享连接及其引用计数
+     */
+    private static class SharedConnection {
+
+        private final String key;
+
+        private final Connection connection;
+
+        /**
+         * 空闲超时时间，单位：毫秒
+         */
+        private final long idleTimeout;
+
+        /**
+         * 正在使用该连接的调用方数量
+         */
+        private int refCount;
+
+        /**
+         * 最后一次归还的时间
+         */
+        private long lastReleaseTime = System.currentTimeMillis();
+
+        /**
+         * 是否已从池中淘汰
+         */
+        private boolean retired;
+
+        private SharedConnection(String key, Connection connection, long idleTimeout) {
+            this.key = key;
+            this.connection = connection;
+            this.idleTimeout = idleTimeout;
+        }
+
+        /**
+         * 引用计数加一
+         *
+         * @return 连接是否可用
+         */
+        private synchronized boolean retain() {
+            if (retired || connection.isClosed() || connection.isAborted()) {
+                return false;
             }
+            refCount++;
+            return true;
+        }
+
+        /**
+         * 引用计数减一
+         *
+         * @return 是否需要关闭连接
+         */
+        private synchronized boolean release() {
+            refCount--;
+            lastReleaseTime = System.currentTimeMillis();
+            return retired && refCount <= 0;
+        }
+
+        /**
+         * 标记为淘汰
+         *
+         * @return 是否可以立即关闭连接
+         */
+        private synchronized boolean retire() {
+            if (retired) {
+                return false;
+            }
+            retired = true;
+            return refCount <= 0;
+        }
+
+        private synchronized boolean isIdle(long now) {
+            return refCount <= 0 && now - lastReleaseTime > idleTimeout;
         }
     }
 }
@@ -19,7 +19,9 @@
 package com.dtstack.dtcenter.common.loader.hdfs.client;
 
 import com.dtstack.dtcenter.common.loader.common.utils.ReflectUtil;
+import com.dtstack.dtcenter.common.loader.hadoop.downloader.ReadAheadDownloader;
 import com.dtstack.dtcenter.common.loader.hadoop.hdfs.HadoopConfUtil;
+import com.dtstack.dtcenter.common.loader.hadoop.hdfs.HdfsFileSystemManager;
 import com.dtstack.dtcenter.common.loader.hadoop.hdfs.HdfsOperator;
 import com.dtstack.dtcenter.common.loader.hadoop.util.KerberosLoginUtil;
 import com.dtstack.dtcenter.common.loader.hdfs.YarnConfUtil;
@@ -63,8 +65,10 @@ import java.io.IOException;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * @company: www.dtstack.com
@@ -165,70 +169,53 @@ public class HdfsFileClient implements IHdfsFile {
      * @throws Exception
      */
     private org.apache.hadoop.fs.FileStatus getHadoopStatus(ISourceDTO source, String location) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        return HdfsOperator.getFileStatus(fs, location);
+        return withFileSystem(source, fs -> HdfsOperator.getFileStatus(fs, location));
     }
 
     @Override
     public boolean downloadFileFromHdfs(ISourceDTO source, String remotePath, String localDir) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        HdfsOperator.copyToLocal(fs, remotePath, localDir);
-        return true;
+        return withFileSystem(source, fs -> {
+            HdfsOperator.copyToLocal(fs, remotePath, localDir);
+            return true;
+        });
     }
 
     @Override
     public boolean uploadLocalFileToHdfs(ISourceDTO source, String localFilePath, String remotePath) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        HdfsOperator.uploadLocalFileToHdfs(fs, localFilePath, remotePath);
-        return true;
+        return withFileSystem(source, fs -> {
+            HdfsOperator.uploadLocalFileToHdfs(fs, localFilePath, remotePath);
+            return true;
+        });
     }
 
     @Override
     public boolean uploadInputStreamToHdfs(ISourceDTO source, byte[] bytes, String remotePath) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        return HdfsOperator.uploadInputStreamToHdfs(fs, bytes, remotePath);
+        return withFileSystem(source, fs -> HdfsOperator.uploadInputStreamToHdfs(fs, bytes, remotePath));
     }
 
     @Override
     public boolean createDir(ISourceDTO source, String remotePath, Short permission) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        return HdfsOperator.createDir(fs, remotePath, permission);
+        return withFileSystem(source, fs -> HdfsOperator.createDir(fs, remotePath, permission));
     }
 
     @Override
     public boolean isFileExist(ISourceDTO source, String remotePath) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        return HdfsOperator.isFileExist(fs, remotePath);
+        return withFileSystem(source, fs -> HdfsOperator.isFileExist(fs, remotePath));
     }
 
     @Override
     public boolean checkAndDelete(ISourceDTO source, String remotePath) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        return HdfsOperator.checkAndDelete(fs, remotePath);
+        return withFileSystem(source, fs -> HdfsOperator.checkAndDelete(fs, remotePath));
     }
 
     @Override
     public boolean delete(ISourceDTO source, String remotePath, boolean recursive) {
         HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
         return KerberosLoginUtil.loginWithUGI(hdfsSourceDTO.getKerberosConfig()).doAs(
-                (PrivilegedAction<Boolean>) () -> {
-                    try {
-                        Configuration conf = HadoopConfUtil.getHdfsConf(hdfsSourceDTO.getDefaultFS(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getKerberosConfig());
-                        FileSystem fs = FileSystem.get(conf);
-                        log.info("delete hdfs file ,remotePath :{}", remotePath);
-                        return fs.delete(new Path(remotePath), recursive);
-                    } catch (Exception e) {
-                        throw new DtLoaderException(String.format("Target path deletion exception,%s", e.getMessage()), e);
-                    }
-                }
+                (PrivilegedAction<Boolean>) () -> withFileSystem(source, "Target path deletion exception,%s", fs -> {
+                    log.info("delete hdfs file ,remotePath :{}", remotePath);
+                    return fs.delete(new Path(remotePath), recursive);
+                })
         );
     }
 
@@ -236,29 +223,24 @@ public class HdfsFileClient implements IHdfsFile {
     public boolean copyDirector(ISourceDTO source, String src, String dist) {
         HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
         return KerberosLoginUtil.loginWithUGI(hdfsSourceDTO.getKerberosConfig()).doAs(
-                (PrivilegedAction<Boolean>) () -> {
-                    try {
-                        Path srcPath = new Path(src);
-                        Path distPath = new Path(dist);
-                        Configuration conf = HadoopConfUtil.getHdfsConf(hdfsSourceDTO.getDefaultFS(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getKerberosConfig());
-                        FileSystem fs = FileSystem.get(conf);
-                        if (fs.exists(srcPath)) {
-                            //判断是不是文件夹
-                            if (fs.isDirectory(srcPath)) {
-                                if (!FileUtil.copy(fs, srcPath, fs, distPath, false, conf)) {
-                                    throw new DtLoaderException("copy " + src + " to " + dist + " failed");
-                                }
-                            } else {
-                                throw new DtLoaderException(src + "is not a directory");
+                (PrivilegedAction<Boolean>) () -> withFileSystem(source, "Target path deletion exception,%s", fs -> {
+                    Path srcPath = new Path(src);
+                    Path distPath = new Path(dist);
+                    Configuration conf = HadoopConfUtil.getHdfsConf(hdfsSourceDTO.getDefaultFS(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getKerberosConfig());
+                    if (fs.exists(srcPath)) {
+                        //判断是不是文件夹
+                        if (fs.isDirectory(srcPath)) {
+                            if (!FileUtil.copy(fs, srcPath, fs, distPath, false, conf)) {
+                                throw new DtLoaderException("copy " + src + " to " + dist + " failed");
                             }
                         } else {
-                            throw new DtLoaderException(src + " is not exists");
+                            throw new DtLoaderException(src + "is not a directory");
                         }
-                        return true;
-                    } catch (Exception e) {
-                        throw new DtLoaderException(String.format("Target path deletion exception,%s", e.getMessage()), e);
+                    } else {
+                        throw new DtLoaderException(src + " is not exists");
                     }
-                }
+                    return true;
+                })
         );
     }
 
@@ -288,91 +270,57 @@ public class HdfsFileClient implements IHdfsFile {
 
     @Override
     public long getDirSize(ISourceDTO source, String remotePath) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        return HdfsOperator.getDirSize(fs, remotePath);
+        return withFileSystem(source, fs -> HdfsOperator.getDirSize(fs, remotePath));
     }
 
     @Override
     public boolean deleteFiles(ISourceDTO source, List<String> fileNames) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        return HdfsOperator.deleteFiles(fs, fileNames);
+        return withFileSystem(source, fs -> HdfsOperator.deleteFiles(fs, fileNames));
     }
 
     @Override
     public boolean isDirExist(ISourceDTO source, String remotePath) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        return HdfsOperator.isDirExist(fs, remotePath);
+        return withFileSystem(source, fs -> HdfsOperator.isDirExist(fs, remotePath));
     }
 
     @Override
     public boolean setPermission(ISourceDTO source, String remotePath, String mode) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        return HdfsOperator.setPermission(fs, remotePath, mode);
+        return withFileSystem(source, fs -> HdfsOperator.setPermission(fs, remotePath, mode));
     }
 
     @Override
     public boolean rename(ISourceDTO source, String src, String dist) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        return HdfsOperator.rename(fs, src, dist);
+        return withFileSystem(source, fs -> HdfsOperator.rename(fs, src, dist));
     }
 
     @Override
     public boolean copyFile(ISourceDTO source, String src, String dist, boolean isOverwrite) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        try {
-            return HdfsOperator.copyFile(fs, src, dist, isOverwrite);
-        } catch (IOException e) {
-            throw new DtLoaderException(String.format("Copying files in hdfs is abnormal : %s", e.getMessage()), e);
-        }
+        return withFileSystem(source, "Copying files in hdfs is abnormal : %s", fs -> HdfsOperator.copyFile(fs, src, dist, isOverwrite));
     }
 
     @Override
     public List<FileStatus> listStatus(ISourceDTO source, String remotePath) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        try {
-            return transferFileStatus(HdfsOperator.listStatus(fs, remotePath));
-        } catch (IOException e) {
-            throw new DtLoaderException(String.format("The status of the file or folder under the target path is abnormal : %s", e.getMessage()), e);
-        }
+        return withFileSystem(source, "The status of the file or folder under the target path is abnormal : %s", fs -> transferFileStatus(HdfsOperator.listStatus(fs, remotePath)));
     }
 
     @Override
     public List<String> listAllFilePath(ISourceDTO source, String remotePath) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        try {
-            return HdfsOperator.listAllFilePath(fs, remotePath);
-        } catch (IOException e) {
-            throw new DtLoaderException(String.format("Obtaining all files in the target path is abnormal : %s", e.getMessage()), e);
-        }
+        return withFileSystem(source, "Obtaining all files in the target path is abnormal : %s", fs -> HdfsOperator.listAllFilePath(fs, remotePath));
     }
 
     @Override
     public List<FileStatus> listAllFiles(ISourceDTO source, String remotePath, boolean isIterate) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        return listFiles(fs, remotePath, isIterate);
+        return withFileSystem(source, fs -> listFiles(fs, remotePath, isIterate));
     }
 
     @Override
     public boolean copyToLocal(ISourceDTO source, String srcPath, String dstPath) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        return HdfsOperator.copyToLocal(fs, srcPath, dstPath);
+        return withFileSystem(source, fs -> HdfsOperator.copyToLocal(fs, srcPath, dstPath));
     }
 
     @Override
     public boolean copyFromLocal(ISourceDTO source, String srcPath, String dstPath, boolean overwrite) {
-        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        return HdfsOperator.copyFromLocal(fs, srcPath, dstPath, overwrite);
+        return withFileSystem(source, fs -> HdfsOperator.copyFromLocal(fs, srcPath, dstPath, overwrite));
     }
 
     @Override
@@ -390,6 +338,25 @@ public class HdfsFileClient implements IHdfsFile {
 
     }
 
+    @Override
+    public IDownloader getDownloaderByFormat(ISourceDTO source, String tableLocation, List<String> columnNames, String fieldDelimiter, String fileFormat, SqlQueryDTO queryDTO) {
+        if (Objects.isNull(queryDTO) || Objects.isNull(queryDTO.getReadAheadFileNum()) || queryDTO.getReadAheadFileNum() <= 1) {
+            return getDownloaderByFormat(source, tableLocation, columnNames, fieldDelimiter, fileFormat);
+        }
+        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
+        Map<String, Object> kerberosConfig = hdfsSourceDTO.getKerberosConfig();
+        List<String> filePaths = withFileSystem(source, "create downloader exception : %s",
+                fs -> HdfsOperator.listAllFiles(fs, Collections.singletonList(tableLocation)));
+        if (CollectionUtils.isEmpty(filePaths)) {
+            throw new DtLoaderException("Illegal path:" + tableLocation);
+        }
+        ReadAheadDownloader downloader = new ReadAheadDownloader(filePaths, new ArrayList<>(columnNames),
+                filePath -> newDownloader(hdfsSourceDTO, filePath, columnNames, fieldDelimiter, fileFormat, kerberosConfig),
+                queryDTO.getReadAheadFileNum(), queryDTO.getReadAheadOrdered(), kerberosConfig);
+        downloader.configure();
+        return downloader;
+    }
+
     /**
      * 根据存储格式创建对应的hdfs下载器
      *
@@ -400,22 +367,25 @@ public class HdfsFileClient implements IHdfsFile {
      * @return
      */
     private IDownloader createDownloader(HdfsSourceDTO hdfsSourceDTO, String tableLocation, List<String> columnNames, String fieldDelimiter, String fileFormat, Map<String, Object> kerberosConfig) throws Exception {
+        IDownloader downloader = newDownloader(hdfsSourceDTO, tableLocation, columnNames, fieldDelimiter, fileFormat, kerberosConfig);
+        downloader.configure();
+        return downloader;
+    }
+
+    /**
+     * 根据存储格式创建对应的hdfs下载器，不进行初始化
+     */
+    private IDownloader newDownloader(HdfsSourceDTO hdfsSourceDTO, String tableLocation, List<String> columnNames, String fieldDelimiter, String fileFormat, Map<String, Object> kerberosConfig) {
         if (FileFormat.TEXT.getVal().equals(fileFormat)) {
-            HdfsTextDownload hdfsTextDownload = new HdfsTextDownload(hdfsSourceDTO, tableLocation, columnNames, fieldDelimiter, null, kerberosConfig);
-            hdfsTextDownload.configure();
-            return hdfsTextDownload;
+            return new HdfsTextDownload(hdfsSourceDTO, tableLocation, columnNames, fieldDelimiter, null, kerberosConfig);
         }
 
         if (FileFormat.ORC.getVal().equals(fileFormat)) {
-            HdfsORCDownload hdfsORCDownload = new HdfsORCDownload(hdfsSourceDTO, tableLocation, columnNames, null, kerberosConfig);
-            hdfsORCDownload.configure();
-            return hdfsORCDownload;
+            return new HdfsORCDownload(hdfsSourceDTO, tableLocation, columnNames, null, kerberosConfig);
         }
 
         if (FileFormat.PARQUET.getVal().equals(fileFormat)) {
-            HdfsParquetDownload hdfsParquetDownload = new HdfsParquetDownload(hdfsSourceDTO, tableLocation, columnNames, null, kerberosConfig);
-            hdfsParquetDownload.configure();
-            return hdfsParquetDownload;
+            return new HdfsParquetDownload(hdfsSourceDTO, tableLocation, columnNames, null, kerberosConfig);
         }
 
         throw new DtLoaderException("This storage type file is not currently supported for writing to hdfs");
@@ -473,44 +443,38 @@ public class HdfsFileClient implements IHdfsFile {
         List<HDFSContentSummary> hdfsContentSummaries = Lists.newArrayList();
         // kerberos认证
         return KerberosLoginUtil.loginWithUGI(hdfsSourceDTO.getKerberosConfig()).doAs(
-                (PrivilegedAction<List<HDFSContentSummary>>) () -> {
-                    try {
-                        Configuration conf = HadoopConfUtil.getHdfsConf(hdfsSourceDTO.getDefaultFS(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getKerberosConfig());
-                        FileSystem fs = FileSystem.get(conf);
-                        for (String HDFSDirPath : hdfsDirPaths) {
-                            Path hdfsPath = new Path(HDFSDirPath);
-                            // 判断路径是否存在，不存在则返回空对象
-                            HDFSContentSummary hdfsContentSummary;
-                            if (!fs.exists(hdfsPath)) {
-                                log.warn("execute method getContentSummary: path {} not exists!", HDFSDirPath);
-                                hdfsContentSummary = HDFSContentSummary.builder()
-                                        .directoryCount(0L)
-                                        .fileCount(0L)
-                                        .ModifyTime(0L)
-                                        .spaceConsumed(0L)
-                                        .build();
-                                if (ReflectUtil.fieldExists(hdfsContentSummary.getClass(), "isExists")) {
-                                    hdfsContentSummary.setIsExists(false);
-                                }
-                            } else {
-                                org.apache.hadoop.fs.FileStatus fileStatus = fs.getFileStatus(hdfsPath);
-                                ContentSummary contentSummary = fs.getContentSummary(hdfsPath);
-                                hdfsContentSummary = HDFSContentSummary.builder()
-                                        .directoryCount(contentSummary.getDirectoryCount())
-                                        .fileCount(contentSummary.getFileCount())
-                                        .ModifyTime(fileStatus.getModificationTime())
-                                        .spaceConsumed(contentSummary.getLength()).build();
-                                if (ReflectUtil.fieldExists(hdfsContentSummary.getClass(), "isExists")) {
-                                    hdfsContentSummary.setIsExists(true);
-                                }
+                (PrivilegedAction<List<HDFSContentSummary>>) () -> withFileSystem(source, "Failed to obtain HDFS file information：%s", fs -> {
+                    for (String HDFSDirPath : hdfsDirPaths) {
+                        Path hdfsPath = new Path(HDFSDirPath);
+                        // 判断路径是否存在，不存在则返回空对象
+                        HDFSContentSummary hdfsContentSummary;
+                        if (!fs.exists(hdfsPath)) {
+                            log.warn("execute method getContentSummary: path {} not exists!", HDFSDirPath);
+                            hdfsContentSummary = HDFSContentSummary.builder()
+                                    .directoryCount(0L)
+                                    .fileCount(0L)
+                                    .ModifyTime(0L)
+                                    .spaceConsumed(0L)
+                                    .build();
+                            if (ReflectUtil.fieldExists(hdfsContentSummary.getClass(), "isExists")) {
+                                hdfsContentSummary.setIsExists(false);
+                            }
+                        } else {
+                            org.apache.hadoop.fs.FileStatus fileStatus = fs.getFileStatus(hdfsPath);
+                            ContentSummary contentSummary = fs.getContentSummary(hdfsPath);
+                            hdfsContentSummary = HDFSContentSummary.builder()
+                                    .directoryCount(contentSummary.getDirectoryCount())
+                                    .fileCount(contentSummary.getFileCount())
+                                    .ModifyTime(fileStatus.getModificationTime())
+                                    .spaceConsumed(contentSummary.getLength()).build();
+                            if (ReflectUtil.fieldExists(hdfsContentSummary.getClass(), "isExists")) {
+                                hdfsContentSummary.setIsExists(true);
                             }
-                            hdfsContentSummaries.add(hdfsContentSummary);
                         }
-                        return hdfsContentSummaries;
-                    } catch (Exception e) {
-                        throw new DtLoaderException(String.format("Failed to obtain HDFS file information：%s", e.getMessage()), e);
+                        hdfsContentSummaries.add(hdfsContentSummary);
                     }
-                }
+                    return hdfsContentSummaries;
+                })
         );
     }
 
@@ -553,56 +517,57 @@ public class HdfsFileClient implements IHdfsFile {
     private List<ColumnMetaDTO> getOrcColumnList(HdfsSourceDTO hdfsSourceDTO, SqlQueryDTO queryDTO) throws IOException {
         ArrayList<ColumnMetaDTO> columnList = new ArrayList<>();
         Configuration conf = HdfsOperator.getConfig(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        FileSystem fs = HdfsOperator.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
-        OrcFile.ReaderOptions readerOptions = OrcFile.readerOptions(conf);
-        readerOptions.filesystem(fs);
-        String fileName = hdfsSourceDTO.getDefaultFS() + PATH_DELIMITER + queryDTO.getTableName();
-        fileName = handleVariable(fileName);
-
-        Path path = new Path(fileName);
-        org.apache.hadoop.hive.ql.io.orc.Reader reader = null;
-        String typeStruct = null;
-        if (fs.isDirectory(path)) {
-            RemoteIterator<LocatedFileStatus> iterator = fs.listFiles(path, true);
-            while (iterator.hasNext()) {
-                org.apache.hadoop.fs.FileStatus fileStatus = iterator.next();
-                if (fileStatus.isFile() && fileStatus.getLen() > 49) {
-                    Path subPath = fileStatus.getPath();
-                    reader = OrcFile.createReader(subPath, readerOptions);
-                    typeStruct = reader.getObjectInspector().getTypeName();
-                    if (StringUtils.isNotEmpty(typeStruct)) {
-                        break;
+        return withFileSystem(hdfsSourceDTO, fs -> {
+            OrcFile.ReaderOptions readerOptions = OrcFile.readerOptions(conf);
+            readerOptions.filesystem(fs);
+            String fileName = hdfsSourceDTO.getDefaultFS() + PATH_DELIMITER + queryDTO.getTableName();
+            fileName = handleVariable(fileName);
+
+            Path path = new Path(fileName);
+            org.apache.hadoop.hive.ql.io.orc.Reader reader = null;
+            String typeStruct = null;
+            if (fs.isDirectory(path)) {
+                RemoteIterator<LocatedFileStatus> iterator = fs.listFiles(path, true);
+                while (iterator.hasNext()) {
+                    org.apache.hadoop.fs.FileStatus fileStatus = iterator.next();
+                    if (fileStatus.isFile() && fileStatus.getLen() > 49) {
+                        Path subPath = fileStatus.getPath();
+                        reader = OrcFile.createReader(subPath, readerOptions);
+                        typeStruct = reader.getObjectInspector().getTypeName();
+                        if (StringUtils.isNotEmpty(typeStruct)) {
+                            break;
+                        }
                     }
                 }
-            }
-            if (reader == null) {
-                throw new DtLoaderException("orcfile dir is empty!");
-            }
+                if (reader == null) {
+                    throw new DtLoaderException("orcfile dir is empty!");
+                }
 
-        } else {
-            reader = OrcFile.createReader(path, readerOptions);
-            typeStruct = reader.getObjectInspector().getTypeName();
-        }
+            } else {
+                reader = OrcFile.createReader(path, readerOptions);
+                typeStruct = reader.getObjectInspector().getTypeName();
+            }
 
-        if (StringUtils.isEmpty(typeStruct)) {
-            throw new DtLoaderException("can't retrieve type struct from " + path);
-        }
+            if (StringUtils.isEmpty(typeStruct)) {
+                throw new DtLoaderException("can't retrieve type struct from " + path);
+            }
 
-        int startIndex = typeStruct.indexOf("<") + 1;
-        int endIndex = typeStruct.lastIndexOf(">");
-        typeStruct = typeStruct.substring(startIndex, endIndex);
-        List<String> cols = StringUtil.splitIgnoreQuota(typeStruct, ',');
-        for (String col : cols) {
-            List<String> colNameAndType = StringUtil.splitIgnoreQuota(col, ':');
-            if (CollectionUtils.isEmpty(colNameAndType) || colNameAndType.size() != 2) {
-                continue;
+            int startIndex = typeStruct.indexOf("<") + 1;
+            int endIndex = typeStruct.lastIndexOf(">");
+            typeStruct = typeStruct.substring(startIndex, endIndex);
+            List<String> cols = StringUtil.splitIgnoreQuota(typeStruct, ',');
+            for (String col : cols) {
+                List<String> colNameAndType = StringUtil.splitIgnoreQuota(col, ':');
+                if (CollectionUtils.isEmpty(colNameAndType) || colNameAndType.size() != 2) {
+                    continue;
+                }
+                ColumnMetaDTO metaDTO = new ColumnMetaDTO();
+                metaDTO.setKey(colNameAndType.get(0));
+                metaDTO.setType(colNameAndType.get(1));
+                columnList.add(metaDTO);
             }
-            ColumnMetaDTO metaDTO = new ColumnMetaDTO();
-            metaDTO.setKey(colNameAndType.get(0));
-            metaDTO.setType(colNameAndType.get(1));
-            columnList.add(metaDTO);
-        }
-        return columnList;
+            return columnList;
+        });
     }
 
     private static String handleVariable(String path) {
@@ -652,4 +617,51 @@ public class HdfsFileClient implements IHdfsFile {
         }
         return fileStatusList;
     }
+
+    /**
+     * 使用数据源共享的 FileSystem 执行操作，执行结束后释放引用
+     *
+     * @param source   数据源信息
+     * @param callback 操作
+     * @param <T>      返回类型
+     * @return 操作结果
+     */
+    private static <T> T withFileSystem(ISourceDTO source, FileSystemCallback<T> callback) {
+        return withFileSystem(source, null, callback);
+    }
+
+    /**
+     * 使用数据源共享的 FileSystem 执行操作，执行结束后释放引用
+     *
+     * @param source      数据源信息
+     * @param errorFormat 异常信息格式，为空时 DtLoaderException 等运行时异常直接抛出
+     * @param callback    操作
+     * @param <T>         返回类型
+     * @return 操作结果
+     */
+    private static <T> T withFileSystem(ISourceDTO source, String errorFormat, FileSystemCallback<T> callback) {
+        HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
+        FileSystem fs = HdfsFileSystemManager.getFileSystem(hdfsSourceDTO.getKerberosConfig(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getDefaultFS());
+        try {
+            return callback.execute(fs);
+        } catch (Exception e) {
+            if (Objects.isNull(errorFormat) && e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new DtLoaderException(Objects.isNull(errorFormat) ? e.getMessage() : String.format(errorFormat, e.getMessage()), e);
+        } finally {
+            HdfsFileSystemManager.releaseFileSystem(fs);
+        }
+    }
+
+    /**
+     * 使用 FileSystem 的操作
+     *
+     * @param <T> 返回类型
+     */
+    @FunctionalInterface
+    private interface FileSystemCallback<T> {
+
+        T execute(FileSystem fs) throws Exception;
+    }
 }
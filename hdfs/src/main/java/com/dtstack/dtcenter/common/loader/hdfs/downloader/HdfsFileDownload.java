@@ -18,7 +18,7 @@
 
 package com.dtstack.dtcenter.common.loader.hdfs.downloader;
 
-import com.dtstack.dtcenter.common.loader.hadoop.util.KerberosLoginUtil;
+import com.dtstack.dtcenter.common.loader.hadoop.util.UGIResolver;
 import com.dtstack.dtcenter.common.loader.hdfs.YarnConfUtil;
 import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
@@ -68,6 +68,11 @@ public class HdfsFileDownload implements IDownloader {
     private String defaultFs;
     private String hdfsConfig;
     private Map<String, Object> kerberosConfig;
+
+    /**
+     * 下载器级别缓存的 UGI
+     */
+    private final UGIResolver ugiResolver;
     private Map<String, Object> yarnConf;
 
     private List<String> paths;
@@ -90,6 +95,7 @@ public class HdfsFileDownload implements IDownloader {
         this.path = path;
         this.yarnConf = yarnConf;
         this.kerberosConfig = kerberosConfig;
+        this.ugiResolver = new UGIResolver(kerberosConfig);
     }
 
     private List<String> checkPath(String tableLocation) throws IOException {
@@ -228,7 +234,7 @@ public class HdfsFileDownload implements IDownloader {
 
     @Override
     public String readNext() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
+        return ugiResolver.doAs(
                 (PrivilegedAction<String>) ()->{
                     try {
                         return readNextWithKerberos();
@@ -256,7 +262,7 @@ public class HdfsFileDownload implements IDownloader {
 
     @Override
     public boolean reachedEnd() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
+        return ugiResolver.doAs(
                 (PrivilegedAction<Boolean>) () -> {
                     try {
                         return recordReader == null || readNum > READ_LIMIT || !nextRecord();
@@ -19,7 +19,7 @@
 package com.dtstack.dtcenter.common.loader.hdfs.downloader;
 
 import com.dtstack.dtcenter.common.loader.hadoop.hdfs.HdfsOperator;
-import com.dtstack.dtcenter.common.loader.hadoop.util.KerberosLoginUtil;
+import com.dtstack.dtcenter.common.loader.hadoop.util.UGIResolver;
 import com.dtstack.dtcenter.common.loader.hdfs.GroupTypeIgnoreCase;
 import com.dtstack.dtcenter.common.loader.hdfs.YarnConfUtil;
 import com.dtstack.dtcenter.loader.IDownloader;
@@ -90,6 +90,11 @@ public class HdfsParquetDownload implements IDownloader {
 
     private Map<String, Object> kerberosConfig;
 
+    /**
+     * 下载器级别缓存的 UGI
+     */
+    private final UGIResolver ugiResolver;
+
     private GroupReadSupport readSupport = new GroupReadSupport();
 
     private static final int JULIAN_EPOCH_OFFSET_DAYS = 2440588;
@@ -104,6 +109,7 @@ public class HdfsParquetDownload implements IDownloader {
         this.columnNames = columnNames;
         this.partitionColumns = partitionColumns;
         this.kerberosConfig = kerberosConfig;
+        this.ugiResolver = new UGIResolver(kerberosConfig);
     }
 
     @Override
@@ -160,7 +166,7 @@ public class HdfsParquetDownload implements IDownloader {
 
     @Override
     public List<String> readNext() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
+        return ugiResolver.doAs(
                 (PrivilegedAction<List<String>>) ()->{
                     try {
                         return readNextWithKerberos();
@@ -274,7 +280,7 @@ public class HdfsParquetDownload implements IDownloader {
 
     @Override
     public boolean reachedEnd() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
+        return ugiResolver.doAs(
                 (PrivilegedAction<Boolean>) ()->{
                     try {
                         return !nextRecord();
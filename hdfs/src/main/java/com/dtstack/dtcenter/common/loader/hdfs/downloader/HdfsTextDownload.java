@@ -19,7 +19,7 @@
 package com.dtstack.dtcenter.common.loader.hdfs.downloader;
 
 import com.dtstack.dtcenter.common.loader.hadoop.hdfs.HdfsOperator;
-import com.dtstack.dtcenter.common.loader.hadoop.util.KerberosLoginUtil;
+import com.dtstack.dtcenter.common.loader.hadoop.util.UGIResolver;
 import com.dtstack.dtcenter.common.loader.hdfs.YarnConfUtil;
 import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.dto.source.HdfsSourceDTO;
@@ -86,6 +86,11 @@ public class HdfsTextDownload implements IDownloader {
 
     private Map<String, Object> kerberosConfig;
 
+    /**
+     * 下载器级别缓存的 UGI
+     */
+    private final UGIResolver ugiResolver;
+
     public HdfsTextDownload(HdfsSourceDTO hdfsSourceDTO, String tableLocation, List<String> columnNames,
                             String fieldDelimiter, List<String> partitionColumns, Map<String, Object> kerberosConfig){
         this.hdfsSourceDTO = hdfsSourceDTO;
@@ -94,6 +99,7 @@ public class HdfsTextDownload implements IDownloader {
         this.fieldDelimiter = fieldDelimiter;
         this.partitionColumns = partitionColumns;
         this.kerberosConfig = kerberosConfig;
+        this.ugiResolver = new UGIResolver(kerberosConfig);
     }
 
     @Override
@@ -227,7 +233,7 @@ public class HdfsTextDownload implements IDownloader {
 
     @Override
     public List<String> readNext(){
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
+        return ugiResolver.doAs(
                 (PrivilegedAction<List<String>>) ()->{
                     try {
                         return readNextWithKerberos();
@@ -261,7 +267,7 @@ public class HdfsTextDownload implements IDownloader {
 
     @Override
     public boolean reachedEnd() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
+        return ugiResolver.doAs(
                 (PrivilegedAction<Boolean>) ()->{
             try {
                 return recordReader == null || !nextRecord();
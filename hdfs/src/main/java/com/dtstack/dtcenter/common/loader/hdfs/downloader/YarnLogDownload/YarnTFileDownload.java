@@ -18,7 +18,7 @@
 
 package com.dtstack.dtcenter.common.loader.hdfs.downloader.YarnLogDownload;
 
-import com.dtstack.dtcenter.common.loader.hadoop.util.KerberosLoginUtil;
+import com.dtstack.dtcenter.common.loader.hadoop.util.UGIResolver;
 import com.dtstack.dtcenter.common.loader.hdfs.YarnConfUtil;
 import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
@@ -100,6 +100,11 @@ public class YarnTFileDownload implements IDownloader {
 
     private Map<String, Object> kerberosConfig;
 
+    /**
+     * 下载器级别缓存的 UGI
+     */
+    private final UGIResolver ugiResolver;
+
     private AggregatedLogFormat.LogKey currLogKey;
 
     private AggregatedLogFormat.LogReader currReader;
@@ -126,6 +131,7 @@ public class YarnTFileDownload implements IDownloader {
         this(hdfsConfig, yarnConf, appIdStr, readLimit);
         this.logType = logType;
         this.kerberosConfig = kerberosConfig;
+        this.ugiResolver = new UGIResolver(kerberosConfig);
         this.user = user;
         this.defaultFS = defaultFS;
     }
@@ -210,7 +216,7 @@ public class YarnTFileDownload implements IDownloader {
 
     @Override
     public boolean reachedEnd() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
+        return ugiResolver.doAs(
                 (PrivilegedAction<Boolean>) ()->{
                     try {
                         return isReachedEnd || totalReadByte >= readLimit || !nextRecord();
@@ -401,7 +407,7 @@ public class YarnTFileDownload implements IDownloader {
 
     @Override
     public List<String> getContainers() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
+        return ugiResolver.doAs(
                 (PrivilegedAction<List<String>>) ()->{
                     try {
                         return getContainersWithKerberos();
@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.dtcenter.common.loader.hdfs.hdfswriter;
+
+import com.dtstack.dtcenter.common.loader.common.utils.ReflectUtil;
+import com.dtstack.dtcenter.loader.dto.HdfsWriterDTO;
+import com.dtstack.dtcenter.loader.exception.DtLoaderException;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 文本文件按行写入 hdfs，每行数据通过复用的字符和字节缓冲区编码，不再为每行生成 String 和 byte[]
+ * <p>
+ * 默认每写入一行 flush 一次，开启缓冲写入后按行数或字节数阈值 flush，支持 hadoop 压缩格式
+ *
+ * @author ：wangchuan
+ * date：Created in 下午3:26 2021/8/20
+ * company: www.dtstack.com
+ */
+public class HdfsTextLineWriter implements Closeable {
+
+    /**
+     * 换行符
+     */
+    private static final int NEWLINE = 10;
+
+    /**
+     * 缓冲写入未设置阈值时默认 flush 的字节数
+     */
+    private static final long DEFAULT_FLUSH_BYTE_SIZE = 4 * 1024 * 1024L;
+
+    /**
+     * 字节缓冲区大小
+     */
+    private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 写入流，开启压缩时为压缩流
+     */
+    private final OutputStream stream;
+
+    /**
+     * 是否缓冲写入
+     */
+    private final boolean bufferedWrite;
+
+    /**
+     * 累计多少行 flush 一次，小于等于 0 表示不按行数 flush
+     */
+    private final int flushRowNum;
+
+    /**
+     * 累计多少字节 flush 一次，小于等于 0 表示不按字节数 flush
+     */
+    private final long flushByteSize;
+
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private final ByteBuffer byteBuffer = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+
+    private CharBuffer charBuffer = CharBuffer.allocate(1024);
+
+    /**
+     * 上次 flush 后写入的行数
+     */
+    private int unFlushRows;
+
+    /**
+     * 上次 flush 后写入的字节数
+     */
+    private long unFlushBytes;
+
+    private HdfsTextLineWriter(OutputStream stream, HdfsWriterDTO hdfsWriterDTO) {
+        this.stream = stream;
+        // 兼容低版本 core 包中没有对应字段的情况
+        this.bufferedWrite = BooleanUtils.isTrue(ReflectUtil.getFieldValueNotThrow(Boolean.class, hdfsWriterDTO, "bufferedWrite", false, false));
+        Integer rowNum = ReflectUtil.getFieldValueNotThrow(Integer.class, hdfsWriterDTO, "flushRowNum", null);
+        Long byteSize = ReflectUtil.getFieldValueNotThrow(Long.class, hdfsWriterDTO, "flushByteSize", null);
+        this.flushRowNum = Objects.isNull(rowNum) ? 0 : rowNum;
+        if (Objects.nonNull(byteSize)) {
+            this.flushByteSize = byteSize;
+        } else {
+            this.flushByteSize = flushRowNum > 0 ? 0 : DEFAULT_FLUSH_BYTE_SIZE;
+        }
+    }
+
+    /**
+     * 在指定目录下创建随机文件名的文件，开启压缩时文件名带上压缩格式的后缀
+     *
+     * @param fs            hdfs 文件系统
+     * @param conf          hadoop 配置
+     * @param hdfsWriterDTO hdfs 写入配置
+     * @return 文本写入器
+     * @throws IOException io 异常
+     */
+    public static HdfsTextLineWriter create(FileSystem fs, Configuration conf, HdfsWriterDTO hdfsWriterDTO) throws IOException {
+        String codecName = ReflectUtil.getFieldValueNotThrow(String.class, hdfsWriterDTO, "compressCodec", null);
+        CompressionCodec codec = null;
+        if (StringUtils.isNotBlank(codecName)) {
+            codec = new CompressionCodecFactory(conf).getCodecByName(codecName);
+            if (Objects.isNull(codec)) {
+                throw new DtLoaderException(String.format("compress codec %s is not supported", codecName));
+            }
+        }
+        //FIXME 暂时根据uuid生成文件名称--需要改成和hive原始的名称eg: part-0000
+        String hdfsPath = hdfsWriterDTO.getHdfsDirPath() + "/" + UUID.randomUUID();
+        if (Objects.nonNull(codec)) {
+            hdfsPath = hdfsPath + codec.getDefaultExtension();
+        }
+        OutputStream stream = fs.create(new Path(hdfsPath), false);
+        if (Objects.nonNull(codec)) {
+            try {
+                stream = codec.createOutputStream(stream);
+            } catch (IOException e) {
+                stream.close();
+                throw e;
+            }
+        }
+        return new HdfsTextLineWriter(stream, hdfsWriterDTO);
+    }
+
+    /**
+     * 写入一行数据并追加换行符
+     *
+     * @param line 行数据，写入后可以清空复用
+     * @throws IOException io 异常
+     */
+    public void writeLine(CharSequence line) throws IOException {
+        int length = line.length();
+        if (charBuffer.capacity() < length) {
+            charBuffer = CharBuffer.allocate(Math.max(length, charBuffer.capacity() * 2));
+        }
+        charBuffer.clear();
+        if (line instanceof StringBuilder) {
+            ((StringBuilder) line).getChars(0, length, charBuffer.array(), 0);
+            charBuffer.limit(length);
+        } else {
+            charBuffer.put(CharBuffer.wrap(line));
+            charBuffer.flip();
+        }
+
+        encoder.reset();
+        int startPosition = byteBuffer.position();
+        long lineBytes = 0;
+        CoderResult result;
+        do {
+            result = encoder.encode(charBuffer, byteBuffer, true);
+            if (result.isOverflow()) {
+                lineBytes += byteBuffer.position() - startPosition;
+                drainBuffer();
+                startPosition = 0;
+            }
+        } while (result.isOverflow());
+        while (encoder.flush(byteBuffer).isOverflow()) {
+            lineBytes += byteBuffer.position() - startPosition;
+            drainBuffer();
+            startPosition = 0;
+        }
+        if (!byteBuffer.hasRemaining()) {
+            lineBytes += byteBuffer.position() - startPosition;
+            drainBuffer();
+            startPosition = 0;
+        }
+        byteBuffer.put((byte) NEWLINE);
+        lineBytes += byteBuffer.position() - startPosition;
+
+        unFlushRows++;
+        unFlushBytes += lineBytes;
+        if (!bufferedWrite
+                || (flushRowNum > 0 && unFlushRows >= flushRowNum)
+                || (flushByteSize > 0 && unFlushBytes >= flushByteSize)) {
+            flush();
+        }
+    }
+
+    /**
+     * 将缓冲区数据写入 hdfs 并 flush
+     *
+     * @throws IOException io 异常
+     */
+    public void flush() throws IOException {
+        drainBuffer();
+        stream.flush();
+        unFlushRows = 0;
+        unFlushBytes = 0;
+    }
+
+    /**
+     * 将字节缓冲区中的数据写入流中
+     *
+     * @throws IOException io 异常
+     */
+    private void drainBuffer() throws IOException {
+        if (byteBuffer.position() > 0) {
+            stream.write(byteBuffer.array(), 0, byteBuffer.position());
+            byteBuffer.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drainBuffer();
+        } finally {
+            stream.close();
+        }
+    }
+}
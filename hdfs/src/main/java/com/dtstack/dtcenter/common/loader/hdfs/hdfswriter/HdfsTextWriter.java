@@ -19,6 +19,7 @@
 package com.dtstack.dtcenter.common.loader.hdfs.hdfswriter;
 
 import com.csvreader.CsvReader;
+import com.dtstack.dtcenter.common.loader.common.utils.ReflectUtil;
 import com.dtstack.dtcenter.common.loader.hadoop.hdfs.HadoopConfUtil;
 import com.dtstack.dtcenter.loader.dto.ColumnMetaDTO;
 import com.dtstack.dtcenter.loader.dto.HDFSImportColumn;
@@ -27,22 +28,18 @@ import com.dtstack.dtcenter.loader.dto.source.HdfsSourceDTO;
 import com.dtstack.dtcenter.loader.dto.source.ISourceDTO;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 import com.google.common.collect.Lists;
-import org.apache.commons.compress.utils.Charsets;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
-import org.apache.hadoop.fs.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
 import java.text.ParseException;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * 文本文件写入hdfs
@@ -56,11 +53,6 @@ public class HdfsTextWriter {
 
     private static final Logger logger = LoggerFactory.getLogger(HdfsTextWriter.class);
 
-    /**
-     * 换行符
-     */
-    private static final int NEWLINE = 10;
-
     /**
      * 从文件中读取行,根据提供的分隔符号分割,再根据提供的hdfs分隔符合并,写入hdfs
      * ---需要根据column信息判断导入的数据是否符合要求
@@ -78,14 +70,13 @@ public class HdfsTextWriter {
             startLine++;
         }
 
-        //FIXME 暂时根据uuid生成文件名称--需要改成和hive原始的名称eg: part-0000
-        final String hdfsPath = hdfsWriterDTO.getHdfsDirPath() + "/" + UUID.randomUUID();
-        final boolean overwrite = false;
-
         final Configuration conf = HadoopConfUtil.getHdfsConf(hdfsSourceDTO.getDefaultFS(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getKerberosConfig());
         final FileSystem fs = FileSystem.get(conf);
-        final Path p = new Path(hdfsPath);
-        final OutputStream stream = fs.create(p, overwrite);
+        final HdfsTextLineWriter writer = HdfsTextLineWriter.create(fs, conf, hdfsWriterDTO);
+        // 是否设置默认值，只需要获取一次
+        final boolean isSetDefault = ReflectUtil.getFieldValueNotThrow(Boolean.class, hdfsWriterDTO, "setDefault", true, true);
+        // 每行复用
+        final StringBuilder record = new StringBuilder();
 
         int writeLineNum = 0;
         int currLineNum = 0;
@@ -102,18 +93,15 @@ public class HdfsTextWriter {
                 }
 
                 final String[] lineArray = reader.getValues();
-                final String recordStr = transformColumn(hdfsWriterDTO.getColumnsList(), hdfsWriterDTO.getKeyList(), lineArray, hdfsWriterDTO.getToLineDelimiter(), hdfsWriterDTO);
-
-                final byte[] bytes = recordStr.getBytes(Charsets.UTF_8);
-                stream.write(bytes);
-                stream.write(HdfsTextWriter.NEWLINE);
-                stream.flush();
+                record.setLength(0);
+                transformColumn(hdfsWriterDTO.getColumnsList(), hdfsWriterDTO.getKeyList(), lineArray, hdfsWriterDTO.getToLineDelimiter(), isSetDefault, record);
+                writer.writeLine(record);
                 writeLineNum++;
             }
         } catch (final Exception e) {
             throw new DtLoaderException("the" + currLineNum + "row data is abnormal, please check, data import failed");
         } finally {
-            stream.close();
+            writer.close();
 
             if (inputStreamReader != null) {
                 inputStreamReader.close();
@@ -137,12 +125,14 @@ public class HdfsTextWriter {
      */
     public static int writeByName(ISourceDTO source, HdfsWriterDTO hdfsWriterDTO) throws IOException {
         HdfsSourceDTO hdfsSourceDTO = (HdfsSourceDTO) source;
-        final boolean overwrite = false;
         final Configuration conf = HadoopConfUtil.getHdfsConf(hdfsSourceDTO.getDefaultFS(), hdfsSourceDTO.getConfig(), hdfsSourceDTO.getKerberosConfig());
         final FileSystem fs = FileSystem.get(conf);
-        final String hdfsPath = hdfsWriterDTO.getHdfsDirPath() + "/" + UUID.randomUUID();
-        final Path p = new Path(hdfsPath);
-        final OutputStream stream = fs.create(p, overwrite);
+        final HdfsTextLineWriter writer = HdfsTextLineWriter.create(fs, conf, hdfsWriterDTO);
+        // 是否设置默认值，只需要获取一次
+        final boolean isSetDefault = ReflectUtil.getFieldValueNotThrow(Boolean.class, hdfsWriterDTO, "setDefault", true, true);
+        final String delimiter = hdfsWriterDTO.getToLineDelimiter();
+        // 每行复用
+        final StringBuilder sb = new StringBuilder();
 
         int currLineNum = 0;
         int writeLineNum = 0;
@@ -188,40 +178,37 @@ public class HdfsTextWriter {
                     continue;
                 }
 
-                final StringBuffer sb = new StringBuffer();
+                sb.setLength(0);
 
                 for (int i = 0; i < indexList.size(); i++) {
                     final Integer index = indexList.get(i);
                     if (index == -1) {
-                        sb.append(hdfsWriterDTO.getToLineDelimiter());
+                        sb.append(delimiter);
                     } else if (index > (columnArr.length - 1)) {
-                        sb.append(hdfsWriterDTO.getToLineDelimiter());
+                        sb.append(delimiter);
                     } else {
                         final ColumnMetaDTO columnMeta = hdfsWriterDTO.getColumnsList().get(i);
-                        Object targetObj = HdfsWriter.convertToTargetType(columnMeta.getType(), columnArr[index], hdfsWriterDTO.getKeyList().get(i).getDateFormat(), hdfsWriterDTO);
+                        Object targetObj = HdfsWriter.convertToTargetType(columnMeta.getType(), columnArr[index], hdfsWriterDTO.getKeyList().get(i).getDateFormat(), isSetDefault);
                         if (Objects.nonNull(targetObj)) {
-                            sb.append(targetObj.toString());
+                            sb.append(targetObj);
                         }
-                        sb.append(hdfsWriterDTO.getToLineDelimiter());
+                        sb.append(delimiter);
                     }
                 }
 
-                String recordStr = sb.toString();
-                if (recordStr.endsWith(hdfsWriterDTO.getToLineDelimiter())) {
-                    recordStr = recordStr.substring(0, recordStr.length() - 1);
+                // 去掉末尾的分隔符
+                if (sb.length() >= delimiter.length() && sb.lastIndexOf(delimiter) == sb.length() - delimiter.length()) {
+                    sb.setLength(sb.length() - 1);
                 }
 
-                final byte[] bytes = recordStr.getBytes(Charsets.UTF_8);
-                stream.write(bytes);
-                stream.write(NEWLINE);
-                stream.flush();
+                writer.writeLine(sb);
                 currLineNum++;
                 writeLineNum++;
             }
         } catch (final Exception e) {
             throw new DtLoaderException("(The" + currLineNum + "row data is abnormal, please check, data import failed)");
         } finally {
-            stream.close();
+            writer.close();
 
             if (inputStreamReader != null) {
                 inputStreamReader.close();
@@ -234,7 +221,7 @@ public class HdfsTextWriter {
         return writeLineNum;
     }
 
-    private static String transformColumn(final List<ColumnMetaDTO> tableColumns, final List<HDFSImportColumn> keyList, final String[] columnValArr, final String delimiter, HdfsWriterDTO hdfsWriterDTO) throws ParseException {
+    private static void transformColumn(final List<ColumnMetaDTO> tableColumns, final List<HDFSImportColumn> keyList, final String[] columnValArr, final String delimiter, boolean isSetDefault, final StringBuilder sb) throws ParseException {
 
         if (columnValArr == null) {
             throw new DtLoaderException("Record not be empty");
@@ -242,12 +229,11 @@ public class HdfsTextWriter {
 
         final int length = columnValArr.length > tableColumns.size() ? tableColumns.size() : columnValArr.length;
 
-        final StringBuilder sb = new StringBuilder();
         for (int i = 0; i < length; i++) {
             final String columnVal = columnValArr[i];
             final ColumnMetaDTO tableColumn = tableColumns.get(i);
             final String columnType = tableColumn.getType();
-            final Object targetVal = HdfsWriter.convertToTargetType(columnType, columnVal, keyList.get(i).getDateFormat(), hdfsWriterDTO);
+            final Object targetVal = HdfsWriter.convertToTargetType(columnType, columnVal, keyList.get(i).getDateFormat(), isSetDefault);
             if (targetVal != null) {
                 sb.append(targetVal);
             }
@@ -256,7 +242,5 @@ public class HdfsTextWriter {
                 sb.append(delimiter);
             }
         }
-
-        return sb.toString();
     }
 }
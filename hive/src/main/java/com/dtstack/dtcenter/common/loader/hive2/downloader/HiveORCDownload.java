@@ -20,8 +20,11 @@ package com.dtstack.dtcenter.common.loader.hive2.downloader;
 
 import com.alibaba.fastjson.JSON;
 import com.dtstack.dtcenter.common.loader.hadoop.hdfs.HdfsOperator;
-import com.dtstack.dtcenter.common.loader.hadoop.util.KerberosLoginUtil;
-import com.dtstack.dtcenter.loader.IDownloader;
+import com.dtstack.dtcenter.common.loader.hadoop.util.UGIResolver;
+import com.dtstack.dtcenter.loader.IBatchDownloader;
+import com.dtstack.dtcenter.loader.dto.batch.ColumnBatch;
+import com.dtstack.dtcenter.loader.dto.batch.ColumnVector;
+import com.dtstack.dtcenter.loader.enums.ColumnVectorType;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 import com.google.common.collect.Lists;
 import jodd.util.StringUtil;
@@ -32,9 +35,17 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.io.orc.OrcFile;
 import org.apache.hadoop.hive.ql.io.orc.OrcInputFormat;
 import org.apache.hadoop.hive.ql.io.orc.OrcSerde;
 import org.apache.hadoop.hive.ql.io.orc.OrcSplit;
+import org.apache.hadoop.hive.ql.io.orc.Reader;
 import org.apache.hadoop.hive.serde2.objectinspector.StructField;
 import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
 import org.apache.hadoop.mapred.FileInputFormat;
@@ -43,6 +54,7 @@ import org.apache.hadoop.mapred.InputSplit;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.RecordReader;
 import org.apache.hadoop.mapred.Reporter;
+import org.apache.orc.TypeDescription;
 
 import java.io.IOException;
 import java.security.PrivilegedAction;
@@ -62,9 +74,14 @@ import java.util.Properties;
  * @author wangchuan
  */
 @Slf4j
-public class HiveORCDownload implements IDownloader {
+public class HiveORCDownload implements IBatchDownloader {
     private static final int SPLIT_NUM = 1;
 
+    /**
+     * 列式批量读取时每批的最大条数
+     */
+    private static final int BATCH_SIZE = VectorizedRowBatch.DEFAULT_SIZE;
+
     private OrcSerde orcSerde;
     private InputFormat inputFormat;
     private JobConf conf;
@@ -88,6 +105,11 @@ public class HiveORCDownload implements IDownloader {
 
     private final Map<String, Object> kerberosConfig;
 
+    /**
+     * 下载器级别缓存的 UGI
+     */
+    private final UGIResolver ugiResolver;
+
     /**
      * 需要查询字段的索引
      */
@@ -98,6 +120,46 @@ public class HiveORCDownload implements IDownloader {
      */
     private final List<String> partitions;
 
+    /**
+     * 列式批量读取时 orc 文件的向量化 reader
+     */
+    private org.apache.hadoop.hive.ql.io.orc.RecordReader batchReader;
+
+    /**
+     * orc 文件读取出的向量化批次
+     */
+    private VectorizedRowBatch orcBatch;
+
+    /**
+     * orcBatch 中下一条需要读取的位置
+     */
+    private int orcBatchRow;
+
+    /**
+     * 当前文件每个字段对应的存储类型
+     */
+    private ColumnVectorType[] fileVectorTypes;
+
+    /**
+     * 当前文件的分区字段值
+     */
+    private List<String> batchPartData = Collections.emptyList();
+
+    /**
+     * 返回给调用方的列式批次，每次读取复用
+     */
+    private ColumnBatch batch;
+
+    /**
+     * 批次中每一列对应的字段索引，超过 columnNames 大小的为分区字段
+     */
+    private int[] batchIndexes;
+
+    /**
+     * 复杂类型转换为字符串时复用
+     */
+    private final StringBuilder stringifyBuilder = new StringBuilder();
+
     public HiveORCDownload(Configuration configuration, String tableLocation, List<String> columnNames,
                            List<String> partitionColumns, List<Integer> needIndex,
                            List<String> partitions, Map<String, Object> kerberosConfig){
@@ -108,6 +170,7 @@ public class HiveORCDownload implements IDownloader {
         this.needIndex = needIndex;
         this.partitions = partitions;
         this.kerberosConfig = kerberosConfig;
+        this.ugiResolver = new UGIResolver(kerberosConfig);
     }
 
     @Override
@@ -152,14 +215,12 @@ public class HiveORCDownload implements IDownloader {
 
     @Override
     public List<String> readNext() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
-                (PrivilegedAction<List<String>>) ()->{
-                    try {
-                        return readNextWithKerberos();
-                    } catch (Exception e){
-                        throw new DtLoaderException(String.format("Abnormal reading file,%s", e.getMessage()), e);
-                    }
-                });
+        // 只转换 reachedEnd 中已经读取的当前行，不访问 hdfs，不需要在 kerberos 认证下执行
+        try {
+            return readNextWithKerberos();
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("Abnormal reading file,%s", e.getMessage()), e);
+        }
     }
 
     public List<String> readNextWithKerberos() {
@@ -268,7 +329,15 @@ public class HiveORCDownload implements IDownloader {
 
     @Override
     public boolean reachedEnd() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
+        try {
+            // 当前 reader 还有数据时直接读取，只有切换 split、文件时才需要在 kerberos 认证下执行
+            if (recordReader != null && recordReader.next(key, value)) {
+                return false;
+            }
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("Download file is abnormal,%s", e.getMessage()), e);
+        }
+        return ugiResolver.doAs(
                 (PrivilegedAction<Boolean>) ()->{
                     try {
                         return recordReader == null || !nextRecord();
@@ -278,11 +347,254 @@ public class HiveORCDownload implements IDownloader {
                 });
     }
 
+    @Override
+    public ColumnBatch readNextBatch() {
+        return ugiResolver.doAs(
+                (PrivilegedAction<ColumnBatch>) ()->{
+                    try {
+                        return readNextBatchWithKerberos();
+                    } catch (Exception e){
+                        throw new DtLoaderException(String.format("Abnormal reading file,%s", e.getMessage()), e);
+                    }
+                });
+    }
+
+    /**
+     * 使用 orc 向量化 reader 读取下一批数据，数值类型直接拷贝原生数组，字符串只引用 orc 的字节数组
+     *
+     * @return 列式批次
+     * @throws IOException 异常
+     */
+    private ColumnBatch readNextBatchWithKerberos() throws IOException {
+        if (batchIndexes == null) {
+            initBatchIndexes();
+            // configure 中已经初始化了按行读取的 reader，批量读取时从第一个切片重新开始
+            if (recordReader != null) {
+                recordReader.close();
+                recordReader = null;
+            }
+            splitIndex = 0;
+        }
+        if (batch != null) {
+            batch.reset();
+        }
+        while (nextOrcBatch()) {
+            if (batch == null) {
+                batch = createColumnBatch();
+            }
+            int rows = Math.min(orcBatch.size - orcBatchRow, batch.getCapacity() - batch.getSize());
+            for (int i = 0; i < batchIndexes.length; i++) {
+                copyColumn(batchIndexes[i], batch.getColumn(i), batch.getSize(), rows);
+            }
+            orcBatchRow += rows;
+            batch.setSize(batch.getSize() + rows);
+            // 字符串只引用了 orcBatch 的字节数组，orcBatch 读取完后结束当前批次，避免重新填充时覆盖已拷贝行的数据
+            if (batch.isFull() || orcBatchRow >= orcBatch.size) {
+                break;
+            }
+        }
+        if (batch == null) {
+            batch = createColumnBatch();
+        }
+        return batch;
+    }
+
+    /**
+     * 初始化批次中每一列对应的字段索引，规则和 readNext 一致
+     */
+    private void initBatchIndexes() {
+        if (CollectionUtils.isNotEmpty(needIndex)) {
+            batchIndexes = needIndex.stream().mapToInt(Integer::intValue).toArray();
+            return;
+        }
+        int partitionSize = CollectionUtils.isEmpty(partitionColumns) ? 0 : partitionColumns.size();
+        batchIndexes = new int[columnNames.size() + partitionSize];
+        for (int i = 0; i < batchIndexes.length; i++) {
+            batchIndexes[i] = i;
+        }
+    }
+
+    /**
+     * 根据第一个文件的 schema 创建列式批次，分区字段和不存在的字段按字符串处理
+     *
+     * @return 列式批次
+     */
+    private ColumnBatch createColumnBatch() {
+        List<String> metaInfo = getMetaInfo();
+        List<String> names = new ArrayList<>(batchIndexes.length);
+        ColumnVectorType[] types = new ColumnVectorType[batchIndexes.length];
+        for (int i = 0; i < batchIndexes.length; i++) {
+            int index = batchIndexes[i];
+            names.add(index < metaInfo.size() ? metaInfo.get(index) : String.valueOf(index));
+            boolean isDataColumn = index < columnNames.size() && fileVectorTypes != null && index < fileVectorTypes.length;
+            types[i] = isDataColumn ? fileVectorTypes[index] : ColumnVectorType.STRING;
+        }
+        return new ColumnBatch(names, types, BATCH_SIZE);
+    }
+
+    /**
+     * 保证 orcBatch 中还有未读取的数据，当前文件读取完毕后切换到下一个切片
+     *
+     * @return 是否还有数据
+     * @throws IOException 异常
+     */
+    private boolean nextOrcBatch() throws IOException {
+        while (orcBatch == null || orcBatchRow >= orcBatch.size) {
+            if (batchReader != null && batchReader.nextBatch(orcBatch)) {
+                orcBatchRow = 0;
+                continue;
+            }
+            if (!initBatchReader()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 初始化下一个切片的向量化 reader
+     *
+     * @return 是否还有切片
+     * @throws IOException 异常
+     */
+    private boolean initBatchReader() throws IOException {
+        if (batchReader != null) {
+            batchReader.close();
+            batchReader = null;
+        }
+        while (splits != null && splitIndex < splits.length) {
+            OrcSplit orcSplit = (OrcSplit) splits[splitIndex];
+            currentSplit = splits[splitIndex];
+            splitIndex++;
+            String path = orcSplit.getPath().toString();
+            if (!isPartitionExists(path)) {
+                continue;
+            }
+            Reader reader = OrcFile.createReader(orcSplit.getPath(), OrcFile.readerOptions(conf));
+            TypeDescription schema = reader.getSchema();
+            List<TypeDescription> children = schema.getChildren();
+            fileVectorTypes = new ColumnVectorType[children.size()];
+            for (int i = 0; i < children.size(); i++) {
+                fileVectorTypes[i] = getVectorType(children.get(i));
+            }
+            batchReader = reader.rows(orcSplit.getStart(), orcSplit.getLength(), null);
+            orcBatch = schema.createRowBatch(BATCH_SIZE);
+            orcBatchRow = 0;
+            batchPartData = CollectionUtils.isEmpty(partitionColumns) ?
+                    Collections.emptyList() : HdfsOperator.parsePartitionDataFromUrl(path, partitionColumns);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 将 orcBatch 中的一列拷贝到列式批次中
+     *
+     * @param index  字段索引
+     * @param target 目标列
+     * @param offset 目标列的起始行
+     * @param rows   拷贝条数
+     */
+    private void copyColumn(int index, ColumnVector target, int offset, int rows) {
+        // 分区字段，同一个文件中的值都相同，直接引用
+        if (index >= columnNames.size()) {
+            int partIndex = index - columnNames.size();
+            String partValue = partIndex < batchPartData.size() ? batchPartData.get(partIndex) : null;
+            for (int i = 0; i < rows; i++) {
+                if (partValue == null) {
+                    target.setNull(offset + i);
+                } else {
+                    target.setString(offset + i, partValue);
+                }
+            }
+            return;
+        }
+        // 字段在当前文件中不存在或者类型和第一个文件不一致时置为 null
+        if (index >= orcBatch.numCols || fileVectorTypes[index] != target.getType()) {
+            for (int i = 0; i < rows; i++) {
+                target.setNull(offset + i);
+            }
+            return;
+        }
+        org.apache.hadoop.hive.ql.exec.vector.ColumnVector source = orcBatch.cols[index];
+        for (int i = 0; i < rows; i++) {
+            int sourceRow = source.isRepeating ? 0 : orcBatchRow + i;
+            int targetRow = offset + i;
+            if (!source.noNulls && source.isNull[sourceRow]) {
+                target.setNull(targetRow);
+                continue;
+            }
+            switch (target.getType()) {
+                case LONG:
+                case BOOLEAN:
+                case DATE:
+                    target.setLong(targetRow, ((LongColumnVector) source).vector[sourceRow]);
+                    break;
+                case DOUBLE:
+                    target.setDouble(targetRow, ((DoubleColumnVector) source).vector[sourceRow]);
+                    break;
+                case DECIMAL:
+                    target.setDecimal(targetRow, ((DecimalColumnVector) source).vector[sourceRow].getHiveDecimal().bigDecimalValue());
+                    break;
+                case TIMESTAMP: {
+                    TimestampColumnVector timestampVector = (TimestampColumnVector) source;
+                    target.setTimestamp(targetRow, timestampVector.time[sourceRow], timestampVector.nanos[sourceRow]);
+                    break;
+                }
+                default:
+                    if (source instanceof BytesColumnVector) {
+                        BytesColumnVector bytesVector = (BytesColumnVector) source;
+                        target.setBytesRef(targetRow, bytesVector.vector[sourceRow], bytesVector.start[sourceRow], bytesVector.length[sourceRow]);
+                    } else {
+                        // map、array 等复杂类型
+                        stringifyBuilder.setLength(0);
+                        source.stringifyValue(stringifyBuilder, sourceRow);
+                        target.setString(targetRow, stringifyBuilder.toString());
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 获取 orc 字段类型对应的存储类型
+     *
+     * @param type orc 字段类型
+     * @return 存储类型
+     */
+    private ColumnVectorType getVectorType(TypeDescription type) {
+        switch (type.getCategory()) {
+            case BOOLEAN:
+                return ColumnVectorType.BOOLEAN;
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                return ColumnVectorType.LONG;
+            case FLOAT:
+            case DOUBLE:
+                return ColumnVectorType.DOUBLE;
+            case DECIMAL:
+                return ColumnVectorType.DECIMAL;
+            case DATE:
+                return ColumnVectorType.DATE;
+            case TIMESTAMP:
+                return ColumnVectorType.TIMESTAMP;
+            case BINARY:
+                return ColumnVectorType.BYTES;
+            default:
+                return ColumnVectorType.STRING;
+        }
+    }
+
     @Override
     public boolean close() throws IOException {
         if(recordReader != null){
             recordReader.close();
         }
+        if (batchReader != null) {
+            batchReader.close();
+        }
         return true;
     }
 
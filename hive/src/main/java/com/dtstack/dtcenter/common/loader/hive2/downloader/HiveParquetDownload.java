@@ -21,30 +21,32 @@ package com.dtstack.dtcenter.common.loader.hive2.downloader;
 import com.dtstack.dtcenter.common.loader.common.enums.ColumnType;
 import com.dtstack.dtcenter.common.loader.common.utils.StringUtil;
 import com.dtstack.dtcenter.common.loader.hadoop.hdfs.HdfsOperator;
-import com.dtstack.dtcenter.common.loader.hadoop.util.KerberosLoginUtil;
+import com.dtstack.dtcenter.common.loader.hadoop.util.UGIResolver;
 import com.dtstack.dtcenter.common.loader.hive2.GroupTypeIgnoreCase;
-import com.dtstack.dtcenter.loader.IDownloader;
+import com.dtstack.dtcenter.loader.IBatchDownloader;
 import com.dtstack.dtcenter.loader.dto.ColumnMetaDTO;
+import com.dtstack.dtcenter.loader.dto.batch.ColumnBatch;
+import com.dtstack.dtcenter.loader.dto.batch.ColumnVector;
+import com.dtstack.dtcenter.loader.enums.ColumnVectorType;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
-import com.google.common.collect.Lists;
 import com.google.common.primitives.Ints;
 import com.google.common.primitives.Longs;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.conf.Configuration;
-import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.example.data.Group;
 import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.example.GroupReadSupport;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.DecimalMetadata;
+import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.PrimitiveType;
 import org.apache.parquet.schema.Type;
 
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.security.PrivilegedAction;
@@ -66,7 +68,7 @@ import java.util.stream.Collectors;
  * @author wangchuan
  */
 @Slf4j
-public class HiveParquetDownload implements IDownloader {
+public class HiveParquetDownload implements IBatchDownloader {
 
     private final String tableLocation;
 
@@ -91,7 +93,15 @@ public class HiveParquetDownload implements IDownloader {
 
     private List<String> currentPartData;
 
-    private final GroupReadSupport readSupport = new GroupReadSupport();
+    /**
+     * 打开文件时根据文件 schema 只读取需要的字段，同时初始化当前文件的字段解码器
+     */
+    private final GroupReadSupport readSupport = new GroupReadSupport() {
+        @Override
+        public ReadContext init(InitContext context) {
+            return new ReadContext(initProjection(context.getFileSchema()));
+        }
+    };
 
     private static final int JULIAN_EPOCH_OFFSET_DAYS = 2440588;
 
@@ -101,6 +111,11 @@ public class HiveParquetDownload implements IDownloader {
 
     private final Map<String, Object> kerberosConfig;
 
+    /**
+     * 下载器级别缓存的 UGI
+     */
+    private final UGIResolver ugiResolver;
+
     /**
      * 按分区下载
      */
@@ -111,7 +126,27 @@ public class HiveParquetDownload implements IDownloader {
      */
     private final List<String> partitions;
 
-    private static final String IMPALA_INSERT_STAGING = "_impala_insert_staging";
+    /**
+     * 当前文件每个字段的解码器，下标为字段在 columns 中的索引，字段不需要读取或文件中不存在时为 null
+     */
+    private FieldDecoder[] decoders;
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 列式批量读取时每批的最大条数
+     */
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * 返回给调用方的列式批次，每次读取复用
+     */
+    private ColumnBatch batch;
+
+    /**
+     * 批次中每一列对应的字段索引，超过 columns 大小的为分区字段
+     */
+    private int[] batchIndexes;
 
     public HiveParquetDownload(Configuration conf, String tableLocation, List<ColumnMetaDTO> columns,
                                List<String> partitionColumns, List<Integer> needIndex, Map<String, String> filterPartition,
@@ -124,14 +159,15 @@ public class HiveParquetDownload implements IDownloader {
         this.filterPartition = filterPartition;
         this.partitions = partitions;
         this.kerberosConfig = kerberosConfig;
+        this.ugiResolver = new UGIResolver(kerberosConfig);
     }
 
     @Override
     public boolean configure() throws Exception {
-        paths = Lists.newArrayList();
         FileSystem fs =  FileSystem.get(conf);
-        // 递归获取表路径下所有文件
-        getAllPartitionPath(tableLocation, paths, fs);
+        // 根据分区信息直接拼接需要下载的分区路径，只获取这些分区下的文件
+        List<String> locations = HdfsOperator.getPartitionLocations(tableLocation, partitions, filterPartition);
+        paths = HdfsOperator.listAllFiles(fs, locations);
         return true;
     }
 
@@ -189,14 +225,12 @@ public class HiveParquetDownload implements IDownloader {
 
     @Override
     public List<String> readNext() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
-                (PrivilegedAction<List<String>>) ()->{
-                    try {
-                        return readNextWithKerberos();
-                    } catch (Exception e){
-                        throw new DtLoaderException(String.format("Abnormal reading file,%s", e.getMessage()), e);
-                    }
-                });
+        // 只转换 reachedEnd 中已经读取的当前行，不访问 hdfs，不需要在 kerberos 认证下执行
+        try {
+            return readNextWithKerberos();
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("Abnormal reading file,%s", e.getMessage()), e);
+        }
     }
 
     private List<String> readNextWithKerberos() {
@@ -216,12 +250,8 @@ public class HiveParquetDownload implements IDownloader {
                             line.add(null);
                         }
                     } else if (index < columns.size()) {
-                        Integer fieldIndex = isFieldExists(columns.get(index).getKey());
-                        if (fieldIndex != -1) {
-                            line.add(getFieldByIndex(columns.get(index).getType(), fieldIndex));
-                        }else {
-                            line.add(null);
-                        }
+                        FieldDecoder decoder = decoders[index];
+                        line.add(Objects.isNull(decoder) ? null : getFieldValue(decoder));
                     } else {
                         line.add(null);
                     }
@@ -229,12 +259,8 @@ public class HiveParquetDownload implements IDownloader {
                 // needIndex为空表示获取所有字段
             } else {
                 for (int index = 0; index < columns.size(); index++) {
-                    Integer fieldIndex = isFieldExists(columns.get(index).getKey());
-                    if (fieldIndex != -1) {
-                        line.add(getFieldByIndex(columns.get(index).getType(), fieldIndex));
-                    }else {
-                        line.add(null);
-                    }
+                    FieldDecoder decoder = decoders[index];
+                    line.add(Objects.isNull(decoder) ? null : getFieldValue(decoder));
                 }
                 if(CollectionUtils.isNotEmpty(partitionColumns)){
                     line.addAll(currentPartData);
@@ -245,83 +271,123 @@ public class HiveParquetDownload implements IDownloader {
     }
 
     /**
-     * 判断字段是否存在，存在则返回字段索引
-     * 每行数据重新判断，对于parquet来说，如果对应schema下没有该列，
-     * currentLine.getType().getFields()返回值的size可能会不同，导致数组越界异常!
+     * 根据文件 schema 计算需要读取的字段，并初始化每个字段的解码器，每个文件只计算一次
+     * 对于parquet来说，不同文件的 schema 可能不同，文件中没有的字段返回 null
      * bug 连接：http://redmine.prod.dtstack.cn/issues/33045
      *
-     * @param columnName 字段名
-     * @return 字段索引
+     * @param fileSchema 文件 schema
+     * @return 读取时使用的 schema
      */
-    private Integer isFieldExists (String columnName) {
-        GroupTypeIgnoreCase groupType = new GroupTypeIgnoreCase(currentLine.getType());
-        if (!groupType.containsField(columnName)) {
-            return -1;
+    private MessageType initProjection(MessageType fileSchema) {
+        GroupTypeIgnoreCase fileGroupType = new GroupTypeIgnoreCase(fileSchema);
+        boolean[] requiredFields = new boolean[fileSchema.getFieldCount()];
+        for (int index = 0; index < columns.size(); index++) {
+            String columnName = columns.get(index).getKey();
+            if (isColumnRequired(index) && fileGroupType.containsField(columnName)) {
+                requiredFields[fileGroupType.getFieldIndex(columnName)] = true;
+            }
         }
-        return groupType.getFieldIndex(columnName);
+        List<Type> fields = new ArrayList<>();
+        for (int i = 0; i < requiredFields.length; i++) {
+            if (requiredFields[i]) {
+                fields.add(fileSchema.getType(i));
+            }
+        }
+        // 只查询分区字段时保留一个字段，保证读取的行数不变
+        if (fields.isEmpty() && fileSchema.getFieldCount() > 0) {
+            fields.add(fileSchema.getType(0));
+        }
+        MessageType projection = new MessageType(fileSchema.getName(), fields);
+
+        GroupTypeIgnoreCase projectionGroupType = new GroupTypeIgnoreCase(projection);
+        decoders = new FieldDecoder[columns.size()];
+        for (int index = 0; index < columns.size(); index++) {
+            String columnName = columns.get(index).getKey();
+            if (isColumnRequired(index) && projectionGroupType.containsField(columnName)) {
+                int fieldIndex = projectionGroupType.getFieldIndex(columnName);
+                decoders[index] = new FieldDecoder(fieldIndex, columns.get(index).getType(), projection.getType(fieldIndex));
+            }
+        }
+        return projection;
     }
 
-    // 获取指定index下的字段值
-    private String getFieldByIndex(String type, int index) {
+    /**
+     * 判断字段是否需要读取，needIndex为空表示获取所有字段
+     *
+     * @param index 字段在 columns 中的索引
+     * @return 是否需要读取
+     */
+    private boolean isColumnRequired(int index) {
+        return CollectionUtils.isEmpty(needIndex) || needIndex.contains(index);
+    }
+
+    /**
+     * 使用解码器获取当前行的字段值
+     *
+     * @param decoder 字段解码器
+     * @return 字段值
+     */
+    private String getFieldValue(FieldDecoder decoder) {
         Object data = null;
-        ColumnType columnType = ColumnType.fromString(type);
+        int index = decoder.index;
 
         try {
-            if (index == -1) {
-                return null;
+            // 字段值为空时直接返回，避免读取时抛出异常
+            if (currentLine.getFieldRepetitionCount(index) == 0) {
+                return String.valueOf(data);
+            }
+            if (Objects.isNull(decoder.columnType)) {
+                return currentLine.getValueToString(index, 0);
             }
 
-            Type colSchemaType = currentLine.getType().getType(index);
-            switch (columnType.name().toLowerCase()) {
-                case "tinyint":
-                case "smallint":
-                case "int":
+            switch (decoder.columnType) {
+                case TINYINT:
+                case SMALLINT:
+                case INT:
                     data = currentLine.getInteger(index, 0);
                     break;
-                case "bigint":
+                case BIGINT:
                     data = currentLine.getLong(index, 0);
                     break;
-                case "float":
+                case FLOAT:
                     data = currentLine.getFloat(index, 0);
                     break;
-                case "double":
+                case DOUBLE:
                     data = currentLine.getDouble(index, 0);
                     break;
-                case "binary":
+                case BINARY:
                     Binary binaryData = currentLine.getBinary(index, 0);
-                    data = StringUtil.encodeHex(binaryData.getBytes());
+                    data = StringUtil.encodeHex(binaryData.getBytesUnsafe());
                     break;
-                case "char":
-                case "varchar":
-                case "string":
+                case CHAR:
+                case VARCHAR:
+                case STRING:
                     data = currentLine.getString(index, 0);
                     break;
-                case "boolean":
+                case BOOLEAN:
                     data = currentLine.getBoolean(index, 0);
                     break;
-                case "timestamp": {
+                case TIMESTAMP: {
                     long time = getTimestampMillis(currentLine.getInt96(index, 0));
                     data = new Timestamp(time);
                     break;
                 }
-                case "decimal": {
-                    DecimalMetadata dm = ((PrimitiveType) colSchemaType).getDecimalMetadata();
-                    String primitiveTypeName = currentLine.getType().getType(index).asPrimitiveType().getPrimitiveTypeName().name();
-                    if (ColumnType.INT32.name().equals(primitiveTypeName)) {
+                case DECIMAL: {
+                    if (PrimitiveType.PrimitiveTypeName.INT32 == decoder.primitiveTypeName) {
                         int intVal = currentLine.getInteger(index, 0);
-                        data = longToDecimalStr(intVal, dm.getScale());
-                    } else if (ColumnType.INT64.name().equals(primitiveTypeName)) {
+                        data = longToDecimalStr(intVal, decoder.scale);
+                    } else if (PrimitiveType.PrimitiveTypeName.INT64 == decoder.primitiveTypeName) {
                         long longVal = currentLine.getLong(index, 0);
-                        data = longToDecimalStr(longVal, dm.getScale());
+                        data = longToDecimalStr(longVal, decoder.scale);
                     } else {
                         Binary binary = currentLine.getBinary(index, 0);
-                        data = binaryToDecimalStr(binary, dm.getScale());
+                        data = binaryToDecimalStr(binary, decoder.scale);
                     }
                     break;
                 }
-                case "date": {
-                    String val = currentLine.getValueToString(index, 0);
-                    data = new Timestamp(Integer.parseInt(val) * MILLIS_IN_DAY).toString().substring(0, 10);
+                case DATE: {
+                    int epochDay = currentLine.getInteger(index, 0);
+                    data = new Timestamp(epochDay * MILLIS_IN_DAY).toString().substring(0, 10);
                     break;
                 }
                 default:
@@ -335,7 +401,6 @@ public class HiveParquetDownload implements IDownloader {
         return String.valueOf(data);
     }
 
-
     private static String binaryToDecimalStr(Binary binary,int scale){
         BigInteger bi = new BigInteger(binary.getBytes());
         BigDecimal bg = new BigDecimal(bi,scale);
@@ -359,7 +424,7 @@ public class HiveParquetDownload implements IDownloader {
         if (timestampBinary.length() != 12) {
             return 0;
         }
-        byte[] bytes = timestampBinary.getBytes();
+        byte[] bytes = timestampBinary.getBytesUnsafe();
 
         long timeOfDayNanos = Longs.fromBytes(bytes[7], bytes[6], bytes[5], bytes[4], bytes[3], bytes[2], bytes[1], bytes[0]);
         int julianDay = Ints.fromBytes(bytes[11], bytes[10], bytes[9], bytes[8]);
@@ -374,7 +439,19 @@ public class HiveParquetDownload implements IDownloader {
 
     @Override
     public boolean reachedEnd() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
+        try {
+            // 当前文件还有数据时直接读取，只有切换文件时才需要在 kerberos 认证下执行
+            if (build != null) {
+                currentLine = build.read();
+                if (currentLine != null) {
+                    return false;
+                }
+                build = null;
+            }
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("Download file is abnormal,%s", e.getMessage()), e);
+        }
+        return ugiResolver.doAs(
                 (PrivilegedAction<Boolean>) ()->{
                     try {
                         return !nextRecord();
@@ -385,43 +462,196 @@ public class HiveParquetDownload implements IDownloader {
     }
 
     @Override
-    public boolean close() throws Exception {
-        if (build != null){
-            build.close();
-        }
-        return true;
+    public ColumnBatch readNextBatch() {
+        return ugiResolver.doAs(
+                (PrivilegedAction<ColumnBatch>) ()->{
+                    try {
+                        return readNextBatchWithKerberos();
+                    } catch (Exception e){
+                        throw new DtLoaderException(String.format("Abnormal reading file,%s", e.getMessage()), e);
+                    }
+                });
     }
 
-    @Override
-    public String getFileName() {
-        return null;
+    /**
+     * 读取下一批数据，数值类型直接写入原生数组，字符串只引用 parquet 的字节数组
+     *
+     * @return 列式批次
+     * @throws Exception 异常
+     */
+    private ColumnBatch readNextBatchWithKerberos() throws Exception {
+        if (batch == null) {
+            batch = createColumnBatch();
+        }
+        batch.reset();
+        while (!batch.isFull() && nextRecord()) {
+            readRow(batch);
+        }
+        return batch;
     }
 
     /**
-     * 递归获取文件夹下所有文件，排除隐藏文件和无关文件
+     * 创建列式批次，字段规则和 readNext 一致
      *
-     * @param tableLocation hdfs文件路径
-     * @param pathList 所有文件集合
-     * @param fs HDFS 文件系统
+     * @return 列式批次
      */
-    public static void getAllPartitionPath(String tableLocation, List<String> pathList, FileSystem fs) throws IOException {
-        Path inputPath = new Path(tableLocation);
-        // 路径不存在直接返回
-        if (!fs.exists(inputPath)) {
-            return;
+    private ColumnBatch createColumnBatch() {
+        if (CollectionUtils.isNotEmpty(needIndex)) {
+            batchIndexes = needIndex.stream().mapToInt(Integer::intValue).toArray();
+        } else {
+            int partitionSize = CollectionUtils.isEmpty(partitionColumns) ? 0 : partitionColumns.size();
+            batchIndexes = new int[columns.size() + partitionSize];
+            for (int i = 0; i < batchIndexes.length; i++) {
+                batchIndexes[i] = i;
+            }
         }
-        //剔除隐藏系统文件和无关文件
-        FileStatus[] fsStatus = fs.listStatus(inputPath, path -> !path.getName().startsWith(".") && !path.getName().startsWith("_SUCCESS") && !path.getName().startsWith(IMPALA_INSERT_STAGING) && !path.getName().startsWith("_common_metadata"));
-        if(fsStatus == null || fsStatus.length == 0){
-            return;
+        List<String> metaInfo = getMetaInfo();
+        List<String> names = new ArrayList<>(batchIndexes.length);
+        ColumnVectorType[] types = new ColumnVectorType[batchIndexes.length];
+        for (int i = 0; i < batchIndexes.length; i++) {
+            int index = batchIndexes[i];
+            names.add(index < metaInfo.size() ? metaInfo.get(index) : String.valueOf(index));
+            types[i] = index < columns.size() ? getVectorType(columns.get(index).getType()) : ColumnVectorType.STRING;
+        }
+        return new ColumnBatch(names, types, BATCH_SIZE);
+    }
+
+    /**
+     * 读取当前行到列式批次中
+     *
+     * @param batch 列式批次
+     */
+    private void readRow(ColumnBatch batch) {
+        int row = batch.getSize();
+        for (int i = 0; i < batchIndexes.length; i++) {
+            ColumnVector vector = batch.getColumn(i);
+            int index = batchIndexes[i];
+            if (index >= columns.size()) {
+                int partIndex = index - columns.size();
+                if (CollectionUtils.isNotEmpty(currentPartData) && partIndex < currentPartData.size()) {
+                    vector.setString(row, currentPartData.get(partIndex));
+                } else {
+                    vector.setNull(row);
+                }
+                continue;
+            }
+            FieldDecoder decoder = decoders[index];
+            if (Objects.isNull(decoder) || currentLine.getFieldRepetitionCount(decoder.index) == 0) {
+                vector.setNull(row);
+                continue;
+            }
+            try {
+                readField(vector, row, decoder);
+            } catch (Exception e) {
+                log.error("{}", e.getMessage(), e);
+                vector.setNull(row);
+            }
         }
-        for (FileStatus status : fsStatus) {
-            if (status.isFile()) {
-                pathList.add(status.getPath().toString());
-            }else {
-                getAllPartitionPath(status.getPath().toString(), pathList, fs);
+        batch.setSize(row + 1);
+    }
+
+    /**
+     * 读取当前行指定字段的值
+     *
+     * @param vector  目标列
+     * @param row     目标行
+     * @param decoder 字段解码器
+     */
+    private void readField(ColumnVector vector, int row, FieldDecoder decoder) {
+        int index = decoder.index;
+        PrimitiveType.PrimitiveTypeName primitiveTypeName = decoder.primitiveTypeName;
+        switch (vector.getType()) {
+            case LONG:
+                vector.setLong(row, PrimitiveType.PrimitiveTypeName.INT64 == primitiveTypeName ?
+                        currentLine.getLong(index, 0) : currentLine.getInteger(index, 0));
+                break;
+            case DOUBLE:
+                vector.setDouble(row, PrimitiveType.PrimitiveTypeName.FLOAT == primitiveTypeName ?
+                        currentLine.getFloat(index, 0) : currentLine.getDouble(index, 0));
+                break;
+            case BOOLEAN:
+                vector.setBoolean(row, currentLine.getBoolean(index, 0));
+                break;
+            case DECIMAL: {
+                int scale = decoder.scale;
+                if (PrimitiveType.PrimitiveTypeName.INT32 == primitiveTypeName) {
+                    vector.setDecimal(row, BigDecimal.valueOf(currentLine.getInteger(index, 0), scale));
+                } else if (PrimitiveType.PrimitiveTypeName.INT64 == primitiveTypeName) {
+                    vector.setDecimal(row, BigDecimal.valueOf(currentLine.getLong(index, 0), scale));
+                } else {
+                    vector.setDecimal(row, new BigDecimal(new BigInteger(currentLine.getBinary(index, 0).getBytes()), scale));
+                }
+                break;
+            }
+            case DATE:
+                vector.setEpochDay(row, currentLine.getInteger(index, 0));
+                break;
+            case TIMESTAMP: {
+                Binary timestampBinary = currentLine.getInt96(index, 0);
+                if (timestampBinary.length() != 12) {
+                    vector.setTimestamp(row, 0, 0);
+                    break;
+                }
+                byte[] bytes = timestampBinary.getBytesUnsafe();
+                long timeOfDayNanos = Longs.fromBytes(bytes[7], bytes[6], bytes[5], bytes[4], bytes[3], bytes[2], bytes[1], bytes[0]);
+                int julianDay = Ints.fromBytes(bytes[11], bytes[10], bytes[9], bytes[8]);
+                vector.setTimestamp(row, julianDayToMillis(julianDay) + (timeOfDayNanos / NANOS_PER_MILLISECOND),
+                        (int) (timeOfDayNanos % NANOS_PER_SECOND));
+                break;
             }
+            default:
+                if (PrimitiveType.PrimitiveTypeName.BINARY == primitiveTypeName) {
+                    Binary binary = currentLine.getBinary(index, 0);
+                    vector.setBytesRef(row, binary.getBytesUnsafe(), 0, binary.length());
+                } else {
+                    vector.setString(row, currentLine.getValueToString(index, 0));
+                }
+                break;
+        }
+    }
+
+    /**
+     * 获取 hive 字段类型对应的存储类型
+     *
+     * @param type hive 字段类型
+     * @return 存储类型
+     */
+    private ColumnVectorType getVectorType(String type) {
+        switch (ColumnType.getType(type)) {
+            case TINYINT:
+            case SMALLINT:
+            case INT:
+            case BIGINT:
+                return ColumnVectorType.LONG;
+            case FLOAT:
+            case DOUBLE:
+                return ColumnVectorType.DOUBLE;
+            case BOOLEAN:
+                return ColumnVectorType.BOOLEAN;
+            case DECIMAL:
+                return ColumnVectorType.DECIMAL;
+            case DATE:
+                return ColumnVectorType.DATE;
+            case TIMESTAMP:
+                return ColumnVectorType.TIMESTAMP;
+            case BINARY:
+                return ColumnVectorType.BYTES;
+            default:
+                return ColumnVectorType.STRING;
+        }
+    }
+
+    @Override
+    public boolean close() throws Exception {
+        if (build != null){
+            build.close();
         }
+        return true;
+    }
+
+    @Override
+    public String getFileName() {
+        return null;
     }
 
     /**
@@ -499,4 +729,47 @@ public class HiveParquetDownload implements IDownloader {
     public List<String> getContainers() {
         return Collections.emptyList();
     }
+
+    /**
+     * parquet 字段解码器，打开文件时根据字段类型和文件 schema 创建，避免读取每个单元格时重复解析类型
+     */
+    private static class FieldDecoder {
+
+        /**
+         * 字段在读取 schema 中的索引
+         */
+        private final int index;
+
+        /**
+         * hive 字段类型，无法识别时为 null
+         */
+        private final ColumnType columnType;
+
+        /**
+         * parquet 存储类型，非基本类型时为 null
+         */
+        private final PrimitiveType.PrimitiveTypeName primitiveTypeName;
+
+        /**
+         * decimal 类型的小数位数
+         */
+        private final int scale;
+
+        FieldDecoder(int index, String type, Type schemaType) {
+            this.index = index;
+            this.columnType = parseColumnType(type);
+            this.primitiveTypeName = schemaType.isPrimitive() ? schemaType.asPrimitiveType().getPrimitiveTypeName() : null;
+            DecimalMetadata decimalMetadata = schemaType.isPrimitive() ? schemaType.asPrimitiveType().getDecimalMetadata() : null;
+            this.scale = Objects.isNull(decimalMetadata) ? 0 : decimalMetadata.getScale();
+        }
+
+        private static ColumnType parseColumnType(String type) {
+            try {
+                return ColumnType.fromString(type);
+            } catch (IllegalArgumentException e) {
+                // 复杂类型等无法识别的类型按字符串读取
+                return null;
+            }
+        }
+    }
 }
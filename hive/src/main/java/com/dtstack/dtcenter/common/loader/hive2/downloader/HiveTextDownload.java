@@ -19,7 +19,7 @@
 package com.dtstack.dtcenter.common.loader.hive2.downloader;
 
 import com.dtstack.dtcenter.common.loader.hadoop.hdfs.HdfsOperator;
-import com.dtstack.dtcenter.common.loader.hadoop.util.KerberosLoginUtil;
+import com.dtstack.dtcenter.common.loader.hadoop.util.UGIResolver;
 import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 import com.google.common.collect.Lists;
@@ -27,7 +27,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.conf.Configuration;
-import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.LongWritable;
@@ -59,8 +58,6 @@ import java.util.Set;
 public class HiveTextDownload implements IDownloader {
     private static final int SPLIT_NUM = 1;
 
-    private static final String IMPALA_INSERT_STAGING = "_impala_insert_staging";
-
     private TextInputFormat inputFormat;
     private JobConf conf;
     private LongWritable key;
@@ -84,6 +81,11 @@ public class HiveTextDownload implements IDownloader {
     private final List<String> partitionColumns;
     private final Map<String, Object> kerberosConfig;
 
+    /**
+     * 下载器级别缓存的 UGI
+     */
+    private final UGIResolver ugiResolver;
+
     /**
      * 按分区下载
      */
@@ -109,6 +111,7 @@ public class HiveTextDownload implements IDownloader {
         this.configuration = configuration;
         this.filterPartition = filterPartition;
         this.kerberosConfig = kerberosConfig;
+        this.ugiResolver = new UGIResolver(kerberosConfig);
         this.partitions = partitions;
         this.needIndex = needIndex;
     }
@@ -117,10 +120,10 @@ public class HiveTextDownload implements IDownloader {
     public boolean configure() throws IOException {
 
         conf = new JobConf(configuration);
-        paths = Lists.newArrayList();
         FileSystem fs =  FileSystem.get(conf);
-        // 递归获取表路径下所有文件
-        getAllPartitionPath(tableLocation, paths, fs);
+        // 根据分区信息直接拼接需要下载的分区路径，只获取这些分区下的文件
+        List<String> locations = HdfsOperator.getPartitionLocations(tableLocation, partitions, filterPartition);
+        paths = HdfsOperator.listAllFiles(fs, locations);
         // 有可能表结构还存在metaStore中，但是表路径被删除，但是此时不应该报错
         if(paths.size() == 0){
             return true;
@@ -131,33 +134,6 @@ public class HiveTextDownload implements IDownloader {
         return true;
     }
 
-    /**
-     * 递归获取文件夹下所有文件，排除隐藏文件和无关文件
-     *
-     * @param tableLocation hdfs文件路径
-     * @param pathList 所有文件集合
-     * @param fs HDFS 文件系统
-     */
-    public static void getAllPartitionPath(String tableLocation, List<String> pathList, FileSystem fs) throws IOException {
-        Path inputPath = new Path(tableLocation);
-        // 路径不存在直接返回
-        if (!fs.exists(inputPath)) {
-            return;
-        }
-        //剔除隐藏系统文件和无关文件
-        FileStatus[] fsStatus = fs.listStatus(inputPath, path -> !path.getName().startsWith(".") && !path.getName().startsWith("_SUCCESS") && !path.getName().startsWith(IMPALA_INSERT_STAGING) && !path.getName().startsWith("_common_metadata"));
-        if(fsStatus == null || fsStatus.length == 0){
-            return;
-        }
-        for (FileStatus status : fsStatus) {
-            if (status.isFile()) {
-                pathList.add(status.getPath().toString());
-            }else {
-                getAllPartitionPath(status.getPath().toString(), pathList, fs);
-            }
-        }
-    }
-
     private boolean nextRecordReader() throws IOException {
 
         if(!nextFile()){
@@ -250,15 +226,13 @@ public class HiveTextDownload implements IDownloader {
     }
 
     @Override
-    public List<String> readNext(){
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
-                (PrivilegedAction<List<String>>) ()->{
-                    try {
-                        return readNextWithKerberos();
-                    } catch (Exception e){
-                        throw new DtLoaderException(String.format("Abnormal reading file,%s", e.getMessage()), e);
-                    }
-                });
+    public List<String> readNext() {
+        // 只转换 reachedEnd 中已经读取的当前行，不访问 hdfs，不需要在 kerberos 认证下执行
+        try {
+            return readNextWithKerberos();
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("Abnormal reading file,%s", e.getMessage()), e);
+        }
     }
 
     public List<String> readNextWithKerberos(){
@@ -285,7 +259,15 @@ public class HiveTextDownload implements IDownloader {
 
     @Override
     public boolean reachedEnd() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
+        try {
+            // 当前 reader 还有数据时直接读取，只有切换 split、文件时才需要在 kerberos 认证下执行
+            if (recordReader != null && recordReader.next(key, value)) {
+                return false;
+            }
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("Download file is abnormal,%s", e.getMessage()), e);
+        }
+        return ugiResolver.doAs(
                 (PrivilegedAction<Boolean>) ()->{
                     try {
                         return recordReader == null || !nextRecord();
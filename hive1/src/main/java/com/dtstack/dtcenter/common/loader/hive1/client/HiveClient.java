@@ -23,7 +23,9 @@ import com.dtstack.dtcenter.common.loader.common.enums.StoredType;
 import com.dtstack.dtcenter.common.loader.common.utils.DBUtil;
 import com.dtstack.dtcenter.common.loader.common.utils.EnvUtil;
 import com.dtstack.dtcenter.common.loader.common.utils.ReflectUtil;
+import com.dtstack.dtcenter.common.loader.hadoop.downloader.ReadAheadDownloader;
 import com.dtstack.dtcenter.common.loader.hadoop.hdfs.HadoopConfUtil;
+import com.dtstack.dtcenter.common.loader.hadoop.hdfs.HdfsFileSystemManager;
 import com.dtstack.dtcenter.common.loader.hadoop.hdfs.HdfsOperator;
 import com.dtstack.dtcenter.common.loader.hadoop.util.KerberosLoginUtil;
 import com.dtstack.dtcenter.common.loader.hive1.HiveConnFactory;
@@ -48,6 +50,7 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.jetbrains.annotations.NotNull;
 
 import java.security.PrivilegedAction;
@@ -366,6 +369,9 @@ public class HiveClient extends AbsRdbmsClient {
         return KerberosLoginUtil.loginWithUGI(hive1SourceDTO.getKerberosConfig()).doAs(
                 (PrivilegedAction<IDownloader>) () -> {
                     try {
+                        if (Objects.nonNull(queryDTO.getReadAheadFileNum()) && queryDTO.getReadAheadFileNum() > 1) {
+                            return createReadAheadDownloader(hive1SourceDTO, queryDTO, table.getStoreType(), conf, table.getPath(), commonColumn, table.getDelim(), partitionColumns, needIndex, finalPartitions);
+                        }
                         return createDownloader(table.getStoreType(), conf, table.getPath(), commonColumn, table.getDelim(), partitionColumns, needIndex, queryDTO.getPartitionColumns(), finalPartitions, hive1SourceDTO.getKerberosConfig());
                     } catch (Exception e) {
                         throw new DtLoaderException(String.format("create downloader exception,%s", e.getMessage()), e);
@@ -395,6 +401,20 @@ public class HiveClient extends AbsRdbmsClient {
                                                   ArrayList<String> partitionColumns, List<Integer> needIndex,
                                                   Map<String, String> filterPartitions, List<String> partitions,
                                                   Map<String, Object> kerberosConfig) throws Exception {
+        IDownloader downloader = newDownloader(storageMode, conf, tableLocation, columns, fieldDelimiter,
+                partitionColumns, needIndex, filterPartitions, partitions, kerberosConfig);
+        downloader.configure();
+        return downloader;
+    }
+
+    /**
+     * 根据存储格式创建对应的hiveDownloader，不进行初始化
+     */
+    private @NotNull IDownloader newDownloader(String storageMode, Configuration conf, String tableLocation,
+                                               List<ColumnMetaDTO> columns, String fieldDelimiter,
+                                               ArrayList<String> partitionColumns, List<Integer> needIndex,
+                                               Map<String, String> filterPartitions, List<String> partitions,
+                                               Map<String, Object> kerberosConfig) {
         // 根据存储格式创建对应的hiveDownloader
         if (StringUtils.isBlank(storageMode)) {
             throw new DtLoaderException("Hive table reads for this storage type are not supported");
@@ -402,29 +422,64 @@ public class HiveClient extends AbsRdbmsClient {
 
         List<String> columnNames = columns.stream().map(ColumnMetaDTO::getKey).collect(Collectors.toList());
         if (StringUtils.containsIgnoreCase(storageMode, "text")) {
-            HiveTextDownload hiveTextDownload = new HiveTextDownload(conf, tableLocation, columnNames,
+            return new HiveTextDownload(conf, tableLocation, columnNames,
                     fieldDelimiter, partitionColumns, filterPartitions, needIndex, partitions, kerberosConfig);
-            hiveTextDownload.configure();
-            return hiveTextDownload;
         }
 
         if (StringUtils.containsIgnoreCase(storageMode, "orc")) {
-            HiveORCDownload hiveORCDownload = new HiveORCDownload(conf, tableLocation, columnNames,
+            return new HiveORCDownload(conf, tableLocation, columnNames,
                     partitionColumns, needIndex, partitions, kerberosConfig);
-            hiveORCDownload.configure();
-            return hiveORCDownload;
         }
 
         if (StringUtils.containsIgnoreCase(storageMode, "parquet")) {
-            HiveParquetDownload hiveParquetDownload = new HiveParquetDownload(conf, tableLocation, columns,
+            return new HiveParquetDownload(conf, tableLocation, columns,
                     partitionColumns, needIndex, filterPartitions, partitions, kerberosConfig);
-            hiveParquetDownload.configure();
-            return hiveParquetDownload;
         }
 
         throw new DtLoaderException("Hive table reads for this storage type are not supported");
     }
 
+    /**
+     * 创建多文件预读下载器：先根据分区获取需要读取的文件，每个文件使用对应存储格式的下载器在后台线程中读取
+     *
+     * @param hive1SourceDTO   数据源信息
+     * @param queryDTO         查询信息
+     * @param storageMode      存储格式
+     * @param conf             配置
+     * @param tableLocation    表hdfs路径
+     * @param columns          字段集合
+     * @param fieldDelimiter   textFile 表列分隔符
+     * @param partitionColumns 分区字段集合
+     * @param needIndex        需要查询的字段索引位置
+     * @param partitions       全部分区
+     * @return downloader
+     * @throws Exception 异常信息
+     */
+    private IDownloader createReadAheadDownloader(Hive1SourceDTO hive1SourceDTO, SqlQueryDTO queryDTO, String storageMode,
+                                                  Configuration conf, String tableLocation, List<ColumnMetaDTO> columns,
+                                                  String fieldDelimiter, ArrayList<String> partitionColumns,
+                                                  List<Integer> needIndex, List<String> partitions) throws Exception {
+        // orc 下载器不支持按分区下载，开启预读时保持一致
+        Map<String, String> filterPartitions = StringUtils.containsIgnoreCase(storageMode, "orc") ? null : queryDTO.getPartitionColumns();
+        List<String> locations = HdfsOperator.getPartitionLocations(tableLocation, partitions, filterPartitions);
+        List<String> filePaths;
+        FileSystem fs = HdfsFileSystemManager.getFileSystem(hive1SourceDTO.getKerberosConfig(), hive1SourceDTO.getConfig(), hive1SourceDTO.getDefaultFS());
+        try {
+            filePaths = HdfsOperator.listAllFiles(fs, locations);
+        } finally {
+            HdfsFileSystemManager.releaseFileSystem(fs);
+        }
+        List<String> metaInfo = columns.stream().map(ColumnMetaDTO::getKey).collect(Collectors.toList());
+        metaInfo.addAll(partitionColumns);
+        Map<String, Object> kerberosConfig = hive1SourceDTO.getKerberosConfig();
+        // 文件已经按分区过滤，单个文件的下载器不再传入分区信息，多个线程同时读取时各自使用一份配置
+        ReadAheadDownloader downloader = new ReadAheadDownloader(filePaths, metaInfo,
+                filePath -> newDownloader(storageMode, new Configuration(conf), filePath, columns, fieldDelimiter, partitionColumns, needIndex, null, null, kerberosConfig),
+                queryDTO.getReadAheadFileNum(), queryDTO.getReadAheadOrdered(), kerberosConfig);
+        downloader.configure();
+        return downloader;
+    }
+
     @Override
     protected String dealSql(ISourceDTO iSourceDTO, SqlQueryDTO sqlQueryDTO) {
         Map<String, String> partitions = sqlQueryDTO.getPartitionColumns();
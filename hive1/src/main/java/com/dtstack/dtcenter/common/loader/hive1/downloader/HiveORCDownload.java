@@ -20,7 +20,7 @@ package com.dtstack.dtcenter.common.loader.hive1.downloader;
 
 import com.alibaba.fastjson.JSON;
 import com.dtstack.dtcenter.common.loader.hadoop.hdfs.HdfsOperator;
-import com.dtstack.dtcenter.common.loader.hadoop.util.KerberosLoginUtil;
+import com.dtstack.dtcenter.common.loader.hadoop.util.UGIResolver;
 import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 import com.google.common.collect.Lists;
@@ -88,6 +88,11 @@ public class HiveORCDownload implements IDownloader {
 
     private final Map<String, Object> kerberosConfig;
 
+    /**
+     * 下载器级别缓存的 UGI
+     */
+    private final UGIResolver ugiResolver;
+
     /**
      * 需要查询字段的索引
      */
@@ -108,6 +113,7 @@ public class HiveORCDownload implements IDownloader {
         this.needIndex = needIndex;
         this.partitions = partitions;
         this.kerberosConfig = kerberosConfig;
+        this.ugiResolver = new UGIResolver(kerberosConfig);
     }
 
     @Override
@@ -152,14 +158,12 @@ public class HiveORCDownload implements IDownloader {
 
     @Override
     public List<String> readNext() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
-                (PrivilegedAction<List<String>>) ()->{
-                    try {
-                        return readNextWithKerberos();
-                    } catch (Exception e){
-                        throw new DtLoaderException(String.format("Abnormal reading file,%s", e.getMessage()), e);
-                    }
-                });
+        // 只转换 reachedEnd 中已经读取的当前行，不访问 hdfs，不需要在 kerberos 认证下执行
+        try {
+            return readNextWithKerberos();
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("Abnormal reading file,%s", e.getMessage()), e);
+        }
     }
 
     public List<String> readNextWithKerberos() {
@@ -268,7 +272,15 @@ public class HiveORCDownload implements IDownloader {
 
     @Override
     public boolean reachedEnd() {
-        return KerberosLoginUtil.loginWithUGI(kerberosConfig).doAs(
+        try {
+            // 当前 reader 还有数据时直接读取，只有切换 split、文件时才需要在 kerberos 认证下执行
+            if (recordReader != null && recordReader.next(key, value)) {
+                return false;
+            }
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("Download file is abnormal,%s", e.getMessage()), e);
+        }
+        return ugiResolver.doAs(
                 (PrivilegedAction<Boolean>) ()->{
                     try {
                         return recordReader == null || !nextRecord();
@@ -145,6 +145,12 @@ public class Kafka<T> implements IKafka<T> {
         return KafkaUtil.getGroupInfoByGroupId(kafkaSourceDTO, groupId, topic);
     }
 
+    @Override
+    public List<KafkaConsumerDTO> getGroupInfoByTopics(ISourceDTO source, List<String> topics, List<String> groupIds) {
+        KafkaSourceDTO kafkaSourceDTO = (KafkaSourceDTO) source;
+        return KafkaUtil.getGroupInfoByTopics(kafkaSourceDTO, topics, groupIds);
+    }
+
     @Override
     public List<T> getAllPartitions(ISourceDTO source, String topic) {
         throw new DtLoaderException(ErrorCode.NOT_SUPPORT.getDesc());
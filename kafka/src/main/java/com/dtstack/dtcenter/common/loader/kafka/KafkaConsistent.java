@@ -46,15 +46,9 @@ public class KafkaConsistent {
     public static final String KAFKA_GROUP = "STREAM_APP_KAFKA";
 
     /**
-     * Kafka JAAS 内容
+     * kafka kerberos 认证，作为每个客户端的 sasl.jaas.config
      */
-    public static final String KAFKA_JAAS_CONTENT = "KafkaClient {\n" +
-            "    com.sun.security.auth.module.Krb5LoginModule required\n" +
-            "    useKeyTab=true\n" +
-            "    storeKey=true\n" +
-            "    keyTab=\"%s\"\n" +
-            "    principal=\"%s\";\n" +
-            "};";
+    public static final String KAFKA_SASL_KERBEROS_CONTENT = "com.sun.security.auth.module.Krb5LoginModule required useKeyTab=true storeKey=true keyTab=\"%s\" principal=\"%s\" serviceName=\"%s\";";
 
     /**
      * kafka SASL/PLAIN 认证
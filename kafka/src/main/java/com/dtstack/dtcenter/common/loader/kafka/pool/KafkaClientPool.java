@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.common.loader.kafka.pool;
+
+import com.dtstack.dtcenter.loader.dto.source.KafkaSourceDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * kafka 客户端池，按 broker 地址 + 认证信息 作为 key 缓存空闲的 KafkaConsumer/AdminClient，
+ * 避免每次调用都重新创建客户端带来的元数据拉取和组协调开销。
+ * <p>
+ * KafkaConsumer 非线程安全，池中客户端同一时刻只会借给一个线程使用，用完后归还；
+ * 执行过程中抛出异常的客户端直接关闭不再归还，空闲超过 {@link #MAX_IDLE_TIME} 的客户端由后台线程定时关闭
+ *
+ * @author ：wangchuan
+ * date：Created in 上午10:12 2021/9/6
+ * company: www.dtstack.com
+ */
+@Slf4j
+public class KafkaClientPool<T> {
+
+    /**
+     * 客户端最大空闲时间，单位：毫秒
+     */
+    private static final long MAX_IDLE_TIME = TimeUnit.MINUTES.toMillis(3);
+
+    /**
+     * 空闲客户端检查周期，单位：秒
+     */
+    private static final long EVICT_PERIOD = 30;
+
+    /**
+     * 每个 key 下最多保留的空闲客户端数量
+     */
+    private static final int MAX_IDLE_PER_KEY = 4;
+
+    /**
+     * 定时关闭空闲客户端的线程，所有池共用
+     */
+    private static final ScheduledExecutorService EVICT_SERVICE = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Loader-kafka-client-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 池名称，用于日志
+     */
+    private final String poolName;
+
+    /**
+     * 根据 kafka 配置创建客户端
+     */
+    private final Function<Properties, T> creator;
+
+    /**
+     * 归还前重置客户端状态，如 consumer 取消分区订阅
+     */
+    private final Consumer<T> resetter;
+
+    /**
+     * 关闭客户端
+     */
+    private final Consumer<T> closer;
+
+    /**
+     * key -> 空闲客户端队列，队头为最近归还的客户端
+     */
+    private final Map<String, ConcurrentLinkedDeque<PooledClient<T>>> idleClients = new ConcurrentHashMap<>();
+
+    /**
+     * 当前空闲客户端数量，用于日志
+     */
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * 累计创建的客户端数量，用于观察客户端复用情况
+     */
+    private final AtomicLong createdCount = new AtomicLong();
+
+    public KafkaClientPool(String poolName, Function<Properties, T> creator, Consumer<T> resetter, Consumer<T> closer) {
+        this.poolName = poolName;
+        this.creator = creator;
+        this.resetter = resetter;
+        this.closer = closer;
+        EVICT_SERVICE.scheduleWithFixedDelay(this::evictIdle, EVICT_PERIOD, EVICT_PERIOD, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 借出客户端执行回调，执行成功后归还，执行失败则关闭该客户端
+     *
+     * @param sourceDTO  kafka 数据源信息
+     * @param properties 池中没有空闲客户端时用于创建客户端的配置
+     * @param callBack   客户端回调
+     * @param <R>        返回值类型
+     * @return 回调返回值
+     * @throws Exception 回调中抛出的异常
+     */
+    public <R> R execute(KafkaSourceDTO sourceDTO, Supplier<Properties> properties, ClientCallBack<T, R> callBack) throws Exception {
+        String key = buildKey(sourceDTO);
+        PooledClient<T> pooled = borrow(key, properties);
+        R result;
+        try {
+            result = callBack.execute(pooled.client);
+        } catch (Exception e) {
+            // 执行失败的客户端状态未知，直接关闭
+            close(pooled);
+            throw e;
+        }
+        release(key, pooled);
+        return result;
+    }
+
+    /**
+     * 关闭所有空闲客户端
+     */
+    public void clear() {
+        for (ConcurrentLinkedDeque<PooledClient<T>> deque : idleClients.values()) {
+            PooledClient<T> pooled;
+            while ((pooled = deque.pollFirst()) != null) {
+                idleCount.decrementAndGet();
+                close(pooled);
+            }
+        }
+    }
+
+    /**
+     * 获取累计创建的客户端数量
+     *
+     * @return 累计创建的客户端数量
+     */
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    private PooledClient<T> borrow(String key, Supplier<Properties> properties) {
+        ConcurrentLinkedDeque<PooledClient<T>> deque = idleClients.get(key);
+        if (deque != null) {
+            PooledClient<T> pooled = deque.pollFirst();
+            if (pooled != null) {
+                idleCount.decrementAndGet();
+                return pooled;
+            }
+        }
+        PooledClient<T> pooled = new PooledClient<>(creator.apply(properties.get()));
+        createdCount.incrementAndGet();
+        return pooled;
+    }
+
+    private void release(String key, PooledClient<T> pooled) {
+        try {
+            if (Objects.nonNull(resetter)) {
+                resetter.accept(pooled.client);
+            }
+        } catch (Exception e) {
+            log.warn("reset kafka {} client error, close it : {}", poolName, e.getMessage());
+            close(pooled);
+            return;
+        }
+        ConcurrentLinkedDeque<PooledClient<T>> deque = idleClients.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        if (deque.size() >= MAX_IDLE_PER_KEY) {
+            close(pooled);
+            return;
+        }
+        pooled.lastUsedTime = System.currentTimeMillis();
+        deque.offerFirst(pooled);
+        idleCount.incrementAndGet();
+    }
+
+    /**
+     * 关闭空闲超时的客户端，队尾为最久未使用的客户端
+     */
+    private void evictIdle() {
+        try {
+            long expireTime = System.currentTimeMillis() - MAX_IDLE_TIME;
+            Iterator<Map.Entry<String, ConcurrentLinkedDeque<PooledClient<T>>>> iterator = idleClients.entrySet().iterator();
+            while (iterator.hasNext()) {
+                ConcurrentLinkedDeque<PooledClient<T>> deque = iterator.next().getValue();
+                PooledClient<T> pooled;
+                while ((pooled = deque.peekLast()) != null && pooled.lastUsedTime < expireTime) {
+                    // 可能已被其他线程借出
+                    if (deque.removeLastOccurrence(pooled)) {
+                        idleCount.decrementAndGet();
+                        close(pooled);
+                    }
+                }
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Evict idle kafka {} client, remaining idle client : {}", poolName, idleCount.get());
+            }
+        } catch (Exception e) {
+            log.error("evict idle kafka {} client error", poolName, e);
+        }
+    }
+
+    private void close(PooledClient<T> pooled) {
+        try {
+            closer.accept(pooled.client);
+        } catch (Exception e) {
+            log.warn("close kafka {} client error : {}", poolName, e.getMessage());
+        }
+    }
+
+    /**
+     * 构建池 key：broker 地址(为空时使用 zk 地址) + 用户名密码 + kerberos 配置
+     *
+     * @param sourceDTO kafka 数据源信息
+     * @return 池 key
+     */
+    private static String buildKey(KafkaSourceDTO sourceDTO) {
+        String address = StringUtils.isNotBlank(sourceDTO.getBrokerUrls()) ? sourceDTO.getBrokerUrls() : sourceDTO.getUrl();
+        String kerberos = MapUtils.isEmpty(sourceDTO.getKerberosConfig()) ? "" : new TreeMap<>(sourceDTO.getKerberosConfig()).toString();
+        return String.format("%s|%s|%s|%s", address, StringUtils.defaultString(sourceDTO.getUsername()),
+                StringUtils.defaultString(sourceDTO.getPassword()), kerberos);
+    }
+
+    /**
+     * 客户端回调
+     *
+     * @param <T> 客户端类型
+     * @param <R> 返回值类型
+     */
+    @FunctionalInterface
+    public interface ClientCallBack<T, R> {
+        R execute(T client) throws Exception;
+    }
+
+    /**
+     * 池中的客户端及其最后使用时间
+     */
+    private static class PooledClient<T> {
+        private final T client;
+
+        private volatile long lastUsedTime;
+
+        private PooledClient(T client) {
+            this.client = client;
+        }
+    }
+}
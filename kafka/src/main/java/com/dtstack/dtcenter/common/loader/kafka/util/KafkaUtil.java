@@ -21,6 +21,7 @@ package com.dtstack.dtcenter.common.loader.kafka.util;
 import com.dtstack.dtcenter.common.loader.common.utils.TelUtil;
 import com.dtstack.dtcenter.common.loader.kafka.KafkaConsistent;
 import com.dtstack.dtcenter.common.loader.kafka.enums.EConsumeType;
+import com.dtstack.dtcenter.common.loader.kafka.pool.KafkaClientPool;
 import com.dtstack.dtcenter.loader.dto.KafkaConsumerDTO;
 import com.dtstack.dtcenter.loader.dto.KafkaOffsetDTO;
 import com.dtstack.dtcenter.loader.dto.KafkaPartitionDTO;
@@ -50,15 +51,17 @@ import org.apache.kafka.common.security.JaasUtils;
 import scala.collection.JavaConversions;
 import sun.security.krb5.Config;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * @company: www.dtstack.com
@@ -76,17 +79,39 @@ public class KafkaUtil {
     private static final String DEFAULT_KERBEROS_NAME = "kafka";
 
     /**
-     * 写入 kafka jaas文件到 keytab 文件所在同一级目录，同时设置 krb5.conf 绝对路径到系统变量中
+     * consumer 池，归还时取消分区订阅
+     */
+    private static final KafkaClientPool<KafkaConsumer<String, String>> CONSUMER_POOL =
+            new KafkaClientPool<>("consumer", KafkaConsumer::new, KafkaConsumer::unsubscribe, KafkaConsumer::close);
+
+    /**
+     * 数据预览使用的 consumer 池，预览时不设置请求超时时间，和普通 consumer 配置不同所以单独缓存
+     */
+    private static final KafkaClientPool<KafkaConsumer<String, String>> PREVIEW_CONSUMER_POOL =
+            new KafkaClientPool<>("preview-consumer", KafkaConsumer::new, KafkaConsumer::unsubscribe, KafkaConsumer::close);
+
+    /**
+     * AdminClient 池，用于创建 topic
+     */
+    private static final KafkaClientPool<AdminClient> ADMIN_POOL =
+            new KafkaClientPool<>("admin", AdminClient::create, null, AdminClient::close);
+
+    /**
+     * scala AdminClient 池，用于查询消费者组信息
+     */
+    private static final KafkaClientPool<kafka.admin.AdminClient> GROUP_ADMIN_POOL =
+            new KafkaClientPool<>("group-admin", props -> kafka.admin.AdminClient.create(props), null, kafka.admin.AdminClient::close);
+
+    /**
+     * 构建 kafka kerberos 认证使用的 sasl.jaas.config，同时设置 krb5.conf 绝对路径到系统变量中。
+     * jaas 配置跟随每个客户端，池中不同 kerberos 数据源的客户端重新登录时互不影响
      *
      * @param kerberosConfig kafka kerberos 配置
-     * @return jaas文件绝对路径
+     * @param serviceName    kafka broker 的 kerberos 服务名
+     * @return sasl.jaas.config 配置
      */
-    private static String writeKafkaJaas(Map<String, Object> kerberosConfig) {
-        log.info("Initialize Kafka JAAS file, kerberosConfig : {}", kerberosConfig);
-        if (MapUtils.isEmpty(kerberosConfig)){
-            return null;
-        }
-
+    private static String buildKerberosJaasConfig(Map<String, Object> kerberosConfig, String serviceName) {
+        log.info("Initialize Kafka kerberos jaas config, kerberosConfig : {}", kerberosConfig);
         // 处理 krb5.conf
         if (kerberosConfig.containsKey(HadoopConfTool.KEY_JAVA_SECURITY_KRB5_CONF)) {
             System.setProperty(HadoopConfTool.KEY_JAVA_SECURITY_KRB5_CONF, MapUtils.getString(kerberosConfig, HadoopConfTool.KEY_JAVA_SECURITY_KRB5_CONF));
@@ -95,26 +120,14 @@ public class KafkaUtil {
         String keytabConf = MapUtils.getString(kerberosConfig, HadoopConfTool.PRINCIPAL_FILE);
         // 兼容历史数据
         keytabConf = StringUtils.isBlank(keytabConf) ? MapUtils.getString(kerberosConfig, HadoopConfTool.KAFKA_KERBEROS_KEYTAB) : keytabConf;
-        try {
-            File file = new File(keytabConf);
-            File jaas = new File(file.getParent() + File.separator + "kafka_jaas.conf");
-            if (jaas.exists()) {
-                boolean checkDelete = jaas.delete();
-                if (!checkDelete) {
-                    log.error("delete file [{}] fail....", jaas.getAbsolutePath());
-                }
-            }
-
-            String principal = MapUtils.getString(kerberosConfig, HadoopConfTool.PRINCIPAL);
-            // 历史数据兼容
-            principal = StringUtils.isBlank(principal) ? MapUtils.getString(kerberosConfig, "kafka.kerberos.principal") : principal;
-            FileUtils.write(jaas, String.format(KafkaConsistent.KAFKA_JAAS_CONTENT, keytabConf, principal));
-            String kafkaLoginConf = jaas.getAbsolutePath();
-            log.info("Init Kafka Kerberos:login-conf:{}\n --sasl.kerberos.service.name:{}", keytabConf, principal);
-            return kafkaLoginConf;
-        } catch (IOException e) {
-            throw new DtLoaderException(String.format("Writing to Kafka configuration file exception,%s", e.getMessage()), e);
+        if (StringUtils.isBlank(keytabConf)) {
+            throw new DtLoaderException("Kafka kerberos keytab file cannot be empty");
         }
+        String principal = MapUtils.getString(kerberosConfig, HadoopConfTool.PRINCIPAL);
+        // 历史数据兼容
+        principal = StringUtils.isBlank(principal) ? MapUtils.getString(kerberosConfig, "kafka.kerberos.principal") : principal;
+        log.info("Init Kafka Kerberos:keytab:{}\n --principal:{}\n --sasl.kerberos.service.name:{}", keytabConf, principal, serviceName);
+        return String.format(KafkaConsistent.KAFKA_SASL_KERBEROS_CONTENT, keytabConf, principal, serviceName);
     }
 
     /**
@@ -164,10 +177,9 @@ public class KafkaUtil {
      * @return topic 列表
      */
     public static List<String> getTopicList(KafkaSourceDTO kafkaSourceDTO) {
-        Properties defaultKafkaConfig = initProperties(kafkaSourceDTO);
         List<String> results = Lists.newArrayList();
-        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(defaultKafkaConfig)) {
-            Map<String, List<PartitionInfo>> topics = consumer.listTopics();
+        try {
+            Map<String, List<PartitionInfo>> topics = CONSUMER_POOL.execute(kafkaSourceDTO, () -> initProperties(kafkaSourceDTO), KafkaConsumer::listTopics);
             if (topics != null) {
                 results.addAll(topics.keySet());
             }
@@ -189,12 +201,14 @@ public class KafkaUtil {
      */
     public static void createTopicFromBroker(KafkaSourceDTO sourceDTO, String topicName,
                                              Integer partitions, Short replicationFactor) {
-        Properties defaultKafkaConfig = initProperties(sourceDTO);
-        try (AdminClient client = AdminClient.create(defaultKafkaConfig);) {
+        try {
             NewTopic topic = new NewTopic(topicName, partitions, replicationFactor);
-            client.createTopics(Collections.singleton(topic));
+            // 客户端不再随调用关闭，需要等待创建结果返回
+            ADMIN_POOL.execute(sourceDTO, () -> initProperties(sourceDTO), client -> client.createTopics(Collections.singleton(topic)).all().get());
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
+        } finally {
+            destroyProperty();
         }
     }
 
@@ -206,36 +220,8 @@ public class KafkaUtil {
      * @return kafka 每个分区的最大最小 offset
      */
     public static List<KafkaOffsetDTO> getPartitionOffset(KafkaSourceDTO sourceDTO, String topic) {
-        Properties defaultKafkaConfig = initProperties(sourceDTO);
-        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(defaultKafkaConfig)) {
-            List<TopicPartition> partitions = new ArrayList<>();
-            List<PartitionInfo> allPartitionInfo = consumer.partitionsFor(topic);
-            for (PartitionInfo partitionInfo : allPartitionInfo) {
-                partitions.add(new TopicPartition(partitionInfo.topic(), partitionInfo.partition()));
-            }
-
-            Map<Integer, KafkaOffsetDTO> kafkaOffsetDTOMap = new HashMap<>();
-            Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions);
-            for (Map.Entry<TopicPartition, Long> entry : beginningOffsets.entrySet()) {
-                KafkaOffsetDTO offsetDTO = new KafkaOffsetDTO();
-                offsetDTO.setPartition(entry.getKey().partition());
-                offsetDTO.setFirstOffset(entry.getValue());
-                offsetDTO.setLastOffset(entry.getValue());
-                kafkaOffsetDTOMap.put(entry.getKey().partition(), offsetDTO);
-            }
-
-            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
-            for (Map.Entry<TopicPartition, Long> entry : endOffsets.entrySet()) {
-                KafkaOffsetDTO offsetDTO = kafkaOffsetDTOMap.getOrDefault(entry.getKey().partition(),
-                        new KafkaOffsetDTO());
-                offsetDTO.setPartition(entry.getKey().partition());
-                offsetDTO.setFirstOffset(null == offsetDTO.getFirstOffset() ? entry.getValue() :
-                        offsetDTO.getFirstOffset());
-                offsetDTO.setLastOffset(entry.getValue());
-                kafkaOffsetDTOMap.put(entry.getKey().partition(), offsetDTO);
-            }
-
-            return new ArrayList<>(kafkaOffsetDTOMap.values());
+        try {
+            return CONSUMER_POOL.execute(sourceDTO, () -> initProperties(sourceDTO), consumer -> getPartitionOffset(consumer, topic));
         } catch (Exception e) {
             throw new DtLoaderException(e.getMessage(), e);
         } finally {
@@ -243,6 +229,44 @@ public class KafkaUtil {
         }
     }
 
+    /**
+     * 使用指定 consumer 获取 topic 所有分区中最大最小的偏移量
+     *
+     * @param consumer kafka consumer
+     * @param topic    kafka topic
+     * @return kafka 每个分区的最大最小 offset
+     */
+    private static List<KafkaOffsetDTO> getPartitionOffset(KafkaConsumer<String, String> consumer, String topic) {
+        List<TopicPartition> partitions = new ArrayList<>();
+        List<PartitionInfo> allPartitionInfo = consumer.partitionsFor(topic);
+        for (PartitionInfo partitionInfo : allPartitionInfo) {
+            partitions.add(new TopicPartition(partitionInfo.topic(), partitionInfo.partition()));
+        }
+
+        Map<Integer, KafkaOffsetDTO> kafkaOffsetDTOMap = new HashMap<>();
+        Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions);
+        for (Map.Entry<TopicPartition, Long> entry : beginningOffsets.entrySet()) {
+            KafkaOffsetDTO offsetDTO = new KafkaOffsetDTO();
+            offsetDTO.setPartition(entry.getKey().partition());
+            offsetDTO.setFirstOffset(entry.getValue());
+            offsetDTO.setLastOffset(entry.getValue());
+            kafkaOffsetDTOMap.put(entry.getKey().partition(), offsetDTO);
+        }
+
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+        for (Map.Entry<TopicPartition, Long> entry : endOffsets.entrySet()) {
+            KafkaOffsetDTO offsetDTO = kafkaOffsetDTOMap.getOrDefault(entry.getKey().partition(),
+                    new KafkaOffsetDTO());
+            offsetDTO.setPartition(entry.getKey().partition());
+            offsetDTO.setFirstOffset(null == offsetDTO.getFirstOffset() ? entry.getValue() :
+                    offsetDTO.getFirstOffset());
+            offsetDTO.setLastOffset(entry.getValue());
+            kafkaOffsetDTOMap.put(entry.getKey().partition(), offsetDTO);
+        }
+
+        return new ArrayList<>(kafkaOffsetDTOMap.values());
+    }
+
     /**
      * 根据 Kafka 地址 校验连接性
      *
@@ -250,10 +274,9 @@ public class KafkaUtil {
      * @return 是否连通
      */
     public static boolean checkConnection(KafkaSourceDTO sourceDTO) {
-        Properties props = initProperties(sourceDTO);
-        /* 定义consumer */
-        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(props)) {
-            consumer.listTopics();
+        try {
+            // listTopics 每次都会向 broker 发送元数据请求，复用客户端同样能校验连通性
+            CONSUMER_POOL.execute(sourceDTO, () -> initProperties(sourceDTO), KafkaConsumer::listTopics);
         } catch (Exception e) {
             throw new DtLoaderException(String.format("connect kafka fail: %s", e.getMessage()), e);
         } finally {
@@ -331,12 +354,11 @@ public class KafkaUtil {
         // 只需要认证的用户名
         String kafkaKbrServiceName = MapUtils.getString(sourceDTO.getKerberosConfig(), HadoopConfTool.KAFKA_KERBEROS_SERVICE_NAME, DEFAULT_KERBEROS_NAME);
         kafkaKbrServiceName = kafkaKbrServiceName.split("/")[0];
-        String kafkaLoginConf = writeKafkaJaas(sourceDTO.getKerberosConfig());
+        String kafkaJaasConfig = buildKerberosJaasConfig(sourceDTO.getKerberosConfig(), kafkaKbrServiceName);
 
         // 刷新kerberos认证信息，在设置完java.security.krb5.conf后进行，否则会使用上次的krb5文件进行 refresh 导致认证失败
         try {
             Config.refresh();
-            javax.security.auth.login.Configuration.setConfiguration(null);
         } catch (Exception e) {
             log.error("Kafka kerberos authentication information refresh failed!");
         }
@@ -345,92 +367,79 @@ public class KafkaUtil {
         props.put("sasl.mechanism", "GSSAPI");
         // kafka broker的启动配置
         props.put("sasl.kerberos.service.name", kafkaKbrServiceName);
-        System.setProperty("java.security.auth.login.config", kafkaLoginConf);
-        System.setProperty("javax.security.auth.useSubjectCredsOnly", "false");
+        // 不再通过 java.security.auth.login.config 设置全局 jaas 文件，池中的客户端使用各自的 jaas 配置重新登录
+        props.put("sasl.jaas.config", kafkaJaasConfig);
         return props;
     }
 
 
     public static List<String> getRecordsFromKafka(KafkaSourceDTO sourceDTO, String topic, String autoReset) {
-        List<String> result = new ArrayList<>();
-        Properties props = initProperties(sourceDTO);
-        /*去除超时时间*/
-        props.remove("request.timeout.ms");
-        props.put("max.poll.records", MAX_POOL_RECORDS);
+        Supplier<Properties> props = () -> {
+            Properties properties = initProperties(sourceDTO);
+            /*去除超时时间*/
+            properties.remove("request.timeout.ms");
+            properties.put("max.poll.records", MAX_POOL_RECORDS);
+            return properties;
+        };
         /* 定义consumer */
-        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(props);) {
-            List<TopicPartition> partitions = new ArrayList<>();
-            List<PartitionInfo> all = consumer.partitionsFor(topic);
-            for (PartitionInfo partitionInfo : all) {
-                partitions.add(new TopicPartition(partitionInfo.topic(), partitionInfo.partition()));
-            }
-
-            consumer.assign(partitions);
-            //如果消息没有被消费过，可能出现无法移动offset的情况导致报错
-            //https://stackoverflow.com/questions/41008610/kafkaconsumer-0-10-java-api-error-message-no-current-assignment-for-partition
-            //主动拉去一次消息
-            consumer.poll(1000);
-
-            //根据autoReset 设置位移
-            if (EARLIEST.equals(autoReset)) {
-                consumer.seekToBeginning(partitions);
-            } else {
-                Map<TopicPartition, Long> partitionLongMap = consumer.endOffsets(partitions);
-                for (Map.Entry<TopicPartition, Long> entry : partitionLongMap.entrySet()) {
-                    long offset = entry.getValue() - MAX_POOL_RECORDS;
-                    offset = offset > 0 ? offset : 0;
-                    consumer.seek(entry.getKey(), offset);
+        try {
+            return PREVIEW_CONSUMER_POOL.execute(sourceDTO, props, consumer -> {
+                List<String> result = new ArrayList<>();
+                List<TopicPartition> partitions = new ArrayList<>();
+                List<PartitionInfo> all = consumer.partitionsFor(topic);
+                for (PartitionInfo partitionInfo : all) {
+                    partitions.add(new TopicPartition(partitionInfo.topic(), partitionInfo.partition()));
                 }
-            }
-
-            /* 读取数据，读取超时时间为100ms */
-            ConsumerRecords<String, String> records = consumer.poll(1000);
-            for (ConsumerRecord<String, String> record : records) {
-                String value = record.value();
-                if (StringUtils.isBlank(value)) {
-                    continue;
+    
+                consumer.assign(partitions);
+                //如果消息没有被消费过，可能出现无法移动offset的情况导致报错
+                //https://stackoverflow.com/questions/41008610/kafkaconsumer-0-10-java-api-error-message-no-current-assignment-for-partition
+                //主动拉去一次消息
+                consumer.poll(1000);
+    
+                //根据autoReset 设置位移
+                if (EARLIEST.equals(autoReset)) {
+                    consumer.seekToBeginning(partitions);
+                } else {
+                    Map<TopicPartition, Long> partitionLongMap = consumer.endOffsets(partitions);
+                    for (Map.Entry<TopicPartition, Long> entry : partitionLongMap.entrySet()) {
+                        long offset = entry.getValue() - MAX_POOL_RECORDS;
+                        offset = offset > 0 ? offset : 0;
+                        consumer.seek(entry.getKey(), offset);
+                    }
                 }
-                if (result.size() >= MAX_POOL_RECORDS) {
-                    break;
+    
+                /* 读取数据，读取超时时间为100ms */
+                ConsumerRecords<String, String> records = consumer.poll(1000);
+                for (ConsumerRecord<String, String> record : records) {
+                    String value = record.value();
+                    if (StringUtils.isBlank(value)) {
+                        continue;
+                    }
+                    if (result.size() >= MAX_POOL_RECORDS) {
+                        break;
+                    }
+                    result.add(record.value());
                 }
-                result.add(record.value());
-            }
+                return result;
+            });
         } catch (Exception e) {
             throw new DtLoaderException(String.format("consumption data from kafka error: %s", e.getMessage()), e);
         } finally {
             destroyProperty();
         }
-        return result;
     }
 
     public static List<KafkaPartitionDTO> getPartitions (KafkaSourceDTO sourceDTO, String topic) {
-        Properties defaultKafkaConfig = initProperties(sourceDTO);
         List<KafkaPartitionDTO> partitionDTOS = Lists.newArrayList();
-        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(defaultKafkaConfig)) {
+        try {
             // PartitionInfo没有实现序列化接口，不能使用 fastJson 进行拷贝
-            List<PartitionInfo> partitions = consumer.partitionsFor(topic);
+            List<PartitionInfo> partitions = CONSUMER_POOL.execute(sourceDTO, () -> initProperties(sourceDTO), consumer -> consumer.partitionsFor(topic));
             if (CollectionUtils.isEmpty(partitions)) {
                 return partitionDTOS;
             }
             for (PartitionInfo partition : partitions) {
-                // 所有副本
-                List<KafkaPartitionDTO.Node> replicas = Lists.newArrayList();
-                for (Node node : partition.replicas()) {
-                    replicas.add(buildKafkaPartitionNode(node));
-                }
-                // 在isr队列中的副本
-                List<KafkaPartitionDTO.Node> inSyncReplicas = Lists.newArrayList();
-                for (Node node : partition.inSyncReplicas()) {
-                    inSyncReplicas.add(buildKafkaPartitionNode(node));
-                }
-                KafkaPartitionDTO kafkaPartitionDTO = KafkaPartitionDTO.builder()
-                        .topic(partition.topic())
-                        .partition(partition.partition())
-                        .leader(buildKafkaPartitionNode(partition.leader()))
-                        .replicas(replicas.toArray(new KafkaPartitionDTO.Node[]{}))
-                        .inSyncReplicas(inSyncReplicas.toArray(new KafkaPartitionDTO.Node[]{}))
-                        .build();
-                partitionDTOS.add(kafkaPartitionDTO);
+                partitionDTOS.add(buildKafkaPartitionDTO(partition));
             }
             return partitionDTOS;
         } catch (Exception e) {
@@ -438,6 +447,31 @@ public class KafkaUtil {
         }
     }
 
+    /**
+     * 构建kafka分区信息
+     * @param partition kafka分区信息
+     * @return common-loader中定义的kafka分区信息
+     */
+    public static KafkaPartitionDTO buildKafkaPartitionDTO(PartitionInfo partition) {
+        // 所有副本
+        List<KafkaPartitionDTO.Node> replicas = Lists.newArrayList();
+        for (Node node : partition.replicas()) {
+            replicas.add(buildKafkaPartitionNode(node));
+        }
+        // 在isr队列中的副本
+        List<KafkaPartitionDTO.Node> inSyncReplicas = Lists.newArrayList();
+        for (Node node : partition.inSyncReplicas()) {
+            inSyncReplicas.add(buildKafkaPartitionNode(node));
+        }
+        return KafkaPartitionDTO.builder()
+                .topic(partition.topic())
+                .partition(partition.partition())
+                .leader(buildKafkaPartitionNode(partition.leader()))
+                .replicas(replicas.toArray(new KafkaPartitionDTO.Node[]{}))
+                .inSyncReplicas(inSyncReplicas.toArray(new KafkaPartitionDTO.Node[]{}))
+                .build();
+    }
+
     /**
      * 构建kafka node
      * @param node kafka副本信息
@@ -470,74 +504,74 @@ public class KafkaUtil {
      */
     public static List<String> consumeData(KafkaSourceDTO sourceDTO, String topic, Integer collectNum,
                                            String offsetReset, Long timestampOffset, Integer maxTimeWait) {
-        // 结果集
-        List<String> result = new ArrayList<>();
-        Properties prop = initProperties(sourceDTO);
-        // 每次拉取最大条数
-        prop.put("max.poll.records", MAX_POOL_RECORDS);
-        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(prop)) {
-            List<TopicPartition> partitions = Lists.newArrayList();
-            // 获取所有的分区
-            List<PartitionInfo> allPartitions = consumer.partitionsFor(topic);
-            for (PartitionInfo partitionInfo : allPartitions) {
-                partitions.add(new TopicPartition(partitionInfo.topic(), partitionInfo.partition()));
-            }
-            consumer.assign(partitions);
-
-            // 从最早位置开始消费
-            if (EConsumeType.EARLIEST.name().toLowerCase().equals(offsetReset)) {
-                consumer.seekToBeginning(partitions);
-            } else if (EConsumeType.TIMESTAMP.name().toLowerCase().equals(offsetReset) && Objects.nonNull(timestampOffset)) {
-                Map<TopicPartition, Long> timestampsToSearch = Maps.newHashMap();
-                for (TopicPartition partition : partitions) {
-                    timestampsToSearch.put(partition, timestampOffset);
+        // 每次拉取最大条数和默认配置中的 max.poll.records 一致，直接使用 consumer 池
+        try {
+            return CONSUMER_POOL.execute(sourceDTO, () -> initProperties(sourceDTO), consumer -> {
+                // 结果集
+                List<String> result = new ArrayList<>();
+                List<TopicPartition> partitions = Lists.newArrayList();
+                // 获取所有的分区
+                List<PartitionInfo> allPartitions = consumer.partitionsFor(topic);
+                for (PartitionInfo partitionInfo : allPartitions) {
+                    partitions.add(new TopicPartition(partitionInfo.topic(), partitionInfo.partition()));
                 }
-                Map<TopicPartition, OffsetAndTimestamp> offsetsForTimes = consumer.offsetsForTimes(timestampsToSearch);
-                // 没有找到offset 则从当前时间开始消费
-                if (MapUtils.isEmpty(offsetsForTimes)) {
-                    consumer.seekToEnd(partitions);
+                consumer.assign(partitions);
+    
+                // 从最早位置开始消费
+                if (EConsumeType.EARLIEST.name().toLowerCase().equals(offsetReset)) {
+                    consumer.seekToBeginning(partitions);
+                } else if (EConsumeType.TIMESTAMP.name().toLowerCase().equals(offsetReset) && Objects.nonNull(timestampOffset)) {
+                    Map<TopicPartition, Long> timestampsToSearch = Maps.newHashMap();
+                    for (TopicPartition partition : partitions) {
+                        timestampsToSearch.put(partition, timestampOffset);
+                    }
+                    Map<TopicPartition, OffsetAndTimestamp> offsetsForTimes = consumer.offsetsForTimes(timestampsToSearch);
+                    // 没有找到offset 则从当前时间开始消费
+                    if (MapUtils.isEmpty(offsetsForTimes)) {
+                        consumer.seekToEnd(partitions);
+                    } else {
+                        for (Map.Entry<TopicPartition, OffsetAndTimestamp> entry : offsetsForTimes.entrySet()) {
+                            consumer.seek(entry.getKey(), entry.getValue().offset());
+                        }
+                    }
                 } else {
-                    for (Map.Entry<TopicPartition, OffsetAndTimestamp> entry : offsetsForTimes.entrySet()) {
-                        consumer.seek(entry.getKey(), entry.getValue().offset());
+                    // 默认从最当前位置开始消费
+                    if (EConsumeType.LATEST.name().toLowerCase().equals(offsetReset)) {
+                        consumer.seekToEnd(partitions);
                     }
                 }
-            } else {
-                // 默认从最当前位置开始消费
-                if (EConsumeType.LATEST.name().toLowerCase().equals(offsetReset)) {
-                    consumer.seekToEnd(partitions);
-                }
-            }
-
-            // 开始时间
-            long start = System.currentTimeMillis();
-            // 消费结束时间
-            long endTime = start + maxTimeWait * 1000;
-            while (true) {
-                long nowTime = System.currentTimeMillis();
-                if (nowTime >= endTime) {
-                    break;
-                }
-                ConsumerRecords<String, String> records = consumer.poll(1000);
-                for (ConsumerRecord<String, String> record : records) {
-                    String value = record.value();
-                    if (StringUtils.isBlank(value)) {
-                        continue;
+    
+                // 开始时间
+                long start = System.currentTimeMillis();
+                // 消费结束时间
+                long endTime = start + maxTimeWait * 1000;
+                while (true) {
+                    long nowTime = System.currentTimeMillis();
+                    if (nowTime >= endTime) {
+                        break;
+                    }
+                    ConsumerRecords<String, String> records = consumer.poll(1000);
+                    for (ConsumerRecord<String, String> record : records) {
+                        String value = record.value();
+                        if (StringUtils.isBlank(value)) {
+                            continue;
+                        }
+                        result.add(value);
+                        if (result.size() >= collectNum) {
+                            break;
+                        }
                     }
-                    result.add(value);
                     if (result.size() >= collectNum) {
                         break;
                     }
                 }
-                if (result.size() >= collectNum) {
-                    break;
-                }
-            }
+                return result;
+            });
         } catch (Exception e) {
             throw new DtLoaderException(String.format("consumption data from Kafka exception: %s", e.getMessage()), e);
         } finally {
             destroyProperty();
         }
-        return result;
     }
 
     /**
@@ -549,39 +583,36 @@ public class KafkaUtil {
      */
     public static List<String> listConsumerGroup(KafkaSourceDTO sourceDTO, String topic) {
         List<String> consumerGroups = new ArrayList<>();
-        Properties prop = initProperties(sourceDTO);
-        // 获取kafka client
-        kafka.admin.AdminClient adminClient = kafka.admin.AdminClient.create(prop);
         try {
-            // scala seq 转 java list
-            List<GroupOverview> groups = JavaConversions.seqAsJavaList(adminClient.listAllConsumerGroupsFlattened().toSeq());
-            groups.forEach(group -> consumerGroups.add(group.groupId()));
-            // 不指定topic 全部返回
-            if (StringUtils.isBlank(topic)) {
-                return consumerGroups;
-            }
-            List<String> consumerGroupsByTopic = Lists.newArrayList();
-            for (String groupId : consumerGroups) {
-                kafka.admin.AdminClient.ConsumerGroupSummary groupSummary = adminClient.describeConsumerGroup(groupId, 5000L);
-                // 消费者组不存在的情况
-                if (Objects.isNull(groupSummary) || "Dead".equals(groupSummary.state())) {
-                    continue;
+            // 获取kafka client
+            return GROUP_ADMIN_POOL.execute(sourceDTO, () -> initProperties(sourceDTO), adminClient -> {
+                // scala seq 转 java list
+                List<GroupOverview> groups = JavaConversions.seqAsJavaList(adminClient.listAllConsumerGroupsFlattened().toSeq());
+                groups.forEach(group -> consumerGroups.add(group.groupId()));
+                // 不指定topic 全部返回
+                if (StringUtils.isBlank(topic)) {
+                    return consumerGroups;
                 }
-                Map<TopicPartition, Object> offsets = JavaConversions.mapAsJavaMap(adminClient.listGroupOffsets(groupId));
-                for (TopicPartition topicPartition : offsets.keySet()) {
-                    if (topic.equals(topicPartition.topic())) {
-                        consumerGroupsByTopic.add(groupId);
-                        break;
+                List<String> consumerGroupsByTopic = Lists.newArrayList();
+                for (String groupId : consumerGroups) {
+                    kafka.admin.AdminClient.ConsumerGroupSummary groupSummary = adminClient.describeConsumerGroup(groupId, 5000L);
+                    // 消费者组不存在的情况
+                    if (Objects.isNull(groupSummary) || "Dead".equals(groupSummary.state())) {
+                        continue;
+                    }
+                    Map<TopicPartition, Object> offsets = JavaConversions.mapAsJavaMap(adminClient.listGroupOffsets(groupId));
+                    for (TopicPartition topicPartition : offsets.keySet()) {
+                        if (topic.equals(topicPartition.topic())) {
+                            consumerGroupsByTopic.add(groupId);
+                            break;
+                        }
                     }
                 }
-            }
-            return consumerGroupsByTopic;
+                return consumerGroupsByTopic;
+            });
         } catch (Exception e){
             log.error("listConsumerGroup error:{}", e.getMessage(), e);
         } finally {
-            if (Objects.nonNull(adminClient)) {
-                adminClient.close();
-            }
             destroyProperty();
         }
         return Lists.newArrayList();
@@ -597,85 +628,178 @@ public class KafkaUtil {
      */
     public static List<KafkaConsumerDTO> getGroupInfoByGroupId(KafkaSourceDTO sourceDTO, String groupId, String srcTopic) {
         List<KafkaConsumerDTO> result = Lists.newArrayList();
-        Properties prop = initProperties(sourceDTO);
-        // 获取kafka client
-        kafka.admin.AdminClient adminClient = kafka.admin.AdminClient.create(prop);
-        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(prop)){
+        try {
+            // groupId 为空的时候获取所有的分区
+            if (StringUtils.isBlank(groupId)) {
+                return CONSUMER_POOL.execute(sourceDTO, () -> initProperties(sourceDTO), consumer -> {
+                    List<PartitionInfo> allPartitions = consumer.partitionsFor(srcTopic);
+                    for (PartitionInfo partitionInfo : allPartitions) {
+                        TopicPartition topicPartition = new TopicPartition(partitionInfo.topic(), partitionInfo.partition());
+                        // 指定当前分区
+                        consumer.assign(Lists.newArrayList(topicPartition));
+                        consumer.seekToEnd(Lists.newArrayList(topicPartition));
+                        long logEndOffset = consumer.position(topicPartition);
+                        String brokerHost = Objects.isNull(partitionInfo.leader()) ? null : partitionInfo.leader().host();
+                        // 组装kafka consumer 信息
+                        KafkaConsumerDTO kafkaConsumerDTO = KafkaConsumerDTO.builder()
+                                .groupId(groupId)
+                                .topic(partitionInfo.topic())
+                                .partition(partitionInfo.partition())
+                                .logEndOffset(logEndOffset)
+                                .brokerHost(brokerHost)
+                                .build();
+                        result.add(kafkaConsumerDTO);
+                    }
+                    return result;
+                });
+            }
 
-            if (StringUtils.isNotBlank(groupId)) {
+            // 先通过 admin client 获取消费者组已提交的 offset，归还后再借出 consumer，避免同时占用两个池中的客户端
+            Map<TopicPartition, Object> offsets = GROUP_ADMIN_POOL.execute(sourceDTO, () -> initProperties(sourceDTO), adminClient -> {
                 kafka.admin.AdminClient.ConsumerGroupSummary groupSummary = adminClient.describeConsumerGroup(groupId, 5000L);
                 // 消费者组不存在的情况
                 if (Objects.isNull(groupSummary) || "Dead".equals(groupSummary.state())) {
-                    return result;
+                    return Collections.<TopicPartition, Object>emptyMap();
                 }
-            }else {
-                // groupId 为空的时候获取所有的分区
-                List<PartitionInfo> allPartitions = consumer.partitionsFor(srcTopic);
-                for (PartitionInfo partitionInfo : allPartitions) {
-                    TopicPartition topicPartition = new TopicPartition(partitionInfo.topic(), partitionInfo.partition());
+                return JavaConversions.mapAsJavaMap(adminClient.listGroupOffsets(groupId));
+            });
+            if (MapUtils.isEmpty(offsets)) {
+                return result;
+            }
+
+            return CONSUMER_POOL.execute(sourceDTO, () -> initProperties(sourceDTO), consumer -> {
+                for (TopicPartition topicPartition : offsets.keySet()) {
+                    String topic = topicPartition.topic();
+                    // 过滤指定topic 下的 partition
+                    if (StringUtils.isNotBlank(srcTopic) && !srcTopic.equals(topic)) {
+                        continue;
+                    }
+                    int partition = topicPartition.partition();
+                    // 当前消费位置
+                    Long currentOffset = (Long) offsets.get(topicPartition);
+                    List<TopicPartition> singleTopicPartition = Lists.newArrayList(topicPartition);
                     // 指定当前分区
-                    consumer.assign(Lists.newArrayList(topicPartition));
-                    consumer.seekToEnd(Lists.newArrayList(topicPartition));
+                    consumer.assign(singleTopicPartition);
+                    consumer.seekToEnd(singleTopicPartition);
                     long logEndOffset = consumer.position(topicPartition);
-                    String brokerHost = Objects.isNull(partitionInfo.leader()) ? null : partitionInfo.leader().host();
+
+                    List<PartitionInfo> partitions = consumer.partitionsFor(topic);
+
                     // 组装kafka consumer 信息
                     KafkaConsumerDTO kafkaConsumerDTO = KafkaConsumerDTO.builder()
                             .groupId(groupId)
-                            .topic(partitionInfo.topic())
-                            .partition(partitionInfo.partition())
+                            .topic(topic)
+                            .partition(partition)
+                            .currentOffset(currentOffset)
                             .logEndOffset(logEndOffset)
-                            .brokerHost(brokerHost)
+                            .lag(logEndOffset - currentOffset)
                             .build();
+
+                    // 查询当前分区 leader 所在机器的host
+                    for (PartitionInfo partitionInfo : partitions) {
+                        if (partition == partitionInfo.partition() && Objects.nonNull(partitionInfo.leader())) {
+                            kafkaConsumerDTO.setBrokerHost(partitionInfo.leader().host());
+                            break;
+                        }
+                    }
                     result.add(kafkaConsumerDTO);
                 }
                 return result;
-            }
-
-            Map<TopicPartition, Object> offsets = JavaConversions.mapAsJavaMap(adminClient.listGroupOffsets(groupId));
-            for (TopicPartition topicPartition : offsets.keySet()) {
-                String topic = topicPartition.topic();
-                // 过滤指定topic 下的 partition
-                if (StringUtils.isNotBlank(srcTopic) && !srcTopic.equals(topic)) {
-                    continue;
-                }
-                int partition = topicPartition.partition();
-                // 当前消费位置
-                Long currentOffset = (Long) offsets.get(topicPartition);
-                List<TopicPartition> singleTopicPartition = Lists.newArrayList(topicPartition);
-                // 指定当前分区
-                consumer.assign(singleTopicPartition);
-                consumer.seekToEnd(singleTopicPartition);
-                long logEndOffset = consumer.position(topicPartition);
-
-                List<PartitionInfo> partitions = consumer.partitionsFor(topic);
-
-                // 组装kafka consumer 信息
-                KafkaConsumerDTO kafkaConsumerDTO = KafkaConsumerDTO.builder()
-                        .groupId(groupId)
-                        .topic(topic)
-                        .partition(partition)
-                        .currentOffset(currentOffset)
-                        .logEndOffset(logEndOffset)
-                        .lag(logEndOffset - currentOffset)
-                        .build();
+            });
+        } catch (Exception e) {
+            log.error("getGroupInfoByGroupId error:{}", e.getMessage(), e);
+        } finally {
+            destroyProperty();
+        }
+        return result;
+    }
 
-                // 查询当前分区 leader 所在机器的host
-                for (PartitionInfo partitionInfo : partitions) {
-                    if (partition == partitionInfo.partition() && Objects.nonNull(partitionInfo.leader())) {
-                        kafkaConsumerDTO.setBrokerHost(partitionInfo.leader().host());
-                        break;
+    /**
+     * 批量获取多个 topic 下分区的偏移量及指定消费者组的消费详细信息
+     *
+     * @param sourceDTO kafka 数据源信息
+     * @param topics    kafka 主题集合
+     * @param groupIds  消费者组集合，为空时只返回分区的最早、最大偏移量
+     * @return 消费者组详细信息
+     */
+    public static List<KafkaConsumerDTO> getGroupInfoByTopics(KafkaSourceDTO sourceDTO, List<String> topics, List<String> groupIds) {
+        if (CollectionUtils.isEmpty(topics)) {
+            return Lists.newArrayList();
+        }
+        try {
+            Map<TopicPartition, KafkaConsumerDTO> partitionOffsets = CONSUMER_POOL.execute(sourceDTO,
+                    () -> initProperties(sourceDTO), consumer -> getPartitionOffsets(consumer, new HashSet<>(topics)));
+            if (CollectionUtils.isEmpty(groupIds)) {
+                return new ArrayList<>(partitionOffsets.values());
+            }
+            return GROUP_ADMIN_POOL.execute(sourceDTO, () -> initProperties(sourceDTO), adminClient -> {
+                List<KafkaConsumerDTO> result = Lists.newArrayList();
+                for (String groupId : groupIds) {
+                    // 一次请求获取消费者组在所有分区上已提交的 offset，消费者组不存在时为空
+                    Map<TopicPartition, Object> offsets = JavaConversions.mapAsJavaMap(adminClient.listGroupOffsets(groupId));
+                    for (Map.Entry<TopicPartition, Object> entry : offsets.entrySet()) {
+                        KafkaConsumerDTO partitionOffset = partitionOffsets.get(entry.getKey());
+                        Long currentOffset = (Long) entry.getValue();
+                        // 过滤非指定 topic 下的分区以及没有提交过 offset 的分区
+                        if (Objects.isNull(partitionOffset) || Objects.isNull(currentOffset) || currentOffset < 0) {
+                            continue;
+                        }
+                        KafkaConsumerDTO kafkaConsumerDTO = KafkaConsumerDTO.builder()
+                                .groupId(groupId)
+                                .topic(partitionOffset.getTopic())
+                                .partition(partitionOffset.getPartition())
+                                .brokerHost(partitionOffset.getBrokerHost())
+                                .currentOffset(currentOffset)
+                                .logStartOffset(partitionOffset.getLogStartOffset())
+                                .logEndOffset(partitionOffset.getLogEndOffset())
+                                .lag(partitionOffset.getLogEndOffset() - currentOffset)
+                                .build();
+                        result.add(kafkaConsumerDTO);
                     }
                 }
-                result.add(kafkaConsumerDTO);
-            }
+                return result;
+            });
         } catch (Exception e) {
-            log.error("getGroupInfoByGroupId error:{}", e.getMessage(), e);
+            throw new DtLoaderException(String.format("Get topics: %s consumer group information is exception：%s", topics, e.getMessage()), e);
         } finally {
-            if (Objects.nonNull(adminClient)) {
-                adminClient.close();
-            }
             destroyProperty();
         }
-        return result;
+    }
+
+    /**
+     * 获取指定 topic 下所有分区的 leader 和最早、最大偏移量，
+     * 使用一次元数据请求获取所有分区，beginningOffsets/endOffsets 会按分区 leader 合并请求
+     *
+     * @param consumer kafka consumer
+     * @param topics   kafka 主题集合
+     * @return 分区 -> 分区偏移量信息
+     */
+    private static Map<TopicPartition, KafkaConsumerDTO> getPartitionOffsets(KafkaConsumer<String, String> consumer, Set<String> topics) {
+        Map<TopicPartition, KafkaConsumerDTO> partitionOffsets = new LinkedHashMap<>();
+        Map<String, List<PartitionInfo>> allTopics = consumer.listTopics();
+        for (String topic : topics) {
+            List<PartitionInfo> partitionInfos = allTopics.get(topic);
+            if (CollectionUtils.isEmpty(partitionInfos)) {
+                continue;
+            }
+            for (PartitionInfo partitionInfo : partitionInfos) {
+                KafkaConsumerDTO kafkaConsumerDTO = KafkaConsumerDTO.builder()
+                        .topic(partitionInfo.topic())
+                        .partition(partitionInfo.partition())
+                        .brokerHost(Objects.isNull(partitionInfo.leader()) ? null : partitionInfo.leader().host())
+                        .build();
+                partitionOffsets.put(new TopicPartition(partitionInfo.topic(), partitionInfo.partition()), kafkaConsumerDTO);
+            }
+        }
+        if (partitionOffsets.isEmpty()) {
+            return partitionOffsets;
+        }
+        Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitionOffsets.keySet());
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitionOffsets.keySet());
+        for (Map.Entry<TopicPartition, KafkaConsumerDTO> entry : partitionOffsets.entrySet()) {
+            entry.getValue().setLogStartOffset(beginningOffsets.get(entry.getKey()));
+            entry.getValue().setLogEndOffset(endOffsets.get(entry.getKey()));
+        }
+        return partitionOffsets;
     }
 }
@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.common.loader.hadoop.downloader;
+
+import com.dtstack.dtcenter.common.loader.hadoop.util.UGIResolver;
+import com.dtstack.dtcenter.loader.IDownloader;
+import com.dtstack.dtcenter.loader.exception.DtLoaderException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.CollectionUtils;
+
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * hive、hdfs 多文件预读下载器：每个文件使用对应存储格式的下载器单独读取，最多 readAheadNum 个文件在后台线程中
+ * 同时打开和解析，读取的行放入有界队列，readNext 每次返回一行数据，格式和单个文件的下载器一致
+ * <p>
+ * 有序模式下每个文件一个队列，按文件顺序返回数据，和不开启预读时的顺序一致；
+ * 无序模式下所有文件共用一个队列，哪个文件先读到数据先返回，吞吐更高
+ *
+ * @author ：wangchuan
+ * date：Created in 上午10:40 2021/9/17
+ * company: www.dtstack.com
+ */
+@Slf4j
+public class ReadAheadDownloader implements IDownloader {
+
+    /**
+     * 缓存行数的队列总容量
+     */
+    private static final int QUEUE_CAPACITY = 2048;
+
+    /**
+     * 有序模式下单个文件队列的最小容量
+     */
+    private static final int MIN_FILE_QUEUE_CAPACITY = 64;
+
+    /**
+     * 放入和获取队列的等待时间，单位：毫秒，超时后检查下载器是否已关闭或者读取异常
+     */
+    private static final long QUEUE_WAIT_MILLS = 200L;
+
+    /**
+     * 关闭时等待读取线程退出的时间，单位：秒
+     */
+    private static final long SHUTDOWN_WAIT_SECONDS = 5L;
+
+    /**
+     * 读取结束标识
+     */
+    private static final List<String> END_MARKER = new ArrayList<>(0);
+
+    private static final AtomicInteger THREAD_NUM = new AtomicInteger();
+
+    /**
+     * 需要读取的文件
+     */
+    private final List<String> filePaths;
+
+    private final List<String> metaInfo;
+
+    /**
+     * 根据文件路径创建未初始化的单文件下载器
+     */
+    private final Function<String, IDownloader> downloaderFactory;
+
+    /**
+     * 同时读取的文件数
+     */
+    private final int readAheadNum;
+
+    /**
+     * 是否按文件顺序返回数据
+     */
+    private final boolean ordered;
+
+    /**
+     * 下载器级别缓存的 UGI
+     */
+    private final UGIResolver ugiResolver;
+
+    /**
+     * 有序模式下每个文件一个队列，无序模式下只有一个队列
+     */
+    private final List<BlockingQueue<List<String>>> rowQueues = new ArrayList<>();
+
+    /**
+     * 当前读取的队列索引
+     */
+    private int queueIndex = 0;
+
+    /**
+     * 无序模式下未读取完的文件数
+     */
+    private final AtomicInteger runningFileNum = new AtomicInteger();
+
+    /**
+     * 读取线程抛出的第一个异常
+     */
+    private final AtomicReference<Throwable> readError = new AtomicReference<>();
+
+    private ExecutorService readExecutor;
+
+    private List<String> nextRow;
+
+    private volatile boolean closed = false;
+
+    private boolean reachedEnd = false;
+
+    public ReadAheadDownloader(List<String> filePaths, List<String> metaInfo, Function<String, IDownloader> downloaderFactory,
+                               int readAheadNum, boolean ordered, Map<String, Object> kerberosConfig) {
+        this.filePaths = filePaths;
+        this.metaInfo = metaInfo;
+        this.downloaderFactory = downloaderFactory;
+        this.readAheadNum = Math.max(readAheadNum, 1);
+        this.ordered = ordered;
+        this.ugiResolver = new UGIResolver(kerberosConfig);
+    }
+
+    @Override
+    public boolean configure() {
+        if (CollectionUtils.isEmpty(filePaths)) {
+            reachedEnd = true;
+            return true;
+        }
+        int parallelism = Math.min(readAheadNum, filePaths.size());
+        ClassLoader classLoader = ReadAheadDownloader.class.getClassLoader();
+        readExecutor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "hdfs-read-ahead-downloader-" + THREAD_NUM.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        });
+        if (ordered) {
+            // 按文件顺序提交，线程池先执行靠前的文件，消费方等待的文件一定已经开始读取
+            int capacity = Math.max(QUEUE_CAPACITY / parallelism, MIN_FILE_QUEUE_CAPACITY);
+            for (String filePath : filePaths) {
+                BlockingQueue<List<String>> rowQueue = new LinkedBlockingQueue<>(capacity);
+                rowQueues.add(rowQueue);
+                readExecutor.submit(() -> readFile(filePath, rowQueue));
+            }
+        } else {
+            BlockingQueue<List<String>> rowQueue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+            rowQueues.add(rowQueue);
+            runningFileNum.set(filePaths.size());
+            for (String filePath : filePaths) {
+                readExecutor.submit(() -> readFile(filePath, rowQueue));
+            }
+        }
+        // 所有文件读取任务已提交，线程空闲后自动退出
+        readExecutor.shutdown();
+        return true;
+    }
+
+    /**
+     * 读取单个文件，读取的行放入队列，下载器关闭时提前结束
+     * 从 configure 到读取结束都在同一次 doAs 中执行，单文件下载器按行调用时不再重复 doAs
+     *
+     * @param filePath 文件路径
+     * @param rowQueue 行队列
+     */
+    private void readFile(String filePath, BlockingQueue<List<String>> rowQueue) {
+        IDownloader downloader = null;
+        try {
+            if (closed) {
+                return;
+            }
+            downloader = downloaderFactory.apply(filePath);
+            IDownloader fileDownloader = downloader;
+            ugiResolver.doAs((PrivilegedAction<Boolean>) () -> readFileWithKerberos(filePath, fileDownloader, rowQueue));
+        } catch (Throwable e) {
+            if (!closed) {
+                readError.compareAndSet(null, e);
+            }
+        } finally {
+            closeQuietly(downloader);
+            // 有序模式每个文件结束时放入结束标识，无序模式最后一个结束的文件或读取异常时放入
+            if (ordered || runningFileNum.decrementAndGet() == 0 || Objects.nonNull(readError.get())) {
+                offer(rowQueue, END_MARKER);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean readFileWithKerberos(String filePath, IDownloader downloader, BlockingQueue<List<String>> rowQueue) {
+        try {
+            downloader.configure();
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("configure downloader of file %s error,%s", filePath, e.getMessage()), e);
+        }
+        while (!closed && !downloader.reachedEnd()) {
+            List<String> row = (List<String>) downloader.readNext();
+            if (Objects.nonNull(row) && !offer(rowQueue, row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 放入队列，队列满时等待，下载器关闭后放弃
+     *
+     * @param rowQueue 行队列
+     * @param row      行数据
+     * @return 是否放入成功
+     */
+    private boolean offer(BlockingQueue<List<String>> rowQueue, List<String> row) {
+        try {
+            while (!closed) {
+                if (rowQueue.offer(row, QUEUE_WAIT_MILLS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void closeQuietly(IDownloader downloader) {
+        if (Objects.isNull(downloader)) {
+            return;
+        }
+        try {
+            downloader.close();
+        } catch (Exception e) {
+            log.error("close read ahead file downloader error", e);
+        }
+    }
+
+    /**
+     * 获取下一行，没有数据时阻塞等待读取线程
+     */
+    private void fetchNext() {
+        try {
+            while (Objects.isNull(nextRow) && !reachedEnd) {
+                Throwable error = readError.get();
+                if (Objects.nonNull(error)) {
+                    throw new DtLoaderException(String.format("read ahead download error,%s", error.getMessage()), error);
+                }
+                if (queueIndex >= rowQueues.size()) {
+                    reachedEnd = true;
+                    break;
+                }
+                List<String> row = rowQueues.get(queueIndex).poll(QUEUE_WAIT_MILLS, TimeUnit.MILLISECONDS);
+                if (Objects.isNull(row)) {
+                    continue;
+                }
+                if (row == END_MARKER) {
+                    // 当前文件读取完毕，释放队列后读取下一个文件
+                    rowQueues.set(queueIndex, null);
+                    queueIndex++;
+                    continue;
+                }
+                nextRow = row;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DtLoaderException("read ahead download interrupted", e);
+        }
+    }
+
+    @Override
+    public List<String> getMetaInfo() {
+        return metaInfo;
+    }
+
+    @Override
+    public List<String> readNext() {
+        fetchNext();
+        if (reachedEnd) {
+            return null;
+        }
+        List<String> row = nextRow;
+        nextRow = null;
+        return row;
+    }
+
+    @Override
+    public boolean reachedEnd() {
+        fetchNext();
+        return reachedEnd;
+    }
+
+    @Override
+    public boolean close() throws Exception {
+        if (closed) {
+            return true;
+        }
+        closed = true;
+        if (Objects.nonNull(readExecutor)) {
+            readExecutor.shutdownNow();
+            if (!readExecutor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("read ahead downloader threads did not terminate in {}s", SHUTDOWN_WAIT_SECONDS);
+            }
+        }
+        rowQueues.clear();
+        return true;
+    }
+
+    @Override
+    public String getFileName() {
+        return null;
+    }
+
+    @Override
+    public List<String> getContainers() {
+        return Collections.emptyList();
+    }
+}
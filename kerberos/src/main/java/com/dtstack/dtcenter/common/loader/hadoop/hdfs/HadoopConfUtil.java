@@ -26,7 +26,10 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * @company: www.dtstack.com
@@ -45,6 +48,23 @@ public class HadoopConfUtil {
      */
     private static Configuration defaultConfiguration = new Configuration(false);
 
+    /**
+     * 配置缓存最大数量，超过后淘汰最久未使用的配置
+     */
+    private static final int MAX_CONF_CACHE_SIZE = 1000;
+
+    /**
+     * 解析后的 Hdfs 配置缓存，key 为 defaultFS、config、排序后的 kerberosConfig 组合，
+     * 避免每次调用都重新解析 json 配置，返回时复制一份，调用方修改不会影响缓存
+     */
+    private static final Map<String, Configuration> HDFS_CONF_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, Configuration>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Configuration> eldest) {
+                    return size() > MAX_CONF_CACHE_SIZE;
+                }
+            });
+
     /**
      * 获取默认集群信息
      *
@@ -87,10 +107,19 @@ public class HadoopConfUtil {
      * @return
      */
     public static Configuration getHdfsConf(String defaultFS, String config, Map<String, Object> kerberosConfig) {
-        Configuration conf = new Configuration(false);
-        // 设置默认属性
-        setHadoopDefaultConfig(conf, defaultFS, kerberosConfig);
-        return combineHdfsConfig(conf, config, kerberosConfig);
+        // kerberosConfig 在 kerberos 登录时会被修改，先复制一份排序后的快照，key 和配置都基于该快照生成
+        Map<String, Object> kerberosSnapshot = MapUtils.isEmpty(kerberosConfig) ? null : new TreeMap<>(kerberosConfig);
+        String cacheKey = defaultFS + "_" + config + "_" + kerberosSnapshot;
+        Configuration cacheConf = HDFS_CONF_CACHE.get(cacheKey);
+        if (cacheConf == null) {
+            Configuration conf = new Configuration(false);
+            // 设置默认属性
+            setHadoopDefaultConfig(conf, defaultFS, kerberosSnapshot);
+            cacheConf = combineHdfsConfig(conf, config, kerberosSnapshot);
+            HDFS_CONF_CACHE.put(cacheKey, cacheConf);
+        }
+        // 默认配置保持原有逻辑直接返回
+        return cacheConf == defaultConfiguration ? defaultConfiguration : new Configuration(cacheConf);
     }
 
     /**
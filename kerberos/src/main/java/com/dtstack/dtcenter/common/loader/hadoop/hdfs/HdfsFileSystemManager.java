@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.common.loader.hadoop.hdfs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.MapUtils;
+import org.apache.hadoop.fs.FileSystem;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hdfs FileSystem 管理：同一个 Hdfs 数据源(defaultFS + 配置信息 + kerberos 认证信息)共享一个线程安全的 FileSystem，
+ * 通过引用计数记录正在使用的调用方，调用方使用完后需调用 {@link #releaseFileSystem(FileSystem)} 归还，不能直接关闭。
+ * 引用计数为 0 且空闲超过 {@link #IDLE_TIMEOUT} 的 FileSystem 由后台线程关闭
+ * <p>
+ * 开启 kerberos 时 FileSystem 使用创建时的 UGI 进行认证，创建超过 {@link #KERBEROS_MAX_LIFETIME} 后淘汰，
+ * 下次获取时重新认证创建，已经在使用的调用方不受影响
+ *
+ * @author ：wangchuan
+ * date：Created in 下午2:10 2021/9/16
+ * company: www.dtstack.com
+ */
+@Slf4j
+public class HdfsFileSystemManager {
+
+    /**
+     * 数据源 key -> 共享 FileSystem
+     */
+    private static final Map<String, SharedFileSystem> FS_POOL = new ConcurrentHashMap<>();
+
+    /**
+     * FileSystem -> 共享 FileSystem，用于归还时查找引用计数
+     */
+    private static final Map<FileSystem, SharedFileSystem> FS_REFS = new ConcurrentHashMap<>();
+
+    /**
+     * 创建 FileSystem 时按 key 加锁，不同数据源的创建互不阻塞，创建结束后移除
+     */
+    private static final Map<String, Object> KEY_LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * FileSystem 缓存 key，kerberos 配置按 key 排序后整体参与，和 {@link HadoopConfUtil#getHdfsConf} 的缓存 key 一致
+     */
+    private static final String FS_KEY = "defaultFS:%s,config:%s,kerberosConfig:%s";
+
+    /**
+     * FileSystem 空闲时间，单位：毫秒
+     */
+    private static final long IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * 开启 kerberos 时 FileSystem 最长使用时间，单位：毫秒
+     */
+    private static final long KERBEROS_MAX_LIFETIME = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * 空闲 FileSystem 检查周期，单位：秒
+     */
+    private static final long EVICT_PERIOD = 30;
+
+    private static final ScheduledExecutorService EVICT_SERVICE = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Loader-hdfs-fileSystem-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        EVICT_SERVICE.scheduleWithFixedDelay(HdfsFileSystemManager::evictIdleFileSystem, EVICT_PERIOD, EVICT_PERIOD, TimeUnit.SECONDS);
+    }
+
+    private HdfsFileSystemManager() {
+    }
+
+    /**
+     * 获取共享的 FileSystem，引用计数加一，使用完后需要调用 {@link #releaseFileSystem(FileSystem)}
+     *
+     * @param kerberosConfig kerberos 配置
+     * @param config         hdfs 高可用配置
+     * @param defaultFS      defaultFS
+     * @return FileSystem
+     */
+    public static FileSystem getFileSystem(Map<String, Object> kerberosConfig, String config, String defaultFS) {
+        String key = getPrimaryKey(kerberosConfig, config, defaultFS);
+        while (true) {
+            SharedFileSystem shared = FS_POOL.get(key);
+            if (shared == null) {
+                shared = createFileSystem(key, kerberosConfig, config, defaultFS);
+            }
+            if (shared.retain()) {
+                return shared.fileSystem;
+            }
+            // FileSystem 已经被淘汰，移除后重新创建
+            retire(shared);
+        }
+    }
+
+    /**
+     * 创建 FileSystem 并放入池中，同一个 key 同时只有一个线程创建，创建结束后移除 key 对应的锁，
+     * 锁被移除后并发创建的 FileSystem 以先放入池中的为准，其余的直接关闭
+     *
+     * @param key            数据源 key
+     * @param kerberosConfig kerberos 配置
+     * @param config         hdfs 高可用配置
+     * @param defaultFS      defaultFS
+     * @return 共享 FileSystem
+     */
+    private static SharedFileSystem createFileSystem(String key, Map<String, Object> kerberosConfig, String config, String defaultFS) {
+        Object lock = KEY_LOCKS.computeIfAbsent(key, k -> new Object());
+        try {
+            synchronized (lock) {
+                SharedFileSystem shared = FS_POOL.get(key);
+                if (shared != null) {
+                    return shared;
+                }
+                FileSystem fs = HdfsOperator.getFileSystem(kerberosConfig, config, defaultFS);
+                long maxLifetime = MapUtils.isEmpty(kerberosConfig) ? Long.MAX_VALUE : KERBEROS_MAX_LIFETIME;
+                shared = new SharedFileSystem(key, fs, maxLifetime);
+                FS_REFS.put(fs, shared);
+                SharedFileSystem existing = FS_POOL.putIfAbsent(key, shared);
+                if (existing != null) {
+                    FS_REFS.remove(fs);
+                    closeQuietly(shared);
+                    return existing;
+                }
+                return shared;
+            }
+        } finally {
+            KEY_LOCKS.remove(key, lock);
+        }
+    }
+
+    /**
+     * 归还 FileSystem，引用计数减一；非共享的 FileSystem 不做处理，由调用方自行关闭
+     *
+     * @param fileSystem FileSystem
+     */
+    public static void releaseFileSystem(FileSystem fileSystem) {
+        if (fileSystem == null) {
+            return;
+        }
+        SharedFileSystem shared = FS_REFS.get(fileSystem);
+        if (shared == null) {
+            return;
+        }
+        if (shared.release()) {
+            // 已经被淘汰并且没有调用方在使用
+            FS_REFS.remove(fileSystem);
+            closeQuietly(shared);
+        }
+    }
+
+    /**
+     * 关闭空闲超时或者超过最长使用时间的 FileSystem
+     */
+    private static void evictIdleFileSystem() {
+        try {
+            long now = System.currentTimeMillis();
+            for (SharedFileSystem shared : FS_POOL.values()) {
+                if (shared.isIdle(now) || shared.isExpired(now)) {
+                    retire(shared);
+                }
+            }
+        } catch (Exception e) {
+            log.error("evict idle hdfs fileSystem error", e);
+        }
+    }
+
+    /**
+     * 将 FileSystem 从池中移除，没有调用方在使用时直接关闭，否则等最后一个调用方归还时关闭
+     *
+     * @param shared 共享 FileSystem
+     */
+    private static void retire(SharedFileSystem shared) {
+        FS_POOL.remove(shared.key, shared);
+        if (shared.retire()) {
+            FS_REFS.remove(shared.fileSystem);
+            closeQuietly(shared);
+        }
+    }
+
+    private static void closeQuietly(SharedFileSystem shared) {
+        try {
+            shared.fileSystem.close();
+            log.info("close hdfs fileSystem, key : {}", shared.key);
+        } catch (IOException e) {
+            log.error("hdfs close fileSystem exception", e);
+        }
+    }
+
+    private static String getPrimaryKey(Map<String, Object> kerberosConfig, String config, String defaultFS) {
+        Map<String, Object> kerberosSnapshot = MapUtils.isEmpty(kerberosConfig) ? null : new TreeMap<>(kerberosConfig);
+        return String.format(FS_KEY, defaultFS, config, kerberosSnapshot);
+    }
+
+    /**
+     * 共享 FileSystem 及其引用计数
+     */
+    private static class SharedFileSystem {
+
+        private final String key;
+
+        private final FileSystem fileSystem;
+
+        /**
+         * 最长使用时间，单位：毫秒
+         */
+        private final long maxLifetime;
+
+        private final long createTime = System.currentTimeMillis();
+
+        /**
+         * 正在使用该 FileSystem 的调用方数量
+         */
+        private int refCount;
+
+        /**
+         * 最后一次归还的时间
+         */
+        private long lastReleaseTime = System.currentTimeMillis();
+
+        /**
+         * 是否已从池中淘汰
+         */
+        private boolean retired;
+
+        private SharedFileSystem(String key, FileSystem fileSystem, long maxLifetime) {
+            this.key = key;
+            this.fileSystem = fileSystem;
+            this.maxLifetime = maxLifetime;
+        }
+
+        /**
+         * 引用计数加一
+         *
+         * @return FileSystem 是否可用
+         */
+        private synchronized boolean retain() {
+            if (retired || isExpired(System.currentTimeMillis())) {
+                return false;
+            }
+            refCount++;
+            return true;
+        }
+
+        /**
+         * 引用计数减一
+         *
+         * @return 是否需要关闭 FileSystem
+         */
+        private synchronized boolean release() {
+            refCount--;
+            lastReleaseTime = System.currentTimeMillis();
+            return retired && refCount <= 0;
+        }
+
+        /**
+         * 标记为淘汰
+         *
+         * @return 是否可以立即关闭 FileSystem
+         */
+        private synchronized boolean retire() {
+            if (retired) {
+                return false;
+            }
+            retired = true;
+            return refCount <= 0;
+        }
+
+        private synchronized boolean isIdle(long now) {
+            return refCount <= 0 && now - lastReleaseTime > IDLE_TIMEOUT;
+        }
+
+        private boolean isExpired(long now) {
+            return now - createTime > maxLifetime;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 import com.dtstack.dtcenter.loader.source.DataSourceType;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.conf.Configuration;
@@ -41,14 +42,23 @@ import org.apache.hadoop.fs.permission.FsPermission;
 import org.apache.hadoop.io.IOUtils;
 
 import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -71,6 +81,28 @@ public class HdfsOperator {
      */
     private static Pattern pattern = Pattern.compile("(hdfs://[^/]+)(.*)");
 
+    private static final String IMPALA_INSERT_STAGING = "_impala_insert_staging";
+
+    /**
+     * 并行获取分区文件的线程数
+     */
+    private static final int LIST_PARALLELISM = 8;
+
+    /**
+     * 并行获取分区文件的线程池，空闲时线程自动回收
+     */
+    private static final ThreadPoolExecutor LIST_EXECUTOR = new ThreadPoolExecutor(LIST_PARALLELISM, LIST_PARALLELISM,
+            60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+        Thread thread = new Thread(r, "Loader-hdfs-list");
+        thread.setDaemon(true);
+        thread.setContextClassLoader(HdfsOperator.class.getClassLoader());
+        return thread;
+    });
+
+    static {
+        LIST_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
     /**
      * 确认连通性
      *
@@ -80,19 +112,21 @@ public class HdfsOperator {
      * @return
      */
     public static boolean checkConnection(String defaultFS, String config, Map<String, Object> kerberosConfig) {
+        FileSystem fs = null;
         try {
-            FileSystem fs = getFileSystem(kerberosConfig, config, defaultFS);
+            fs = HdfsFileSystemManager.getFileSystem(kerberosConfig, config, defaultFS);
             fs.getStatus(new Path("/"));
             return Boolean.TRUE;
         } catch (Exception e) {
             throw new DtLoaderException(ERROR_ADAPTER.connAdapter(e.getMessage(), ERROR_PATTERN), e);
+        } finally {
+            HdfsFileSystemManager.releaseFileSystem(fs);
         }
     }
 
     /**
-     * 获取 Hdfs FileSystem 信息
-     * 它自己本身有一个 Hook 线程去关闭 FileSystem
-     * 平台这种不频繁且之前也没有关闭没出现问题（tfs 里面之前压根没往里面写），所以暂时不关闭
+     * 获取 Hdfs FileSystem 信息，每次调用都会创建新的 FileSystem，需要调用方自行关闭
+     * 频繁调用的场景使用 {@link HdfsFileSystemManager#getFileSystem(Map, String, String)} 获取共享的 FileSystem
      *
      * @param kerberosConfig
      * @param config
@@ -516,6 +550,120 @@ public class HdfsOperator {
         }
     }
 
+    /**
+     * 根据表的分区信息获取需要读取的路径，分区路径直接由分区名拼接，不再遍历整个表路径
+     *
+     * @param tableLocation   表路径
+     * @param partitions      表的所有分区，格式如 pt=1/dt=2，为 null 表示非分区表
+     * @param filterPartition 需要下载的分区，为空表示下载全部分区
+     * @return 需要读取的路径
+     */
+    public static List<String> getPartitionLocations(String tableLocation, List<String> partitions, Map<String, String> filterPartition) {
+        // 非分区表直接读取表路径
+        if (Objects.isNull(partitions)) {
+            return Collections.singletonList(tableLocation);
+        }
+        List<String> locations = new ArrayList<>();
+        for (String partition : partitions) {
+            if (isRequiredPartition(partition, filterPartition)) {
+                locations.add(new Path(tableLocation, partition).toString());
+            }
+        }
+        return locations;
+    }
+
+    /**
+     * 判断分区是否满足过滤条件，支持多级分区
+     *
+     * @param partition       分区，格式如 pt=1/dt=2
+     * @param filterPartition 需要下载的分区
+     * @return 是否需要该分区
+     */
+    private static boolean isRequiredPartition(String partition, Map<String, String> filterPartition) {
+        if (MapUtils.isEmpty(filterPartition)) {
+            return true;
+        }
+        Map<String, String> partColDataMap = new HashMap<>();
+        for (String part : partition.split("/")) {
+            int index = part.indexOf("=");
+            if (index > 0) {
+                partColDataMap.put(part.substring(0, index), part.substring(index + 1));
+            }
+        }
+        for (Map.Entry<String, String> entry : filterPartition.entrySet()) {
+            if (!Objects.equals(partColDataMap.get(entry.getKey()), entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 递归获取多个路径下的所有文件，排除隐藏文件和无关文件，路径不存在时跳过。
+     * 多个路径时并行获取，返回结果按照传入路径的顺序排列
+     *
+     * @param fs        HDFS 文件系统
+     * @param locations 路径集合
+     * @return 所有文件路径
+     * @throws IOException 获取文件异常
+     */
+    public static List<String> listAllFiles(FileSystem fs, List<String> locations) throws IOException {
+        List<String> pathList = new ArrayList<>();
+        if (CollectionUtils.isEmpty(locations)) {
+            return pathList;
+        }
+        if (locations.size() == 1) {
+            listAllFiles(fs, new Path(locations.get(0)), pathList);
+            return pathList;
+        }
+        List<Future<List<String>>> futures = new ArrayList<>(locations.size());
+        for (String location : locations) {
+            futures.add(LIST_EXECUTOR.submit((Callable<List<String>>) () -> {
+                List<String> files = new ArrayList<>();
+                listAllFiles(fs, new Path(location), files);
+                return files;
+            }));
+        }
+        try {
+            for (Future<List<String>> future : futures) {
+                pathList.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new DtLoaderException("list hdfs files interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new DtLoaderException(String.format("list hdfs files exception : %s", cause.getMessage()), cause);
+        }
+        return pathList;
+    }
+
+    private static void listAllFiles(FileSystem fs, Path inputPath, List<String> pathList) throws IOException {
+        FileStatus[] fsStatus;
+        try {
+            //剔除隐藏系统文件和无关文件
+            fsStatus = fs.listStatus(inputPath, path -> !path.getName().startsWith(".") && !path.getName().startsWith("_SUCCESS") && !path.getName().startsWith(IMPALA_INSERT_STAGING) && !path.getName().startsWith("_common_metadata"));
+        } catch (FileNotFoundException e) {
+            // 路径不存在直接返回
+            return;
+        }
+        if (fsStatus == null || fsStatus.length == 0) {
+            return;
+        }
+        for (FileStatus status : fsStatus) {
+            if (status.isFile()) {
+                pathList.add(status.getPath().toString());
+            } else {
+                listAllFiles(fs, status.getPath(), pathList);
+            }
+        }
+    }
+
     /**
      * 从路径中获取分区信息
      *
@@ -51,7 +51,7 @@ public class KerberosLoginUtil {
     private static final String SECURITY_TO_LOCAL = "hadoop.security.auth_to_local";
     private static final String SECURITY_TO_LOCAL_DEFAULT = "RULE:[1:$1] RULE:[2:$1]";
 
-    private static ConcurrentHashMap<String, UGICacheData> UGI_INFO = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, UGICacheData> UGI_INFO = new ConcurrentHashMap<>();
 
     private static final ScheduledExecutorService SCHEDULED_THREAD_POOL_EXECUTOR = new ScheduledThreadPoolExecutor(1, new DtClassThreadFactory("ugiCacheFactory"));
 
@@ -100,49 +100,50 @@ public class KerberosLoginUtil {
         return loginWithUGI(confMap, HadoopConfTool.PRINCIPAL, HadoopConfTool.PRINCIPAL_FILE, HadoopConfTool.KEY_JAVA_SECURITY_KRB5_CONF);
     }
 
+    /**
+     * 获取 UGI，缓存命中时不加锁；Kerberos 登录会修改 krb5 配置、UGI 全局配置等 JVM 级别的状态，
+     * 所以实际登录仍然使用全局锁串行执行
+     *
+     * @param confMap   kerberos 配置
+     * @param principal principal 配置项
+     * @param keytab    keytab 配置项
+     * @param krb5Conf  krb5.conf 配置项
+     * @return UGI
+     */
     public static UserGroupInformation loginWithUGI(Map<String, Object> confMap, String principal, String keytab, String krb5Conf) {
-        synchronized (DataSourceType.class) {
-            // 非 Kerberos 认证，需要重新刷 UGI 信息
-            if (MapUtils.isEmpty(confMap)) {
-                try {
-                    UserGroupInformation currentUser = UserGroupInformation.getCurrentUser();
-                    if (UserGroupInformation.isSecurityEnabled() || !UserGroupInformation.AuthenticationMethod.SIMPLE.equals(currentUser.getAuthenticationMethod())) {
-                        Config.refresh();
-                        UserGroupInformation.setConfiguration(HadoopConfUtil.getDefaultConfiguration());
-                    }
-                    return currentUser;
-                } catch (Exception e) {
-                    throw new DtLoaderException(String.format("simple login failed,%s", e.getMessage()), e);
-                }
-            }
+        // 非 Kerberos 认证，需要重新刷 UGI 信息
+        if (MapUtils.isEmpty(confMap)) {
+            return simpleLogin();
+        }
 
-            //Kerberos 认证属性
-            principal = MapUtils.getString(confMap, principal);
-            keytab = MapUtils.getString(confMap, keytab);
-            krb5Conf = MapUtils.getString(confMap, krb5Conf);
-            // 兼容历史逻辑
-            if (StringUtils.isNotEmpty(keytab) && !keytab.contains("/")) {
-                keytab = MapUtils.getString(confMap, "keytabPath");
-            }
-            // 如果前端没传 Principal 则直接从 Keytab 中获取第一个 Principal
-            if (StringUtils.isEmpty(principal) && StringUtils.isNotEmpty(keytab)) {
-                principal = KerberosConfigUtil.getPrincipals(keytab).get(0);
-            }
-            // 校验 Principal 和 Keytab 文件
-            if (StringUtils.isEmpty(principal) || StringUtils.isEmpty(keytab)) {
-                throw new DtLoaderException("Kerberos Login fail, principal or keytab is null");
-            }
+        //Kerberos 认证属性
+        principal = MapUtils.getString(confMap, principal);
+        keytab = MapUtils.getString(confMap, keytab);
+        krb5Conf = MapUtils.getString(confMap, krb5Conf);
+        // 兼容历史逻辑
+        if (StringUtils.isNotEmpty(keytab) && !keytab.contains("/")) {
+            keytab = MapUtils.getString(confMap, "keytabPath");
+        }
+        // 如果前端没传 Principal 则直接从 Keytab 中获取第一个 Principal
+        if (StringUtils.isEmpty(principal) && StringUtils.isNotEmpty(keytab)) {
+            principal = KerberosConfigUtil.getPrincipals(keytab).get(0);
+        }
+        // 校验 Principal 和 Keytab 文件
+        if (StringUtils.isEmpty(principal) || StringUtils.isEmpty(keytab)) {
+            throw new DtLoaderException("Kerberos Login fail, principal or keytab is null");
+        }
 
-            // 因为 Hive 需要下载，所有优先设置 ResourceManager Principal
-            if (confMap.get(HadoopConfTool.RM_PRINCIPAL) == null) {
-                confMap.put(HadoopConfTool.RM_PRINCIPAL, principal);
-            }
+        String cacheKey = principal + "_" + keytab;
+        // 判断缓存UGI，如果存在且配置已经处理过则直接使用，不加锁
+        UGICacheData cacheData = UGI_INFO.get(cacheKey);
+        if (cacheData != null && isConfPrepared(confMap)) {
+            return cacheData.getUgi();
+        }
 
-            // 处理 auth_to_local 规则，兼容所有 principal 短名处理
-            confMap.put(SECURITY_TO_LOCAL, SECURITY_TO_LOCAL_DEFAULT);
+        synchronized (DataSourceType.class) {
+            prepareConf(confMap, principal);
 
-            // 判断缓存UGI，如果存在则直接使用
-            UGICacheData cacheData = UGI_INFO.get(principal + "_" + keytab);
+            cacheData = UGI_INFO.get(cacheKey);
             if (cacheData != null) {
                 return cacheData.getUgi();
             }
@@ -160,7 +161,7 @@ public class KerberosLoginUtil {
                 config.set("hadoop.security.authentication", "Kerberos");
                 UserGroupInformation.setConfiguration(config);
                 UserGroupInformation ugi = UserGroupInformation.loginUserFromKeytabAndReturnUGI(principal, keytab);
-                UGI_INFO.put(principal + "_" + keytab, new UGICacheData(ugi));
+                UGI_INFO.put(cacheKey, new UGICacheData(ugi));
                 log.info("login kerberos success, currentUser={}", UserGroupInformation.getCurrentUser());
                 return ugi;
             } catch (Exception var6) {
@@ -168,4 +169,50 @@ public class KerberosLoginUtil {
             }
         }
     }
+
+    /**
+     * 非 Kerberos 认证，只有之前开启过 Kerberos 认证时才需要加锁重置 UGI 配置
+     *
+     * @return 当前用户
+     */
+    private static UserGroupInformation simpleLogin() {
+        try {
+            UserGroupInformation currentUser = UserGroupInformation.getCurrentUser();
+            if (UserGroupInformation.isSecurityEnabled() || !UserGroupInformation.AuthenticationMethod.SIMPLE.equals(currentUser.getAuthenticationMethod())) {
+                synchronized (DataSourceType.class) {
+                    Config.refresh();
+                    UserGroupInformation.setConfiguration(HadoopConfUtil.getDefaultConfiguration());
+                }
+            }
+            return currentUser;
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("simple login failed,%s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * kerberos 配置是否已经设置过 ResourceManager Principal 及 auth_to_local 规则
+     *
+     * @param confMap kerberos 配置
+     * @return 是否已经设置
+     */
+    private static boolean isConfPrepared(Map<String, Object> confMap) {
+        return confMap.get(HadoopConfTool.RM_PRINCIPAL) != null && SECURITY_TO_LOCAL_DEFAULT.equals(confMap.get(SECURITY_TO_LOCAL));
+    }
+
+    /**
+     * 设置 ResourceManager Principal 及 auth_to_local 规则，需要在锁内执行
+     *
+     * @param confMap   kerberos 配置
+     * @param principal principal
+     */
+    private static void prepareConf(Map<String, Object> confMap, String principal) {
+        // 因为 Hive 需要下载，所有优先设置 ResourceManager Principal
+        if (confMap.get(HadoopConfTool.RM_PRINCIPAL) == null) {
+            confMap.put(HadoopConfTool.RM_PRINCIPAL, principal);
+        }
+
+        // 处理 auth_to_local 规则，兼容所有 principal 短名处理
+        confMap.put(SECURITY_TO_LOCAL, SECURITY_TO_LOCAL_DEFAULT);
+    }
 }
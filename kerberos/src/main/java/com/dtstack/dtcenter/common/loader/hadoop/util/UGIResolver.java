@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.common.loader.hadoop.util;
+
+import org.apache.hadoop.security.UserGroupInformation;
+
+import java.security.PrivilegedAction;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>下载器级别的 UGI 缓存，下载器按行读取时不再每次调用 {@link KerberosLoginUtil#loginWithUGI(Map)}，
+ * 超过刷新间隔后重新获取，避免长时间下载时票据过期</p>
+ *
+ * @author ：wangchuan
+ * date：Created in 上午11:15 2021/9/15
+ * company: www.dtstack.com
+ */
+public class UGIResolver {
+
+    /**
+     * UGI 刷新间隔
+     */
+    private static final long REFRESH_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * kerberos 配置
+     */
+    private final Map<String, Object> kerberosConfig;
+
+    /**
+     * 当前线程正在 {@link #doAs(PrivilegedAction)} 中使用的 UGI，嵌套调用使用同一个 UGI 时直接执行，不再重复切换认证上下文，
+     * 不同 kerberos 配置的 resolver 嵌套调用时仍然切换到各自的 UGI
+     */
+    private static final ThreadLocal<UserGroupInformation> ACTIVE_UGI = new ThreadLocal<>();
+
+    private volatile UserGroupInformation ugi;
+
+    private volatile long resolveTime;
+
+    public UGIResolver(Map<String, Object> kerberosConfig) {
+        this.kerberosConfig = kerberosConfig;
+    }
+
+    /**
+     * 获取 UGI，首次调用或超过刷新间隔时重新登录获取
+     *
+     * @return UGI
+     */
+    public UserGroupInformation getUGI() {
+        long now = System.currentTimeMillis();
+        UserGroupInformation current = ugi;
+        if (current == null || now - resolveTime > REFRESH_INTERVAL) {
+            current = KerberosLoginUtil.loginWithUGI(kerberosConfig);
+            ugi = current;
+            resolveTime = now;
+        }
+        return current;
+    }
+
+    /**
+     * 使用缓存的 UGI 执行，当前线程已经在同一个 UGI 的 doAs 中时直接执行，如预读下载器在一次 doAs 中读取整个文件
+     *
+     * @param action 执行方法
+     * @param <T>    返回类型
+     * @return 执行结果
+     */
+    public <T> T doAs(PrivilegedAction<T> action) {
+        UserGroupInformation active = ACTIVE_UGI.get();
+        if (active != null && active == ugi) {
+            return action.run();
+        }
+        UserGroupInformation current = getUGI();
+        return current.doAs((PrivilegedAction<T>) () -> {
+            ACTIVE_UGI.set(current);
+            try {
+                return action.run();
+            } finally {
+                if (active == null) {
+                    ACTIVE_UGI.remove();
+                } else {
+                    ACTIVE_UGI.set(active);
+                }
+            }
+        });
+    }
+}
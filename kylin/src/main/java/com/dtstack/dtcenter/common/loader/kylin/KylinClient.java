@@ -60,7 +60,7 @@ public class KylinClient extends AbsRdbmsClient {
     @Override
     public IDownloader getDownloader(ISourceDTO source, SqlQueryDTO queryDTO) throws Exception {
         KylinSourceDTO kylinSourceDTO = (KylinSourceDTO) source;
-        KylinDownloader kylinDownloader = new KylinDownloader(getCon(kylinSourceDTO), queryDTO.getSql(), kylinSourceDTO.getSchema());
+        KylinDownloader kylinDownloader = new KylinDownloader(getCon(kylinSourceDTO), queryDTO.getSql(), kylinSourceDTO.getSchema(), queryDTO);
         kylinDownloader.configure();
         return kylinDownloader;
     }
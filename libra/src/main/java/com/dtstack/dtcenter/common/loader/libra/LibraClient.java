@@ -168,7 +168,7 @@ public class LibraClient extends AbsRdbmsClient {
         LibraSourceDTO libraSourceDTO = (LibraSourceDTO) source;
         String schema = StringUtils.isNotBlank(queryDTO.getSchema()) ? queryDTO.getSchema() : libraSourceDTO.getSchema();
         LibraDownloader libraDownloader = new LibraDownloader(getCon(libraSourceDTO),
-                queryDTO.getSql(), schema);
+                queryDTO.getSql(), schema, queryDTO);
         libraDownloader.configure();
         return libraDownloader;
     }
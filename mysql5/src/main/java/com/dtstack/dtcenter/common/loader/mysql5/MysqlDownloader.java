@@ -18,20 +18,14 @@
 
 package com.dtstack.dtcenter.common.loader.mysql5;
 
-import com.dtstack.dtcenter.common.loader.common.utils.SqlFormatUtil;
-import com.dtstack.dtcenter.loader.IDownloader;
-import com.dtstack.dtcenter.loader.dto.Column;
-import com.dtstack.dtcenter.loader.exception.DtLoaderException;
-import org.apache.commons.collections.CollectionUtils;
+import com.dtstack.dtcenter.common.loader.rdbms.AbsRdbmsDownloader;
+import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 import org.apache.commons.lang3.StringUtils;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * @company: www.dts
@@ -40,136 +34,43 @@ import java.util.stream.Collectors;
  * @Date ：Created in 下午4:44 2020/5/29
  * @Description：mysql表下载
  */
+public class MysqlDownloader extends AbsRdbmsDownloader {
 
-public class MysqlDownloader implements IDownloader {
-
-    private int pageNum;
-
-    private int pageAll;
-
-    private List<Column> columnNames;
-
-    private int totalLine;
-
-    private Connection connection;
-
-    private String sql;
-
-    private String schema;
-
-    private Statement statement;
-
-    private int pageSize;
-
-    private int columnCount;
+    /**
+     * jdbc url 中开启服务端游标的参数
+     */
+    private static final String USE_CURSOR_FETCH = "useCursorFetch=true";
 
     public MysqlDownloader(Connection connection, String sql, String schema) {
-        this.connection = connection;
-        this.sql = SqlFormatUtil.formatSql(sql);
-        this.schema = schema;
-    }
-
-    @Override
-    public boolean configure() throws Exception {
-        if (null == connection || StringUtils.isEmpty(sql)) {
-            throw new DtLoaderException("file is not exist");
-        }
-        totalLine = 0;
-        pageSize = 100;
-        pageNum = 1;
-        statement = connection.createStatement();
-
-        if (StringUtils.isNotEmpty(schema)) {
-            //选择schema
-            String useSchema = String.format("USE %s", schema);
-            statement.execute(useSchema);
-        }
-        String countSQL = String.format("SELECT COUNT(*) FROM (%s) temp", sql);
-        String showColumns = String.format("SELECT * FROM (%s) t limit 1", sql);
-
-        ResultSet totalResultSet = null;
-        ResultSet columnsResultSet = null;
-        try {
-            totalResultSet = statement.executeQuery(countSQL);
-            while (totalResultSet.next()) {
-                //获取总行数
-                totalLine = totalResultSet.getInt(1);
-            }
-            columnsResultSet = statement.executeQuery(showColumns);
-            //获取列信息
-            columnNames = new ArrayList<>();
-            columnCount = columnsResultSet.getMetaData().getColumnCount();
-            for (int i = 1; i <= columnCount; i++) {
-                Column column = new Column();
-                column.setName(columnsResultSet.getMetaData().getColumnName(i));
-                column.setType(columnsResultSet.getMetaData().getColumnTypeName(i));
-                column.setIndex(i);
-                columnNames.add(column);
-            }
-            //获取总页数
-            pageAll = (int) Math.ceil(totalLine / (double) pageSize);
-        } catch (Exception e) {
-            throw new DtLoaderException("build Mysql downloader message exception : " + e.getMessage(), e);
-        } finally {
-            if (totalResultSet != null) {
-                totalResultSet.close();
-            }
-            if (columnsResultSet != null) {
-                columnsResultSet.close();
-            }
-        }
-        return true;
-    }
-
-    @Override
-    public List<String> getMetaInfo() {
-        if (CollectionUtils.isNotEmpty(columnNames)) {
-            return columnNames.stream().map(Column::getName).collect(Collectors.toList());
-        }
-        return Collections.emptyList();
-    }
-
-    @Override
-    public List<List<String>> readNext() {
-        //分页查询，一次一百条
-        String limitSQL = String.format("SELECT * FROM (%s) t limit %s,%s", sql, pageSize * (pageNum - 1), pageSize);
-        List<List<String>> pageTemp = new ArrayList<>(100);
-
-        try (ResultSet resultSet = statement.executeQuery(limitSQL)) {
-            while (resultSet.next()) {
-                List<String> columns = new ArrayList<>(columnCount);
-                for (int i = 1; i <= columnCount; i++) {
-                    columns.add(resultSet.getString(i));
-                }
-                pageTemp.add(columns);
-            }
-        } catch (Exception e) {
-            throw new DtLoaderException("read Mysql message exception : " + e.getMessage(), e);
-        }
-
-        pageNum++;
-        return pageTemp;
+        this(connection, sql, schema, null);
     }
 
-    @Override
-    public boolean reachedEnd() {
-        return pageAll < pageNum;
+    public MysqlDownloader(Connection connection, String sql, String schema, SqlQueryDTO queryDTO) {
+        super(connection, sql, schema, queryDTO);
     }
 
     @Override
-    public boolean close() throws Exception {
-        statement.close();
-        connection.close();
-        return true;
+    protected void switchSchema(Statement statement, String schema) throws SQLException {
+        //选择schema
+        statement.execute(String.format("USE %s", schema));
     }
 
     @Override
-    public String getFileName() {
-        return null;
+    protected int getStreamFetchSize(Connection connection) throws SQLException {
+        // url 中开启 useCursorFetch 时使用服务端游标按批次拉取，否则使用 Integer.MIN_VALUE 逐行流式读取
+        String url = connection.getMetaData().getURL();
+        return StringUtils.containsIgnoreCase(url, USE_CURSOR_FETCH) ? pageSize : Integer.MIN_VALUE;
     }
 
     @Override
-    public List<String> getContainers() {
-        return Collections.emptyList();
+    protected Long getEstimateTotalLine(Statement statement, String sql) throws SQLException {
+        // 使用执行计划中扫描行数的最大值作为估算值
+        long rows = 0;
+        try (ResultSet explain = statement.executeQuery("EXPLAIN " + sql)) {
+            while (explain.next()) {
+                rows = Math.max(rows, explain.getLong("rows"));
+            }
+        }
+        return rows;
     }
 }
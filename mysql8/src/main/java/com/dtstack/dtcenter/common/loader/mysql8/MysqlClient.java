@@ -108,7 +108,9 @@ public class MysqlClient extends AbsRdbmsClient {
     @Override
     public IDownloader getDownloader(ISourceDTO source, SqlQueryDTO queryDTO) throws Exception {
         Mysql8SourceDTO mysql8SourceDTO = (Mysql8SourceDTO) source;
-        MysqlDownloader mysqlDownloader = new MysqlDownloader(getCon(source), queryDTO.getSql(), mysql8SourceDTO.getSchema());
+        MysqlDownloader mysqlDownloader = new MysqlDownloader(getCon(source), queryDTO.getSql(), mysql8SourceDTO.getSchema(), queryDTO);
+        // 流式下载时结果集未读取完之前下载连接无法执行 count，使用新的连接
+        mysqlDownloader.setCountConnectionSupplier(() -> getCon(source));
         mysqlDownloader.configure();
         return mysqlDownloader;
     }
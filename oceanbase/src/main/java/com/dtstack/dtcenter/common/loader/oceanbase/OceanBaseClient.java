@@ -119,7 +119,9 @@ public class OceanBaseClient<T> extends AbsRdbmsClient<T> {
 
     @Override
     public IDownloader getDownloader(ISourceDTO source, SqlQueryDTO queryDTO) throws Exception {
-        OceanBaseDownloader oceanBaseDownloader = new OceanBaseDownloader(getCon(source), queryDTO.getSql());
+        OceanBaseDownloader oceanBaseDownloader = new OceanBaseDownloader(getCon(source), queryDTO.getSql(), queryDTO);
+        // 流式下载时结果集未读取完之前下载连接无法执行 count，使用新的连接
+        oceanBaseDownloader.setCountConnectionSupplier(() -> getCon(source));
         oceanBaseDownloader.configure();
         return oceanBaseDownloader;
     }
@@ -309,7 +309,7 @@ public class OracleClient extends AbsRdbmsClient {
     @Override
     public IDownloader getDownloader(ISourceDTO source, SqlQueryDTO queryDTO) throws Exception {
         OracleSourceDTO oracleSourceDTO = (OracleSourceDTO) source;
-        OracleDownloader oracleDownloader = new OracleDownloader(getCon(oracleSourceDTO), queryDTO.getSql(), oracleSourceDTO.getSchema());
+        OracleDownloader oracleDownloader = new OracleDownloader(getCon(oracleSourceDTO), queryDTO.getSql(), oracleSourceDTO.getSchema(), queryDTO);
         oracleDownloader.configure();
         return oracleDownloader;
     }
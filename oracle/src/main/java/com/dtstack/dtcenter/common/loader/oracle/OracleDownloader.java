@@ -18,20 +18,12 @@
 
 package com.dtstack.dtcenter.common.loader.oracle;
 
-import com.dtstack.dtcenter.common.loader.common.utils.SqlFormatUtil;
-import com.dtstack.dtcenter.loader.IDownloader;
-import com.dtstack.dtcenter.loader.dto.Column;
-import com.dtstack.dtcenter.loader.exception.DtLoaderException;
-import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
+import com.dtstack.dtcenter.common.loader.rdbms.AbsRdbmsDownloader;
+import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 
 import java.sql.Connection;
-import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * @company: www.dtstack.com
@@ -39,135 +31,36 @@ import java.util.stream.Collectors;
  * @Date ：Created in 上午10:15 2020/5/29
  * @Description：oracle表下载
  */
-public class OracleDownloader implements IDownloader {
-
-    private int pageNum;
-
-    private int pageAll;
-
-    private List<Column> columnNames;
-
-    private int totalLine;
-
-    private Connection connection;
-
-    private String sql;
-
-    private String schema;
-
-    private Statement statement;
-
-    private int pageSize;
-
-    private int columnCount;
+public class OracleDownloader extends AbsRdbmsDownloader {
 
     public OracleDownloader(Connection connection, String sql, String schema) {
-        this.connection = connection;
-        this.sql = SqlFormatUtil.formatSql(sql);
-        this.schema = schema;
-    }
-
-    @Override
-    public boolean configure() throws Exception {
-        if (null == connection || StringUtils.isEmpty(sql)) {
-            throw new DtLoaderException("file is not exist");
-        }
-        totalLine = 0;
-        pageSize = 100;
-        pageNum = 1;
-        statement = connection.createStatement();
-        if (StringUtils.isNotEmpty(schema)) {
-            //选择schema
-            String useSchema = String.format("alter session set current_schema=%s", schema);
-            statement.execute(useSchema);
-        }
-        String countSQL = String.format("SELECT COUNT(*) FROM (%s) temp", sql);
-        String showColumns = String.format("SELECT * FROM (%s) t where rownum<=1", sql);
-
-        ResultSet totalResultSet = null;
-        ResultSet columnsResultSet = null;
-        try {
-            totalResultSet = statement.executeQuery(countSQL);
-            while (totalResultSet.next()) {
-                //获取总行数
-                totalLine = totalResultSet.getInt(1);
-            }
-            columnsResultSet = statement.executeQuery(showColumns);
-            //获取列信息
-            columnNames = new ArrayList<>();
-            columnCount = columnsResultSet.getMetaData().getColumnCount();
-            for (int i = 1; i <= columnCount; i++) {
-                Column column = new Column();
-                column.setName(columnsResultSet.getMetaData().getColumnName(i));
-                column.setType(columnsResultSet.getMetaData().getColumnTypeName(i));
-                column.setIndex(i);
-                columnNames.add(column);
-            }
-            //获取总页数
-            pageAll = (int) Math.ceil(totalLine / (double) pageSize);
-        } catch (Exception e) {
-            throw new DtLoaderException("build Oracle downloader message exception : " + e.getMessage(), e);
-        } finally {
-            if (totalResultSet != null) {
-                totalResultSet.close();
-            }
-            if (columnsResultSet != null) {
-                columnsResultSet.close();
-            }
-        }
-        return true;
+        this(connection, sql, schema, null);
     }
 
-    @Override
-    public List<String> getMetaInfo() {
-        if (CollectionUtils.isNotEmpty(columnNames)) {
-            return columnNames.stream().map(Column::getName).collect(Collectors.toList());
-        }
-        return Collections.emptyList();
+    public OracleDownloader(Connection connection, String sql, String schema, SqlQueryDTO queryDTO) {
+        super(connection, sql, schema, queryDTO);
     }
 
     @Override
-    public List<List<String>> readNext() {
-        //分页查询，一次一百条
-        String limitSQL = String.format("SELECT * FROM (SELECT a.*, ROWNUM rn FROM (SELECT * FROM (%s)) a WHERE " +
-                "ROWNUM <= %s) WHERE rn > %s", sql, pageSize * pageNum, pageSize * (pageNum - 1));
-        List<List<String>> pageTemp = new ArrayList<>(100);
-
-        try (ResultSet resultSet = statement.executeQuery(limitSQL)) {
-            while (resultSet.next()) {
-                List<String> columns = new ArrayList<>(columnCount);
-                for (int i = 1; i <= columnCount; i++) {
-                    columns.add(resultSet.getString(i));
-                }
-                pageTemp.add(columns);
-            }
-        } catch (Exception e) {
-            throw new DtLoaderException("read Oracle message exception : " + e.getMessage(), e);
-        }
-
-        pageNum++;
-        return pageTemp;
+    protected void switchSchema(Statement statement, String schema) throws SQLException {
+        //选择schema
+        statement.execute(String.format("alter session set current_schema=%s", schema));
     }
 
     @Override
-    public boolean reachedEnd() {
-        return pageAll < pageNum;
+    protected String getFirstPageSql(String sql, int pageSize) {
+        return String.format("SELECT * FROM (%s) t where rownum<=%s", sql, pageSize);
     }
 
     @Override
-    public boolean close() throws Exception {
-        statement.close();
-        connection.close();
-        return true;
-    }
-
-    @Override
-    public String getFileName() {
-        return null;
+    protected String getPageSql(String sql, int pageNum, int pageSize) {
+        return String.format("SELECT * FROM (SELECT a.*, ROWNUM rn FROM (SELECT * FROM (%s)) a WHERE " +
+                "ROWNUM <= %s) WHERE rn > %s", sql, pageSize * pageNum, pageSize * (pageNum - 1));
     }
 
     @Override
-    public List<String> getContainers() {
-        return Collections.emptyList();
+    protected String getKeysetSql(String sql, String keysetColumn, boolean firstPage, int pageSize) {
+        return String.format("SELECT * FROM (SELECT * FROM (%s) t%s ORDER BY t.%s) WHERE ROWNUM <= %s",
+                sql, getKeysetCondition(keysetColumn, firstPage), keysetColumn, pageSize);
     }
 }
@@ -248,7 +248,7 @@ public class PostgresqlClient extends AbsRdbmsClient {
     public IDownloader getDownloader(ISourceDTO source, SqlQueryDTO queryDTO) throws Exception {
         PostgresqlSourceDTO postgresqlSourceDTO = (PostgresqlSourceDTO) source;
         String schema = StringUtils.isNotBlank(queryDTO.getSchema()) ? queryDTO.getSchema() : postgresqlSourceDTO.getSchema();
-        PostgresqlDownloader postgresqlDownloader = new PostgresqlDownloader(getCon(postgresqlSourceDTO), queryDTO.getSql(), schema);
+        PostgresqlDownloader postgresqlDownloader = new PostgresqlDownloader(getCon(postgresqlSourceDTO), queryDTO.getSql(), schema, queryDTO);
         postgresqlDownloader.configure();
         return postgresqlDownloader;
     }
@@ -18,20 +18,10 @@
 
 package com.dtstack.dtcenter.common.loader.postgresql;
 
-import com.dtstack.dtcenter.common.loader.common.utils.SqlFormatUtil;
-import com.dtstack.dtcenter.loader.IDownloader;
-import com.dtstack.dtcenter.loader.exception.DtLoaderException;
-import com.google.common.collect.Lists;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
+import com.dtstack.dtcenter.common.loader.rdbms.AbsPostgresFamilyDownloader;
+import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 
 import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
 
 /**
  * Postgresql download
@@ -40,129 +30,13 @@ import java.util.Objects;
  * date：Created in 下午2:42 2021/6/10
  * company: www.dtstack.com
  */
-@Slf4j
-public class PostgresqlDownloader implements IDownloader {
-
-    private final List<String> columnNames = Lists.newArrayList();
-
-    private final Connection connection;
-
-    private final String sql;
-
-    private final String schema;
-
-    private Statement statement;
-
-    private int pageNum = 1;
-
-    private final int pageSize = 100;
-
-    private int pageAll;
-
-    private int columnCount;
-
-    // 切换 schema 命令
-    private static final String SWITCH_SCHEMA = "set search_path to %s";
+public class PostgresqlDownloader extends AbsPostgresFamilyDownloader {
 
     public PostgresqlDownloader(Connection connection, String sql, String schema) {
-        this.connection = connection;
-        this.sql = SqlFormatUtil.formatSql(sql);
-        this.schema = schema;
-    }
-
-    @Override
-    public boolean configure() throws Exception {
-        if (Objects.isNull(connection) || StringUtils.isEmpty(sql)) {
-            throw new DtLoaderException("connection is close or sql is null");
-        }
-        int totalLine = 0;
-        statement = connection.createStatement();
-        if (StringUtils.isNotBlank(schema)) {
-            try {
-                // 切换 schema
-                statement.execute(String.format(SWITCH_SCHEMA, schema));
-            } catch (Exception e) {
-                log.error("switch schema to {} error", schema);
-            }
-        }
-
-        String countSQL = String.format("SELECT COUNT(1) FROM (%s) temp", sql);
-        String showColumns = String.format("SELECT * FROM (%s) t limit 1", sql);
-        ResultSet totalResultSet = null;
-        ResultSet columnsResultSet = null;
-        try {
-            totalResultSet = statement.executeQuery(countSQL);
-            while (totalResultSet.next()) {
-                //获取总行数
-                totalLine = totalResultSet.getInt(1);
-            }
-            columnsResultSet = statement.executeQuery(showColumns);
-            //获取列信息
-            columnCount = columnsResultSet.getMetaData().getColumnCount();
-            for (int i = 1; i <= columnCount; i++) {
-                columnNames.add(columnsResultSet.getMetaData().getColumnLabel(i));
-            }
-            // 获取总页数
-            pageAll = (int) Math.ceil(totalLine / (double) pageSize);
-        } catch (Exception e) {
-            throw new DtLoaderException("build Postgresql downloader message exception : " + e.getMessage(), e);
-        } finally {
-            if (totalResultSet != null) {
-                totalResultSet.close();
-            }
-            if (columnsResultSet != null) {
-                columnsResultSet.close();
-            }
-        }
-        return true;
-    }
-
-    @Override
-    public List<String> getMetaInfo() {
-        return columnNames;
-    }
-
-    @Override
-    public List<List<String>> readNext() {
-        //分页查询，一次一百条
-        String limitSQL = String.format("SELECT * FROM (%s) t limit %s offset %s", sql, pageSize, pageSize * (pageNum - 1));
-        List<List<String>> pageTemp = new ArrayList<>(100);
-
-        try (ResultSet resultSet = statement.executeQuery(limitSQL)) {
-            while (resultSet.next()) {
-                List<String> columns = new ArrayList<>(columnCount);
-                for (int i = 1; i <= columnCount; i++) {
-                    columns.add(resultSet.getString(i));
-                }
-                pageTemp.add(columns);
-            }
-        } catch (Exception e) {
-            throw new DtLoaderException("read Postgresql message exception : " + e.getMessage(), e);
-        }
-
-        pageNum++;
-        return pageTemp;
-    }
-
-    @Override
-    public boolean reachedEnd() {
-        return pageAll < pageNum;
-    }
-
-    @Override
-    public boolean close() throws Exception {
-        statement.close();
-        connection.close();
-        return true;
-    }
-
-    @Override
-    public String getFileName() {
-        return null;
+        this(connection, sql, schema, null);
     }
 
-    @Override
-    public List<String> getContainers() {
-        return Collections.emptyList();
+    public PostgresqlDownloader(Connection connection, String sql, String schema, SqlQueryDTO queryDTO) {
+        super(connection, sql, schema, queryDTO);
     }
 }
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.dtcenter.common.loader.rdbms;
+
+import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * postgresql 协议族数据源下载器，postgresql、greenplum、libra 共用 schema 切换、游标流式下载、列名及估算总条数的实现
+ *
+ * @author ：wangchuan
+ * date：Created in 下午2:42 2021/9/18
+ * company: www.dtstack.com
+ */
+@Slf4j
+public abstract class AbsPostgresFamilyDownloader extends AbsRdbmsDownloader {
+
+    // 切换 schema 命令
+    private static final String SWITCH_SCHEMA = "set search_path to %s";
+
+    // 执行计划中的估算行数
+    private static final Pattern EXPLAIN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    protected AbsPostgresFamilyDownloader(Connection connection, String sql, String schema, SqlQueryDTO queryDTO) {
+        super(connection, sql, schema, queryDTO);
+    }
+
+    @Override
+    protected void switchSchema(Statement statement, String schema) {
+        try {
+            // 切换 schema
+            statement.execute(String.format(SWITCH_SCHEMA, schema));
+        } catch (Exception e) {
+            log.error("switch schema to {} error", schema);
+        }
+    }
+
+    @Override
+    protected void prepareStreamConnection(Connection connection) throws SQLException {
+        // 关闭自动提交后 fetchSize 才会生效，否则会一次性拉取全部数据
+        connection.setAutoCommit(false);
+    }
+
+    @Override
+    protected String getColumnName(ResultSetMetaData metaData, int index) throws SQLException {
+        return metaData.getColumnLabel(index);
+    }
+
+    @Override
+    protected Long getEstimateTotalLine(Statement statement, String sql) throws SQLException {
+        // 执行计划第一行为最外层节点，其 rows 即为结果集的估算行数
+        try (ResultSet explain = statement.executeQuery("EXPLAIN " + sql)) {
+            if (explain.next()) {
+                Matcher matcher = EXPLAIN_ROWS.matcher(explain.getString(1));
+                if (matcher.find()) {
+                    return Long.parseLong(matcher.group(1));
+                }
+            }
+        }
+        return null;
+    }
+}
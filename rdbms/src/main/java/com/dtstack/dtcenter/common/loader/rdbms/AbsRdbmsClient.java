@@ -27,12 +27,14 @@ import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.cache.connection.CacheConnectionHelper;
 import com.dtstack.dtcenter.loader.client.IClient;
 import com.dtstack.dtcenter.loader.dto.ColumnMetaDTO;
+import com.dtstack.dtcenter.loader.dto.ConnectionPoolMetricsDTO;
 import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 import com.dtstack.dtcenter.loader.dto.Table;
 import com.dtstack.dtcenter.loader.dto.source.ISourceDTO;
 import com.dtstack.dtcenter.loader.dto.source.RdbmsSourceDTO;
 import com.dtstack.dtcenter.loader.enums.ConnectionClearStatus;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
+import com.dtstack.dtcenter.loader.functions.RowConsumer;
 import com.dtstack.dtcenter.loader.source.DataSourceType;
 import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
@@ -152,6 +154,17 @@ public abstract class AbsRdbmsClient<T> implements IClient<T> {
         return executeQuery(rdbmsSourceDTO, queryDTO, clearStatus);
     }
 
+    @Override
+    public Integer executeQuery(ISourceDTO iSource, SqlQueryDTO queryDTO, RowConsumer consumer) {
+        Integer clearStatus = beforeQuery(iSource, queryDTO, true);
+        RdbmsSourceDTO rdbmsSourceDTO = (RdbmsSourceDTO) iSource;
+        try {
+            return DBUtil.executeQuery(rdbmsSourceDTO.getConnection(), queryDTO, this::dealResult, consumer);
+        } finally {
+            DBUtil.closeDBResources(null, null, DBUtil.clearAfterGetConnection(rdbmsSourceDTO, clearStatus));
+        }
+    }
+
     @Override
     public Boolean executeSqlWithoutResultSet(ISourceDTO iSource, SqlQueryDTO queryDTO) {
         Integer clearStatus = beforeQuery(iSource, queryDTO, true);
@@ -739,4 +752,14 @@ public abstract class AbsRdbmsClient<T> implements IClient<T> {
     public List<String> listFileNames(ISourceDTO sourceDTO, String path, Boolean includeDir, Boolean recursive, Integer maxNum, String regexStr) {
         throw new DtLoaderException(ErrorCode.NOT_SUPPORT.getDesc());
     }
+
+    @Override
+    public List<ConnectionPoolMetricsDTO> getPoolMetrics() {
+        return connFactory.getPoolMetrics();
+    }
+
+    @Override
+    public Boolean invalidatePool(ISourceDTO source) {
+        return connFactory.invalidatePool(source);
+    }
 }
@@ -0,0 +1,678 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.dtcenter.common.loader.rdbms;
+
+import com.dtstack.dtcenter.common.loader.common.utils.DBUtil;
+import com.dtstack.dtcenter.common.loader.common.utils.ReflectUtil;
+import com.dtstack.dtcenter.common.loader.common.utils.SqlFormatUtil;
+import com.dtstack.dtcenter.loader.IBatchDownloader;
+import com.dtstack.dtcenter.loader.ICountableDownloader;
+import com.dtstack.dtcenter.loader.dto.Column;
+import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
+import com.dtstack.dtcenter.loader.dto.batch.ColumnBatch;
+import com.dtstack.dtcenter.loader.dto.batch.ColumnVector;
+import com.dtstack.dtcenter.loader.enums.ColumnVectorType;
+import com.dtstack.dtcenter.loader.exception.DtLoaderException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 关系型数据库下载器基类，支持三种下载方式：
+ * <ul>
+ *     <li>分页下载：默认方式，按页执行分页 sql，列信息从第一页结果集中获取，不足一页时结束</li>
+ *     <li>流式下载：{@link SqlQueryDTO#getStreamDownload()} 为 true 时，只执行一次查询，通过游标分批读取</li>
+ *     <li>keyset 下载：设置了 keysetColumn 时，按该字段排序后使用 where key > lastKey 分页，每页代价恒定</li>
+ * </ul>
+ * 各数据源只需要实现对应方言的 sql 及游标设置，三种方式均支持 {@link #readNextBatch()} 列式批量读取，
+ * 总条数不再在 configure 时查询，需要时调用 {@link #getTotalLine(boolean)}
+ *
+ * @author ：wangchuan
+ * date：Created in 下午3:12 2021/8/16
+ * company: www.dtstack.com
+ */
+@Slf4j
+public abstract class AbsRdbmsDownloader implements IBatchDownloader, ICountableDownloader {
+
+    /**
+     * 默认每页条数
+     */
+    protected static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * 数据库连接
+     */
+    protected final Connection connection;
+
+    /**
+     * 执行的 sql
+     */
+    protected final String sql;
+
+    /**
+     * schema
+     */
+    protected final String schema;
+
+    /**
+     * 每次 readNext 返回的数据条数
+     */
+    protected final int pageSize;
+
+    /**
+     * 是否使用游标流式下载，设置了 keyset 字段时为 false
+     */
+    private final boolean streamDownload;
+
+    /**
+     * keyset 分页字段，需要唯一且非空
+     */
+    private final String keysetColumn;
+
+    /**
+     * 是否使用 keyset 分页下载
+     */
+    private final boolean keysetDownload;
+
+    /**
+     * 列字段
+     */
+    protected List<Column> columnNames;
+
+    /**
+     * 表字段条数
+     */
+    protected int columnCount;
+
+    /**
+     * 每一列在列式批次中的存储类型
+     */
+    private ColumnVectorType[] vectorTypes;
+
+    /**
+     * 列式批量读取时复用的批次对象
+     */
+    private ColumnBatch batch;
+
+    /**
+     * 连接操作对象
+     */
+    private Statement statement;
+
+    /**
+     * 流式下载时的结果集，整个下载过程只执行一次查询；分页和 keyset 下载时为当前页的结果集
+     */
+    private ResultSet resultSet;
+
+    /**
+     * 游标是否还有数据
+     */
+    private boolean hasNext;
+
+    /**
+     * keyset 分页的预编译对象
+     */
+    private PreparedStatement keysetStatement;
+
+    /**
+     * keyset 字段在结果集中的下标
+     */
+    private int keysetIndex;
+
+    /**
+     * 上一页最后一行的 keyset 字段值
+     */
+    private Object lastKey;
+
+    /**
+     * 分页和 keyset 下载时当前页已经读取的条数
+     */
+    private int pageRows;
+
+    /**
+     * 当前读取页码
+     */
+    private int pageNum = 1;
+
+    /**
+     * 总条数，第一次调用 getTotalLine 时查询
+     */
+    private Long totalLine;
+
+    /**
+     * 是否已经调用 configure 方法
+     */
+    private boolean isConfigure = false;
+
+    /**
+     * 流式下载时获取总条数使用的连接，为空时使用下载连接
+     */
+    private Supplier<Connection> countConnectionSupplier;
+
+    protected AbsRdbmsDownloader(Connection connection, String sql, String schema, SqlQueryDTO queryDTO) {
+        this.connection = connection;
+        this.sql = SqlFormatUtil.formatSql(sql);
+        this.schema = schema;
+        if (Objects.isNull(queryDTO)) {
+            this.streamDownload = false;
+            this.keysetColumn = null;
+            this.keysetDownload = false;
+            this.pageSize = DEFAULT_PAGE_SIZE;
+            return;
+        }
+        // 兼容低版本 core 包中没有对应字段的情况
+        this.keysetColumn = ReflectUtil.getFieldValueNotThrow(String.class, queryDTO, "keysetColumn", null);
+        this.keysetDownload = StringUtils.isNotBlank(keysetColumn);
+        this.streamDownload = !keysetDownload && BooleanUtils.isTrue(ReflectUtil.getFieldValueNotThrow(Boolean.class, queryDTO, "streamDownload", false, false));
+        Integer fetchSize = ReflectUtil.getFieldValueNotThrow(Integer.class, queryDTO, "fetchSize", null);
+        this.pageSize = Objects.nonNull(fetchSize) && fetchSize > 0 ? fetchSize : DEFAULT_PAGE_SIZE;
+    }
+
+    @Override
+    public boolean configure() throws Exception {
+        if (BooleanUtils.isTrue(isConfigure)) {
+            // 避免 configure 方法重复调用
+            return true;
+        }
+        if (Objects.isNull(connection) || StringUtils.isEmpty(sql)) {
+            throw new DtLoaderException("connection is close or sql is null");
+        }
+        try {
+            if (streamDownload) {
+                prepareStreamConnection(connection);
+            }
+            statement = connection.createStatement();
+            if (StringUtils.isNotBlank(schema)) {
+                switchSchema(statement, schema);
+            }
+            if (keysetDownload) {
+                configureKeyset();
+            } else if (streamDownload) {
+                configureStream();
+            } else {
+                configurePage();
+            }
+        } catch (DtLoaderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("build %s message exception : %s", getClass().getSimpleName(), e.getMessage()), e);
+        }
+        isConfigure = true;
+        log.info("{}: executed SQL:{}, columnCount:{}, pageSize:{}, streamDownload:{}, keysetColumn:{}",
+                getClass().getSimpleName(), sql, columnCount, pageSize, streamDownload, keysetColumn);
+        return true;
+    }
+
+    /**
+     * 分页下载，执行第一页查询并从结果集中获取列信息，不再单独执行 count 和获取列信息的查询
+     *
+     * @throws SQLException 异常
+     */
+    private void configurePage() throws SQLException {
+        resultSet = statement.executeQuery(getFirstPageSql(sql, pageSize));
+        initColumns(resultSet.getMetaData());
+        hasNext = nextCursorRow();
+    }
+
+    /**
+     * 流式下载，列信息直接从结果集中获取，不再执行 count 和获取列信息的查询
+     *
+     * @throws SQLException 异常
+     */
+    private void configureStream() throws SQLException {
+        statement.setFetchSize(getStreamFetchSize(connection));
+        resultSet = statement.executeQuery(sql);
+        initColumns(resultSet.getMetaData());
+        hasNext = resultSet.next();
+    }
+
+    /**
+     * keyset 下载，执行第一页查询并从结果集中获取列信息
+     *
+     * @throws SQLException 异常
+     */
+    private void configureKeyset() throws SQLException {
+        resultSet = statement.executeQuery(getKeysetSql(sql, keysetColumn, true, pageSize));
+        initColumns(resultSet.getMetaData());
+        keysetIndex = -1;
+        for (Column column : columnNames) {
+            if (keysetColumn.equalsIgnoreCase(column.getName())) {
+                keysetIndex = column.getIndex();
+                break;
+            }
+        }
+        if (keysetIndex < 0) {
+            throw new DtLoaderException(String.format("keyset column [%s] is not in the query result", keysetColumn));
+        }
+        keysetStatement = connection.prepareStatement(getKeysetSql(sql, keysetColumn, false, pageSize));
+        hasNext = nextCursorRow();
+    }
+
+    /**
+     * 初始化列信息
+     *
+     * @param metaData 结果集元数据
+     * @throws SQLException 异常
+     */
+    private void initColumns(ResultSetMetaData metaData) throws SQLException {
+        columnNames = new ArrayList<>();
+        columnCount = metaData.getColumnCount();
+        vectorTypes = new ColumnVectorType[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            Column column = new Column();
+            column.setName(getColumnName(metaData, i));
+            column.setType(metaData.getColumnTypeName(i));
+            column.setIndex(i);
+            columnNames.add(column);
+            vectorTypes[i - 1] = getVectorType(metaData, i);
+        }
+    }
+
+    @Override
+    public List<String> getMetaInfo() {
+        if (CollectionUtils.isNotEmpty(columnNames)) {
+            return columnNames.stream().map(Column::getName).collect(Collectors.toList());
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<List<String>> readNext() {
+        try {
+            List<List<String>> pageTemp = new ArrayList<>(pageSize);
+            while (hasNext && pageTemp.size() < pageSize) {
+                pageTemp.add(readRow(resultSet));
+                hasNext = nextCursorRow();
+            }
+            return pageTemp;
+        } catch (DtLoaderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("read %s message exception : %s", getClass().getSimpleName(), e.getMessage()), e);
+        }
+    }
+
+    /**
+     * 游标移动到下一行，分页和 keyset 下载时当前页读取完毕后自动查询下一页
+     *
+     * @return 是否还有数据
+     * @throws SQLException 异常
+     */
+    private boolean nextCursorRow() throws SQLException {
+        if (streamDownload) {
+            return resultSet.next();
+        }
+        if (keysetDownload && pageRows > 0) {
+            lastKey = resultSet.getObject(keysetIndex);
+        }
+        if (resultSet.next()) {
+            pageRows++;
+            return true;
+        }
+        // 当前页不足 pageSize 条说明已经没有数据了，不需要再查询下一页
+        if (pageRows < pageSize) {
+            return false;
+        }
+        DBUtil.closeDBResources(resultSet, null, null);
+        if (keysetDownload) {
+            keysetStatement.setObject(1, lastKey);
+            resultSet = keysetStatement.executeQuery();
+        } else {
+            pageNum++;
+            resultSet = statement.executeQuery(getPageSql(sql, pageNum, pageSize));
+        }
+        pageRows = 0;
+        if (resultSet.next()) {
+            pageRows++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 读取当前行数据
+     *
+     * @param rs 结果集
+     * @return 当前行数据
+     * @throws SQLException 异常
+     */
+    protected List<String> readRow(ResultSet rs) throws SQLException {
+        List<String> columns = new ArrayList<>(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            columns.add(rs.getString(i));
+        }
+        return columns;
+    }
+
+    @Override
+    public ColumnBatch readNextBatch() {
+        try {
+            if (Objects.isNull(batch)) {
+                batch = new ColumnBatch(getMetaInfo(), vectorTypes, pageSize);
+            }
+            batch.reset();
+            while (hasNext && !batch.isFull()) {
+                readRow(resultSet, batch);
+                hasNext = nextCursorRow();
+            }
+            return batch;
+        } catch (DtLoaderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("read %s batch exception : %s", getClass().getSimpleName(), e.getMessage()), e);
+        }
+    }
+
+    /**
+     * 读取当前行数据到列式批次中，数值和时间类型直接写入原生数组
+     *
+     * @param rs    结果集
+     * @param batch 列式批次
+     * @throws SQLException 异常
+     */
+    protected void readRow(ResultSet rs, ColumnBatch batch) throws SQLException {
+        int row = batch.getSize();
+        for (int i = 0; i < columnCount; i++) {
+            ColumnVector vector = batch.getColumn(i);
+            int index = i + 1;
+            switch (vector.getType()) {
+                case LONG:
+                    vector.setLong(row, rs.getLong(index));
+                    break;
+                case BOOLEAN:
+                    vector.setBoolean(row, rs.getBoolean(index));
+                    break;
+                case DOUBLE:
+                    vector.setDouble(row, rs.getDouble(index));
+                    break;
+                case DECIMAL:
+                    vector.setDecimal(row, rs.getBigDecimal(index));
+                    break;
+                case DATE: {
+                    Date date = rs.getDate(index);
+                    if (Objects.nonNull(date)) {
+                        vector.setEpochDay(row, date.toLocalDate().toEpochDay());
+                    }
+                    break;
+                }
+                case TIMESTAMP: {
+                    Timestamp timestamp = rs.getTimestamp(index);
+                    if (Objects.nonNull(timestamp)) {
+                        vector.setTimestamp(row, timestamp.getTime(), timestamp.getNanos());
+                    }
+                    break;
+                }
+                case BYTES: {
+                    byte[] bytes = rs.getBytes(index);
+                    if (Objects.nonNull(bytes)) {
+                        vector.setBytesRef(row, bytes, 0, bytes.length);
+                    }
+                    break;
+                }
+                default:
+                    vector.setString(row, rs.getString(index));
+                    break;
+            }
+            if (rs.wasNull()) {
+                vector.setNull(row);
+            }
+        }
+        batch.setSize(row + 1);
+    }
+
+    @Override
+    public boolean reachedEnd() {
+        return !hasNext;
+    }
+
+    /**
+     * 设置流式下载时获取总条数使用的连接，mysql 等数据源在流式结果集未读取完之前，
+     * 同一连接上无法执行其他查询，需要从连接池中获取其他连接执行 count
+     *
+     * @param countConnectionSupplier 获取连接的方法，连接使用完后会被关闭
+     */
+    public void setCountConnectionSupplier(Supplier<Connection> countConnectionSupplier) {
+        this.countConnectionSupplier = countConnectionSupplier;
+    }
+
+    @Override
+    public long getTotalLine(boolean estimate) {
+        if (Objects.nonNull(totalLine)) {
+            return totalLine;
+        }
+        if (Objects.isNull(connection) || StringUtils.isEmpty(sql)) {
+            throw new DtLoaderException("connection is close or sql is null");
+        }
+        // 流式结果集已经打开时使用其他连接查询
+        Connection countConnection = streamDownload && isConfigure && Objects.nonNull(countConnectionSupplier) ?
+                countConnectionSupplier.get() : connection;
+        try (Statement countStatement = countConnection.createStatement()) {
+            if (StringUtils.isNotBlank(schema)) {
+                switchSchema(countStatement, schema);
+            }
+            if (estimate) {
+                Long estimateLine = getEstimateTotalLine(countStatement, sql);
+                if (Objects.nonNull(estimateLine)) {
+                    return estimateLine;
+                }
+            }
+            long line = 0;
+            try (ResultSet totalResultSet = countStatement.executeQuery(getCountSql(sql))) {
+                while (totalResultSet.next()) {
+                    line = totalResultSet.getLong(1);
+                }
+            }
+            totalLine = line;
+            return line;
+        } catch (DtLoaderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("get %s total line exception : %s", getClass().getSimpleName(), e.getMessage()), e);
+        } finally {
+            if (countConnection != connection) {
+                DBUtil.closeDBResources(null, null, countConnection);
+            }
+        }
+    }
+
+    @Override
+    public boolean close() throws Exception {
+        DBUtil.closeDBResources(null, keysetStatement, null);
+        DBUtil.closeDBResources(resultSet, statement, connection);
+        return true;
+    }
+
+    @Override
+    public String getFileName() {
+        return null;
+    }
+
+    @Override
+    public List<String> getContainers() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * 切换 schema，默认不切换，需要的数据源自行实现
+     *
+     * @param statement 连接操作对象
+     * @param schema    schema
+     * @throws SQLException 异常
+     */
+    protected void switchSchema(Statement statement, String schema) throws SQLException {
+    }
+
+    /**
+     * 流式下载前对连接的处理，如 postgresql 需要关闭自动提交才会使用游标
+     *
+     * @param connection 数据库连接
+     * @throws SQLException 异常
+     */
+    protected void prepareStreamConnection(Connection connection) throws SQLException {
+    }
+
+    /**
+     * 流式下载时游标每次从服务端拉取的条数，默认和每页条数一致
+     *
+     * @param connection 数据库连接
+     * @return fetchSize
+     * @throws SQLException 异常
+     */
+    protected int getStreamFetchSize(Connection connection) throws SQLException {
+        return pageSize;
+    }
+
+    /**
+     * 获取列名
+     *
+     * @param metaData 结果集元数据
+     * @param index    列下标，从 1 开始
+     * @return 列名
+     * @throws SQLException 异常
+     */
+    protected String getColumnName(ResultSetMetaData metaData, int index) throws SQLException {
+        return metaData.getColumnName(index);
+    }
+
+    /**
+     * 获取列在列式批次中的存储类型，无法确定的类型按字符串处理
+     *
+     * @param metaData 结果集元数据
+     * @param index    列下标，从 1 开始
+     * @return 存储类型
+     * @throws SQLException 异常
+     */
+    protected ColumnVectorType getVectorType(ResultSetMetaData metaData, int index) throws SQLException {
+        switch (metaData.getColumnType(index)) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return ColumnVectorType.LONG;
+            case Types.BIGINT:
+                // 无符号 bigint 可能超出 long 的范围
+                return metaData.isSigned(index) ? ColumnVectorType.LONG : ColumnVectorType.DECIMAL;
+            case Types.BOOLEAN:
+                return ColumnVectorType.BOOLEAN;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return ColumnVectorType.DOUBLE;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return ColumnVectorType.DECIMAL;
+            case Types.DATE:
+                return ColumnVectorType.DATE;
+            case Types.TIMESTAMP:
+                return ColumnVectorType.TIMESTAMP;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return ColumnVectorType.BYTES;
+            default:
+                return ColumnVectorType.STRING;
+        }
+    }
+
+    /**
+     * 获取总条数的 sql
+     *
+     * @param sql 执行的 sql
+     * @return count sql
+     */
+    protected String getCountSql(String sql) {
+        return String.format("SELECT COUNT(*) FROM (%s) temp", sql);
+    }
+
+    /**
+     * 根据执行计划等统计信息估算总条数，默认不支持
+     *
+     * @param statement 连接操作对象
+     * @param sql       执行的 sql
+     * @return 估算的总条数，返回 null 时执行 count 查询
+     * @throws SQLException 异常
+     */
+    protected Long getEstimateTotalLine(Statement statement, String sql) throws SQLException {
+        return null;
+    }
+
+    /**
+     * 获取第一页的 sql，列信息从该 sql 的结果集中获取，不能包含分页产生的额外字段
+     *
+     * @param sql      执行的 sql
+     * @param pageSize 每页条数
+     * @return 第一页 sql
+     */
+    protected String getFirstPageSql(String sql, int pageSize) {
+        return getPageSql(sql, 1, pageSize);
+    }
+
+    /**
+     * 获取分页 sql
+     *
+     * @param sql      执行的 sql
+     * @param pageNum  页码，从 1 开始
+     * @param pageSize 每页条数
+     * @return 分页 sql
+     */
+    protected String getPageSql(String sql, int pageNum, int pageSize) {
+        return String.format("SELECT * FROM (%s) t limit %s offset %s", sql, pageSize, pageSize * (pageNum - 1));
+    }
+
+    /**
+     * 获取 keyset 分页 sql，非第一页时 keyset 字段条件使用 ? 占位
+     *
+     * @param sql          执行的 sql
+     * @param keysetColumn keyset 字段
+     * @param firstPage    是否是第一页
+     * @param pageSize     每页条数
+     * @return keyset 分页 sql
+     */
+    protected String getKeysetSql(String sql, String keysetColumn, boolean firstPage, int pageSize) {
+        return String.format("SELECT * FROM (%s) t%s ORDER BY t.%s limit %s", sql, getKeysetCondition(keysetColumn, firstPage), keysetColumn, pageSize);
+    }
+
+    /**
+     * 获取 keyset 分页条件
+     *
+     * @param keysetColumn keyset 字段
+     * @param firstPage    是否是第一页
+     * @return keyset 分页条件
+     */
+    protected String getKeysetCondition(String keysetColumn, boolean firstPage) {
+        return firstPage ? "" : String.format(" WHERE t.%s > ?", keysetColumn);
+    }
+}
@@ -23,23 +23,34 @@ import com.dtstack.dtcenter.common.loader.common.exception.IErrorPattern;
 import com.dtstack.dtcenter.common.loader.common.service.ErrorAdapterImpl;
 import com.dtstack.dtcenter.common.loader.common.service.IErrorAdapter;
 import com.dtstack.dtcenter.common.loader.common.utils.DBUtil;
+import com.dtstack.dtcenter.loader.dto.ConnectionPoolMetricsDTO;
 import com.dtstack.dtcenter.loader.dto.source.ISourceDTO;
 import com.dtstack.dtcenter.loader.dto.source.RdbmsSourceDTO;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @company: www.dtstack.com
@@ -59,12 +70,33 @@ public class ConnFactory {
 
     protected String testSql;
 
-    private static ConcurrentHashMap<String, Object> hikariDataSources = new ConcurrentHashMap<>();
+    /**
+     * 数据源唯一 KEY - 连接池，创建和淘汰都通过 compute 完成，不同数据源之间互不阻塞
+     */
+    private static final ConcurrentHashMap<String, HikariPoolHolder> hikariDataSources = new ConcurrentHashMap<>();
+
+    /**
+     * 空闲连接池淘汰线程
+     */
+    private static final ScheduledExecutorService POOL_EVICT_SERVICE = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Loader-hikari-pool-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        POOL_EVICT_SERVICE.scheduleWithFixedDelay(ConnFactory::evictIdlePool, 1, 1, TimeUnit.MINUTES);
+    }
 
     private AtomicBoolean isFirstLoaded = new AtomicBoolean(true);
 
     private static final String CP_POOL_KEY = "url:%s,username:%s,password:%s";
 
+    /**
+     * 连接池默认空闲关闭时间
+     */
+    private static final long DEFAULT_POOL_EVICT_TIMEOUT = TimeUnit.MINUTES.toMillis(30);
+
     /**
      * 线程池 - 用于部分数据源获取连接超时处理
      */
@@ -132,18 +164,89 @@ public class ConnFactory {
         RdbmsSourceDTO rdbmsSourceDTO = (RdbmsSourceDTO) source;
         String poolKey = getPrimaryKey(rdbmsSourceDTO);
         log.info("datasource connected(Hikari), url : {}, userName : {}, kerberosConfig : {}", rdbmsSourceDTO.getUrl(), rdbmsSourceDTO.getUsername(), rdbmsSourceDTO.getKerberosConfig());
-        HikariDataSource hikariData = (HikariDataSource) hikariDataSources.get(poolKey);
-        if (hikariData == null) {
-            synchronized (ConnFactory.class) {
-                hikariData = (HikariDataSource) hikariDataSources.get(poolKey);
-                if (hikariData == null) {
-                    hikariData = transHikari(source);
-                    hikariDataSources.put(poolKey, hikariData);
-                }
+        HikariPoolHolder holder = getPoolHolder(poolKey, rdbmsSourceDTO);
+        try {
+            return holder.dataSource.getConnection();
+        } catch (SQLException e) {
+            // 连接池在获取连接时被失效关闭，重新创建后再获取一次
+            if (!holder.dataSource.isClosed()) {
+                throw e;
             }
+            return getPoolHolder(poolKey, rdbmsSourceDTO).dataSource.getConnection();
+        }
+    }
+
+    /**
+     * 获取或创建数据源对应的连接池，并更新最后访问时间，命中缓存时不加锁
+     *
+     * @param poolKey 数据源唯一 KEY
+     * @param source  数据源信息
+     * @return 连接池
+     */
+    private HikariPoolHolder getPoolHolder(String poolKey, RdbmsSourceDTO source) {
+        HikariPoolHolder holder = hikariDataSources.get(poolKey);
+        if (holder == null || holder.dataSource.isClosed()) {
+            if (holder != null) {
+                hikariDataSources.remove(poolKey, holder);
+            }
+            // HikariDataSource 在第一次获取连接时才启动连接池，创建时没有网络操作
+            holder = hikariDataSources.computeIfAbsent(poolKey, key -> {
+                Long evictTimeout = source.getPoolConfig().getPoolEvictTimeout();
+                return new HikariPoolHolder(transHikari(source), source.getUrl(), source.getUsername(),
+                        Objects.nonNull(evictTimeout) ? evictTimeout : DEFAULT_POOL_EVICT_TIMEOUT);
+            });
+        }
+        holder.lastAccessTime = System.currentTimeMillis();
+        return holder;
+    }
+
+    /**
+     * 关闭并移除数据源对应的连接池，用于密码变更、数据源下线等场景，下次获取连接时重新创建
+     *
+     * @param source 数据源信息
+     * @return 是否存在并关闭了连接池
+     */
+    public Boolean invalidatePool(ISourceDTO source) {
+        HikariPoolHolder holder = hikariDataSources.remove(getPrimaryKey(source));
+        if (holder == null) {
+            return false;
+        }
+        holder.close();
+        return true;
+    }
+
+    /**
+     * 获取当前插件所有连接池的统计信息
+     *
+     * @return 连接池统计信息
+     */
+    public List<ConnectionPoolMetricsDTO> getPoolMetrics() {
+        List<ConnectionPoolMetricsDTO> metrics = new ArrayList<>();
+        for (HikariPoolHolder holder : hikariDataSources.values()) {
+            metrics.add(holder.getMetrics());
         }
+        return metrics;
+    }
 
-        return hikariData.getConnection();
+    /**
+     * 关闭没有正在使用的连接且空闲超过 poolConfig.poolEvictTimeout 的连接池
+     */
+    private static void evictIdlePool() {
+        long now = System.currentTimeMillis();
+        for (String key : hikariDataSources.keySet()) {
+            HikariPoolHolder[] evicted = new HikariPoolHolder[1];
+            hikariDataSources.computeIfPresent(key, (k, holder) -> {
+                if (holder.isIdle(now)) {
+                    evicted[0] = holder;
+                    return null;
+                }
+                return holder;
+            });
+            if (Objects.nonNull(evicted[0])) {
+                log.info("close idle hikari pool, url : {}, userName : {}", evicted[0].url, evicted[0].username);
+                evicted[0].close();
+            }
+        }
     }
 
     /**
@@ -242,4 +345,82 @@ public class ConnFactory {
         }
         return conn;
     }
+
+    /**
+     * 缓存的 Hikari 连接池，记录最后访问时间及获取连接的等待耗时
+     */
+    private static class HikariPoolHolder {
+
+        private final HikariDataSource dataSource;
+
+        private final String url;
+
+        private final String username;
+
+        private final long evictTimeout;
+
+        private volatile long lastAccessTime = System.currentTimeMillis();
+
+        private final LongAdder acquiredCount = new LongAdder();
+
+        private final LongAdder acquiredNanos = new LongAdder();
+
+        private final LongAccumulator maxAcquiredNanos = new LongAccumulator(Math::max, 0);
+
+        private final LongAdder timeoutCount = new LongAdder();
+
+        HikariPoolHolder(HikariDataSource dataSource, String url, String username, long evictTimeout) {
+            this.dataSource = dataSource;
+            this.url = url;
+            this.username = username;
+            this.evictTimeout = evictTimeout;
+            // 连接池在第一次获取连接时才启动，此时设置统计仍然生效
+            dataSource.setMetricsTrackerFactory((poolName, poolStats) -> new IMetricsTracker() {
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                    acquiredCount.increment();
+                    acquiredNanos.add(elapsedAcquiredNanos);
+                    maxAcquiredNanos.accumulate(elapsedAcquiredNanos);
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    timeoutCount.increment();
+                }
+            });
+        }
+
+        boolean isIdle(long now) {
+            HikariPoolMXBean poolMXBean = dataSource.getHikariPoolMXBean();
+            int active = poolMXBean == null ? 0 : poolMXBean.getActiveConnections();
+            return active == 0 && now - lastAccessTime > evictTimeout;
+        }
+
+        void close() {
+            try {
+                dataSource.close();
+            } catch (Exception e) {
+                log.warn("close hikari pool error, url : {}, userName : {}", url, username, e);
+            }
+        }
+
+        ConnectionPoolMetricsDTO getMetrics() {
+            HikariPoolMXBean poolMXBean = dataSource.isClosed() ? null : dataSource.getHikariPoolMXBean();
+            long count = acquiredCount.sum();
+            return ConnectionPoolMetricsDTO.builder()
+                    .url(url)
+                    .username(username)
+                    .activeConnections(poolMXBean == null ? 0 : poolMXBean.getActiveConnections())
+                    .idleConnections(poolMXBean == null ? 0 : poolMXBean.getIdleConnections())
+                    .totalConnections(poolMXBean == null ? 0 : poolMXBean.getTotalConnections())
+                    .pendingThreads(poolMXBean == null ? 0 : poolMXBean.getThreadsAwaitingConnection())
+                    .maximumPoolSize(dataSource.getMaximumPoolSize())
+                    .acquiredCount(count)
+                    .avgWaitMillis(count == 0 ? 0D : acquiredNanos.sum() / 1000000D / count)
+                    .maxWaitMillis(TimeUnit.NANOSECONDS.toMillis(maxAcquiredNanos.get()))
+                    .timeoutCount(timeoutCount.sum())
+                    .lastAccessTime(lastAccessTime)
+                    .build();
+        }
+    }
 }
@@ -19,8 +19,12 @@
 package com.dtstack.dtcenter.common.loader.redis;
 
 import com.dtstack.dtcenter.common.loader.common.nosql.AbsNoSqlClient;
+import com.dtstack.dtcenter.common.loader.redis.downloader.RedisDownloader;
+import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 import com.dtstack.dtcenter.loader.dto.source.ISourceDTO;
+import com.dtstack.dtcenter.loader.dto.source.RedisSourceDTO;
+import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 
 import java.util.List;
 
@@ -40,4 +44,15 @@ public class RedisClient<T> extends AbsNoSqlClient<T> {
     public List<List<Object>> getPreview(ISourceDTO source, SqlQueryDTO queryDTO) {
         return RedisUtils.getPreview(source, queryDTO);
     }
+
+    @Override
+    public IDownloader getDownloader(ISourceDTO source, SqlQueryDTO queryDTO) {
+        RedisDownloader redisDownloader = new RedisDownloader((RedisSourceDTO) source, queryDTO);
+        try {
+            redisDownloader.configure();
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("redis downloader configure error,%s", e.getMessage()), e);
+        }
+        return redisDownloader;
+    }
 }
@@ -22,35 +22,32 @@ import com.dtstack.dtcenter.common.loader.common.exception.IErrorPattern;
 import com.dtstack.dtcenter.common.loader.common.service.ErrorAdapterImpl;
 import com.dtstack.dtcenter.common.loader.common.service.IErrorAdapter;
 import com.dtstack.dtcenter.common.loader.common.utils.AddressUtil;
+import com.dtstack.dtcenter.common.loader.redis.pool.RedisPoolManager;
 import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 import com.dtstack.dtcenter.loader.dto.source.ISourceDTO;
 import com.dtstack.dtcenter.loader.dto.source.RedisSourceDTO;
 import com.dtstack.dtcenter.loader.enums.RedisMode;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
-import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import redis.clients.jedis.HostAndPort;
-import redis.clients.jedis.Jedis;
-import redis.clients.jedis.JedisCluster;
-import redis.clients.jedis.JedisPool;
-import redis.clients.jedis.JedisPoolConfig;
-import redis.clients.jedis.JedisSentinelPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.exceptions.JedisConnectionException;
-import redis.clients.util.Pool;
+import redis.clients.util.JedisClusterCRC16;
 
-import java.io.Closeable;
-import java.util.LinkedHashSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -61,25 +58,27 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class RedisUtils {
-    private static Pattern HOST_PORT_PATTERN = Pattern.compile("(?<host>(.*)):((?<port>\\d+))*");
-    private static final int DEFAULT_PORT = 6379;
-    private static final int TIME_OUT = 5 * 1000;
 
     private static final IErrorPattern ERROR_PATTERN = new RedisErrorPattern();
 
     // 异常适配器
     private static final IErrorAdapter ERROR_ADAPTER = new ErrorAdapterImpl();
 
+    // SCAN 每次迭代 COUNT 的最小值
+    private static final int MIN_SCAN_COUNT = 100;
+
+    // SCAN 每次迭代 COUNT 的最大值
+    private static final int MAX_SCAN_COUNT = 5000;
+
     public static boolean checkConnection(ISourceDTO iSource) {
         RedisSourceDTO redisSourceDTO = (RedisSourceDTO) iSource;
         log.info("get Redis connected, host : {}, port : {}", redisSourceDTO.getMaster(), redisSourceDTO.getHostPort());
-        RedisMode redisMode = redisSourceDTO.getRedisMode() != null ? redisSourceDTO.getRedisMode() : RedisMode.Standalone;
+        RedisMode redisMode = RedisPoolManager.getRedisMode(redisSourceDTO);
         try {
             switch (redisMode) {
                 case Standalone:
-                    return checkConnectionStandalone(redisSourceDTO);
                 case Sentinel:
-                    return checkRedisConnectionSentinel(redisSourceDTO);
+                    return RedisPoolManager.executeWithJedis(redisSourceDTO, jedis -> "PONG".equalsIgnoreCase(jedis.ping()));
                 case Cluster:
                     return checkRedisConnectionCluster(redisSourceDTO);
                 default:
@@ -101,222 +100,176 @@ public class RedisUtils {
             throw new DtLoaderException("preview table name not empty");
         }
         log.info("get Redis connected, host : {}, port : {}", redisSourceDTO.getMaster(), redisSourceDTO.getHostPort());
-        RedisMode redisMode = redisSourceDTO.getRedisMode() != null ? redisSourceDTO.getRedisMode() : RedisMode.Standalone;
+        RedisMode redisMode = RedisPoolManager.getRedisMode(redisSourceDTO);
         List<List<Object>> result = Lists.newArrayList();
-
-        List<Object> redisResult = Lists.newArrayList();
-        Map<String, Object> resultMap = Maps.newHashMap();
-
-        List<String> fieldKey;
-        List<String> values ;
+        int previewNum = queryDTO.getPreviewNum();
+        // 使用 HSCAN 游标分批获取，预览条数满足后停止，避免 HKEYS 一次性返回全部字段阻塞 redis
+        Map<String, String> fieldValues;
         if (RedisMode.Standalone.equals(redisMode) || RedisMode.Sentinel.equals(redisMode)) {
-            Pool<Jedis> redisPool = null;
-            Jedis jedis = null;
-            try {
-                if (RedisMode.Standalone.equals(redisMode)) {
-                    redisPool = getRedisPool(source);
-                } else {
-                    redisPool = getSentinelPool(source);
-                }
-                jedis = redisPool.getResource();
-                int db = StringUtils.isEmpty(redisSourceDTO.getSchema()) ? 0 : Integer.parseInt(redisSourceDTO.getSchema());
-                jedis.select(db);
-                Set<String> keys = jedis.hkeys(tableName);
-                if (CollectionUtils.isEmpty(keys)) {
-                    return result;
-                }
-                fieldKey = keys.stream().limit(queryDTO.getPreviewNum()).collect(Collectors.toList());
-                values = jedis.hmget(tableName, fieldKey.toArray(new String[]{}));
-            } finally {
-                // 关闭资源
-                close(jedis, redisPool);
-            }
-        }  else {
-            JedisCluster redisCluster = null;
-            try {
-                redisCluster = getRedisCluster(source);
-                Set<String> keys = redisCluster.hkeys(tableName);
-                if (CollectionUtils.isEmpty(keys)) {
-                    return result;
-                }
-                fieldKey = keys.stream().limit(queryDTO.getPreviewNum()).collect(Collectors.toList());
-                values = redisCluster.hmget(tableName, fieldKey.toArray(new String[]{}));
-            } finally {
-                // 关闭资源
-                close(redisCluster);
-            }
-        }
-
-        if (fieldKey.size() != values.size()) {
-            throw new DtLoaderException("get redis hash data exception");
+            fieldValues = RedisPoolManager.executeWithJedis(redisSourceDTO,
+                    jedis -> hscanLimit(cursor -> jedis.hscan(tableName, cursor, getScanParams(previewNum)), previewNum));
+        } else {
+            fieldValues = RedisPoolManager.executeWithCluster(redisSourceDTO,
+                    redisCluster -> hscanLimit(cursor -> redisCluster.hscan(tableName, cursor, getScanParams(previewNum)), previewNum));
         }
-        for (int index = 0; index < values.size(); index++) {
-            resultMap.put(fieldKey.get(index), values.get(index));
+        if (MapUtils.isEmpty(fieldValues)) {
+            return result;
         }
-        redisResult.add(resultMap);
+        List<Object> redisResult = Lists.newArrayList();
+        redisResult.add(new HashMap<String, Object>(fieldValues));
         result.add(redisResult);
         return result;
     }
 
-    private static boolean checkConnectionStandalone(ISourceDTO source) {
-        RedisSourceDTO redisSourceDTO = (RedisSourceDTO) source;
-        JedisPool redisPool = null;
-        Jedis jedis = null;
-        int db = StringUtils.isNotEmpty(redisSourceDTO.getSchema()) ? Integer.parseInt(redisSourceDTO.getSchema()) : 0;
-        try {
-            redisPool = getRedisPool(source);
-            jedis = redisPool.getResource();
-            jedis.select(db);
-            return true;
-        } finally {
-            // 关闭资源
-            close(jedis, redisPool);
-        }
-    }
-
-    public static boolean checkRedisConnectionCluster(ISourceDTO source) {
-        RedisSourceDTO redisSourceDTO = (RedisSourceDTO) source;
-        JedisCluster redisCluster = null;
-        try {
-            redisCluster = getRedisCluster(source);
-            Set<HostAndPort> nodes = getHostAndPorts(redisSourceDTO.getHostPort());
-            // redis集群模式不带密码，创建客户端不会主动去连接集群，所以需要用telnet检测
-            for (HostAndPort node : nodes) {
-                if (!AddressUtil.telnet(node.getHost(), node.getPort())) {
-                    return false;
+    /**
+     * 使用 HSCAN 游标迭代 hash，获取到 limit 个字段或迭代结束时停止
+     *
+     * @param scanner 根据游标执行一次 HSCAN
+     * @param limit   最大字段数
+     * @return 字段和值
+     */
+    private static Map<String, String> hscanLimit(Function<String, ScanResult<Map.Entry<String, String>>> scanner, int limit) {
+        Map<String, String> fieldValues = new LinkedHashMap<>();
+        String cursor = ScanParams.SCAN_POINTER_START;
+        do {
+            ScanResult<Map.Entry<String, String>> scanResult = scanner.apply(cursor);
+            for (Map.Entry<String, String> entry : scanResult.getResult()) {
+                if (fieldValues.size() >= limit) {
+                    break;
                 }
+                fieldValues.put(entry.getKey(), entry.getValue());
             }
-            return true;
-        } finally {
-            close(redisCluster);
-        }
-    }
-
-    public static boolean checkRedisConnectionSentinel(ISourceDTO source) {
-        RedisSourceDTO redisSourceDTO = (RedisSourceDTO) source;
-        int db = StringUtils.isEmpty(redisSourceDTO.getSchema()) ? 0 : Integer.parseInt(redisSourceDTO.getSchema());
-        JedisSentinelPool sentinelPool = null;
-        Jedis jedis = null;
-        try {
-            sentinelPool = getSentinelPool(source);
-            jedis = sentinelPool.getResource();
-            jedis.select(db);
-            return true;
-        } finally {
-            // 关闭资源
-            close(jedis, sentinelPool);
-        }
+            cursor = scanResult.getStringCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor) && fieldValues.size() < limit);
+        return fieldValues;
     }
 
     /**
-     * 获取redis 哨兵模式连接池
-     * @param source 数据源信息
-     * @return redis 连接池
+     * 获取 SCAN 参数，COUNT 为每次迭代的建议条数
+     *
+     * @param count 建议条数
+     * @return SCAN 参数
      */
-    private static JedisSentinelPool getSentinelPool (ISourceDTO source) {
-        RedisSourceDTO redisSourceDTO = (RedisSourceDTO) source;
-        String masterName = redisSourceDTO.getMaster();
-        String hostPorts = redisSourceDTO.getHostPort();
-        String password = redisSourceDTO.getPassword();
-        Preconditions.checkArgument(StringUtils.isNotBlank(hostPorts), "hostPort not empty");
-        Set<HostAndPort> nodes = getHostAndPorts(hostPorts);
-        Preconditions.checkArgument(CollectionUtils.isNotEmpty(nodes), "invalid ip and port");
-
-        Set<String> sentinels = nodes.stream().map(hostAndPort -> hostAndPort.getHost() + ":" + hostAndPort.getPort())
-                .collect(Collectors.toSet());
-
-        JedisSentinelPool sentinelPool;
-        if (StringUtils.isNotBlank(password)) {
-            sentinelPool = new JedisSentinelPool(masterName, sentinels, password);
-        } else {
-            sentinelPool = new JedisSentinelPool(masterName, sentinels);
-        }
-        return sentinelPool;
+    public static ScanParams getScanParams(int count) {
+        return new ScanParams().count(Math.min(Math.max(count, MIN_SCAN_COUNT), MAX_SCAN_COUNT));
     }
 
     /**
-     * 获取redis 单机模式连接池
+     * 批量获取 string 类型 key 的值，集群模式下按 slot 分组，每组一次 MGET
+     *
      * @param source 数据源信息
-     * @return redis 连接池
+     * @param keys   key 集合
+     * @return key 和值
      */
-    private static JedisPool getRedisPool (ISourceDTO source) {
+    public static Map<String, String> mget(ISourceDTO source, List<String> keys) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (CollectionUtils.isEmpty(keys)) {
+            return result;
+        }
         RedisSourceDTO redisSourceDTO = (RedisSourceDTO) source;
-        String password = redisSourceDTO.getPassword();
-        String hostPort = redisSourceDTO.getHostPort();
-        int db = StringUtils.isNotEmpty(redisSourceDTO.getSchema()) ? Integer.parseInt(redisSourceDTO.getSchema()) : 0;
-        Matcher matcher = HOST_PORT_PATTERN.matcher(hostPort);
-
-        Preconditions.checkArgument(matcher.find(), "hostPort Format exception");
-
-        String host = matcher.group("host");
-        String portStr = matcher.group("port");
-        int port = portStr == null ? DEFAULT_PORT : Integer.parseInt(portStr);
-        JedisPool pool;
-        if (StringUtils.isEmpty(password)) {
-            pool = new JedisPool(new GenericObjectPoolConfig(), host, port, TIME_OUT);
-        } else {
-            pool = new JedisPool(new GenericObjectPoolConfig(), host, port, TIME_OUT, password, db);
+        String[] keyArray = keys.toArray(new String[]{});
+        try {
+            if (RedisMode.Cluster.equals(RedisPoolManager.getRedisMode(redisSourceDTO))) {
+                Map<Integer, List<String>> slotKeys = keys.stream().distinct()
+                        .collect(Collectors.groupingBy(JedisClusterCRC16::getSlot));
+                Map<String, String> values = Maps.newHashMap();
+                RedisPoolManager.executeWithCluster(redisSourceDTO, redisCluster -> {
+                    for (List<String> sameSlotKeys : slotKeys.values()) {
+                        List<String> slotValues = redisCluster.mget(sameSlotKeys.toArray(new String[]{}));
+                        for (int i = 0; i < sameSlotKeys.size(); i++) {
+                            values.put(sameSlotKeys.get(i), slotValues.get(i));
+                        }
+                    }
+                    return null;
+                });
+                keys.forEach(key -> result.put(key, values.get(key)));
+            } else {
+                List<String> values = RedisPoolManager.executeWithJedis(redisSourceDTO, jedis -> jedis.mget(keyArray));
+                for (int i = 0; i < keyArray.length; i++) {
+                    result.put(keyArray[i], values.get(i));
+                }
+            }
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("redis mget error,%s", e.getMessage()), e);
         }
-        return pool;
+        return result;
     }
 
     /**
-     * 获取redis 集群模式 客户端
-     * @param source 数据源信息
-     * @return redis客户端
+     * 批量获取多个 hash 的字段值，单机、哨兵模式使用 pipeline 一次提交，集群模式逐个 hash 获取
+     *
+     * @param source     数据源信息
+     * @param hashFields hash key 和需要获取的字段，字段为空时获取全部字段
+     * @return hash key 和对应字段值
      */
-    private static JedisCluster getRedisCluster (ISourceDTO source) {
+    @SuppressWarnings("unchecked")
+    public static Map<String, Map<String, String>> hmget(ISourceDTO source, Map<String, List<String>> hashFields) {
+        Map<String, Map<String, String>> result = new LinkedHashMap<>();
+        if (MapUtils.isEmpty(hashFields)) {
+            return result;
+        }
         RedisSourceDTO redisSourceDTO = (RedisSourceDTO) source;
-        String hostPorts = redisSourceDTO.getHostPort();
-        String password = redisSourceDTO.getPassword();
-        JedisPoolConfig poolConfig = new JedisPoolConfig();
-        poolConfig.setMaxTotal(2);
-        poolConfig.setMaxIdle(2);
-        poolConfig.setMaxWaitMillis(1000);
-        JedisCluster cluster;
-        Preconditions.checkArgument(StringUtils.isNotBlank(hostPorts), "hostPort not empty");
-
-        Set<HostAndPort> nodes = getHostAndPorts(hostPorts);
-
-        Preconditions.checkArgument(CollectionUtils.isNotEmpty(nodes), "invalid ip and port");
-
-        if (StringUtils.isNotBlank(password)) {
-            cluster = new JedisCluster(nodes, 1000, 1000, 100, password, poolConfig);
-        } else {
-            cluster = new JedisCluster(nodes, poolConfig);
+        try {
+            if (RedisMode.Cluster.equals(RedisPoolManager.getRedisMode(redisSourceDTO))) {
+                RedisPoolManager.executeWithCluster(redisSourceDTO, redisCluster -> {
+                    for (Map.Entry<String, List<String>> entry : hashFields.entrySet()) {
+                        if (CollectionUtils.isEmpty(entry.getValue())) {
+                            result.put(entry.getKey(), redisCluster.hgetAll(entry.getKey()));
+                        } else {
+                            result.put(entry.getKey(), zipFieldValues(entry.getValue(), redisCluster.hmget(entry.getKey(), entry.getValue().toArray(new String[]{}))));
+                        }
+                    }
+                    return null;
+                });
+            } else {
+                RedisPoolManager.executeWithJedis(redisSourceDTO, jedis -> {
+                    Pipeline pipeline = jedis.pipelined();
+                    Map<String, Response<?>> responses = new LinkedHashMap<>();
+                    for (Map.Entry<String, List<String>> entry : hashFields.entrySet()) {
+                        if (CollectionUtils.isEmpty(entry.getValue())) {
+                            responses.put(entry.getKey(), pipeline.hgetAll(entry.getKey()));
+                        } else {
+                            responses.put(entry.getKey(), pipeline.hmget(entry.getKey(), entry.getValue().toArray(new String[]{})));
+                        }
+                    }
+                    pipeline.sync();
+                    for (Map.Entry<String, Response<?>> entry : responses.entrySet()) {
+                        List<String> fields = hashFields.get(entry.getKey());
+                        Object value = entry.getValue().get();
+                        if (CollectionUtils.isEmpty(fields)) {
+                            result.put(entry.getKey(), (Map<String, String>) value);
+                        } else {
+                            result.put(entry.getKey(), zipFieldValues(fields, (List<String>) value));
+                        }
+                    }
+                    return null;
+                });
+            }
+        } catch (Exception e) {
+            throw new DtLoaderException(String.format("redis hmget error,%s", e.getMessage()), e);
         }
-        return cluster;
+        return result;
     }
 
-    private static Set<HostAndPort> getHostAndPorts(String hostPorts) {
-        Set<HostAndPort> nodes = new LinkedHashSet<>();
-        String[] split = hostPorts.split(",");
-        for (String node : split) {
-            Matcher matcher = HOST_PORT_PATTERN.matcher(node);
-            if (matcher.find()) {
-                String host = matcher.group("host");
-                String portStr = matcher.group("port");
-                if (StringUtils.isNotBlank(host) && StringUtils.isNotBlank(portStr)) {
-                    // 转化为int格式的端口
-                    int port = Integer.parseInt(portStr);
-                    nodes.add(new HostAndPort(host, port));
-                }
-            }
+    private static Map<String, String> zipFieldValues(List<String> fields, List<String> values) {
+        Map<String, String> fieldValues = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            fieldValues.put(fields.get(i), values.get(i));
         }
-        return nodes;
+        return fieldValues;
     }
 
-    private static void close(Closeable... closeables) {
-        try {
-            if (Objects.nonNull(closeables)) {
-                for (Closeable closeable : closeables) {
-                    if (Objects.nonNull(closeable)) {
-                        closeable.close();
-                    }
+    public static boolean checkRedisConnectionCluster(ISourceDTO source) {
+        RedisSourceDTO redisSourceDTO = (RedisSourceDTO) source;
+        return RedisPoolManager.executeWithCluster(redisSourceDTO, redisCluster -> {
+            Set<HostAndPort> nodes = RedisPoolManager.getHostAndPorts(redisSourceDTO.getHostPort());
+            // redis集群模式不带密码，创建客户端不会主动去连接集群，所以需要用telnet检测
+            for (HostAndPort node : nodes) {
+                if (!AddressUtil.telnet(node.getHost(), node.getPort())) {
+                    return false;
                 }
             }
-        } catch (Exception e) {
-            throw new DtLoaderException(String.format("redis close resource error,%s", e.getMessage()), e);
-        }
+            return true;
+        });
     }
 }
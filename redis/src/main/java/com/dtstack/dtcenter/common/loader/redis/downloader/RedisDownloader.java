@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.common.loader.redis.downloader;
+
+import com.dtstack.dtcenter.common.loader.redis.RedisUtils;
+import com.dtstack.dtcenter.common.loader.redis.pool.RedisPoolManager;
+import com.dtstack.dtcenter.loader.IDownloader;
+import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
+import com.dtstack.dtcenter.loader.dto.source.RedisSourceDTO;
+import com.dtstack.dtcenter.loader.enums.RedisMode;
+import com.dtstack.dtcenter.loader.exception.DtLoaderException;
+import com.google.common.collect.Lists;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * redis 下载器，使用 SCAN/HSCAN 游标分批迭代，每批借用一次连接，不会一次性加载全部数据
+ * <ul>
+ *     <li>tableName 不为空时导出该 hash 的所有字段，每行为 field、value</li>
+ *     <li>tableName 为空时导出整个 db 的 key，tableNamePattern 作为 MATCH 条件，每行为 key、type、value，
+ *     只有 string 类型的 key 返回 value。集群模式下依次迭代每个 master 节点</li>
+ * </ul>
+ * fetchSize 作为每次迭代的 COUNT 建议值
+ *
+ * @author ：wangchuan
+ * date：Created in 下午5:10 2021/9/9
+ * company: www.dtstack.com
+ */
+public class RedisDownloader implements IDownloader {
+
+    private static final int DEFAULT_SCAN_COUNT = 1000;
+
+    private static final String STRING_TYPE = "string";
+
+    private static final String ROLE_MASTER = "role:master";
+
+    private final RedisSourceDTO redisSourceDTO;
+
+    private final String hashKey;
+
+    private final ScanParams scanParams;
+
+    private RedisMode redisMode;
+
+    /**
+     * 集群模式下导出 key 时需要迭代的 master 节点
+     */
+    private List<String> masterNodes;
+
+    private int nodeIndex = 0;
+
+    private String cursor = ScanParams.SCAN_POINTER_START;
+
+    private boolean finished = false;
+
+    private final Deque<List<String>> buffer = new ArrayDeque<>();
+
+    public RedisDownloader(RedisSourceDTO redisSourceDTO, SqlQueryDTO queryDTO) {
+        this.redisSourceDTO = redisSourceDTO;
+        this.hashKey = queryDTO.getTableName();
+        int count = Objects.isNull(queryDTO.getFetchSize()) || queryDTO.getFetchSize() <= 0 ? DEFAULT_SCAN_COUNT : queryDTO.getFetchSize();
+        this.scanParams = RedisUtils.getScanParams(count);
+        if (StringUtils.isBlank(hashKey) && StringUtils.isNotBlank(queryDTO.getTableNamePattern())) {
+            this.scanParams.match(queryDTO.getTableNamePattern());
+        }
+    }
+
+    @Override
+    public boolean configure() throws Exception {
+        redisMode = RedisPoolManager.getRedisMode(redisSourceDTO);
+        if (isHash() || !RedisMode.Cluster.equals(redisMode)) {
+            return true;
+        }
+        // 集群模式 SCAN 只迭代单个节点，需要找出所有 master 节点依次迭代
+        masterNodes = RedisPoolManager.executeWithCluster(redisSourceDTO, redisCluster -> {
+            List<String> masters = Lists.newArrayList();
+            for (Map.Entry<String, JedisPool> node : redisCluster.getClusterNodes().entrySet()) {
+                try (Jedis jedis = node.getValue().getResource()) {
+                    if (StringUtils.contains(jedis.info("replication"), ROLE_MASTER)) {
+                        masters.add(node.getKey());
+                    }
+                }
+            }
+            return masters;
+        });
+        if (CollectionUtils.isEmpty(masterNodes)) {
+            throw new DtLoaderException("no master node found in redis cluster");
+        }
+        return true;
+    }
+
+    private boolean isHash() {
+        return StringUtils.isNotBlank(hashKey);
+    }
+
+    /**
+     * 迭代直到取到数据或迭代结束，SCAN 单次可能返回空结果
+     */
+    private void fillBuffer() {
+        while (buffer.isEmpty() && !finished) {
+            if (isHash()) {
+                scanHash();
+            } else if (RedisMode.Cluster.equals(redisMode)) {
+                scanClusterNode();
+            } else {
+                RedisPoolManager.executeWithJedis(redisSourceDTO, jedis -> {
+                    scanKeys(jedis);
+                    return null;
+                });
+                finished = ScanParams.SCAN_POINTER_START.equals(cursor);
+            }
+        }
+    }
+
+    private void scanHash() {
+        ScanResult<Map.Entry<String, String>> scanResult;
+        if (RedisMode.Cluster.equals(redisMode)) {
+            scanResult = RedisPoolManager.executeWithCluster(redisSourceDTO, redisCluster -> redisCluster.hscan(hashKey, cursor, scanParams));
+        } else {
+            scanResult = RedisPoolManager.executeWithJedis(redisSourceDTO, jedis -> jedis.hscan(hashKey, cursor, scanParams));
+        }
+        for (Map.Entry<String, String> entry : scanResult.getResult()) {
+            buffer.add(Lists.newArrayList(entry.getKey(), entry.getValue()));
+        }
+        cursor = scanResult.getStringCursor();
+        finished = ScanParams.SCAN_POINTER_START.equals(cursor);
+    }
+
+    private void scanClusterNode() {
+        String node = masterNodes.get(nodeIndex);
+        RedisPoolManager.executeWithCluster(redisSourceDTO, redisCluster -> {
+            JedisPool nodePool = redisCluster.getClusterNodes().get(node);
+            if (Objects.isNull(nodePool)) {
+                throw new DtLoaderException(String.format("redis cluster node %s not found", node));
+            }
+            try (Jedis jedis = nodePool.getResource()) {
+                scanKeys(jedis);
+            }
+            return null;
+        });
+        // 当前节点迭代结束后切换到下一个节点
+        if (ScanParams.SCAN_POINTER_START.equals(cursor)) {
+            nodeIndex++;
+            finished = nodeIndex >= masterNodes.size();
+        }
+    }
+
+    /**
+     * 执行一次 SCAN，并使用 pipeline 批量获取 key 的类型和 string 类型的值
+     *
+     * @param jedis jedis
+     */
+    private void scanKeys(Jedis jedis) {
+        ScanResult<String> scanResult = jedis.scan(cursor, scanParams);
+        cursor = scanResult.getStringCursor();
+        List<String> keys = scanResult.getResult();
+        if (CollectionUtils.isEmpty(keys)) {
+            return;
+        }
+        Pipeline pipeline = jedis.pipelined();
+        List<Response<String>> types = Lists.newArrayListWithCapacity(keys.size());
+        for (String key : keys) {
+            types.add(pipeline.type(key));
+        }
+        pipeline.sync();
+        List<Response<String>> values = Lists.newArrayListWithCapacity(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            values.add(STRING_TYPE.equals(types.get(i).get()) ? pipeline.get(keys.get(i)) : null);
+        }
+        pipeline.sync();
+        for (int i = 0; i < keys.size(); i++) {
+            Response<String> value = values.get(i);
+            buffer.add(Lists.newArrayList(keys.get(i), types.get(i).get(), Objects.isNull(value) ? null : value.get()));
+        }
+    }
+
+    @Override
+    public List<String> getMetaInfo() {
+        return isHash() ? Lists.newArrayList("field", "value") : Lists.newArrayList("key", "type", "value");
+    }
+
+    @Override
+    public Object readNext() {
+        fillBuffer();
+        return buffer.poll();
+    }
+
+    @Override
+    public boolean reachedEnd() {
+        fillBuffer();
+        return buffer.isEmpty() && finished;
+    }
+
+    @Override
+    public boolean close() throws Exception {
+        buffer.clear();
+        finished = true;
+        return true;
+    }
+
+    @Override
+    public String getFileName() {
+        return null;
+    }
+
+    @Override
+    public List<String> getContainers() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.common.loader.redis.pool;
+
+import com.dtstack.dtcenter.loader.cache.pool.config.PoolConfig;
+import com.dtstack.dtcenter.loader.dto.source.RedisSourceDTO;
+import com.dtstack.dtcenter.loader.enums.RedisMode;
+import com.dtstack.dtcenter.loader.exception.DtLoaderException;
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisSentinelPool;
+import redis.clients.util.Pool;
+
+import java.io.Closeable;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * redis 连接池管理：相同数据源共享同一个 JedisPool/JedisSentinelPool/JedisCluster，
+ * 避免每次调用都重新创建连接池，集群模式下避免每次都重新拉取 slot 信息
+ * <p>
+ * 连接池按 模式、地址、master、db、密码、连接池配置 缓存，没有正在执行的调用且空闲超过 poolEvictTimeout 后由后台线程关闭
+ *
+ * @author ：wangchuan
+ * date：Created in 下午3:20 2021/9/9
+ * company: www.dtstack.com
+ */
+@Slf4j
+public class RedisPoolManager {
+
+    private static final Pattern HOST_PORT_PATTERN = Pattern.compile("(?<host>(.*)):((?<port>\\d+))*");
+
+    private static final int DEFAULT_PORT = 6379;
+
+    private static final int TIME_OUT = 5 * 1000;
+
+    /**
+     * 未配置连接池时的空闲回收时间，单位：毫秒
+     */
+    private static final long DEFAULT_EVICT_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * 缓存 key 格式
+     */
+    private static final String POOL_KEY = "mode:%s,hostPort:%s,master:%s,db:%s,password:%s,poolConfig:%s";
+
+    private static final Map<String, PoolEntry> POOL_CACHE = new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService EVICT_SERVICE = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Loader-redis-pool-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        EVICT_SERVICE.scheduleWithFixedDelay(RedisPoolManager::evictIdlePool, 30, 30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 使用单机、哨兵模式的 jedis 执行操作，jedis 使用后归还连接池
+     *
+     * @param source   数据源信息
+     * @param function 具体操作
+     * @param <R>      返回值类型
+     * @return 操作结果
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> R executeWithJedis(RedisSourceDTO source, Function<Jedis, R> function) {
+        PoolEntry entry = acquire(source);
+        try (Jedis jedis = ((Pool<Jedis>) entry.client).getResource()) {
+            return function.apply(jedis);
+        } finally {
+            entry.release();
+        }
+    }
+
+    /**
+     * 使用集群模式的 JedisCluster 执行操作
+     *
+     * @param source   数据源信息
+     * @param function 具体操作
+     * @param <R>      返回值类型
+     * @return 操作结果
+     */
+    public static <R> R executeWithCluster(RedisSourceDTO source, Function<JedisCluster, R> function) {
+        PoolEntry entry = acquire(source);
+        try {
+            return function.apply((JedisCluster) entry.client);
+        } finally {
+            entry.release();
+        }
+    }
+
+    /**
+     * 获取 redis 部署模式，默认单机
+     *
+     * @param source 数据源信息
+     * @return 部署模式
+     */
+    public static RedisMode getRedisMode(RedisSourceDTO source) {
+        return Objects.nonNull(source.getRedisMode()) ? source.getRedisMode() : RedisMode.Standalone;
+    }
+
+    /**
+     * 解析 host:port 集合
+     *
+     * @param hostPorts 逗号分隔的 host:port
+     * @return HostAndPort 集合
+     */
+    public static Set<HostAndPort> getHostAndPorts(String hostPorts) {
+        Set<HostAndPort> nodes = new LinkedHashSet<>();
+        String[] split = hostPorts.split(",");
+        for (String node : split) {
+            Matcher matcher = HOST_PORT_PATTERN.matcher(node);
+            if (matcher.find()) {
+                String host = matcher.group("host");
+                String portStr = matcher.group("port");
+                if (StringUtils.isNotBlank(host) && StringUtils.isNotBlank(portStr)) {
+                    // 转化为int格式的端口
+                    int port = Integer.parseInt(portStr);
+                    nodes.add(new HostAndPort(host, port));
+                }
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * 关闭并清空所有缓存的连接池
+     */
+    public static void clear() {
+        for (String key : POOL_CACHE.keySet()) {
+            PoolEntry entry = POOL_CACHE.remove(key);
+            if (Objects.nonNull(entry)) {
+                entry.retire();
+                closeQuietly(entry.client);
+            }
+        }
+    }
+
+    /**
+     * 获取缓存的连接池并增加使用计数，不存在时在锁外创建，通过 putIfAbsent 放入缓存，
+     * 并发创建时以先放入的为准，其余的直接关闭
+     *
+     * @param source 数据源信息
+     * @return 连接池
+     */
+    private static PoolEntry acquire(RedisSourceDTO source) {
+        String key = getPoolKey(source);
+        while (true) {
+            PoolEntry entry = POOL_CACHE.get(key);
+            if (Objects.isNull(entry)) {
+                log.info("create redis pool, key: {}", key.replaceAll("password:[^,]*", "password:******"));
+                PoolEntry created = new PoolEntry(createClient(source), getEvictTimeout(source));
+                entry = POOL_CACHE.putIfAbsent(key, created);
+                if (Objects.isNull(entry)) {
+                    entry = created;
+                } else {
+                    closeQuietly(created.client);
+                }
+            }
+            if (entry.retain()) {
+                return entry;
+            }
+            // 连接池已经被回收，移除后重新获取
+            POOL_CACHE.remove(key, entry);
+        }
+    }
+
+    /**
+     * 回收空闲超时的连接池
+     */
+    private static void evictIdlePool() {
+        for (Map.Entry<String, PoolEntry> cacheEntry : POOL_CACHE.entrySet()) {
+            PoolEntry entry = cacheEntry.getValue();
+            if (entry.retireIfIdle()) {
+                POOL_CACHE.remove(cacheEntry.getKey(), entry);
+                closeQuietly(entry.client);
+            }
+        }
+    }
+
+    private static Closeable createClient(RedisSourceDTO source) {
+        switch (getRedisMode(source)) {
+            case Standalone:
+                return createRedisPool(source);
+            case Sentinel:
+                return createSentinelPool(source);
+            case Cluster:
+                return createRedisCluster(source);
+            default:
+                throw new DtLoaderException("Unsupported mode");
+        }
+    }
+
+    /**
+     * 创建 redis 单机模式连接池
+     *
+     * @param source 数据源信息
+     * @return redis 连接池
+     */
+    private static JedisPool createRedisPool(RedisSourceDTO source) {
+        String hostPort = source.getHostPort();
+        Preconditions.checkArgument(StringUtils.isNotBlank(hostPort), "hostPort not empty");
+        Matcher matcher = HOST_PORT_PATTERN.matcher(hostPort);
+        Preconditions.checkArgument(matcher.find(), "hostPort Format exception");
+        String host = matcher.group("host");
+        String portStr = matcher.group("port");
+        int port = portStr == null ? DEFAULT_PORT : Integer.parseInt(portStr);
+        String password = StringUtils.isEmpty(source.getPassword()) ? null : source.getPassword();
+        return new JedisPool(createPoolConfig(source.getPoolConfig()), host, port, TIME_OUT, password, getDb(source));
+    }
+
+    /**
+     * 创建 redis 哨兵模式连接池
+     *
+     * @param source 数据源信息
+     * @return redis 连接池
+     */
+    private static JedisSentinelPool createSentinelPool(RedisSourceDTO source) {
+        String hostPorts = source.getHostPort();
+        Preconditions.checkArgument(StringUtils.isNotBlank(hostPorts), "hostPort not empty");
+        Set<HostAndPort> nodes = getHostAndPorts(hostPorts);
+        Preconditions.checkArgument(CollectionUtils.isNotEmpty(nodes), "invalid ip and port");
+        Set<String> sentinels = nodes.stream().map(hostAndPort -> hostAndPort.getHost() + ":" + hostAndPort.getPort())
+                .collect(Collectors.toSet());
+        String password = StringUtils.isBlank(source.getPassword()) ? null : source.getPassword();
+        return new JedisSentinelPool(source.getMaster(), sentinels, createPoolConfig(source.getPoolConfig()), TIME_OUT, password, getDb(source));
+    }
+
+    /**
+     * 创建 redis 集群模式客户端
+     *
+     * @param source 数据源信息
+     * @return redis 集群客户端
+     */
+    private static JedisCluster createRedisCluster(RedisSourceDTO source) {
+        String hostPorts = source.getHostPort();
+        Preconditions.checkArgument(StringUtils.isNotBlank(hostPorts), "hostPort not empty");
+        Set<HostAndPort> nodes = getHostAndPorts(hostPorts);
+        Preconditions.checkArgument(CollectionUtils.isNotEmpty(nodes), "invalid ip and port");
+        JedisPoolConfig poolConfig;
+        if (Objects.nonNull(source.getPoolConfig())) {
+            poolConfig = createPoolConfig(source.getPoolConfig());
+        } else {
+            // 未配置连接池时和之前保持一致，每个节点最多两个连接
+            poolConfig = new JedisPoolConfig();
+            poolConfig.setMaxTotal(2);
+            poolConfig.setMaxIdle(2);
+            poolConfig.setMaxWaitMillis(1000);
+        }
+        if (StringUtils.isNotBlank(source.getPassword())) {
+            return new JedisCluster(nodes, 1000, 1000, 100, source.getPassword(), poolConfig);
+        }
+        return new JedisCluster(nodes, poolConfig);
+    }
+
+    /**
+     * 根据 PoolConfig 创建 jedis 连接池配置，未传入时使用默认配置
+     *
+     * @param poolConfig 连接池配置
+     * @return jedis 连接池配置
+     */
+    private static JedisPoolConfig createPoolConfig(PoolConfig poolConfig) {
+        JedisPoolConfig jedisPoolConfig = new JedisPoolConfig();
+        if (Objects.isNull(poolConfig)) {
+            return jedisPoolConfig;
+        }
+        if (Objects.nonNull(poolConfig.getMaximumPoolSize())) {
+            jedisPoolConfig.setMaxTotal(poolConfig.getMaximumPoolSize());
+            jedisPoolConfig.setMaxIdle(poolConfig.getMaximumPoolSize());
+        }
+        if (Objects.nonNull(poolConfig.getMinimumIdle())) {
+            jedisPoolConfig.setMinIdle(poolConfig.getMinimumIdle());
+        }
+        if (Objects.nonNull(poolConfig.getConnectionTimeout())) {
+            jedisPoolConfig.setMaxWaitMillis(poolConfig.getConnectionTimeout());
+        }
+        if (Objects.nonNull(poolConfig.getIdleTimeout())) {
+            jedisPoolConfig.setMinEvictableIdleTimeMillis(poolConfig.getIdleTimeout());
+        }
+        return jedisPoolConfig;
+    }
+
+    private static int getDb(RedisSourceDTO source) {
+        return StringUtils.isNotEmpty(source.getSchema()) ? Integer.parseInt(source.getSchema()) : 0;
+    }
+
+    private static long getEvictTimeout(RedisSourceDTO source) {
+        PoolConfig poolConfig = source.getPoolConfig();
+        return Objects.nonNull(poolConfig) && Objects.nonNull(poolConfig.getPoolEvictTimeout()) ? poolConfig.getPoolEvictTimeout() : DEFAULT_EVICT_TIMEOUT;
+    }
+
+    private static String getPoolKey(RedisSourceDTO source) {
+        PoolConfig poolConfig = source.getPoolConfig();
+        String poolConfigKey = Objects.isNull(poolConfig) ? null : String.format("%s_%s_%s_%s", poolConfig.getMaximumPoolSize(),
+                poolConfig.getMinimumIdle(), poolConfig.getConnectionTimeout(), poolConfig.getIdleTimeout());
+        return String.format(POOL_KEY, getRedisMode(source), source.getHostPort(), source.getMaster(), getDb(source),
+                source.getPassword(), poolConfigKey);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.warn("close redis pool error", e);
+        }
+    }
+
+    /**
+     * 缓存的连接池，记录正在使用的调用数和最近使用时间
+     */
+    private static class PoolEntry {
+
+        private final Closeable client;
+
+        private final long evictTimeout;
+
+        private int inUse;
+
+        private long lastAccessTime = System.currentTimeMillis();
+
+        /**
+         * 是否已经被回收
+         */
+        private boolean retired;
+
+        PoolEntry(Closeable client, long evictTimeout) {
+            this.client = client;
+            this.evictTimeout = evictTimeout;
+        }
+
+        /**
+         * 增加使用计数
+         *
+         * @return 连接池是否可用
+         */
+        synchronized boolean retain() {
+            if (retired) {
+                return false;
+            }
+            inUse++;
+            lastAccessTime = System.currentTimeMillis();
+            return true;
+        }
+
+        synchronized void release() {
+            lastAccessTime = System.currentTimeMillis();
+            inUse--;
+        }
+
+        synchronized void retire() {
+            retired = true;
+        }
+
+        /**
+         * 没有正在执行的调用且空闲超时时标记为已回收
+         *
+         * @return 是否需要关闭连接池
+         */
+        synchronized boolean retireIfIdle() {
+            if (retired || inUse > 0 || System.currentTimeMillis() - lastAccessTime <= evictTimeout) {
+                return false;
+            }
+            retired = true;
+            return true;
+        }
+    }
+}
@@ -21,13 +21,21 @@ package com.dtstack.dtcenter.common.loader.restful;
 import com.dtstack.dtcenter.common.loader.restful.http.HttpClient;
 import com.dtstack.dtcenter.common.loader.restful.http.HttpClientFactory;
 import com.dtstack.dtcenter.loader.client.IRestful;
+import com.dtstack.dtcenter.loader.dto.restful.Request;
 import com.dtstack.dtcenter.loader.dto.restful.Response;
 import com.dtstack.dtcenter.loader.dto.source.RestfulSourceDTO;
-import com.dtstack.dtcenter.loader.exception.DtLoaderException;
+
+import org.apache.commons.collections.CollectionUtils;
 
 import java.io.File;
-import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * restful 特有客户端
@@ -38,48 +46,197 @@ import java.util.Map;
  */
 public class RestfulSpecialClient implements IRestful {
 
+    /**
+     * 批量请求默认最大并发数
+     */
+    private static final int DEFAULT_MAX_IN_FLIGHT = 32;
+
     @Override
     public Response get(RestfulSourceDTO sourceDTO, Map<String, String> params, Map<String, String> cookies, Map<String, String> headers) {
-        try (HttpClient httpClient = HttpClientFactory.createHttpClientAndStart(sourceDTO)) {
-            return httpClient.get(params, cookies, headers);
-        } catch (IOException e) {
-            throw new DtLoaderException(e.getMessage(), e);
-        }
+        HttpClient httpClient = HttpClientFactory.getHttpClient(sourceDTO);
+        return httpClient.get(params, cookies, headers);
     }
 
     @Override
     public Response post(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
-        try (HttpClient httpClient = HttpClientFactory.createHttpClientAndStart(sourceDTO)) {
-            return httpClient.post(bodyData, cookies, headers);
-        } catch (IOException e) {
-            throw new DtLoaderException(e.getMessage(), e);
-        }
+        HttpClient httpClient = HttpClientFactory.getHttpClient(sourceDTO);
+        return httpClient.post(bodyData, cookies, headers);
     }
 
     @Override
     public Response delete(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
-        try (HttpClient httpClient = HttpClientFactory.createHttpClientAndStart(sourceDTO)) {
-            return httpClient.delete(bodyData, cookies, headers);
-        } catch (IOException e) {
-            throw new DtLoaderException(e.getMessage(), e);
-        }
+        HttpClient httpClient = HttpClientFactory.getHttpClient(sourceDTO);
+        return httpClient.delete(bodyData, cookies, headers);
     }
 
     @Override
     public Response put(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
-        try (HttpClient httpClient = HttpClientFactory.createHttpClientAndStart(sourceDTO)) {
-            return httpClient.put(bodyData, cookies, headers);
-        } catch (IOException e) {
-            throw new DtLoaderException(e.getMessage(), e);
-        }
+        HttpClient httpClient = HttpClientFactory.getHttpClient(sourceDTO);
+        return httpClient.put(bodyData, cookies, headers);
     }
 
     @Override
     public Response postMultipart(RestfulSourceDTO sourceDTO, Map<String, String> params, Map<String, String> cookies, Map<String, String> headers, Map<String, File> files) {
-        try (HttpClient httpClient = HttpClientFactory.createHttpClientAndStart(sourceDTO)) {
-            return httpClient.postMultipart(params, cookies, headers, files);
-        } catch (IOException e) {
-            throw new DtLoaderException(e.getMessage(), e);
+        HttpClient httpClient = HttpClientFactory.getHttpClient(sourceDTO);
+        return httpClient.postMultipart(params, cookies, headers, files);
+    }
+
+    @Override
+    public CompletableFuture<Response> getAsync(RestfulSourceDTO sourceDTO, Map<String, String> params, Map<String, String> cookies, Map<String, String> headers) {
+        HttpClient httpClient = HttpClientFactory.getHttpClient(sourceDTO);
+        return httpClient.getAsync(null, params, cookies, headers);
+    }
+
+    @Override
+    public CompletableFuture<Response> postAsync(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
+        HttpClient httpClient = HttpClientFactory.getHttpClient(sourceDTO);
+        return httpClient.postAsync(null, bodyData, cookies, headers);
+    }
+
+    @Override
+    public CompletableFuture<Response> deleteAsync(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
+        HttpClient httpClient = HttpClientFactory.getHttpClient(sourceDTO);
+        return httpClient.deleteAsync(null, bodyData, cookies, headers);
+    }
+
+    @Override
+    public CompletableFuture<Response> putAsync(RestfulSourceDTO sourceDTO, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
+        HttpClient httpClient = HttpClientFactory.getHttpClient(sourceDTO);
+        return httpClient.putAsync(null, bodyData, cookies, headers);
+    }
+
+    @Override
+    public CompletableFuture<Response> postMultipartAsync(RestfulSourceDTO sourceDTO, Map<String, String> params, Map<String, String> cookies, Map<String, String> headers, Map<String, File> files) {
+        HttpClient httpClient = HttpClientFactory.getHttpClient(sourceDTO);
+        return httpClient.postMultipartAsync(params, cookies, headers, files);
+    }
+
+    @Override
+    public CompletableFuture<List<Response>> batch(RestfulSourceDTO sourceDTO, List<Request> requests, Integer maxInFlight) {
+        if (CollectionUtils.isEmpty(requests)) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        HttpClient httpClient = HttpClientFactory.getHttpClient(sourceDTO);
+        int inFlight = Objects.isNull(maxInFlight) || maxInFlight <= 0 ? DEFAULT_MAX_IN_FLIGHT : maxInFlight;
+        BatchDispatcher dispatcher = new BatchDispatcher(httpClient, requests, inFlight);
+        // 先发出 inFlight 个请求，之后每完成一个再发出下一个，不占用调用线程
+        dispatcher.drain();
+        return dispatcher.result;
+    }
+
+    /**
+     * 批量请求调度器，通过信号量限制同时执行的请求数
+     * <p>
+     * 请求同步失败时回调会在发请求的线程中直接执行，使用 wip 计数循环发送而不是在回调中递归发送，
+     * 避免请求数较多时栈溢出
+     */
+    private class BatchDispatcher {
+
+        private final HttpClient httpClient;
+
+        private final List<Request> requests;
+
+        /**
+         * 响应结果，下标和请求一一对应
+         */
+        private final Response[] responses;
+
+        /**
+         * 同时执行的请求数
+         */
+        private final Semaphore permits;
+
+        /**
+         * 正在执行 drain 的次数，只有从 0 开始计数的线程发送请求
+         */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /**
+         * 已完成请求数
+         */
+        private final AtomicInteger completedNum = new AtomicInteger();
+
+        /**
+         * 批量请求结果
+         */
+        private final CompletableFuture<List<Response>> result = new CompletableFuture<>();
+
+        /**
+         * 下一个待执行请求的下标，只在持有 wip 的线程中修改
+         */
+        private int nextIndex;
+
+        private BatchDispatcher(HttpClient httpClient, List<Request> requests, int maxInFlight) {
+            this.httpClient = httpClient;
+            this.requests = requests;
+            this.responses = new Response[requests.size()];
+            this.permits = new Semaphore(maxInFlight);
+        }
+
+        /**
+         * 在并发数允许的范围内发出剩余请求，其他线程正在发送时只增加计数，由该线程继续循环
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                do {
+                    while (nextIndex < requests.size() && !result.isDone() && permits.tryAcquire()) {
+                        send(nextIndex++);
+                    }
+                } while (wip.decrementAndGet() != 0);
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }
+
+        /**
+         * 发出指定下标的请求
+         *
+         * @param index 请求下标
+         */
+        private void send(int index) {
+            CompletableFuture<Response> future;
+            try {
+                future = sendAsync(httpClient, requests.get(index));
+            } catch (Throwable t) {
+                future = CompletableFuture.completedFuture(Response.builder().statusCode(-1).errorMsg(t.getMessage()).build());
+            }
+            future.whenComplete((response, throwable) -> {
+                try {
+                    responses[index] = Objects.nonNull(throwable) ? Response.builder().statusCode(-1).errorMsg(throwable.getMessage()).build() : response;
+                    permits.release();
+                    if (completedNum.incrementAndGet() == requests.size()) {
+                        result.complete(Arrays.asList(responses));
+                    } else {
+                        drain();
+                    }
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        }
+    }
+
+    /**
+     * 根据请求方式发出异步请求
+     *
+     * @param httpClient http client
+     * @param request    请求信息
+     * @return response future
+     */
+    private CompletableFuture<Response> sendAsync(HttpClient httpClient, Request request) {
+        Request.Method method = Objects.isNull(request.getMethod()) ? Request.Method.GET : request.getMethod();
+        switch (method) {
+            case POST:
+                return httpClient.postAsync(request.getUrl(), request.getBodyData(), request.getCookies(), request.getHeaders());
+            case PUT:
+                return httpClient.putAsync(request.getUrl(), request.getBodyData(), request.getCookies(), request.getHeaders());
+            case DELETE:
+                return httpClient.deleteAsync(request.getUrl(), request.getBodyData(), request.getCookies(), request.getHeaders());
+            default:
+                return httpClient.getAsync(request.getUrl(), request.getParams(), request.getCookies(), request.getHeaders());
         }
     }
 }
@@ -35,6 +35,7 @@ import org.apache.http.client.entity.GzipDecompressingEntity;
 import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
@@ -48,11 +49,14 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.Future;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -78,21 +82,47 @@ public class HttpClient implements Closeable {
     private final ScheduledExecutorService clearConnService;
 
     /**
-     * 请求 url
+     * 默认请求 url
      */
     private final String url;
 
     /**
-     * header 集合
+     * 默认 header 集合
      */
     private final Map<String, String> headers;
 
+    /**
+     * 是否是共用缓存 client 连接池的 client，共用时关闭由缓存负责
+     */
+    private final boolean shared;
+
+    /**
+     * 最近一次被获取的时间，用于缓存的空闲回收
+     */
+    private volatile long lastAccessTime = System.currentTimeMillis();
+
     HttpClient(RestfulSourceDTO sourceDTO, CloseableHttpAsyncClient httpclient, ScheduledExecutorService clearConnService) {
+        this(sourceDTO, httpclient, clearConnService, new AtomicInteger(0), false);
+    }
+
+    private HttpClient(RestfulSourceDTO sourceDTO, CloseableHttpAsyncClient httpclient, ScheduledExecutorService clearConnService,
+                       AtomicInteger unCompletedTaskNum, boolean shared) {
         this.url = sourceDTO.getUrl();
-        this.headers = sourceDTO.getHeaders();
+        this.headers = MapUtils.isEmpty(sourceDTO.getHeaders()) ? null : Collections.unmodifiableMap(new LinkedHashMap<>(sourceDTO.getHeaders()));
         this.httpclient = httpclient;
-        this.unCompletedTaskNum = new AtomicInteger(0);
+        this.unCompletedTaskNum = unCompletedTaskNum;
         this.clearConnService = clearConnService;
+        this.shared = shared;
+    }
+
+    /**
+     * 创建使用指定数据源 url、header 的 HttpClient，和当前 client 共用连接池、IO 线程，不需要单独关闭
+     *
+     * @param sourceDTO 数据源信息
+     * @return HttpClient
+     */
+    HttpClient withSource(RestfulSourceDTO sourceDTO) {
+        return new HttpClient(sourceDTO, httpclient, clearConnService, unCompletedTaskNum, true);
     }
 
     @Override
@@ -101,6 +131,9 @@ public class HttpClient implements Closeable {
     }
 
     public void close(boolean force) throws IOException {
+        if (shared) {
+            return;
+        }
         // 关闭等待
         if (!force) {
             // 优雅关闭
@@ -158,7 +191,7 @@ public class HttpClient implements Closeable {
     }
 
     /**
-     * post 请求
+     * get 请求
      *
      * @param params  params 信息
      * @param cookies cookie 信息
@@ -166,9 +199,7 @@ public class HttpClient implements Closeable {
      * @return response
      */
     public Response get(Map<String, String> params, Map<String, String> cookies, Map<String, String> headers) {
-        HttpGetWithEntity request = new HttpGetWithEntity(createURI(params));
-        setHeaderAndCookie(request, cookies, headers);
-        return execute(request, null);
+        return getAsync(null, params, cookies, headers).join();
     }
 
     /**
@@ -180,9 +211,7 @@ public class HttpClient implements Closeable {
      * @return response
      */
     public Response post(String bodyData, Map<String, String> cookies, Map<String, String> headers) {
-        HttpPost request = new HttpPost(url);
-        setHeaderAndCookie(request, cookies, headers);
-        return execute(request, bodyData);
+        return postAsync(null, bodyData, cookies, headers).join();
     }
 
     /**
@@ -194,9 +223,7 @@ public class HttpClient implements Closeable {
      * @return response
      */
     public Response delete(String bodyData, Map<String, String> cookies, Map<String, String> headers) {
-        HttpDeleteWithEntity request = new HttpDeleteWithEntity(url);
-        setHeaderAndCookie(request, cookies, headers);
-        return execute(request, bodyData);
+        return deleteAsync(null, bodyData, cookies, headers).join();
     }
 
     /**
@@ -208,9 +235,7 @@ public class HttpClient implements Closeable {
      * @return response
      */
     public Response put(String bodyData, Map<String, String> cookies, Map<String, String> headers) {
-        HttpPutWithEntity request = new HttpPutWithEntity(url);
-        setHeaderAndCookie(request, cookies, headers);
-        return execute(request, bodyData);
+        return putAsync(null, bodyData, cookies, headers).join();
     }
 
     /**
@@ -223,6 +248,79 @@ public class HttpClient implements Closeable {
      * @return response
      */
     public Response postMultipart(Map<String, String> params, Map<String, String> cookies, Map<String, String> headers, Map<String, File> files) {
+        return postMultipartAsync(params, cookies, headers, files).join();
+    }
+
+    /**
+     * 异步 get 请求
+     *
+     * @param requestUrl 请求地址，为空时使用数据源中的 url
+     * @param params     params 信息
+     * @param cookies    cookie 信息
+     * @param headers    header 信息
+     * @return response future
+     */
+    public CompletableFuture<Response> getAsync(String requestUrl, Map<String, String> params, Map<String, String> cookies, Map<String, String> headers) {
+        HttpGetWithEntity request = new HttpGetWithEntity(createURI(requestUrl, params));
+        setHeaderAndCookie(request, cookies, headers);
+        return executeAsync(request, null);
+    }
+
+    /**
+     * 异步 post 请求
+     *
+     * @param requestUrl 请求地址，为空时使用数据源中的 url
+     * @param bodyData   body 信息
+     * @param cookies    cookie 信息
+     * @param headers    header 信息
+     * @return response future
+     */
+    public CompletableFuture<Response> postAsync(String requestUrl, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
+        HttpPost request = new HttpPost(getUrl(requestUrl));
+        setHeaderAndCookie(request, cookies, headers);
+        return executeAsync(request, bodyData);
+    }
+
+    /**
+     * 异步 delete 请求
+     *
+     * @param requestUrl 请求地址，为空时使用数据源中的 url
+     * @param bodyData   body 信息
+     * @param cookies    cookie 信息
+     * @param headers    header 信息
+     * @return response future
+     */
+    public CompletableFuture<Response> deleteAsync(String requestUrl, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
+        HttpDeleteWithEntity request = new HttpDeleteWithEntity(getUrl(requestUrl));
+        setHeaderAndCookie(request, cookies, headers);
+        return executeAsync(request, bodyData);
+    }
+
+    /**
+     * 异步 put 请求
+     *
+     * @param requestUrl 请求地址，为空时使用数据源中的 url
+     * @param bodyData   body 信息
+     * @param cookies    cookie 信息
+     * @param headers    header 信息
+     * @return response future
+     */
+    public CompletableFuture<Response> putAsync(String requestUrl, String bodyData, Map<String, String> cookies, Map<String, String> headers) {
+        HttpPutWithEntity request = new HttpPutWithEntity(getUrl(requestUrl));
+        setHeaderAndCookie(request, cookies, headers);
+        return executeAsync(request, bodyData);
+    }
+
+    /**
+     * 异步 post 请求 Multipart
+     *
+     * @param params  params 信息
+     * @param cookies cookie 信息
+     * @param headers header 信息
+     * @param files   文件信息
+     * @return response future
+     */
+    public CompletableFuture<Response> postMultipartAsync(Map<String, String> params, Map<String, String> cookies, Map<String, String> headers, Map<String, File> files) {
         HttpPost request = new HttpPost(url);
         setHeaderAndCookie(request, cookies, headers);
         MultipartEntityBuilder builder = MultipartEntityBuilder.create();
@@ -239,7 +337,7 @@ public class HttpClient implements Closeable {
             }
         }
         request.setEntity(builder.build());
-        return execute(request, null);
+        return executeAsync(request, null);
     }
 
     /**
@@ -266,31 +364,65 @@ public class HttpClient implements Closeable {
     }
 
     /**
-     * 执行请求
+     * 异步执行请求，不阻塞调用线程，请求失败时 future 正常完成并返回包含异常信息的 Response
      *
      * @param request  请求
      * @param bodyData body 参数
-     * @return Response
+     * @return Response future
      */
-    private Response execute(HttpEntityEnclosingRequestBase request, String bodyData) {
+    private CompletableFuture<Response> executeAsync(HttpEntityEnclosingRequestBase request, String bodyData) {
         // body 不为空时设置 entity
         if (StringUtils.isNotEmpty(bodyData)) {
             request.addHeader("Content-Type", "application/json");
             request.setEntity(generateStringEntity(bodyData));
         }
+        CompletableFuture<Response> result = new CompletableFuture<>();
         unCompletedTaskNum.incrementAndGet();
-        Future<HttpResponse> future = httpclient.execute(request, null);
         try {
-            HttpResponse httpResponse = future.get();
-            return handleResponse(httpResponse);
+            httpclient.execute(request, new FutureCallback<HttpResponse>() {
+                @Override
+                public void completed(HttpResponse httpResponse) {
+                    complete(result, handleResponse(httpResponse));
+                }
+
+                @Override
+                public void failed(Exception e) {
+                    complete(result, errorResponse(e));
+                }
+
+                @Override
+                public void cancelled() {
+                    complete(result, errorResponse(new CancellationException("http request cancelled")));
+                }
+            });
         } catch (Throwable e) {
-            Response errResponse = Response.builder()
-                    .build();
-            handleException(errResponse, "execute http request error", e);
-            return errResponse;
-        } finally {
-            unCompletedTaskNum.decrementAndGet();
+            complete(result, errorResponse(e));
         }
+        return result;
+    }
+
+    /**
+     * 请求结束，未完成任务数减一后完成 future
+     *
+     * @param result   response future
+     * @param response response
+     */
+    private void complete(CompletableFuture<Response> result, Response response) {
+        unCompletedTaskNum.decrementAndGet();
+        result.complete(response);
+    }
+
+    /**
+     * 构建请求失败的 response
+     *
+     * @param e 异常
+     * @return response
+     */
+    private Response errorResponse(Throwable e) {
+        Response errResponse = Response.builder()
+                .build();
+        handleException(errResponse, "execute http request error", e);
+        return errResponse;
     }
 
     /**
@@ -335,13 +467,14 @@ public class HttpClient implements Closeable {
     /**
      * 创建 URI
      *
-     * @param params 请求参数
+     * @param requestUrl 请求地址，为空时使用数据源中的 url
+     * @param params     请求参数
      * @return uri
      */
-    private URI createURI(Map<String, String> params) {
+    private URI createURI(String requestUrl, Map<String, String> params) {
         URIBuilder builder;
         try {
-            builder = new URIBuilder(url);
+            builder = new URIBuilder(getUrl(requestUrl));
         } catch (URISyntaxException e) {
             throw new DtLoaderException(e.getMessage(), e);
         }
@@ -361,7 +494,43 @@ public class HttpClient implements Closeable {
         return uri;
     }
 
+    /**
+     * 获取请求地址
+     *
+     * @param requestUrl 请求地址
+     * @return 请求地址为空时返回数据源中的 url
+     */
+    private String getUrl(String requestUrl) {
+        return StringUtils.isBlank(requestUrl) ? url : requestUrl;
+    }
+
     public void start() {
         this.httpclient.start();
     }
+
+    /**
+     * 是否正在运行
+     *
+     * @return 是否正在运行
+     */
+    public boolean isRunning() {
+        return httpclient.isRunning();
+    }
+
+    /**
+     * 刷新最近获取时间
+     */
+    void touch() {
+        this.lastAccessTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 是否空闲：没有未完成的请求且超过 idleMills 未被获取
+     *
+     * @param idleMills 空闲时间，单位：毫秒
+     * @return 是否空闲
+     */
+    boolean isIdle(long idleMills) {
+        return unCompletedTaskNum.get() == 0 && System.currentTimeMillis() - lastAccessTime > idleMills;
+    }
 }
@@ -18,16 +18,23 @@
 
 package com.dtstack.dtcenter.common.loader.restful.http;
 
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import com.dtstack.dtcenter.common.loader.common.DtClassThreadFactory;
 import com.dtstack.dtcenter.loader.dto.source.ISourceDTO;
 import com.dtstack.dtcenter.loader.dto.source.RestfulSourceDTO;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
@@ -47,7 +54,7 @@ import org.apache.http.nio.reactor.IOReactorException;
 public class HttpClientFactory {
 
     /**
-     * http IO 线程数，默认一个，后面如果需要支持池化 再做修改
+     * http IO 线程数，默认一个，client 按数据源缓存复用
      */
     private static final Integer IO_THREAD_COUNT = 1;
 
@@ -66,6 +73,163 @@ public class HttpClientFactory {
      */
     private static final Integer HTTP_CONNECTION_REQUEST_TIMEOUT = 90;
 
+    /**
+     * 缓存的 HttpClient 空闲回收时间，单位：分钟
+     */
+    private static final long CLIENT_IDLE_TIMEOUT = 5;
+
+    /**
+     * 缓存 key 格式：scheme://host:port、协议、超时时间，同一个服务的不同接口共用一个 client
+     */
+    private static final String CLIENT_KEY = "address:%s,protocol:%s,connectTimeout:%s,socketTimeout:%s";
+
+    /**
+     * 已启动的 HttpClient 缓存，相同服务地址复用连接池、IO 线程和 TLS 会话，请求 url、header 由每次获取的 client 单独持有
+     */
+    private static final Map<String, HttpClient> CLIENT_CACHE = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger THREAD_NUM = new AtomicInteger();
+
+    /**
+     * 回收空闲 HttpClient 的调度线程
+     */
+    private static final ScheduledExecutorService CLIENT_EVICT_SERVICE = Executors.newSingleThreadScheduledExecutor(
+            daemonThreadFactory("Loader-restful-client-evict"));
+
+    static {
+        CLIENT_EVICT_SERVICE.scheduleWithFixedDelay(HttpClientFactory::evictIdleClient, 30, 30, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(HttpClientFactory::closeAll, "Loader-restful-client-shutdown"));
+    }
+
+    /**
+     * 获取缓存的已启动 HttpClient，不存在或已关闭时创建并启动，调用方使用后不需要关闭
+     *
+     * @param sourceDTO 数据源信息
+     * @return 已启动的 HttpClient，使用数据源中的 url、header
+     */
+    public static HttpClient getHttpClient(ISourceDTO sourceDTO) {
+        RestfulSourceDTO restfulSourceDTO = (RestfulSourceDTO) sourceDTO;
+        String key = getClientKey(restfulSourceDTO);
+        while (true) {
+            // 和空闲回收在同一个 entry 锁中刷新获取时间，刷新后的 client 不会再被回收
+            HttpClient client = CLIENT_CACHE.computeIfPresent(key, (k, cached) -> {
+                cached.touch();
+                return cached;
+            });
+            if (Objects.nonNull(client) && client.isRunning()) {
+                return client.withSource(restfulSourceDTO);
+            }
+            createAndCache(key, restfulSourceDTO);
+        }
+    }
+
+    /**
+     * 在缓存外创建并启动 HttpClient，再放入缓存，并发创建时关闭多余的 client，避免在 map 锁中执行耗时操作
+     *
+     * @param key       缓存 key
+     * @param sourceDTO 数据源信息
+     */
+    private static void createAndCache(String key, RestfulSourceDTO sourceDTO) {
+        HttpClient created = createHttpClientAndStart(sourceDTO);
+        while (true) {
+            HttpClient current = CLIENT_CACHE.get(key);
+            if (Objects.nonNull(current) && current.isRunning()) {
+                closeQuietly(created, true);
+                return;
+            }
+            boolean replaced = Objects.isNull(current) ? CLIENT_CACHE.putIfAbsent(key, created) == null : CLIENT_CACHE.replace(key, current, created);
+            if (replaced) {
+                if (Objects.nonNull(current)) {
+                    closeQuietly(current, true);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 关闭并清空所有缓存的 HttpClient
+     */
+    public static void closeAll() {
+        for (String key : CLIENT_CACHE.keySet()) {
+            HttpClient client = CLIENT_CACHE.remove(key);
+            if (Objects.nonNull(client)) {
+                closeQuietly(client, true);
+            }
+        }
+    }
+
+    /**
+     * 回收空闲超时的 HttpClient，在 entry 锁中判断空闲并移除，保证不会移除刚被获取的 client，移除后在锁外关闭
+     */
+    private static void evictIdleClient() {
+        long idleMills = TimeUnit.MINUTES.toMillis(CLIENT_IDLE_TIMEOUT);
+        for (String key : CLIENT_CACHE.keySet()) {
+            HttpClient[] evicted = new HttpClient[1];
+            CLIENT_CACHE.computeIfPresent(key, (k, client) -> {
+                if (client.isIdle(idleMills) || !client.isRunning()) {
+                    evicted[0] = client;
+                    return null;
+                }
+                return client;
+            });
+            if (Objects.nonNull(evicted[0])) {
+                log.info("close idle restful http client, key: {}", key);
+                closeQuietly(evicted[0], false);
+            }
+        }
+    }
+
+    private static void closeQuietly(HttpClient client, boolean force) {
+        try {
+            client.close(force);
+        } catch (Exception e) {
+            log.warn("close restful http client error", e);
+        }
+    }
+
+    private static String getClientKey(RestfulSourceDTO sourceDTO) {
+        return String.format(CLIENT_KEY, getAddress(sourceDTO.getUrl()), sourceDTO.getProtocol(), sourceDTO.getConnectTimeout(),
+                sourceDTO.getSocketTimeout());
+    }
+
+    /**
+     * 获取 url 对应的服务地址 scheme://host:port，无法解析时返回原 url
+     *
+     * @param url 请求 url
+     * @return 服务地址
+     */
+    private static String getAddress(String url) {
+        if (StringUtils.isBlank(url)) {
+            return url;
+        }
+        try {
+            URI uri = new URI(url.trim());
+            if (Objects.isNull(uri.getScheme()) || Objects.isNull(uri.getHost())) {
+                return url;
+            }
+            String scheme = uri.getScheme().toLowerCase(Locale.ENGLISH);
+            int port = uri.getPort() > 0 ? uri.getPort() : ("https".equals(scheme) ? 443 : 80);
+            return scheme + "://" + uri.getHost().toLowerCase(Locale.ENGLISH) + ":" + port;
+        } catch (URISyntaxException e) {
+            return url;
+        }
+    }
+
+    /**
+     * 创建守护线程工厂，缓存的 HttpClient 不阻止 jvm 退出
+     *
+     * @param namePrefix 线程名前缀
+     * @return 线程工厂
+     */
+    private static ThreadFactory daemonThreadFactory(String namePrefix) {
+        return r -> {
+            Thread thread = new Thread(r, namePrefix + "-" + THREAD_NUM.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     public static HttpClient createHttpClientAndStart(ISourceDTO sourceDTO) {
         HttpClient httpClient = createHttpClient(sourceDTO);
         httpClient.start();
@@ -126,7 +290,7 @@ public class HttpClientFactory {
         IOReactorConfig ioReactorConfig = IOReactorConfig.custom().setIoThreadCount(IO_THREAD_COUNT).build();
         ConnectingIOReactor ioReactor;
         try {
-            ioReactor = new DefaultConnectingIOReactor(ioReactorConfig);
+            ioReactor = new DefaultConnectingIOReactor(ioReactorConfig, daemonThreadFactory("Loader-restful-io"));
             return ioReactor;
         } catch (IOReactorException e) {
             throw new DtLoaderException(e.getMessage(), e);
@@ -141,7 +305,7 @@ public class HttpClientFactory {
      */
     private static ScheduledExecutorService initFixedCycleCloseConnection(final PoolingNHttpClientConnectionManager cm) {
         // 定时关闭所有空闲链接
-        ScheduledExecutorService connectionGcService = Executors.newSingleThreadScheduledExecutor(new DtClassThreadFactory("Loader-close-connection"));
+        ScheduledExecutorService connectionGcService = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("Loader-close-connection"));
         connectionGcService.scheduleAtFixedRate(() -> {
             try {
                 if (log.isDebugEnabled()) {
@@ -170,6 +334,7 @@ public class HttpClientFactory {
 
         // 设置连接管理器
         httpAsyncClientBuilder.setConnectionManager(cm);
+        httpAsyncClientBuilder.setThreadFactory(daemonThreadFactory("Loader-restful-reactor"));
 
         // 设置RequestConfig
         if (requestConfig != null) {
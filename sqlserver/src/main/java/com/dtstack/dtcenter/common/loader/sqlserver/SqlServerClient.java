@@ -155,7 +155,7 @@ public class SqlServerClient extends AbsRdbmsClient {
     public IDownloader getDownloader(ISourceDTO source, SqlQueryDTO queryDTO) throws Exception {
         SqlserverSourceDTO sqlserverSourceDTO = (SqlserverSourceDTO) source;
         String schema = StringUtils.isNotBlank(queryDTO.getSchema()) ? queryDTO.getSchema() : sqlserverSourceDTO.getSchema();
-        SqlServerDownloader sqlServerDownloader = new SqlServerDownloader(getCon(sqlserverSourceDTO), queryDTO.getSql(), schema);
+        SqlServerDownloader sqlServerDownloader = new SqlServerDownloader(getCon(sqlserverSourceDTO), queryDTO.getSql(), schema, queryDTO);
         sqlServerDownloader.configure();
         return sqlServerDownloader;
     }
@@ -18,20 +18,12 @@
 
 package com.dtstack.dtcenter.common.loader.sqlserver;
 
-import com.dtstack.dtcenter.common.loader.common.utils.SqlFormatUtil;
-import com.dtstack.dtcenter.loader.IDownloader;
-import com.dtstack.dtcenter.loader.dto.Column;
-import com.dtstack.dtcenter.loader.exception.DtLoaderException;
-import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
+import com.dtstack.dtcenter.common.loader.rdbms.AbsRdbmsDownloader;
+import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 
 import java.sql.Connection;
-import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * @company: www.dtstack.com
@@ -39,138 +31,38 @@ import java.util.stream.Collectors;
  * @Date ：Created in 下午5:52 2020/5/29
  * @Description：SqlServer2017表下载
  */
-
-public class SqlServerDownloader implements IDownloader {
-
-    private int pageNum;
-
-    private int pageAll;
-
-    private List<Column> columnNames;
-
-    private int totalLine;
-
-    private Connection connection;
-
-    private String sql;
-
-    private String schema;
-
-    private Statement statement;
-
-    private int pageSize;
-
-    private int columnCount;
+public class SqlServerDownloader extends AbsRdbmsDownloader {
 
     public SqlServerDownloader(Connection connection, String sql, String schema) {
-        this.connection = connection;
-        this.sql = SqlFormatUtil.formatSql(sql);
-        this.schema = schema;
+        this(connection, sql, schema, null);
     }
 
-    @Override
-    public boolean configure() throws Exception {
-        if (null == connection || StringUtils.isEmpty(sql)) {
-            throw new DtLoaderException("file is not exist");
-        }
-        totalLine = 0;
-        pageSize = 100;
-        pageNum = 1;
-        statement = connection.createStatement();
-        if (StringUtils.isNotEmpty(schema)) {
-            //选择schema
-            String useSchema = String.format("USE %s", schema);
-            statement.execute(useSchema);
-        }
-        String countSQL = String.format("SELECT COUNT(*) FROM (%s) temp", sql);
-        String showColumns = String.format("SELECT top 1 * FROM (%s) t", sql);
-
-        ResultSet totalResultSet = null;
-        ResultSet columnsResultSet = null;
-        try {
-            totalResultSet = statement.executeQuery(countSQL);
-            while (totalResultSet.next()) {
-                //获取总行数
-                totalLine = totalResultSet.getInt(1);
-            }
-            columnsResultSet = statement.executeQuery(showColumns);
-            //获取列信息
-            columnNames = new ArrayList<>();
-            columnCount = columnsResultSet.getMetaData().getColumnCount();
-            for (int i = 1; i <= columnCount; i++) {
-                Column column = new Column();
-                column.setName(columnsResultSet.getMetaData().getColumnName(i));
-                column.setType(columnsResultSet.getMetaData().getColumnTypeName(i));
-                column.setIndex(i);
-                columnNames.add(column);
-            }
-            //获取总页数
-            pageAll = (int) Math.ceil(totalLine / (double) pageSize);
-        } catch (Exception e) {
-            throw new DtLoaderException("build SqlServer downloader message exception : " + e.getMessage(), e);
-        } finally {
-            if (totalResultSet != null) {
-                totalResultSet.close();
-            }
-            if (columnsResultSet != null) {
-                columnsResultSet.close();
-            }
-        }
-        return true;
+    public SqlServerDownloader(Connection connection, String sql, String schema, SqlQueryDTO queryDTO) {
+        super(connection, sql, schema, queryDTO);
     }
 
     @Override
-    public List<String> getMetaInfo() {
-        if (CollectionUtils.isNotEmpty(columnNames)) {
-            return columnNames.stream().map(Column::getName).collect(Collectors.toList());
-        }
-        return Collections.emptyList();
+    protected void switchSchema(Statement statement, String schema) throws SQLException {
+        //选择schema
+        statement.execute(String.format("USE %s", schema));
     }
 
     @Override
-    public List<List<String>> readNext() {
-        //分页查询，一次一百条
-        //todo 没找到适合的分页
-        String limitSQL = String.format("select top %s * from (%s) as t where t.%s not in (select top %s m.%s from " +
-                "(%s) m) ", pageSize * pageNum - pageSize * (pageNum - 1), sql, columnNames.get(0).getName(),
-                pageSize * (pageNum - 1), columnNames.get(0).getName(), sql);
-        List<List<String>> pageTemp = new ArrayList<>(100);
-
-        try (ResultSet resultSet = statement.executeQuery(limitSQL)) {
-            while (resultSet.next()) {
-                List<String> columns = new ArrayList<>(columnCount);
-                for (int i = 1; i <= columnCount; i++) {
-                    columns.add(resultSet.getString(i));
-                }
-                pageTemp.add(columns);
-            }
-        } catch (Exception e) {
-            throw new DtLoaderException("read SqlServer message exception: " + e.getMessage(), e);
-        }
-
-        pageNum++;
-        return pageTemp;
+    protected String getFirstPageSql(String sql, int pageSize) {
+        return String.format("SELECT top %s * FROM (%s) t", pageSize, sql);
     }
 
     @Override
-    public boolean reachedEnd() {
-        return pageAll < pageNum;
-    }
-
-    @Override
-    public boolean close() throws Exception {
-        statement.close();
-        connection.close();
-        return true;
-    }
-
-    @Override
-    public String getFileName() {
-        return null;
+    protected String getPageSql(String sql, int pageNum, int pageSize) {
+        //todo 没找到适合的分页
+        String firstColumn = columnNames.get(0).getName();
+        return String.format("select top %s * from (%s) as t where t.%s not in (select top %s m.%s from (%s) m) ",
+                pageSize, sql, firstColumn, pageSize * (pageNum - 1), firstColumn, sql);
     }
 
     @Override
-    public List<String> getContainers() {
-        return Collections.emptyList();
+    protected String getKeysetSql(String sql, String keysetColumn, boolean firstPage, int pageSize) {
+        return String.format("SELECT top %s * FROM (%s) t%s ORDER BY t.%s",
+                pageSize, sql, getKeysetCondition(keysetColumn, firstPage), keysetColumn);
     }
 }
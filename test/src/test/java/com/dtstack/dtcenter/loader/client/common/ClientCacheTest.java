@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.dtstack.dtcenter.loader.client.common;
+
+import com.dtstack.dtcenter.loader.client.BaseTest;
+import com.dtstack.dtcenter.loader.client.ClientCache;
+import com.dtstack.dtcenter.loader.client.ClientFactory;
+import com.dtstack.dtcenter.loader.source.DataSourceType;
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+/**
+ * 插件缓存测试
+ *
+ * @author ：wangchuan
+ * date：Created in 上午11:20 2021/9/10
+ * company: www.dtstack.com
+ */
+public class ClientCacheTest extends BaseTest {
+
+    /**
+     * 并行预加载插件
+     */
+    @Test
+    public void preload() {
+        Map<String, Throwable> failed = ClientCache.preload(Lists.newArrayList(DataSourceType.MySQL.getVal(),
+                DataSourceType.HIVE.getVal(), DataSourceType.KAFKA.getVal(), DataSourceType.Oracle.getVal()), 4);
+        Assert.assertTrue(failed.isEmpty());
+        Assert.assertTrue(ClientFactory.checkContainClassLoader(DataSourceType.MySQL.getPluginName()));
+        Assert.assertTrue(ClientFactory.checkContainClassLoader(DataSourceType.HIVE.getPluginName()));
+    }
+}
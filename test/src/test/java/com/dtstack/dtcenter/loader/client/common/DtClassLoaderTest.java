@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.dtcenter.loader.client.common;
+
+import com.dtstack.dtcenter.loader.DtClassLoader;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * 插件类加载器索引测试
+ *
+ * @author ：wangchuan
+ * date：Created in 上午10:15 2021/9/6
+ * company: www.dtstack.com
+ */
+public class DtClassLoaderTest {
+
+    private static final String SAMPLE_CLASS_PATH = DtClassLoaderTest.Sample.class.getName().replace('.', '/') + ".class";
+
+    private static File pluginJar;
+
+    private static File otherJar;
+
+    /**
+     * 构建两个插件 jar 包，类只在第一个 jar 包中，第二个 jar 包只包含资源文件
+     */
+    @BeforeClass
+    public static void setUp() throws Exception {
+        pluginJar = File.createTempFile("loader_plugin", ".jar");
+        pluginJar.deleteOnExit();
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(pluginJar));
+             InputStream classStream = DtClassLoaderTest.class.getClassLoader().getResourceAsStream(SAMPLE_CLASS_PATH)) {
+            String[] parts = SAMPLE_CLASS_PATH.split("/");
+            StringBuilder dir = new StringBuilder();
+            for (int i = 0; i < parts.length - 1; i++) {
+                dir.append(parts[i]).append("/");
+                out.putNextEntry(new JarEntry(dir.toString()));
+                out.closeEntry();
+            }
+            out.putNextEntry(new JarEntry(SAMPLE_CLASS_PATH));
+            byte[] buffer = new byte[4096];
+            int len;
+            while ((len = classStream.read(buffer)) != -1) {
+                out.write(buffer, 0, len);
+            }
+            out.closeEntry();
+        }
+        otherJar = File.createTempFile("loader_plugin_other", ".jar");
+        otherJar.deleteOnExit();
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(otherJar))) {
+            out.putNextEntry(new JarEntry("loader_test/"));
+            out.closeEntry();
+            out.putNextEntry(new JarEntry("loader_test/conf/"));
+            out.closeEntry();
+            out.putNextEntry(new JarEntry("loader_test/conf/loader.properties"));
+            out.write("name=loader".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+    }
+
+    /**
+     * 类从插件 jar 包中加载，不在插件中的包委托父加载器
+     */
+    @Test
+    public void loadClassFromIndex() throws Exception {
+        try (DtClassLoader classLoader = new DtClassLoader(new URL[]{otherJar.toURI().toURL(), pluginJar.toURI().toURL()},
+                DtClassLoaderTest.class.getClassLoader())) {
+            Class<?> clazz = classLoader.loadClass(Sample.class.getName());
+            Assert.assertSame(classLoader, clazz.getClassLoader());
+            Assert.assertNotNull(clazz.getPackage());
+            Assert.assertEquals(pluginJar.toURI().toURL(), clazz.getProtectionDomain().getCodeSource().getLocation());
+            Assert.assertSame(String.class, classLoader.loadClass("java.lang.String"));
+            Assert.assertSame(DtClassLoaderTest.class, classLoader.loadClass(DtClassLoaderTest.class.getName()));
+        }
+    }
+
+    /**
+     * 目录资源不带 / 时也能从插件 jar 包中找到
+     */
+    @Test
+    public void findDirectoryResource() throws Exception {
+        try (DtClassLoader classLoader = new DtClassLoader(new URL[]{otherJar.toURI().toURL(), pluginJar.toURI().toURL()},
+                DtClassLoaderTest.class.getClassLoader())) {
+            Assert.assertNotNull(classLoader.findResource("loader_test/conf"));
+            Assert.assertNotNull(classLoader.findResource("loader_test/conf/"));
+            Assert.assertNotNull(classLoader.findResource("loader_test"));
+            Assert.assertNotNull(classLoader.findResource("loader_test/conf/loader.properties"));
+            Enumeration<URL> resources = classLoader.findResources("com/dtstack/dtcenter");
+            Assert.assertTrue(resources.hasMoreElements());
+            Assert.assertTrue(resources.nextElement().toString().contains(pluginJar.getName()));
+        }
+    }
+
+    public static class Sample {
+    }
+}
@@ -18,10 +18,12 @@
 
 package com.dtstack.dtcenter.loader.client.sql;
 
+import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.cache.pool.config.PoolConfig;
 import com.dtstack.dtcenter.loader.client.BaseTest;
 import com.dtstack.dtcenter.loader.client.ClientCache;
 import com.dtstack.dtcenter.loader.client.IHbase;
+import com.dtstack.dtcenter.loader.dto.HbaseCellDTO;
 import com.dtstack.dtcenter.loader.dto.HbaseQueryDTO;
 import com.dtstack.dtcenter.loader.dto.comparator.BinaryComparator;
 import com.dtstack.dtcenter.loader.dto.filter.FilterList;
@@ -41,6 +43,9 @@ import org.junit.Test;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * hbase新客户端无kerberos认证测试
@@ -121,6 +126,49 @@ public class HbaseClientTest extends BaseTest {
         System.out.println(queryResult);
     }
 
+    /**
+     * 下载器按 region 并发扫描，边扫描边输出
+     */
+    @Test
+    public void getDownloader() throws Exception {
+        HbaseQueryDTO hbaseQueryDTO = HbaseQueryDTO.builder()
+                .tableName("loader_test_2")
+                .startRowKey("1002")
+                .limit(50L)
+                .caching(20)
+                .parallelism(4)
+                .build();
+        IDownloader downloader = HBASE_CLIENT.getDownloader(source, hbaseQueryDTO, null);
+        int rowNum = 0;
+        while (!downloader.reachedEnd()) {
+            Map<String, Object> row = (Map<String, Object>) downloader.readNext();
+            Assert.assertNotNull(row.get("rowkey"));
+            rowNum++;
+        }
+        downloader.close();
+        Assert.assertTrue(rowNum > 0 && rowNum <= 50);
+    }
+
+    /**
+     * 未配置连接池时多线程同时调用，共享同一个 hbase 连接
+     */
+    @Test
+    public void getRowWithSharedConnection() throws Exception {
+        HbaseSourceDTO sourceWithoutPool = HbaseSourceDTO.builder()
+                .url("172.16.100.175:2181,172.16.101.196:2181,172.16.101.227:2181")
+                .path("/hbase")
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<String>> futures = Lists.newArrayList();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> HBASE_CLIENT.getRow(sourceWithoutPool, "loader_test_2", "1001", "info1", "name")));
+        }
+        for (Future<String> future : futures) {
+            Assert.assertEquals("wangchuan", future.get());
+        }
+        executor.shutdown();
+    }
+
     /**
      * 测试已经存在的namespace
      */
@@ -215,6 +263,26 @@ public class HbaseClientTest extends BaseTest {
         Assert.assertTrue(check);
     }
 
+    /**
+     * 批量插入、批量获取、批量删除多列数据
+     */
+    @Test
+    public void putGetDeleteRows() {
+        List<HbaseCellDTO> cells = Lists.newArrayList(
+                HbaseCellDTO.builder().rowKey("2001").family("info1").qualifier("name").value("loader").build(),
+                HbaseCellDTO.builder().rowKey("2001").family("info2").qualifier("age").value("20").build(),
+                HbaseCellDTO.builder().rowKey("2002").family("info1").qualifier("name").value("loader2").build());
+        Assert.assertTrue(HBASE_CLIENT.putRows(source, "loader_test_2", cells, null));
+        List<Map<String, Object>> rows = HBASE_CLIENT.getRows(source, "loader_test_2", Lists.newArrayList("2001", "2002", "2003"), null);
+        Assert.assertEquals(2, rows.size());
+        Assert.assertEquals("20", rows.get(0).get("info2:age"));
+        Map<String, List<String>> familyQualifierMap = Maps.newHashMap();
+        familyQualifierMap.put("info1", Lists.newArrayList("name"));
+        familyQualifierMap.put("info2", null);
+        Assert.assertTrue(HBASE_CLIENT.deleteByRowKey(source, "loader_test_2", familyQualifierMap, Lists.newArrayList("2001", "2002")));
+        Assert.assertTrue(HBASE_CLIENT.getRows(source, "loader_test_2", Lists.newArrayList("2001", "2002"), null).isEmpty());
+    }
+
     /**
      * 数据预览
      */
@@ -237,6 +237,18 @@ public class HdfsFileTest extends BaseTest {
         assert client.isDirExist(source, "/tmp");
     }
 
+    /**
+     * 多线程共享同一个数据源的 FileSystem
+     */
+    @Test
+    public void sharedFileSystem() {
+        boolean allExist = Lists.newArrayList(1, 2, 3, 4, 5, 6, 7, 8).parallelStream()
+                .allMatch(i -> client.isDirExist(source, "/tmp"));
+        Assert.assertTrue(allExist);
+        // FileSystem 归还后仍可以继续使用
+        Assert.assertTrue(client.isDirExist(source, "/tmp"));
+    }
+
     /**
      * 设置路径权限
      */
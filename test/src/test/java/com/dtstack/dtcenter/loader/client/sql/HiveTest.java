@@ -26,6 +26,7 @@ import com.dtstack.dtcenter.loader.client.IClient;
 import com.dtstack.dtcenter.loader.dto.ColumnMetaDTO;
 import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 import com.dtstack.dtcenter.loader.dto.Table;
+import com.dtstack.dtcenter.loader.dto.batch.ColumnBatch;
 import com.dtstack.dtcenter.loader.dto.source.HiveSourceDTO;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 import com.dtstack.dtcenter.loader.source.DataSourceType;
@@ -38,6 +39,7 @@ import org.junit.Test;
 
 import java.sql.Connection;
 import java.sql.Statement;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -213,6 +215,32 @@ public class HiveTest extends BaseTest {
         }
     }
 
+    /**
+     * orc 表列式批量下载，字符串字段跨多个 orc 批次读取时数据不能被覆盖
+     */
+    @Test
+    public void getDownloaderForOrcWithBatch() throws Exception {
+        client.executeSqlWithoutResultSet(source, SqlQueryDTO.builder().sql("drop table if exists loader_test_orc_batch").build());
+        client.executeSqlWithoutResultSet(source, SqlQueryDTO.builder().sql("create table loader_test_orc_batch (id int, name string) STORED AS ORC").build());
+        // 第一个文件 1000 条、第二个文件 2000 条，保证列式批次会跨越第二个文件的两个 orc 批次
+        client.executeSqlWithoutResultSet(source, SqlQueryDTO.builder().sql("insert into loader_test_orc_batch select pos, concat('name_', pos) from (select posexplode(split(space(999), ' ')) as (pos, val)) t").build());
+        client.executeSqlWithoutResultSet(source, SqlQueryDTO.builder().sql("insert into loader_test_orc_batch select pos, concat('name_', pos) from (select posexplode(split(space(1999), ' ')) as (pos, val)) t").build());
+        SqlQueryDTO queryDTO = SqlQueryDTO.builder().tableName("loader_test_orc_batch").build();
+        IDownloader downloader = client.getDownloader(source, queryDTO);
+        Assert.assertTrue(downloader.supportBatch());
+        int count = 0;
+        ColumnBatch batch = downloader.readNextBatch();
+        while (!batch.isEmpty()) {
+            for (int row = 0; row < batch.getSize(); row++) {
+                Assert.assertEquals("name_" + batch.getColumn(0).getLong(row), batch.getColumn(1).getString(row));
+            }
+            count += batch.getSize();
+            batch = downloader.readNextBatch();
+        }
+        downloader.close();
+        Assert.assertEquals(3000, count);
+    }
+
     @Test
     public void getDownloaderForParquet()throws Exception {
         SqlQueryDTO queryDTO = SqlQueryDTO.builder().tableName("loader_test_parquet").build();
@@ -224,6 +252,63 @@ public class HiveTest extends BaseTest {
        Assert.assertTrue(CollectionUtils.isEmpty(downloader.getContainers()));
     }
 
+    /**
+     * parquet 表只下载部分字段，只读取需要的列
+     */
+    @Test
+    public void getDownloaderForParquetWithColumns() throws Exception {
+        SqlQueryDTO queryDTO = SqlQueryDTO.builder().tableName("loader_test_parquet").columns(Collections.singletonList("name")).build();
+        IDownloader downloader = client.getDownloader(source, queryDTO);
+        while (!downloader.reachedEnd()) {
+            List<String> row = (List<String>) downloader.readNext();
+            Assert.assertEquals(1, row.size());
+            Assert.assertTrue(row.get(0).startsWith("wc"));
+        }
+    }
+
+    /**
+     * 按分区下载，只读取指定分区下的文件
+     */
+    @Test
+    public void getDownloaderWithPartition() throws Exception {
+        client.executeSqlWithoutResultSet(source, SqlQueryDTO.builder().sql("drop table if exists loader_test_partition").build());
+        client.executeSqlWithoutResultSet(source, SqlQueryDTO.builder().sql("create table loader_test_partition (id int, name string) partitioned by (pt string)").build());
+        client.executeSqlWithoutResultSet(source, SqlQueryDTO.builder().sql("insert into loader_test_partition partition(pt='1') values (1, 'loader1')").build());
+        client.executeSqlWithoutResultSet(source, SqlQueryDTO.builder().sql("insert into loader_test_partition partition(pt='2') values (2, 'loader2')").build());
+        Map<String, String> partition = new HashMap<>();
+        partition.put("pt", "1");
+        SqlQueryDTO queryDTO = SqlQueryDTO.builder().tableName("loader_test_partition").partitionColumns(partition).build();
+        IDownloader downloader = client.getDownloader(source, queryDTO);
+        int count = 0;
+        while (!downloader.reachedEnd()) {
+            List<String> row = (List<String>) downloader.readNext();
+            Assert.assertEquals("1", row.get(row.size() - 1));
+            count++;
+        }
+        Assert.assertEquals(1, count);
+    }
+
+    /**
+     * 多文件预读下载，不按文件顺序返回时数据条数不变
+     */
+    @Test
+    public void getDownloaderWithReadAhead() throws Exception {
+        client.executeSqlWithoutResultSet(source, SqlQueryDTO.builder().sql("drop table if exists loader_test_read_ahead").build());
+        client.executeSqlWithoutResultSet(source, SqlQueryDTO.builder().sql("create table loader_test_read_ahead (id int, name string)").build());
+        client.executeSqlWithoutResultSet(source, SqlQueryDTO.builder().sql("insert into loader_test_read_ahead values (1, 'loader1')").build());
+        client.executeSqlWithoutResultSet(source, SqlQueryDTO.builder().sql("insert into loader_test_read_ahead values (2, 'loader2')").build());
+        client.executeSqlWithoutResultSet(source, SqlQueryDTO.builder().sql("insert into loader_test_read_ahead values (3, 'loader3')").build());
+        SqlQueryDTO queryDTO = SqlQueryDTO.builder().tableName("loader_test_read_ahead").readAheadFileNum(2).readAheadOrdered(false).build();
+        IDownloader downloader = client.getDownloader(source, queryDTO);
+        int count = 0;
+        while (!downloader.reachedEnd()) {
+            Assert.assertNotNull(downloader.readNext());
+            count++;
+        }
+        downloader.close();
+        Assert.assertEquals(3, count);
+    }
+
     @Test
     public void getPreview() {
         SqlQueryDTO queryDTO = SqlQueryDTO.builder().tableName("loader_test_1").build();
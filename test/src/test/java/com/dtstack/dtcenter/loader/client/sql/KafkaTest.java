@@ -18,6 +18,7 @@
 
 package com.dtstack.dtcenter.loader.client.sql;
 
+import com.dtstack.dtcenter.common.loader.kafka.pool.KafkaClientPool;
 import com.dtstack.dtcenter.loader.client.BaseTest;
 import com.dtstack.dtcenter.loader.client.ClientCache;
 import com.dtstack.dtcenter.loader.client.IClient;
@@ -30,12 +31,18 @@ import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 import com.dtstack.dtcenter.loader.dto.source.KafkaSourceDTO;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 import com.dtstack.dtcenter.loader.source.DataSourceType;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Properties;
+import java.util.Set;
 
 /**
  * @company: www.dtstack.com
@@ -107,6 +114,35 @@ public class KafkaTest extends BaseTest {
         assert (offset != null);
     }
 
+    /**
+     * 多次借出同一个数据源的 consumer，复用池中同一个实例
+     */
+    @Test
+    public void getOffsetWithPooledConsumer() throws Exception {
+        IKafka client = ClientCache.getKafka(DataSourceType.KAFKA_09.getVal());
+        Properties props = new Properties();
+        props.put("bootstrap.servers", client.getAllBrokersAddress(source));
+        props.put("group.id", "loader_test");
+        props.put("key.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
+        props.put("value.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
+        KafkaClientPool<KafkaConsumer<String, String>> consumerPool =
+                new KafkaClientPool<>("test-consumer", KafkaConsumer::new, KafkaConsumer::unsubscribe, KafkaConsumer::close);
+        try {
+            Set<KafkaConsumer<String, String>> consumers = Sets.newIdentityHashSet();
+            for (int i = 0; i < 3; i++) {
+                List<PartitionInfo> partitions = consumerPool.execute(source, () -> props, consumer -> {
+                    consumers.add(consumer);
+                    return consumer.partitionsFor("loader_test");
+                });
+                Assert.assertTrue(CollectionUtils.isNotEmpty(partitions));
+            }
+            Assert.assertEquals(1, consumers.size());
+            Assert.assertEquals(1, consumerPool.getCreatedCount());
+        } finally {
+            consumerPool.clear();
+        }
+    }
+
     @Test
     public void testPollView(){
         IKafka client = ClientCache.getKafka(DataSourceType.KAFKA_09.getVal());
@@ -177,4 +213,13 @@ public class KafkaTest extends BaseTest {
         List<KafkaConsumerDTO> info = client.getGroupInfoByGroupIdAndTopic(source, "test_loader222", "loader_test");
         Assert.assertTrue(CollectionUtils.isNotEmpty(info));
     }
+
+    @Test
+    public void getGroupInfoByTopics() {
+        IKafka client = ClientCache.getKafka(DataSourceType.KAFKA.getVal());
+        List<KafkaConsumerDTO> offsets = client.getGroupInfoByTopics(source, Lists.newArrayList("loader_test"), null);
+        Assert.assertTrue(CollectionUtils.isNotEmpty(offsets));
+        List<KafkaConsumerDTO> info = client.getGroupInfoByTopics(source, Lists.newArrayList("loader_test"), Lists.newArrayList("test_loader222"));
+        Assert.assertTrue(CollectionUtils.isNotEmpty(info));
+    }
 }
@@ -24,8 +24,12 @@ import com.dtstack.dtcenter.loader.client.BaseTest;
 import com.dtstack.dtcenter.loader.client.ClientCache;
 import com.dtstack.dtcenter.loader.client.IClient;
 import com.dtstack.dtcenter.loader.dto.ColumnMetaDTO;
+import com.dtstack.dtcenter.loader.dto.ConnectionPoolMetricsDTO;
+import com.dtstack.dtcenter.loader.dto.MethodMetricsDTO;
 import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
+import com.dtstack.dtcenter.loader.dto.batch.ColumnBatch;
 import com.dtstack.dtcenter.loader.dto.source.Mysql5SourceDTO;
+import com.dtstack.dtcenter.loader.metrics.LoaderMetrics;
 import com.dtstack.dtcenter.loader.source.DataSourceType;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -162,6 +166,24 @@ public class Mysql5Test extends BaseTest {
         Assert.assertTrue(result.get(0).containsKey("testAlias"));
     }
 
+    /**
+     * 流式查询测试
+     */
+    @Test
+    public void executeQueryWithConsumer() {
+        String sql = "select id, name, id as id from LOADER_TEST";
+        SqlQueryDTO queryDTO = SqlQueryDTO.builder().sql(sql).build();
+        List<Map<String, Object>> result = new ArrayList<>();
+        Integer count = client.executeQuery(source, queryDTO, row -> {
+            Assert.assertEquals(3, row.getColumnCount());
+            Assert.assertTrue(row.getColumnNames().contains("id(1)"));
+            result.add(row.toMap());
+            return true;
+        });
+        Assert.assertEquals(Integer.valueOf(result.size()), count);
+        Assert.assertTrue(CollectionUtils.isNotEmpty(result));
+    }
+
     /**
      * 无需结果查询
      */
@@ -238,6 +260,90 @@ public class Mysql5Test extends BaseTest {
         }
     }
 
+    /**
+     * 自定义sql 流式数据下载测试
+     */
+    @Test
+    public void testGetDownloaderWithStream() throws Exception {
+        SqlQueryDTO queryDTO = SqlQueryDTO.builder().sql("select * from LOADER_TEST").streamDownload(true).fetchSize(10).build();
+        IDownloader downloader = client.getDownloader(source, queryDTO);
+        List<String> metaInfo = downloader.getMetaInfo();
+        Assert.assertTrue(CollectionUtils.isNotEmpty(metaInfo));
+        int count = 0;
+        while (!downloader.reachedEnd()){
+            List<List<String>> result = (List<List<String>>)downloader.readNext();
+            count += result.size();
+        }
+        downloader.close();
+        Assert.assertEquals(1, count);
+    }
+
+    /**
+     * 自定义sql keyset 分页数据下载测试
+     */
+    @Test
+    public void testGetDownloaderWithKeyset() throws Exception {
+        SqlQueryDTO queryDTO = SqlQueryDTO.builder().sql("select * from LOADER_TEST").keysetColumn("id").fetchSize(10).build();
+        IDownloader downloader = client.getDownloader(source, queryDTO);
+        List<String> metaInfo = downloader.getMetaInfo();
+        Assert.assertTrue(CollectionUtils.isNotEmpty(metaInfo));
+        int count = 0;
+        while (!downloader.reachedEnd()){
+            List<List<String>> result = (List<List<String>>)downloader.readNext();
+            count += result.size();
+        }
+        downloader.close();
+        Assert.assertEquals(1, count);
+    }
+
+    /**
+     * 下载器获取总条数测试
+     */
+    @Test
+    public void testGetDownloaderTotalLine() throws Exception {
+        SqlQueryDTO queryDTO = SqlQueryDTO.builder().sql("select * from LOADER_TEST").build();
+        IDownloader downloader = client.getDownloader(source, queryDTO);
+        Assert.assertTrue(downloader.supportTotalLine());
+        Assert.assertEquals(1, downloader.getTotalLine(false));
+        Assert.assertTrue(downloader.getTotalLine(true) >= 0);
+        downloader.close();
+    }
+
+    /**
+     * 流式下载时获取总条数测试，流式结果集打开后使用其他连接执行 count
+     */
+    @Test
+    public void testGetDownloaderTotalLineWithStream() throws Exception {
+        SqlQueryDTO queryDTO = SqlQueryDTO.builder().sql("select * from LOADER_TEST").streamDownload(true).build();
+        IDownloader downloader = client.getDownloader(source, queryDTO);
+        Assert.assertEquals(1, downloader.getTotalLine(false));
+        int count = 0;
+        while (!downloader.reachedEnd()) {
+            count += ((List<List<String>>) downloader.readNext()).size();
+        }
+        downloader.close();
+        Assert.assertEquals(1, count);
+    }
+
+    /**
+     * 列式批量下载测试
+     */
+    @Test
+    public void testGetDownloaderWithBatch() throws Exception {
+        SqlQueryDTO queryDTO = SqlQueryDTO.builder().sql("select * from LOADER_TEST").streamDownload(true).fetchSize(10).build();
+        IDownloader downloader = client.getDownloader(source, queryDTO);
+        Assert.assertTrue(downloader.supportBatch());
+        int count = 0;
+        ColumnBatch batch = downloader.readNextBatch();
+        while (!batch.isEmpty()) {
+            Assert.assertEquals(downloader.getMetaInfo().size(), batch.getColumnCount());
+            count += batch.getSize();
+            batch = downloader.readNextBatch();
+        }
+        downloader.close();
+        Assert.assertEquals(1, count);
+    }
+
     /**
      * 数据预览测试
      */
@@ -340,4 +446,54 @@ public class Mysql5Test extends BaseTest {
     public void getVersion() {
         Assert.assertTrue(StringUtils.isNotBlank(client.getVersion(source)));
     }
+
+    /**
+     * 方法调用统计
+     */
+    @Test
+    public void methodMetrics() {
+        client.testCon(source);
+        MethodMetricsDTO metrics = LoaderMetrics.getMetrics(DataSourceType.MySQL.getPluginName()).stream()
+                .filter(metric -> "testCon".equals(metric.getMethodName()))
+                .findFirst().orElse(null);
+        Assert.assertNotNull(metrics);
+        Assert.assertTrue(metrics.getCallCount() > 0);
+        Assert.assertEquals(0L, (long) metrics.getInFlight());
+    }
+
+    /**
+     * 下载器逐行调用每次都统计调用次数，耗时按比例采样
+     */
+    @Test
+    public void downloaderMethodMetrics() throws Exception {
+        long before = getCallCount("readNext");
+        IDownloader downloader = client.getDownloader(source, SqlQueryDTO.builder().sql("select * from LOADER_TEST").build());
+        int calls = 0;
+        while (!downloader.reachedEnd()) {
+            downloader.readNext();
+            calls++;
+        }
+        downloader.close();
+        Assert.assertEquals(before + calls, getCallCount("readNext"));
+    }
+
+    private static long getCallCount(String methodName) {
+        return LoaderMetrics.getMetrics(DataSourceType.MySQL.getPluginName()).stream()
+                .filter(metric -> methodName.equals(metric.getMethodName()))
+                .mapToLong(MethodMetricsDTO::getCallCount)
+                .sum();
+    }
+
+    /**
+     * 连接池统计及失效
+     */
+    @Test
+    public void poolMetrics() throws Exception {
+        Connection connection = client.getCon(source);
+        connection.close();
+        List<ConnectionPoolMetricsDTO> metrics = client.getPoolMetrics();
+        Assert.assertTrue(metrics.stream().anyMatch(metric -> source.getUrl().equals(metric.getUrl()) && metric.getAcquiredCount() > 0));
+        Assert.assertTrue(client.invalidatePool(source));
+        Assert.assertFalse(client.invalidatePool(source));
+    }
 }
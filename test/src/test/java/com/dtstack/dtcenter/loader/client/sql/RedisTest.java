@@ -18,15 +18,23 @@
 
 package com.dtstack.dtcenter.loader.client.sql;
 
+import com.dtstack.dtcenter.loader.IDownloader;
 import com.dtstack.dtcenter.loader.client.BaseTest;
 import com.dtstack.dtcenter.loader.client.ClientCache;
 import com.dtstack.dtcenter.loader.client.IClient;
+import com.dtstack.dtcenter.loader.client.IRedis;
 import com.dtstack.dtcenter.loader.dto.SqlQueryDTO;
 import com.dtstack.dtcenter.loader.dto.source.RedisSourceDTO;
 import com.dtstack.dtcenter.loader.exception.DtLoaderException;
 import com.dtstack.dtcenter.loader.source.DataSourceType;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * @company: www.dtstack.com
  * @Author ：Nanqi
@@ -60,4 +68,34 @@ public class RedisTest extends BaseTest {
         IClient client = ClientCache.getClient(DataSourceType.REDIS.getVal());
         client.getPreview(source, SqlQueryDTO.builder().previewNum(5).tableName("loader_test").build());
     }
+
+    /**
+     * 批量读取，相同数据源复用同一个连接池
+     */
+    @Test
+    public void batchGet() {
+        IRedis redis = ClientCache.getRedis(DataSourceType.REDIS.getVal());
+        Map<String, String> values = redis.mget(source, Lists.newArrayList("loader_key_1", "loader_key_2"));
+        Assert.assertEquals(2, values.size());
+        Map<String, List<String>> hashFields = Maps.newLinkedHashMap();
+        hashFields.put("loader_test", null);
+        hashFields.put("loader_test_2", Lists.newArrayList("name", "age"));
+        Map<String, Map<String, String>> hashValues = redis.hmget(source, hashFields);
+        Assert.assertEquals(2, hashValues.size());
+    }
+
+    /**
+     * 使用 HSCAN 分批导出 hash
+     */
+    @Test
+    public void getDownloader() throws Exception {
+        IClient client = ClientCache.getClient(DataSourceType.REDIS.getVal());
+        IDownloader downloader = client.getDownloader(source, SqlQueryDTO.builder().tableName("loader_test").fetchSize(100).build());
+        Assert.assertEquals(Lists.newArrayList("field", "value"), downloader.getMetaInfo());
+        while (!downloader.reachedEnd()) {
+            List<String> row = (List<String>) downloader.readNext();
+            Assert.assertEquals(2, row.size());
+        }
+        downloader.close();
+    }
 }
@@ -21,16 +21,22 @@ package com.dtstack.dtcenter.loader.client.sql;
 import com.dtstack.dtcenter.loader.client.BaseTest;
 import com.dtstack.dtcenter.loader.client.ClientCache;
 import com.dtstack.dtcenter.loader.client.IRestful;
+import com.dtstack.dtcenter.loader.dto.MethodMetricsDTO;
+import com.dtstack.dtcenter.loader.dto.restful.Request;
 import com.dtstack.dtcenter.loader.dto.restful.Response;
 import com.dtstack.dtcenter.loader.dto.source.RestfulSourceDTO;
+import com.dtstack.dtcenter.loader.metrics.LoaderMetrics;
 import com.dtstack.dtcenter.loader.source.DataSourceType;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Restful 测试类
@@ -69,6 +75,71 @@ public class RestfulSpecialTest extends BaseTest {
         Assert.assertNotNull(response.getContent());
     }
 
+    /**
+     * 相同数据源多次请求复用同一个已启动的 http client
+     */
+    @Test
+    public void getWithCachedClient() {
+        SOURCE_DTO.setUrl("http://dev.insight.dtstack.cn/api/streamapp/service/streamJobMetric/formatTimespan");
+        Map<String, String> params = Maps.newHashMap();
+        params.put("timespan", "100m");
+        for (int i = 0; i < 5; i++) {
+            Response response = RESTFUL_CLIENT.get(SOURCE_DTO, params, null, null);
+            Assert.assertNotNull(response.getContent());
+        }
+    }
+
+    /**
+     * 批量请求，最多同时执行 4 个
+     */
+    @Test
+    public void batch() {
+        SOURCE_DTO.setUrl("http://dev.insight.dtstack.cn/api/streamapp/service/streamJobMetric/formatTimespan");
+        List<Request> requests = Lists.newArrayList();
+        for (int i = 1; i <= 20; i++) {
+            Map<String, String> params = Maps.newHashMap();
+            params.put("timespan", i + "m");
+            requests.add(Request.builder().method(Request.Method.GET).params(params).build());
+        }
+        List<Response> responses = RESTFUL_CLIENT.batch(SOURCE_DTO, requests, 4).join();
+        Assert.assertEquals(20, responses.size());
+        for (Response response : responses) {
+            Assert.assertNotNull(response.getContent());
+        }
+    }
+
+    /**
+     * 异步请求的调用统计到 future 完成为止，请求失败计入异常次数
+     */
+    @Test
+    public void getAsyncMetrics() {
+        RestfulSourceDTO sourceDTO = RestfulSourceDTO.builder().url("http://unknown.host.invalid/metrics").build();
+        Response response = RESTFUL_CLIENT.getAsync(sourceDTO, null, null, null).join();
+        Assert.assertEquals(-1, (int) response.getStatusCode());
+        MethodMetricsDTO metrics = LoaderMetrics.getMetrics(DataSourceType.RESTFUL.getPluginName()).stream()
+                .filter(metric -> "getAsync".equals(metric.getMethodName()))
+                .findFirst().orElse(null);
+        Assert.assertNotNull(metrics);
+        Assert.assertTrue(metrics.getErrorCount() > 0);
+        Assert.assertEquals(0L, (long) metrics.getInFlight());
+    }
+
+    /**
+     * 批量请求地址非法时每个请求同步失败，大批量请求不能栈溢出，结果中返回每个请求的错误信息
+     */
+    @Test
+    public void batchWithInvalidUrl() throws Exception {
+        List<Request> requests = Lists.newArrayList();
+        for (int i = 0; i < 10000; i++) {
+            requests.add(Request.builder().method(Request.Method.GET).url("http://invalid host/" + i).build());
+        }
+        List<Response> responses = RESTFUL_CLIENT.batch(SOURCE_DTO, requests, 4).get(60, TimeUnit.SECONDS);
+        Assert.assertEquals(10000, responses.size());
+        for (Response response : responses) {
+            Assert.assertEquals(-1, (int) response.getStatusCode());
+        }
+    }
+
     @Test
     public void post() {
         SOURCE_DTO.setUrl("http://dev.insight.dtstack.cn/api/streamapp/service/streamDataSource/pageQuery");